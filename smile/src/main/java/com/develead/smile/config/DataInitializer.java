@@ -12,12 +12,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
+    private static final List<String> ROLE_NAMES = List.of("ROLE_ADMIN", "ROLE_DOCTOR", "ROLE_CUSTOMER");
 
     private final RoleRepository roleRepository;
     private final UserAccountRepository userAccountRepository;
@@ -25,35 +31,48 @@ public class DataInitializer implements CommandLineRunner {
     private final ClinicRepository clinicRepository;
     private final DoctorRepository doctorRepository;
 
+    // [수정] 재기동 때는 대부분 이미 데이터가 있으므로, 한 트랜잭션(커넥션 하나)에서 종류별로 한 번씩만 조회하고
+    // 빠진 것만 모아서 저장한다 (행마다 조회/저장하던 방식 대신)
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
-        initializeRoles();
-        initializeAdminUser();
-        initializeClinicAndDoctors();
+        Map<String, Role> roles = initializeRoles();
+        Clinic mainClinic = initializeClinicAndDoctors();
+        initializeAdminUser(mainClinic, roles.get("ROLE_ADMIN"));
     }
 
-    private void initializeRoles() {
-        Arrays.asList("ROLE_ADMIN", "ROLE_DOCTOR", "ROLE_CUSTOMER").forEach(roleName -> {
-            if (roleRepository.findByRoleName(roleName).isEmpty()) {
-                roleRepository.save(new Role(roleName));
-            }
-        });
+    private Map<String, Role> initializeRoles() {
+        Map<String, Role> roles = roleRepository.findByRoleNameIn(ROLE_NAMES).stream()
+                .collect(Collectors.toMap(Role::getRoleName, Function.identity()));
+        List<Role> missing = ROLE_NAMES.stream()
+                .filter(roleName -> !roles.containsKey(roleName))
+                .map(Role::new)
+                .toList();
+        roleRepository.saveAll(missing).forEach(role -> roles.put(role.getRoleName(), role));
+        return roles;
     }
 
-    private void initializeAdminUser() {
-        if (userAccountRepository.findByLoginId("admin").isEmpty()) {
-            Role adminRole = roleRepository.findByRoleName("ROLE_ADMIN")
-                    .orElseThrow(() -> new RuntimeException("Error: ADMIN role not found."));
+    private void initializeAdminUser(Clinic mainClinic, Role adminRole) {
+        userAccountRepository.findByLoginId("admin").ifPresentOrElse(admin -> {
+            // [수정] 지점 도입 이전에 생성된 관리자 계정은 본점 소속으로 지정
+            if (admin.getClinic() == null) {
+                admin.setClinic(mainClinic);
+            }
+        }, () -> {
+            if (adminRole == null) {
+                throw new RuntimeException("Error: ADMIN role not found.");
+            }
 
             UserAccount admin = new UserAccount();
             admin.setLoginId("admin");
             admin.setPasswordHash(passwordEncoder.encode("password"));
             admin.setRole(adminRole);
+            admin.setClinic(mainClinic);
             userAccountRepository.save(admin);
-        }
+        });
     }
 
-    private void initializeClinicAndDoctors() {
+    private Clinic initializeClinicAndDoctors() {
         Clinic mainClinic = clinicRepository.findByClinicName("강남 본점").orElseGet(() -> {
             Clinic clinic = new Clinic();
             clinic.setClinicName("강남 본점");
@@ -61,20 +80,21 @@ public class DataInitializer implements CommandLineRunner {
             return clinicRepository.save(clinic);
         });
 
-        if (doctorRepository.findByName("김민국").isEmpty()) {
-            Doctor doctorKim = new Doctor();
-            doctorKim.setName("김민국");
-            doctorKim.setSpecialty("임플란트 / 보철");
-            doctorKim.setClinic(mainClinic);
-            doctorRepository.save(doctorKim);
-        }
+        List<Doctor> seedDoctors = List.of(
+                doctor("김민국", "임플란트 / 보철", mainClinic),
+                doctor("박하나", "치아교정 / 소아치과", mainClinic));
+        Set<String> existing = doctorRepository.findByNameIn(seedDoctors.stream().map(Doctor::getName).toList()).stream()
+                .map(Doctor::getName)
+                .collect(Collectors.toSet());
+        doctorRepository.saveAll(seedDoctors.stream().filter(doctor -> !existing.contains(doctor.getName())).toList());
+        return mainClinic;
+    }
 
-        if (doctorRepository.findByName("박하나").isEmpty()) {
-            Doctor doctorPark = new Doctor();
-            doctorPark.setName("박하나");
-            doctorPark.setSpecialty("치아교정 / 소아치과");
-            doctorPark.setClinic(mainClinic);
-            doctorRepository.save(doctorPark);
-        }
+    private static Doctor doctor(String name, String specialty, Clinic clinic) {
+        Doctor doctor = new Doctor();
+        doctor.setName(name);
+        doctor.setSpecialty(specialty);
+        doctor.setClinic(clinic);
+        return doctor;
     }
 }
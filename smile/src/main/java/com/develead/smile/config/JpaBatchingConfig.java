@@ -0,0 +1,27 @@
+package com.develead.smile.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDBC 배치 INSERT/UPDATE 설정.
+ * 기록성 엔티티는 pooled 시퀀스로 ID를 미리 할당하므로 Hibernate가 flush 시점에 같은 테이블의 INSERT를 묶어 보낼 수 있다.
+ * spring.jpa.properties.hibernate.* 로 직접 지정한 값이 있으면 그 값을 우선한다.
+ */
+@Configuration
+public class JpaBatchingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${smile.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            // 엔티티 종류별로 정렬해야 서로 다른 테이블 INSERT가 섞여도 배치가 끊기지 않는다
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.develead.smile.config;
+
+import java.util.function.Supplier;
+
+/**
+ * 읽기 전용 트랜잭션이라도 주 DB에서 읽어야 하는 구간을 표시하는 라우팅 힌트.
+ * 캐시에 넣을 값처럼 복제 지연이 그대로 굳어지면 안 되는 조회에 쓴다.
+ * 커넥션은 트랜잭션의 첫 SQL에서 고르므로, 트랜잭션을 시작한 메소드 안에서 첫 조회 전에 감싸야 한다.
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> FORCED = ThreadLocal.withInitial(() -> false);
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        boolean previous = FORCED.get();
+        FORCED.set(true);
+        try {
+            return action.get();
+        } finally {
+            if (!previous) {
+                FORCED.remove();
+            }
+        }
+    }
+
+    static boolean isForced() {
+        return FORCED.get();
+    }
+}
@@ -0,0 +1,79 @@
+package com.develead.smile.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * 읽기 복제본 설정. smile.datasource.replica.url이 있을 때만 활성화되며, 없으면 기존처럼 단일 DataSource를 쓴다.
+ *
+ * <pre>
+ * smile.datasource.replica.url=jdbc:mysql://replica-host:3306/smile
+ * smile.datasource.replica.username=...
+ * smile.datasource.replica.password=...
+ * smile.datasource.replica.max-lag-ms=5000
+ * smile.datasource.replica.hikari.maximum-pool-size=20
+ * </pre>
+ *
+ * 로컬에서는 H2 두 개(예: jdbc:h2:mem:primary / jdbc:h2:mem:replica)를 지정해 라우팅만 확인할 수 있다.
+ * 이 경우 실제 복제가 없으므로 heartbeat가 복제본에 나타나지 않아 읽기는 주 DB로 대체된다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "smile.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean(name = "primaryDataSource")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(name = "replicaDataSource")
+    @ConfigurationProperties("smile.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${smile.datasource.replica.url}") String url,
+                                              @Value("${smile.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${smile.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${smile.datasource.replica.max-lag-ms:5000}") long maxLagMillis) {
+        return new ReplicaLagMonitor(primary, replica, maxLagMillis, Clock.systemUTC());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+    }
+
+    // OSIV 세션이 요청 동안 커넥션을 붙잡고 있으면 첫 트랜잭션이 고른 DB가 이후 쓰기에도 쓰이므로
+    // 트랜잭션마다 커넥션을 반납하도록 한다
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,111 @@
+package com.develead.smile.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 읽기 복제본의 복제 지연을 heartbeat 방식으로 측정한다.
+ * 각 노드가 주기적으로 주 DB의 replica_heartbeat 테이블에 자기 행의 시각을 기록하고,
+ * 복제본에서 같은 행을 읽어 현재 시각과의 차이를 지연으로 본다 (정밀도 = 기록 주기).
+ * 같은 노드가 쓰고 읽으므로 노드 간 시계 차이의 영향을 받지 않는다.
+ * 노드 ID는 기동할 때마다 새로 만들어지므로, 오래 갱신되지 않은 행(종료된 노드)은 주기적으로 지운다.
+ * 지연이 허용치를 넘거나 복제본에 접속할 수 없으면 {@link #isReplicaUsable()}이 false가 되어 읽기 요청이 주 DB로 간다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS replica_heartbeat (node_id VARCHAR(64) PRIMARY KEY, beat_millis BIGINT NOT NULL)";
+    // 살아 있는 노드는 기록 주기(기본 1초)마다 갱신하므로 이만큼 갱신되지 않은 행은 종료된 노드의 것이다
+    static final long STALE_HEARTBEAT_MILLIS = 10 * 60_000L;
+    private static final long PRUNE_INTERVAL_MILLIS = 60_000L;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final Clock clock;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean replicaUsable;
+    private volatile long lastLagMillis = -1;
+    private boolean tableReady;
+    private long lastPrunedMillis;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, long maxLagMillis, Clock clock) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+        this.clock = clock;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /** 마지막으로 측정한 지연(ms). 아직 측정하지 못했거나 복제본에 접속할 수 없으면 -1. */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    /** 복제본 커넥션 획득이 실패하면 다음 측정 전까지 복제본을 쓰지 않는다. */
+    void markUnavailable(Exception cause) {
+        if (replicaUsable) {
+            log.warn("Read replica unavailable, routing reads to primary: {}", cause.toString());
+        }
+        replicaUsable = false;
+        lastLagMillis = -1;
+    }
+
+    @Scheduled(fixedDelayString = "${smile.datasource.replica.heartbeat-interval-ms:1000}")
+    public void check() {
+        try {
+            writeHeartbeat();
+        } catch (DataAccessException e) {
+            // 주 DB 장애는 읽기 라우팅이 해결할 문제가 아니므로 지연 판단만 보류한다
+            log.warn("Could not write replica heartbeat: {}", e.toString());
+            return;
+        }
+        try {
+            List<Long> beats = replica.queryForList(
+                    "SELECT beat_millis FROM replica_heartbeat WHERE node_id = ?", Long.class, nodeId);
+            // 첫 heartbeat가 아직 복제되지 않았으면 지연을 알 수 없으므로 주 DB 사용
+            long lag = beats.isEmpty() ? -1 : Math.max(0, clock.millis() - beats.get(0));
+            update(lag >= 0 && lag <= maxLagMillis, lag);
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+        }
+    }
+
+    private void writeHeartbeat() {
+        if (!tableReady) {
+            primary.execute(CREATE_TABLE);
+            tableReady = true;
+        }
+        long now = clock.millis();
+        if (primary.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE node_id = ?", now, nodeId) == 0) {
+            primary.update("INSERT INTO replica_heartbeat (node_id, beat_millis) VALUES (?, ?)", nodeId, now);
+        }
+        if (now - lastPrunedMillis >= PRUNE_INTERVAL_MILLIS) {
+            primary.update("DELETE FROM replica_heartbeat WHERE beat_millis < ? AND node_id <> ?", now - STALE_HEARTBEAT_MILLIS, nodeId);
+            lastPrunedMillis = now;
+        }
+    }
+
+    private void update(boolean usable, long lag) {
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Read replica in sync (lag {} ms), routing read-only work to replica", lag);
+            } else {
+                log.warn("Read replica lag {} ms exceeds {} ms, routing reads to primary", lag, maxLagMillis);
+            }
+        }
+        lastLagMillis = lag;
+        replicaUsable = usable;
+    }
+}
@@ -28,6 +28,8 @@ public class SecurityConfig {
                         .requestMatchers("/", "/register", "/login").permitAll()
                         // 관리자 페이지는 'ADMIN' 역할만 접근 가능
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        // [수정] 직원용 읽기 API (/api/v1)는 관리자와 의사만
+                        .requestMatchers("/api/**").hasAnyRole("ADMIN", "DOCTOR")
                         // 그 외 모든 요청은 인증된 사용자만 접근 가능
                         .anyRequest().authenticated()
                 )
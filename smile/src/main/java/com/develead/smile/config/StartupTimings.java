@@ -0,0 +1,70 @@
+package com.develead.smile.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.OptionalLong;
+
+/**
+ * 기동 시간 측정. SpringApplication.run 시작부터 첫 요청의 응답이 끝날 때까지(time-to-first-request)를 한 번 기록하고 로그로 남긴다.
+ * 컨텍스트 준비 시간만으로는 첫 요청에서 일어나는 지연 초기화(@Lazy 관리자 빈, 템플릿 파싱, 커넥션 생성)가 빠지므로 첫 응답까지 잰다.
+ * startup 빌드 프로필(AOT/CDS) 적용 전후를 같은 로그 줄로 비교한다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupTimings extends OncePerRequestFilter implements ApplicationListener<ApplicationReadyEvent> {
+    private volatile long startedAtNanos;
+    private volatile long readyMillis = -1;
+    private volatile long firstRequestMillis = -1;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long takenNanos = event.getTimeTaken() != null ? event.getTimeTaken().toNanos() : 0;
+        startedAtNanos = System.nanoTime() - takenNanos;
+        readyMillis = takenNanos / 1_000_000;
+        log.info("Application ready in {} ms (JVM uptime {} ms)", readyMillis, ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (firstRequestMillis < 0 && readyMillis >= 0) {
+                recordFirstRequest(request.getRequestURI());
+            }
+        }
+    }
+
+    private synchronized void recordFirstRequest(String uri) {
+        if (firstRequestMillis >= 0) {
+            return;
+        }
+        firstRequestMillis = (System.nanoTime() - startedAtNanos) / 1_000_000;
+        log.info("First request {} served {} ms after startup (ready at {} ms, JVM uptime {} ms)",
+                uri, firstRequestMillis, readyMillis, ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    // 컨텍스트 준비까지 걸린 시간 (준비 전이면 empty)
+    public OptionalLong getReadyMillis() {
+        return readyMillis >= 0 ? OptionalLong.of(readyMillis) : OptionalLong.empty();
+    }
+
+    // 첫 요청 응답까지 걸린 시간 (아직 요청이 없으면 empty)
+    public OptionalLong getTimeToFirstRequestMillis() {
+        return firstRequestMillis >= 0 ? OptionalLong.of(firstRequestMillis) : OptionalLong.empty();
+    }
+}
@@ -0,0 +1,173 @@
+package com.develead.smile.controller;
+import com.develead.smile.domain.ArAgingBucket;
+import com.develead.smile.dto.AppointmentCalendarDto;
+import com.develead.smile.dto.AppointmentCalendarEntry;
+import com.develead.smile.dto.ArAgingCustomerBalance;
+import com.develead.smile.dto.ArAgingSummaryDto;
+import com.develead.smile.dto.ArOpenItemDto;
+import com.develead.smile.dto.BulkAppointmentProgress;
+import com.develead.smile.dto.BulkAppointmentRequest;
+import com.develead.smile.dto.ChatbotAnalyticsDto;
+import com.develead.smile.dto.ClinicalSearchHit;
+import com.develead.smile.dto.InventoryReorderItem;
+import com.develead.smile.dto.PatientTimelineDto;
+import com.develead.smile.dto.PhaseMetricsDto;
+import com.develead.smile.service.AppointmentCalendarService;
+import com.develead.smile.service.ArAgingService;
+import com.develead.smile.service.BulkAppointmentService;
+import com.develead.smile.service.ChatbotAnalyticsService;
+import com.develead.smile.service.ClinicContext;
+import com.develead.smile.service.ClinicalSearchService;
+import com.develead.smile.service.InventoryForecastService;
+import com.develead.smile.service.PatientTimelineService;
+import com.develead.smile.service.PhaseRecorder;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+// 관리자 화면에서 비동기로 호출하는 JSON API
+@RestController @RequestMapping("/admin/api") @RequiredArgsConstructor @Lazy // [수정] 첫 관리자 API 요청 때 생성
+public class AdminApiController {
+    private static final int MAX_TIMELINE_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_AGING_CUSTOMERS = 200;
+    private static final int MAX_REORDER_ITEMS = 200;
+    private static final int MAX_ANALYTICS_DAYS = 92;
+
+    private final PatientTimelineService patientTimelineService;
+    private final ClinicalSearchService clinicalSearchService;
+    private final AppointmentCalendarService appointmentCalendarService;
+    private final BulkAppointmentService bulkAppointmentService;
+    private final ArAgingService arAgingService;
+    private final InventoryForecastService inventoryForecastService;
+    private final ChatbotAnalyticsService chatbotAnalyticsService;
+    private final ClinicContext clinicContext;
+    private final PhaseRecorder phaseRecorder;
+
+    @GetMapping("/customers/{id}/timeline")
+    public PatientTimelineDto customerTimeline(@PathVariable("id") Integer id,
+                                               @RequestParam(value = "cursor", required = false) String cursor,
+                                               @RequestParam(value = "size", defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_TIMELINE_PAGE_SIZE));
+        return patientTimelineService.getTimeline(id, cursor, pageSize);
+    }
+
+    @GetMapping("/search")
+    public List<ClinicalSearchHit> search(@RequestParam("q") String query,
+                                          @RequestParam(value = "doctorId", required = false) Integer doctorId,
+                                          @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @RequestParam(value = "size", defaultValue = "20") int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_RESULTS));
+        return clinicalSearchService.search(query, doctorId, from, to, limit);
+    }
+
+    // 현재 사용자 소속 지점의 월간 예약 달력 (month 생략 시 이번 달)
+    @GetMapping("/calendar")
+    public AppointmentCalendarDto calendar(@RequestParam(value = "month", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return appointmentCalendarService.getMonth(clinicContext.currentClinicId(), month != null ? month : YearMonth.now());
+    }
+
+    @GetMapping("/calendar/day")
+    public List<AppointmentCalendarEntry> calendarDay(@RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return appointmentCalendarService.getDay(clinicContext.currentClinicId(), date);
+    }
+
+    // 예약 일괄 변경. 작업은 비동기로 실행되며 Location의 진행 상황 API로 완료 여부를 확인한다.
+    @PostMapping("/appointments/bulk")
+    public ResponseEntity<BulkAppointmentProgress> bulkAppointments(@Valid @RequestBody BulkAppointmentRequest request) {
+        BulkAppointmentProgress progress;
+        try {
+            progress = bulkAppointmentService.start(request);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/admin/api/appointments/bulk/" + progress.getOperationId()))
+                .body(progress);
+    }
+
+    @GetMapping("/appointments/bulk/{operationId}")
+    public ResponseEntity<BulkAppointmentProgress> bulkAppointmentProgress(@PathVariable("operationId") String operationId) {
+        return ResponseEntity.of(bulkAppointmentService.getProgress(operationId));
+    }
+
+    // 미수금 연령 요약 (0-30, 31-60, 61-90, 90일 초과)
+    @GetMapping("/ar-aging")
+    public ArAgingSummaryDto arAging() {
+        return arAgingService.getSummary(clinicContext.currentClinicId());
+    }
+
+    // 구간별 고객 상세 (잔액 큰 순)
+    @GetMapping("/ar-aging/customers")
+    public List<ArAgingCustomerBalance> arAgingCustomers(@RequestParam("bucket") ArAgingBucket bucket,
+                                                         @RequestParam(value = "size", defaultValue = "50") int size) {
+        int limit = Math.max(1, Math.min(size, MAX_AGING_CUSTOMERS));
+        return arAgingService.getCustomers(clinicContext.currentClinicId(), bucket, limit);
+    }
+
+    @GetMapping("/ar-aging/customers/{id}")
+    public List<ArOpenItemDto> arAgingOpenItems(@PathVariable("id") Integer id) {
+        return arAgingService.getOpenItems(clinicContext.currentClinicId(), id);
+    }
+
+    // 현재 지점의 미수금 원장을 청구서에서 다시 만든다 (불일치 복구). 도입 시 적재는 기동 후 자동으로 진행된다.
+    @PostMapping("/ar-aging/rebuild")
+    public Map<String, Integer> rebuildArAging() {
+        return Map.of("openItems", arAgingService.rebuild(clinicContext.currentClinicId()));
+    }
+
+    // 소비량 예측 기준 재주문 필요 품목 (재고 소진 예상일이 빠른 순)
+    @GetMapping("/inventory/reorder")
+    public List<InventoryReorderItem> inventoryReorder(@RequestParam(value = "size", defaultValue = "50") int size) {
+        int limit = Math.max(1, Math.min(size, MAX_REORDER_ITEMS));
+        return inventoryForecastService.getReorderList(clinicContext.currentClinicId(), limit);
+    }
+
+    // 현재 지점의 재고 로그에서 소비량 예측을 다시 만든다 (도입 시 기존 이력 적재)
+    @PostMapping("/inventory/forecast/rebuild")
+    public Map<String, Integer> rebuildInventoryForecast() {
+        return Map.of("items", inventoryForecastService.rebuildFromHistory(clinicContext.currentClinicId()));
+    }
+
+    // 챗봇 인텐트 분석 차트. 시간대별 집계 테이블만 읽는다 (from ~ to, 양 끝 포함)
+    @GetMapping("/chatbot/analytics")
+    public ChatbotAnalyticsDto chatbotAnalytics(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                @RequestParam(value = "granularity", defaultValue = "HOUR") ChatbotAnalyticsDto.Granularity granularity) {
+        if (to.isBefore(from) || from.plusDays(MAX_ANALYTICS_DAYS).isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from ~ to must be within " + MAX_ANALYTICS_DAYS + " days");
+        }
+        return chatbotAnalyticsService.getAnalytics(from, to, granularity);
+    }
+
+    // 챗봇 로그/문의 전체에서 인텐트 집계를 다시 만든다 (도입 시 기존 이력 적재)
+    @PostMapping("/chatbot/analytics/backfill")
+    public Map<String, Integer> backfillChatbotAnalytics() {
+        return Map.of("processed", chatbotAnalyticsService.backfill());
+    }
+
+    // 진료 기록 저장/수납 등 쓰기 경로의 구간별 소요 시간 (smile.metrics.phase-sample-rate로 샘플링)
+    @GetMapping("/metrics/phases")
+    public PhaseMetricsDto phaseMetrics() {
+        return new PhaseMetricsDto(phaseRecorder.getSampleRate(), phaseRecorder.snapshot());
+    }
+
+    // 구간별 지표 초기화 (변경 전후 비교용)
+    @DeleteMapping("/metrics/phases")
+    public ResponseEntity<Void> resetPhaseMetrics() {
+        phaseRecorder.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -3,13 +3,13 @@ import com.develead.smile.domain.*;
 import com.develead.smile.dto.*;
 import com.develead.smile.repository.ChatbotLogRepository;
 import com.develead.smile.repository.CustomerRepository;
-import com.develead.smile.repository.DoctorRepository;
 import com.develead.smile.repository.ServiceItemRepository;
 import com.develead.smile.service.*;
 import com.develead.smile.service.MedicalRecordService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,9 +30,11 @@ import java.time.temporal.WeekFields;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-@Controller @RequestMapping("/admin") @RequiredArgsConstructor
+// [수정] 관리자 화면 전용 컨트롤러와 그 서비스들은 @Lazy로 첫 관리자 요청 때 만든다 (기동 시간 단축)
+@Controller @RequestMapping("/admin") @RequiredArgsConstructor @Lazy
 public class AdminController {
     private final CustomerService customerService;
     private final ServiceItemService serviceItemService;
@@ -48,19 +50,22 @@ public class AdminController {
     private final ChatbotInquiryService chatbotInquiryService; // 추가
     private final ChatbotLogRepository chatbotLogRepository;
     private final CustomerRepository customerRepository; // DTO 채우기용
-    private final DoctorRepository doctorRepository; // DTO 채우기용
+    private final DoctorService doctorService; // DTO 채우기용
+    private final ClinicContext clinicContext;
+    private final ParallelQueryExecutor parallelQueryExecutor;
     private final ServiceItemRepository serviceItemRepository;
 
     @GetMapping
     public String adminHome(Model model) {
-        model.addAttribute("stats", dashboardService.getDashboardStatistics());
+        model.addAttribute("stats", dashboardService.getDashboardStatistics(clinicContext.currentClinicId()));
         return "admin/dashboard";
     }
 
     // Customer CRUD
     @GetMapping("/customers")
-    public String listCustomers(Model model) {
-        model.addAttribute("customers", customerService.findAllCustomers());
+    public String listCustomers(@ModelAttribute("listQuery") ListQuery query, HttpServletRequest request, Model model) {
+        // [수정] 전체 엔티티 대신 표시 컬럼만 한 페이지씩 조회
+        model.addAttribute("customers", PagedList.of(customerService.findPage(query), query, request));
         return "admin/customers";
     }
 
@@ -99,19 +104,13 @@ public class AdminController {
 
     // Service Item CRUD
     @GetMapping("/service-items")
-    public String listServiceItems(Model model) {
-        List<ServiceItem> serviceItems = serviceItemService.findAll();
-        List<ServiceItem> activeItems = serviceItems.stream()
-                .filter(item -> item.getDeleted() == 'N')  // char 비교
-                .collect(Collectors.toList());
-
-        // 디버그용 로그 추가
-        System.out.println("Active items count: " + activeItems.size());
-        //activeItems.forEach(item ->
-                //System.out.println("Item: " + item.getServiceCode() + " - " + item.getServiceName())
-        //);
-
-        model.addAttribute("serviceItems", activeItems);
+    public String listServiceItems(@ModelAttribute("listQuery") ListQuery query,
+                                   @RequestParam(required = false) String category,
+                                   HttpServletRequest request, Model model) {
+        // [수정] 삭제 항목은 메모리에서 거르지 않고 쿼리에서 제외
+        model.addAttribute("serviceItems", PagedList.of(serviceItemService.findPage(query, category), query, request));
+        model.addAttribute("categories", serviceItemService.findCategories());
+        model.addAttribute("category", category);
         return "admin/service-items";
     }
 
@@ -156,8 +155,11 @@ public class AdminController {
 
     // Inventory Item CRUD (신규 추가)
     @GetMapping("/inventory-items")
-    public String listInventoryItems(Model model) {
-        model.addAttribute("inventoryItems", inventoryService.findAll());
+    public String listInventoryItems(@ModelAttribute("listQuery") ListQuery query,
+                                     @RequestParam(defaultValue = "false") boolean lowStock,
+                                     HttpServletRequest request, Model model) {
+        model.addAttribute("inventoryItems", PagedList.of(inventoryService.findPage(query, lowStock), query, request));
+        model.addAttribute("lowStock", lowStock);
         return "admin/inventory-items";
     }
 
@@ -198,17 +200,20 @@ public class AdminController {
 
     // Medical Record CRUD (신규 추가)
     @GetMapping("/medical-records")
-    public String listMedicalRecords(Model model) {
-        model.addAttribute("medicalRecords", medicalRecordService.findAll());
+    public String listMedicalRecords(@ModelAttribute("listQuery") ListQuery query,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                     HttpServletRequest request, Model model) {
+        model.addAttribute("medicalRecords", PagedList.of(medicalRecordService.findPage(query, startDate, endDate), query, request));
+        model.addAttribute("startDate", startDate);
+        model.addAttribute("endDate", endDate);
         return "admin/medical-records";
     }
 
     @GetMapping("/medical-records/new")
     public String showNewMedicalRecordForm(Model model) {
         model.addAttribute("medicalRecordDto", new MedicalRecordDto());
-        model.addAttribute("customers", customerRepository.findAll());
-        model.addAttribute("doctors", doctorRepository.findAll());
-        model.addAttribute("serviceItems", serviceItemRepository.findAll());
+        addMedicalRecordFormOptions(model);
         return "admin/medical-record-form";
     }
 
@@ -247,9 +252,7 @@ public class AdminController {
         dto.setServices(serviceDtos);
 
         model.addAttribute("medicalRecordDto", dto);
-        model.addAttribute("customers", customerRepository.findAll());
-        model.addAttribute("doctors", doctorRepository.findAll());
-        model.addAttribute("serviceItems", serviceItemRepository.findAll());
+        addMedicalRecordFormOptions(model);
         return "admin/medical-record-form";
     }
 
@@ -267,8 +270,11 @@ public class AdminController {
 
     // Billing CRUD
     @GetMapping("/billings")
-    public String listBillings(Model model) {
-        model.addAttribute("billings", billingService.findAll());
+    public String listBillings(@ModelAttribute("listQuery") ListQuery query,
+                               @RequestParam(required = false) String status,
+                               HttpServletRequest request, Model model) {
+        model.addAttribute("billings", PagedList.of(billingService.findPage(query, status), query, request));
+        model.addAttribute("status", status);
         return "admin/billings";
     }
 
@@ -306,8 +312,11 @@ public class AdminController {
 
     // Notification Template CRUD (신규 추가)
     @GetMapping("/notification-templates")
-    public String listNotificationTemplates(Model model) {
-        model.addAttribute("templates", notificationTemplateService.findAll());
+    public String listNotificationTemplates(@ModelAttribute("listQuery") ListQuery query,
+                                            @RequestParam(required = false) String channel,
+                                            HttpServletRequest request, Model model) {
+        model.addAttribute("templates", PagedList.of(notificationTemplateService.findPage(query, channel), query, request));
+        model.addAttribute("channel", channel);
         return "admin/notification-templates";
     }
 
@@ -388,16 +397,14 @@ public class AdminController {
     @GetMapping("/appointments/new")
     public String showNewAppointmentForm(Model model) {
         model.addAttribute("appointmentDto", new AdminAppointmentDto());
-        model.addAttribute("customers", customerRepository.findAll());
-        model.addAttribute("doctors", doctorRepository.findAll());
+        addAppointmentFormOptions(model);
         return "admin/appointment-form";
     }
 
     @PostMapping("/appointments")
     public String createAppointment(@Valid @ModelAttribute("appointmentDto") AdminAppointmentDto dto, BindingResult result, RedirectAttributes attrs, Model model) {
         if (result.hasErrors()) {
-            model.addAttribute("customers", customerRepository.findAll());
-            model.addAttribute("doctors", doctorRepository.findAll());
+            addAppointmentFormOptions(model);
             return "admin/appointment-form";
         }
         adminAppointmentService.save(dto);
@@ -418,16 +425,14 @@ public class AdminController {
         dto.setStatus(app.getStatus());
 
         model.addAttribute("appointmentDto", dto);
-        model.addAttribute("customers", customerRepository.findAll());
-        model.addAttribute("doctors", doctorRepository.findAll());
+        addAppointmentFormOptions(model);
         return "admin/appointment-form";
     }
 
     @PostMapping("/appointments/{id}")
     public String updateAppointment(@PathVariable Integer id, @Valid @ModelAttribute("appointmentDto") AdminAppointmentDto dto, BindingResult result, RedirectAttributes attrs, Model model) {
         if (result.hasErrors()) {
-            model.addAttribute("customers", customerRepository.findAll());
-            model.addAttribute("doctors", doctorRepository.findAll());
+            addAppointmentFormOptions(model);
             return "admin/appointment-form";
         }
         dto.setAppointmentId(id);
@@ -584,4 +589,31 @@ public class AdminController {
         return "redirect:/admin/chatbot-inquiries";
     }
 
+    // [수정] 의사 선택 목록은 현재 사용자 소속 지점의 의사만
+    private List<Doctor> clinicDoctors() {
+        return doctorService.findByClinic(clinicContext.currentClinicId());
+    }
+
+    // [수정] 폼 선택 목록 조회는 서로 독립적이므로 동시에 실행
+    private void addMedicalRecordFormOptions(Model model) {
+        try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+            Supplier<List<Customer>> customers = scope.fork(customerRepository::findAll);
+            Supplier<List<Doctor>> doctors = scope.fork(this::clinicDoctors);
+            Supplier<List<ServiceItem>> serviceItems = scope.fork(serviceItemRepository::findAll);
+            scope.join();
+            model.addAttribute("customers", customers.get());
+            model.addAttribute("doctors", doctors.get());
+            model.addAttribute("serviceItems", serviceItems.get());
+        }
+    }
+
+    private void addAppointmentFormOptions(Model model) {
+        try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+            Supplier<List<Customer>> customers = scope.fork(customerRepository::findAll);
+            Supplier<List<Doctor>> doctors = scope.fork(this::clinicDoctors);
+            scope.join();
+            model.addAttribute("customers", customers.get());
+            model.addAttribute("doctors", doctors.get());
+        }
+    }
 }
@@ -0,0 +1,102 @@
+package com.develead.smile.controller;
+import com.develead.smile.dto.AppointmentSyncItem;
+import com.develead.smile.dto.BillingSyncItem;
+import com.develead.smile.dto.CustomerSyncItem;
+import com.develead.smile.dto.SyncChanges;
+import com.develead.smile.dto.SyncVersion;
+import com.develead.smile.service.ClinicContext;
+import com.develead.smile.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 직원용 읽기 전용 JSON API. 목록은 ETag/Last-Modified로 조건부 GET을 지원하여, 바뀐 것이 없으면
+ * 목록 쿼리 없이 304를 돌려준다. 폴링 클라이언트는 If-None-Match를 보내거나 /changes 커서로 변경분만 받는다.
+ * Last-Modified는 초 단위이므로 같은 초 안의 변경까지 구분하려면 ETag를 쓴다.
+ */
+@RestController @RequestMapping("/api/v1") @RequiredArgsConstructor
+public class SyncApiController {
+    private static final int MAX_CHANGES_PAGE_SIZE = 500;
+    // 브라우저/프록시가 저장은 하되 매번 검증하도록 (Spring Security 기본값 no-store 대신)
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final SyncService syncService;
+    private final ClinicContext clinicContext;
+
+    // 현재 사용자 소속 지점의 하루 예약 (date 생략 시 오늘)
+    @GetMapping("/appointments")
+    public List<AppointmentSyncItem> appointments(@RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                  ServletWebRequest request) {
+        Integer clinicId = clinicContext.currentClinicId();
+        LocalDate day = date != null ? date : LocalDate.now();
+        return syncService.getAppointments(clinicId, day, notModified(request, "appointments-" + clinicId + "-" + day))
+                .orElse(null);
+    }
+
+    @GetMapping("/appointments/changes")
+    public SyncChanges<AppointmentSyncItem> appointmentChanges(@RequestParam(value = "cursor", required = false) String cursor,
+                                                               @RequestParam(value = "size", defaultValue = "100") int size) {
+        Integer clinicId = clinicContext.currentClinicId();
+        return changes(() -> syncService.getAppointmentChanges(clinicId, cursor, pageSize(size)));
+    }
+
+    @GetMapping("/customers/{id}")
+    public CustomerSyncItem customer(@PathVariable("id") Integer id, ServletWebRequest request) {
+        CustomerSyncItem customer = syncService.getCustomer(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found: " + id));
+        SyncVersion version = new SyncVersion(customer.getLastModifiedAt(), 1L);
+        return notModified(request, "customer-" + id).test(version) ? null : customer;
+    }
+
+    @GetMapping("/customers/changes")
+    public SyncChanges<CustomerSyncItem> customerChanges(@RequestParam(value = "cursor", required = false) String cursor,
+                                                         @RequestParam(value = "size", defaultValue = "100") int size) {
+        return changes(() -> syncService.getCustomerChanges(cursor, pageSize(size)));
+    }
+
+    // 고객의 청구 요약 (현재 지점, 최근 진료일 순)
+    @GetMapping("/customers/{id}/billings")
+    public List<BillingSyncItem> customerBillings(@PathVariable("id") Integer id, ServletWebRequest request) {
+        Integer clinicId = clinicContext.currentClinicId();
+        return syncService.getBillings(clinicId, id, notModified(request, "billings-" + clinicId + "-" + id))
+                .orElse(null);
+    }
+
+    @GetMapping("/billings/changes")
+    public SyncChanges<BillingSyncItem> billingChanges(@RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "size", defaultValue = "100") int size) {
+        Integer clinicId = clinicContext.currentClinicId();
+        return changes(() -> syncService.getBillingChanges(clinicId, cursor, pageSize(size)));
+    }
+
+    // 검증값으로 ETag/Last-Modified를 설정하고, 요청의 조건과 같으면 304 (본문은 null로 돌려주면 비워진다)
+    private static Predicate<SyncVersion> notModified(ServletWebRequest request, String scope) {
+        return version -> {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+            return request.checkNotModified(version.etag(scope), version.lastModifiedMillis());
+        };
+    }
+
+    private static <T> SyncChanges<T> changes(Supplier<SyncChanges<T>> query) {
+        try {
+            return query.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CHANGES_PAGE_SIZE));
+    }
+}
@@ -1,10 +1,18 @@
 package com.develead.smile.domain;
+import com.develead.smile.service.ClinicalSearchIndexer;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
-@Entity @Table(name = "appointment") @Getter @Setter
+@Entity @Table(name = "appointment", indexes = {
+        @Index(name = "idx_appointment_clinic_datetime", columnList = "clinic_id, appointmentDatetime"),
+        @Index(name = "idx_appointment_datetime", columnList = "appointmentDatetime"),
+        @Index(name = "idx_appointment_customer_datetime", columnList = "customer_id, appointmentDatetime, appointment_id"),
+        @Index(name = "idx_appointment_clinic_modified", columnList = "clinic_id, lastModifiedAt, appointment_id")
+}) @Getter @Setter
+@EntityListeners(ClinicalSearchIndexer.class)
 public class Appointment {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer appointment_id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50) private Integer appointment_id;
     @ManyToOne @JoinColumn(name = "customer_id", nullable = false) private Customer customer;
     @ManyToOne @JoinColumn(name = "doctor_id", nullable = false) private Doctor doctor;
     @ManyToOne @JoinColumn(name = "clinic_id", nullable = false) private Clinic clinic;
@@ -15,4 +23,11 @@ public class Appointment {
     // [수정] createdBy, updatedBy 필드 추가
     private Integer createdBy;
     private Integer updatedBy;
+    // [수정] 읽기 API의 ETag/Last-Modified와 변경분 커서 기준. 엔티티 저장 시 갱신되며, 일괄 UPDATE 쿼리도 직접 설정한다.
+    @Column(nullable = false) private LocalDateTime lastModifiedAt = LocalDateTime.now();
+    // [수정] 전날 알림을 보낸 예약 일시. 알림 작업이 파티션을 다시 처리해도 보낸 예약은 건너뛰고, 일시가 바뀌면 다시 보낸다.
+    private LocalDateTime reminderSentFor;
+
+    @PrePersist @PreUpdate
+    void touch() { lastModifiedAt = LocalDateTime.now(); }
 }
\ No newline at end of file
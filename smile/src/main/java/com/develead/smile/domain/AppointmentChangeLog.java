@@ -2,13 +2,18 @@ package com.develead.smile.domain;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
-@Entity @Table(name = "appointment_change_log") @Getter @Setter
+@Entity @Table(name = "appointment_change_log", indexes = {
+        @Index(name = "idx_appointment_change_log_bulk", columnList = "bulkOperationId")
+}) @Getter @Setter
 public class AppointmentChangeLog {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer log_id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_change_log_seq")
+    @SequenceGenerator(name = "appointment_change_log_seq", sequenceName = "appointment_change_log_seq", allocationSize = 50) private Integer log_id;
     @ManyToOne @JoinColumn(name = "appointment_id", nullable = false) private Appointment appointment;
     @Column(nullable = false) private String fieldName;
     private String previousValue;
     @Column(nullable = false) private String newValue;
     @Column(nullable = false) private LocalDateTime changedAt = LocalDateTime.now();
     @ManyToOne @JoinColumn(name = "changed_by") private UserAccount changedBy;
+    // [수정] 일괄 변경으로 생긴 로그는 같은 작업 ID로 묶는다 (일괄 알림 대상 조회용)
+    @Column(length = 36) private String bulkOperationId;
 }
\ No newline at end of file
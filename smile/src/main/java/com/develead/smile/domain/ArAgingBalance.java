@@ -0,0 +1,22 @@
+package com.develead.smile.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 지점 x 고객 x 연령 구간별 미수금 합계. 청구/수납 시 증감분만 반영하고, 야간 재분류 때 구간 사이를 옮긴다.
+@Entity @Table(name = "ar_aging_balance", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ar_aging_balance", columnNames = {"clinicId", "customerId", "bucket"})
+}, indexes = {
+        @Index(name = "idx_ar_aging_balance_clinic_bucket", columnList = "clinicId, bucket, balance")
+}) @Getter @Setter
+public class ArAgingBalance {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ar_aging_balance_seq")
+    @SequenceGenerator(name = "ar_aging_balance_seq", sequenceName = "ar_aging_balance_seq", allocationSize = 50) private Long balance_id;
+    @Column(nullable = false) private Integer clinicId;
+    @Column(nullable = false) private Integer customerId;
+    @Enumerated(EnumType.STRING) @Column(nullable = false, length = 20) private ArAgingBucket bucket;
+    @Column(nullable = false) private BigDecimal balance = BigDecimal.ZERO;
+    @Column(nullable = false) private int itemCount = 0;
+    @Column(nullable = false) private LocalDateTime updatedAt = LocalDateTime.now();
+}
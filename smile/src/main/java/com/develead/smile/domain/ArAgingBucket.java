@@ -0,0 +1,35 @@
+package com.develead.smile.domain;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// 미수금 연령 구간. 청구일(진료일)로부터 지난 일수로 나눈다.
+public enum ArAgingBucket {
+    DAYS_0_30(0), DAYS_31_60(31), DAYS_61_90(61), DAYS_OVER_90(91);
+
+    private final int minDays;
+
+    ArAgingBucket(int minDays) {
+        this.minDays = minDays;
+    }
+
+    public static ArAgingBucket of(LocalDate invoiceDate, LocalDate asOf) {
+        long days = ChronoUnit.DAYS.between(invoiceDate, asOf);
+        ArAgingBucket[] buckets = values();
+        for (int i = buckets.length - 1; i > 0; i--) {
+            if (days >= buckets[i].minDays) {
+                return buckets[i];
+            }
+        }
+        return DAYS_0_30;
+    }
+
+    // 다음 구간 (마지막 구간이면 null)
+    public ArAgingBucket next() {
+        return ordinal() + 1 < values().length ? values()[ordinal() + 1] : null;
+    }
+
+    // asOf 기준으로 청구일이 이 날짜 이전(포함)이면 이 구간 이상이다
+    public LocalDate cutoffDate(LocalDate asOf) {
+        return asOf.minusDays(minDays);
+    }
+}
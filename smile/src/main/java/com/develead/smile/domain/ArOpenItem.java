@@ -0,0 +1,42 @@
+package com.develead.smile.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 미수금 원장의 미결 항목. 잔액이 남은 청구서 하나당 한 행이며, 완납되면 삭제된다.
+// 집계용 파생 테이블이므로 지점/고객은 FK 없이 ID만 둔다 (청구서 원본에서 언제든 재구성 가능).
+@Entity @Table(name = "ar_open_item", indexes = {
+        @Index(name = "idx_ar_open_item_bucket_date", columnList = "bucket, invoiceDate"),
+        @Index(name = "idx_ar_open_item_clinic_customer", columnList = "clinicId, customerId")
+}) @Getter @Setter
+public class ArOpenItem implements Persistable<Integer> {
+    @Id private Integer billing_id;
+    @Column(nullable = false) private Integer clinicId;
+    @Column(nullable = false) private Integer customerId;
+    @Column(nullable = false) private LocalDate invoiceDate;
+    @Column(nullable = false) private BigDecimal balance;
+    @Enumerated(EnumType.STRING) @Column(nullable = false, length = 20) private ArAgingBucket bucket;
+    @Column(nullable = false) private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // ID를 직접 지정하므로 save()가 merge(추가 SELECT) 대신 persist를 하도록 신규 여부를 알려준다
+    @Transient @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) private boolean isNew = true;
+
+    @Override
+    public Integer getId() {
+        return billing_id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
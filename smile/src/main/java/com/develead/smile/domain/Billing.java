@@ -2,12 +2,16 @@ package com.develead.smile.domain;
 import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
-@Entity @Table(name = "billing") @Getter @Setter
+@Entity @Table(name = "billing", indexes = {
+        @Index(name = "idx_billing_modified", columnList = "lastModifiedAt, billing_id")
+}) @Getter @Setter
 public class Billing {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer billing_id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "billing_seq")
+    @SequenceGenerator(name = "billing_seq", sequenceName = "billing_seq", allocationSize = 50) private Integer billing_id;
     @OneToOne @JoinColumn(name = "medical_record_id", nullable = false, unique = true) private MedicalRecord medicalRecord;
     @Column(nullable = false) private BigDecimal totalAmount = BigDecimal.ZERO;
     @Column(nullable = false) private BigDecimal totalPaid = BigDecimal.ZERO;
@@ -15,6 +19,13 @@ public class Billing {
     @Column(nullable = false) private String billingStatus = "UNPAID";
     private Integer createdBy;
     private Integer updatedBy;
+    // [수정] 낙관적 잠금용 버전. 수납은 원자적 UPDATE에서 직접 증가시킨다.
+    @Version @Column(nullable = false) private long version;
+    // [수정] 읽기 API의 변경 기준 시각. 수납 UPDATE(applyPayment)도 함께 설정한다.
+    @Column(nullable = false) private LocalDateTime lastModifiedAt = LocalDateTime.now();
     @OneToMany(mappedBy = "billing", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     private List<PaymentTransaction> transactions = new ArrayList<>();
+
+    @PrePersist @PreUpdate
+    void touch() { lastModifiedAt = LocalDateTime.now(); }
 }
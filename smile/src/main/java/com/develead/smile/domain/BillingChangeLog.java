@@ -5,7 +5,8 @@ import java.time.LocalDateTime;
 
 @Entity @Table(name = "billing_change_log") @Getter @Setter
 public class BillingChangeLog {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer log_id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "billing_change_log_seq")
+    @SequenceGenerator(name = "billing_change_log_seq", sequenceName = "billing_change_log_seq", allocationSize = 50) private Integer log_id;
     @ManyToOne @JoinColumn(name = "billing_id", nullable = false) private Billing billing;
     @Column(nullable = false) private String fieldName;
     @Column(length = 500) private String previousValue;
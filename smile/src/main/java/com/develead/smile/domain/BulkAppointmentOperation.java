@@ -0,0 +1,25 @@
+package com.develead.smile.domain;
+import com.develead.smile.dto.BulkAppointmentProgress;
+import com.develead.smile.dto.BulkAppointmentRequest;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// 예약 일괄 변경 작업의 진행 상황. 작업을 실행하는 노드가 묶음마다 별도 트랜잭션으로 갱신하므로 어느 노드에서든 조회할 수 있다.
+@Entity @Table(name = "bulk_appointment_operation", indexes = {
+        @Index(name = "idx_bulk_appointment_operation_finished", columnList = "finishedAt")
+}) @Getter @Setter
+public class BulkAppointmentOperation {
+    @Id @Column(length = 36) private String operationId;
+    @Column(nullable = false) private Integer clinicId;
+    @Enumerated(EnumType.STRING) @Column(nullable = false, length = 20) private BulkAppointmentRequest.Operation operation;
+    @Enumerated(EnumType.STRING) @Column(nullable = false, length = 20) private BulkAppointmentProgress.State state;
+    @Column(nullable = false) private int total;
+    @Column(nullable = false) private int processed;
+    @Column(nullable = false) private int conflictCount;
+    // 같은 시각에 이미 예약이 있어 옮기지 못한 예약 ID (쉼표 구분, 앞쪽 일부만)
+    @Column(length = 2000) private String conflictIds;
+    @Column(length = 1000) private String error;
+    @Column(nullable = false) private LocalDateTime requestedAt;
+    private LocalDateTime finishedAt;
+}
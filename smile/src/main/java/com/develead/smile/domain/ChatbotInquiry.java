@@ -1,9 +1,14 @@
 package com.develead.smile.domain;
+import com.develead.smile.service.ClinicalSearchIndexer;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
-@Entity @Table(name = "chatbot_inquiry") @Getter @Setter
+@Entity @Table(name = "chatbot_inquiry", indexes = {
+        @Index(name = "idx_chatbot_inquiry_received", columnList = "receivedAt"),
+        @Index(name = "idx_chatbot_inquiry_phone_received", columnList = "phoneNumber, receivedAt, inquiry_id")
+}) @Getter @Setter
+@EntityListeners(ClinicalSearchIndexer.class)
 public class ChatbotInquiry {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer inquiry_id;
     private String sessionId;
@@ -0,0 +1,21 @@
+package com.develead.smile.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// 시간대 x 인텐트별 챗봇 집계. 대화(turn)는 발생 시각/인텐트에, 세션 지표(세션 수, 세션 총 대화 수, 문의 전환)는
+// 세션이 시작된 시각과 첫 인텐트에 쌓는다. 분석 화면은 이 테이블만 읽는다 (chatbot_log에서 언제든 재구성 가능).
+@Entity @Table(name = "chatbot_intent_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chatbot_intent_rollup", columnNames = {"bucketHour", "intent"})
+}) @Getter @Setter
+public class ChatbotIntentRollup {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chatbot_intent_rollup_seq")
+    @SequenceGenerator(name = "chatbot_intent_rollup_seq", sequenceName = "chatbot_intent_rollup_seq", allocationSize = 50) private Long rollup_id;
+    @Column(nullable = false) private LocalDateTime bucketHour;
+    @Column(nullable = false, length = 100) private String intent;
+    @Column(nullable = false) private long turns = 0;
+    @Column(nullable = false) private int sessions = 0;
+    @Column(nullable = false) private long sessionTurns = 0;
+    @Column(nullable = false) private int conversions = 0;
+    @Column(nullable = false) private LocalDateTime updatedAt = LocalDateTime.now();
+}
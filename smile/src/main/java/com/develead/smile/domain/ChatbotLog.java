@@ -2,7 +2,10 @@ package com.develead.smile.domain;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
-@Entity @Table(name = "chatbot_log") @Getter @Setter
+@Entity @Table(name = "chatbot_log", indexes = {
+        @Index(name = "idx_chatbot_log_session", columnList = "sessionId, timestamp"),
+        @Index(name = "idx_chatbot_log_timestamp", columnList = "timestamp, log_id")
+}) @Getter @Setter
 public class ChatbotLog {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long log_id;
     private String sessionId;
@@ -0,0 +1,15 @@
+package com.develead.smile.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// 챗봇 집계가 로그/문의를 어디까지 읽었는지 나타내는 (시각, ID) keyset 위치. 한 행뿐이며 집계 배치는 이 행을 잠그고 실행한다.
+@Entity @Table(name = "chatbot_rollup_watermark") @Getter @Setter
+public class ChatbotRollupWatermark {
+    @Id @Column(length = 50) private String name;
+    @Column(nullable = false) private LocalDateTime logTimestamp;
+    @Column(nullable = false) private long logId;
+    @Column(nullable = false) private LocalDateTime inquiryTimestamp;
+    @Column(nullable = false) private int inquiryId;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.develead.smile.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+// 챗봇 세션별 집계 상태. 새 대화가 어느 세션의 첫 대화인지, 세션 지표를 어느 시간대/인텐트에 쌓을지 판단하는 데 쓴다.
+@Entity @Table(name = "chatbot_session_stat") @Getter @Setter
+public class ChatbotSessionStat implements Persistable<String> {
+    @Id private String sessionId;
+    @Column(nullable = false) private LocalDateTime startedAt;
+    @Column(nullable = false, length = 100) private String firstIntent;
+    @Column(nullable = false) private int turns = 0;
+    private LocalDateTime convertedAt;
+
+    // ID를 직접 지정하므로 save()가 merge(추가 SELECT) 대신 persist를 하도록 신규 여부를 알려준다
+    @Transient @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return sessionId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
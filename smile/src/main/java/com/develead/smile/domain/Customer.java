@@ -4,8 +4,12 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "customer")
+@Table(name = "customer", indexes = {
+        @Index(name = "idx_customer_modified", columnList = "lastModifiedAt, customer_id")
+})
 @Getter @Setter
 public class Customer {
     @Id
@@ -27,5 +31,15 @@ public class Customer {
 
     @Column(nullable = false, length = 1)
     private String deleted = "N";
+
+    // [수정] 읽기 API의 ETag/Last-Modified와 변경분 커서 기준 (삭제도 deleted 플래그 변경으로 전달된다)
+    @Column(nullable = false)
+    private LocalDateTime lastModifiedAt = LocalDateTime.now();
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        lastModifiedAt = LocalDateTime.now();
+    }
 }
 
@@ -1,7 +1,9 @@
 package com.develead.smile.domain;
 import jakarta.persistence.*;
 import lombok.*;
-@Entity @Table(name = "doctor") @Getter @Setter
+@Entity @Table(name = "doctor", indexes = {
+        @Index(name = "idx_doctor_clinic_name", columnList = "clinic_id, name")
+}) @Getter @Setter
 public class Doctor {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer doctor_id;
     @Column(nullable = false) private String name;
@@ -1,7 +1,10 @@
 package com.develead.smile.domain;
 import jakarta.persistence.*;
 import lombok.*;
-@Entity @Table(name = "inventory_item") @Getter @Setter
+import java.time.LocalDate;
+@Entity @Table(name = "inventory_item", indexes = {
+        @Index(name = "idx_inventory_item_clinic_code", columnList = "clinic_id, itemCode")
+}) @Getter @Setter
 public class InventoryItem {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer item_id;
     @ManyToOne @JoinColumn(name = "clinic_id", nullable = false) private Clinic clinic;
@@ -14,4 +17,10 @@ public class InventoryItem {
     @Column(nullable = false) private int safeStockLevel = 0;
     private Integer createdBy;
     private Integer updatedBy;
+    // [수정] 소비량 예측 상태. 출고 때마다 InventoryForecastService가 증분 갱신한다 (로그를 다시 읽지 않음)
+    // 마감된 날까지의 일일 출고량 지수 가중 이동 평균(EWMA), 집계 시작일, 집계 중인 날짜와 그날의 출고량
+    @Column(nullable = false) private double dailyConsumptionRate = 0;
+    private LocalDate consumptionSince;
+    private LocalDate consumptionDay;
+    @Column(nullable = false) private int consumptionDayOut = 0;
 }
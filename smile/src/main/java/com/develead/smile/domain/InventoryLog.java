@@ -4,7 +4,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 @Entity @Table(name = "inventory_log") @Getter @Setter
 public class InventoryLog {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer log_id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_log_seq")
+    @SequenceGenerator(name = "inventory_log_seq", sequenceName = "inventory_log_seq", allocationSize = 50) private Integer log_id;
     @ManyToOne @JoinColumn(name = "item_id", nullable = false) private InventoryItem item;
     @Column(nullable = false) private String changeType;
     @Column(nullable = false) private int quantityChanged;
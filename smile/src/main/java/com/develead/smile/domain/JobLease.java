@@ -0,0 +1,18 @@
+package com.develead.smile.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// 스케줄 작업 파티션별 DB 임대(lease). 여러 인스턴스 중 임대를 획득한 노드만 해당 파티션을 처리한다.
+@Entity @Table(name = "job_lease") @Getter @Setter
+public class JobLease {
+    @Id private String leaseKey;
+    @Column(nullable = false) private String jobName;
+    @Column(nullable = false) private int partitionNo;
+    @Column(nullable = false) private int partitionCount;
+    private String runKey;
+    private String ownerId;
+    private LocalDateTime leaseUntil;
+    @Column(nullable = false) private String status = "IDLE"; // IDLE, RUNNING, DONE
+    private LocalDateTime completedAt;
+}
@@ -1,4 +1,5 @@
 package com.develead.smile.domain;
+import com.develead.smile.service.ClinicalSearchIndexer;
 import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
@@ -6,9 +7,14 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
-@Entity @Table(name = "medical_record") @Getter @Setter
+@Entity @Table(name = "medical_record", indexes = {
+        @Index(name = "idx_medical_record_customer_date", columnList = "customer_id, treatmentDate, record_id")
+}) @Getter @Setter
+@EntityListeners(ClinicalSearchIndexer.class)
 public class MedicalRecord {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer record_id;
+    // [수정] IDENTITY는 INSERT 배치를 막으므로 50개씩 미리 할당하는 pooled 시퀀스 사용 (다른 기록성 엔티티도 동일)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_record_seq")
+    @SequenceGenerator(name = "medical_record_seq", sequenceName = "medical_record_seq", allocationSize = 50) private Integer record_id;
     @OneToOne @JoinColumn(name = "appointment_id", nullable = false) private Appointment appointment;
     @ManyToOne @JoinColumn(name = "customer_id", nullable = false) private Customer customer;
     @ManyToOne @JoinColumn(name = "doctor_id", nullable = false) private Doctor doctor;
@@ -4,7 +4,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 @Entity @Table(name = "medical_record_change_log") @Getter @Setter
 public class MedicalRecordChangeLog {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer log_id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_record_change_log_seq")
+    @SequenceGenerator(name = "medical_record_change_log_seq", sequenceName = "medical_record_change_log_seq", allocationSize = 50) private Integer log_id;
     @ManyToOne @JoinColumn(name = "medical_record_id", nullable = false) private MedicalRecord medicalRecord;
     @Column(nullable = false) private String fieldName;
     @Lob private String previousValue;
@@ -5,7 +5,8 @@ import java.math.BigDecimal;
 
 @Entity @Table(name = "medical_record_service") @Getter @Setter
 public class MedicalRecordService {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer record_service_id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_record_service_seq")
+    @SequenceGenerator(name = "medical_record_service_seq", sequenceName = "medical_record_service_seq", allocationSize = 50) private Integer record_service_id;
     @ManyToOne(fetch = FetchType.LAZY) @JoinColumn(name = "record_id", nullable = false) private MedicalRecord medicalRecord;
     @ManyToOne(fetch = FetchType.LAZY) @JoinColumn(name = "service_item_id", nullable = false) private ServiceItem serviceItem;
     @Column(nullable = false) private int quantity = 1;
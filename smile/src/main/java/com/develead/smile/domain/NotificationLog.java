@@ -4,7 +4,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 @Entity @Table(name = "notification_log") @Getter @Setter
 public class NotificationLog {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer log_id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_log_seq")
+    @SequenceGenerator(name = "notification_log_seq", sequenceName = "notification_log_seq", allocationSize = 50) private Integer log_id;
     @ManyToOne @JoinColumn(name = "customer_id") private Customer customer;
     @Column(nullable = false) private String channel;
     @Column(nullable = false) private String templateKey;
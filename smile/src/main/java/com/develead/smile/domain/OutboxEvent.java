@@ -0,0 +1,35 @@
+package com.develead.smile.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// 트랜잭션 아웃박스. 업무 데이터와 같은 트랜잭션에 기록되고, OutboxRelay가 커밋 이후 비동기로 처리한다.
+@Entity @Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_event_status_available", columnList = "status, availableAt"),
+        @Index(name = "idx_outbox_event_claim_token", columnList = "claimToken"),
+        @Index(name = "idx_outbox_event_created_at", columnList = "createdAt")
+}) @Getter @Setter
+public class OutboxEvent {
+    public static final String PENDING = "PENDING";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50) private Long event_id;
+    @Enumerated(EnumType.STRING) @Column(nullable = false, length = 50) private EventType eventType;
+    @Column(nullable = false, length = 50) private String aggregateType;
+    @Column(nullable = false) private Integer aggregateId;
+    @Column(nullable = false, length = 2000) private String payload;
+    @Column(nullable = false, length = 20) private String status = PENDING;
+    @Column(nullable = false) private int attempts = 0;
+    @Column(nullable = false) private LocalDateTime createdAt = LocalDateTime.now();
+    @Column(nullable = false) private LocalDateTime availableAt = LocalDateTime.now();
+    @Column(length = 36) private String claimToken;
+    private LocalDateTime claimedUntil;
+    private LocalDateTime processedAt;
+    @Column(length = 1000) private String lastError;
+    // 처리를 마친 핸들러 이름 (쉼표 구분). 일부 핸들러만 실패해 재시도할 때 성공한 핸들러는 건너뛴다.
+    @Column(length = 500) private String completedHandlers;
+    public enum EventType { APPOINTMENT_BOOKED, APPOINTMENT_CANCELLED, APPOINTMENT_CHANGED, APPOINTMENTS_BULK_CHANGED, PAYMENT_RECEIVED }
+}
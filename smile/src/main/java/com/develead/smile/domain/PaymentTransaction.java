@@ -5,13 +5,21 @@ import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-@Entity @Table(name = "payment_transaction") @Getter @Setter
+@Entity @Table(name = "payment_transaction", indexes = {
+        @Index(name = "idx_payment_transaction_date", columnList = "transactionDate")
+}) @Getter @Setter
 public class PaymentTransaction {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer transaction_id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_transaction_seq")
+    @SequenceGenerator(name = "payment_transaction_seq", sequenceName = "payment_transaction_seq", allocationSize = 50) private Integer transaction_id;
     @ManyToOne(fetch = FetchType.LAZY) @JoinColumn(name = "billing_id", nullable = false) @JsonIgnore
     private Billing billing;
     @Column(nullable = false) private BigDecimal amount;
     @Column(nullable = false) private String paymentMethod;
     @Column(nullable = false) private LocalDateTime transactionDate = LocalDateTime.now();
     private Integer createdBy;
+    // [수정] 매출 보고서 캐시의 데이터 버전 기준 시각 (결제 수단/일시/금액 수정 시 갱신)
+    @Column(nullable = false) private LocalDateTime lastModifiedAt = LocalDateTime.now();
+
+    @PrePersist @PreUpdate
+    void touch() { lastModifiedAt = LocalDateTime.now(); }
 }
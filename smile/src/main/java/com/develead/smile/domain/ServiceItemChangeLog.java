@@ -4,7 +4,8 @@ import lombok.*;
 import java.time.LocalDateTime;
 @Entity @Table(name = "service_item_change_log") @Getter @Setter
 public class ServiceItemChangeLog {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Integer log_id;
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_item_change_log_seq")
+    @SequenceGenerator(name = "service_item_change_log_seq", sequenceName = "service_item_change_log_seq", allocationSize = 50) private Integer log_id;
     @ManyToOne @JoinColumn(name = "service_item_id", nullable = false) private ServiceItem serviceItem;
     @Column(nullable = false) private String fieldName;
     @Column(length = 1000) private String previousValue;
@@ -23,6 +23,11 @@ public class UserAccount {
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
 
+    // 직원 계정의 소속 지점. 고객 계정과 지점 지정 전 계정은 null (기본 지점으로 처리)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "clinic_id")
+    private Clinic clinic;
+
     private LocalDateTime lastLoginAt;
 
     @Column(nullable = false)
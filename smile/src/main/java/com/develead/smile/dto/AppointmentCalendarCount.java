@@ -0,0 +1,15 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDate;
+
+// 예약 달력 집계의 한 행 (날짜 x 의사 x 상태별 건수). JPQL GROUP BY 생성자 프로젝션으로 조회한다.
+@Getter
+@AllArgsConstructor
+public class AppointmentCalendarCount {
+    private final LocalDate date;
+    private final Integer doctorId;
+    private final String doctorName;
+    private final String status;
+    private final Long count;
+}
@@ -0,0 +1,34 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+// 월간 예약 달력. 예약이 있는 날만 포함한다.
+@Getter
+@AllArgsConstructor
+public class AppointmentCalendarDto {
+    private final Integer clinicId;
+    private final YearMonth month;
+    private final List<Day> days;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Day {
+        private final LocalDate date;
+        private final long total;
+        private final Map<String, Long> statusCounts;
+        private final List<DoctorDay> doctors;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class DoctorDay {
+        private final Integer doctorId;
+        private final String doctorName;
+        private final long total;
+        private final Map<String, Long> statusCounts;
+    }
+}
@@ -0,0 +1,16 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDateTime;
+
+// 예약 달력 일별 상세의 한 행. 화면에 필요한 컬럼만 프로젝션으로 조회한다.
+@Getter
+@AllArgsConstructor
+public class AppointmentCalendarEntry {
+    private final Integer appointmentId;
+    private final LocalDateTime appointmentDatetime;
+    private final Integer doctorId;
+    private final String doctorName;
+    private final String customerName;
+    private final String status;
+}
@@ -0,0 +1,19 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDateTime;
+
+// 읽기 API(/api/v1)의 예약 한 건
+@Getter
+@AllArgsConstructor
+public class AppointmentSyncItem {
+    private final Integer appointmentId;
+    private final LocalDateTime appointmentDatetime;
+    private final String status;
+    private final Integer customerId;
+    private final String customerName;
+    private final Integer doctorId;
+    private final String doctorName;
+    private final String description;
+    private final LocalDateTime lastModifiedAt;
+}
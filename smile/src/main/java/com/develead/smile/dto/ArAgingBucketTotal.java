@@ -0,0 +1,14 @@
+package com.develead.smile.dto;
+import com.develead.smile.domain.ArAgingBucket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+
+// 연령 구간별 미수금 합계 (지점 요약의 한 행)
+@Getter
+@AllArgsConstructor
+public class ArAgingBucketTotal {
+    private final ArAgingBucket bucket;
+    private final BigDecimal balance;
+    private final Long itemCount;
+}
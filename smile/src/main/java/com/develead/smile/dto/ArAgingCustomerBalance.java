@@ -0,0 +1,15 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+
+// 연령 구간 상세: 해당 구간에 미수금이 있는 고객
+@Getter
+@AllArgsConstructor
+public class ArAgingCustomerBalance {
+    private final Integer customerId;
+    private final String customerName;
+    private final String phoneNumber;
+    private final BigDecimal balance;
+    private final Integer itemCount;
+}
@@ -0,0 +1,17 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// 지점 미수금 연령 요약. 구간은 항상 네 개 모두 포함한다 (미수금이 없으면 0).
+@Getter
+@AllArgsConstructor
+public class ArAgingSummaryDto {
+    private final Integer clinicId;
+    private final LocalDate asOf;
+    private final List<ArAgingBucketTotal> buckets;
+    private final BigDecimal totalBalance;
+    private final long totalItems;
+}
@@ -0,0 +1,16 @@
+package com.develead.smile.dto;
+import com.develead.smile.domain.ArAgingBucket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// 고객 상세: 잔액이 남은 청구서
+@Getter
+@AllArgsConstructor
+public class ArOpenItemDto {
+    private final Integer billingId;
+    private final LocalDate invoiceDate;
+    private final BigDecimal balance;
+    private final ArAgingBucket bucket;
+}
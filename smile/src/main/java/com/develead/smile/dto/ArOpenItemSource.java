@@ -0,0 +1,16 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// 미수금 원장 재구성용 청구서 프로젝션 (잔액이 남은 청구서만)
+@Getter
+@AllArgsConstructor
+public class ArOpenItemSource {
+    private final Integer billingId;
+    private final Integer clinicId;
+    private final Integer customerId;
+    private final LocalDate invoiceDate;
+    private final BigDecimal balance;
+}
@@ -0,0 +1,18 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// 수납 목록 한 행. 청구서 엔티티를 읽지 않으므로 수납 내역(EAGER 컬렉션)도 읽지 않는다.
+@Getter
+@AllArgsConstructor
+public class BillingListItem {
+    private final Integer billingId;
+    private final LocalDate treatmentDate;
+    private final String customerName;
+    private final BigDecimal totalAmount;
+    private final BigDecimal totalPaid;
+    private final BigDecimal balance;
+    private final String billingStatus;
+}
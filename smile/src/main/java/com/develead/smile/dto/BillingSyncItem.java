@@ -0,0 +1,21 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 읽기 API(/api/v1)의 청구 요약 한 건 (수납 내역 제외)
+@Getter
+@AllArgsConstructor
+public class BillingSyncItem {
+    private final Integer billingId;
+    private final Integer medicalRecordId;
+    private final Integer customerId;
+    private final LocalDate treatmentDate;
+    private final BigDecimal totalAmount;
+    private final BigDecimal totalPaid;
+    private final BigDecimal balance;
+    private final String billingStatus;
+    private final LocalDateTime lastModifiedAt;
+}
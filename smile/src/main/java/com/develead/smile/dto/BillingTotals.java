@@ -0,0 +1,13 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+
+// 수납 반영 직후의 청구서 금액/상태 (잠금 구간에서 연관 엔티티 없이 한 행만 읽는다)
+@Getter
+@AllArgsConstructor
+public class BillingTotals {
+    private final BigDecimal totalPaid;
+    private final BigDecimal balance;
+    private final String billingStatus;
+}
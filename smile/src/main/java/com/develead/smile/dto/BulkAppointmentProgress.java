@@ -0,0 +1,81 @@
+package com.develead.smile.dto;
+import lombok.Getter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 예약 일괄 변경 작업의 진행 상황. 작업 스레드 하나만 갱신하며, 조회 API는 DB에 기록된 값으로 만든 사본을 읽는다.
+ * 전체가 한 트랜잭션이므로 FAILED이면 처리된 건수와 관계없이 아무것도 반영되지 않은 것이다.
+ * conflicts는 옮길 시각에 대상 의사의 예약이 이미 있어 그대로 둔 예약이다 (processed에는 포함).
+ */
+@Getter
+public class BulkAppointmentProgress {
+    public enum State { PENDING, RUNNING, COMPLETED, FAILED }
+
+    private final String operationId;
+    private final BulkAppointmentRequest.Operation operation;
+    private final LocalDateTime requestedAt;
+    private volatile State state = State.PENDING;
+    private volatile int total;
+    private volatile int processed;
+    private volatile int conflictCount;
+    private volatile List<Integer> conflicts = List.of();
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    public BulkAppointmentProgress(String operationId, BulkAppointmentRequest.Operation operation) {
+        this.operationId = operationId;
+        this.operation = operation;
+        this.requestedAt = LocalDateTime.now();
+    }
+
+    public BulkAppointmentProgress(String operationId, BulkAppointmentRequest.Operation operation, LocalDateTime requestedAt,
+                                   State state, int total, int processed, int conflictCount, List<Integer> conflicts,
+                                   String error, LocalDateTime finishedAt) {
+        this.operationId = operationId;
+        this.operation = operation;
+        this.requestedAt = requestedAt;
+        this.state = state;
+        this.total = total;
+        this.processed = processed;
+        this.conflictCount = conflictCount;
+        this.conflicts = List.copyOf(conflicts);
+        this.error = error;
+        this.finishedAt = finishedAt;
+    }
+
+    public void start(int total) {
+        this.total = total;
+        this.state = State.RUNNING;
+    }
+
+    public void advance(int count) {
+        this.processed += count;
+    }
+
+    public void conflicted(List<Integer> appointmentIds) {
+        if (appointmentIds.isEmpty()) {
+            return;
+        }
+        List<Integer> all = new ArrayList<>(conflicts);
+        all.addAll(appointmentIds);
+        this.conflicts = List.copyOf(all);
+        this.conflictCount += appointmentIds.size();
+    }
+
+    public void complete() {
+        this.finishedAt = LocalDateTime.now();
+        this.state = State.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.state = State.FAILED;
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+}
@@ -0,0 +1,23 @@
+package com.develead.smile.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDate;
+
+// 예약 일괄 변경 요청. 한 의사의 특정 날짜 예약(예약완료 상태)을 다른 날짜/의사로 옮기거나 모두 취소한다.
+@Getter
+@Setter
+public class BulkAppointmentRequest {
+    public enum Operation { RESCHEDULE, CANCEL }
+
+    @NotNull private Operation operation;
+    @NotNull private Integer doctorId;
+    @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate date;
+    // RESCHEDULE 전용. 옮길 날짜(시각은 유지)와 담당 의사 중 하나 이상 지정
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate targetDate;
+    private Integer targetDoctorId;
+}
@@ -0,0 +1,14 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDateTime;
+
+// 일괄 변경 대상 예약. 변경 로그와 검색 색인에 필요한 컬럼만 프로젝션으로 조회한다.
+@Getter
+@AllArgsConstructor
+public class BulkAppointmentTarget {
+    private final Integer appointmentId;
+    private final LocalDateTime appointmentDatetime;
+    private final String status;
+    private final String description;
+}
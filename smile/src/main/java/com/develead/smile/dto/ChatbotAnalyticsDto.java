@@ -0,0 +1,18 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDate;
+import java.util.List;
+
+// 챗봇 인텐트 분석 차트 데이터 (from ~ to, 양 끝 포함)
+@Getter
+@AllArgsConstructor
+public class ChatbotAnalyticsDto {
+    public enum Granularity { HOUR, DAY }
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Granularity granularity;
+    private final List<ChatbotAnalyticsPoint> series;
+    private final List<ChatbotIntentTotal> intents;
+}
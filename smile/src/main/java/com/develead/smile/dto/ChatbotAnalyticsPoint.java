@@ -0,0 +1,23 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDateTime;
+
+// 챗봇 분석 차트의 한 구간 (시간 또는 일). 세션 지표는 그 구간에 시작된 세션 기준이다.
+@Getter
+@AllArgsConstructor
+public class ChatbotAnalyticsPoint {
+    private final LocalDateTime bucket;
+    private final Long turns;
+    private final Long sessions;
+    private final Long sessionTurns;
+    private final Long conversions;
+
+    public double getAvgTurnsPerSession() {
+        return sessions > 0 ? (double) sessionTurns / sessions : 0;
+    }
+
+    public double getConversionRate() {
+        return sessions > 0 ? (double) conversions / sessions : 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDateTime;
+
+// 챗봇 집계용 문의 접수 한 건 (어느 세션이 문의로 전환되었는지)
+@Getter
+@AllArgsConstructor
+public class ChatbotInquiryConversion {
+    private final Integer inquiryId;
+    private final String sessionId;
+    private final LocalDateTime receivedAt;
+}
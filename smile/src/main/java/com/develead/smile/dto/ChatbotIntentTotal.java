@@ -0,0 +1,17 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 기간 내 인텐트별 합계. 세션/전환은 그 인텐트로 시작된 세션 기준이다.
+@Getter
+@AllArgsConstructor
+public class ChatbotIntentTotal {
+    private final String intent;
+    private final Long turns;
+    private final Long sessions;
+    private final Long conversions;
+
+    public double getConversionRate() {
+        return sessions > 0 ? (double) conversions / sessions : 0;
+    }
+}
@@ -0,0 +1,14 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDateTime;
+
+// 챗봇 집계용 대화 한 건. 본문(@Lob) 컬럼은 읽지 않는다.
+@Getter
+@AllArgsConstructor
+public class ChatbotLogTurn {
+    private final Long logId;
+    private final String sessionId;
+    private final String intent;
+    private final LocalDateTime timestamp;
+}
@@ -0,0 +1,42 @@
+package com.develead.smile.dto;
+import lombok.Getter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 전문 검색 색인 대상 문서 (진료 증상, 예약 메모, 챗봇 상담 내용). JPQL 생성자 프로젝션으로 직접 조회한다.
+// 지점은 예약의 지점을 따르며, 챗봇 문의는 지점이 없어(null) 모든 지점에서 검색된다.
+@Getter
+public class ClinicalSearchDocument {
+    private final String kind;
+    private final Integer sourceId;
+    private final Integer clinicId;
+    private final Integer doctorId;
+    private final LocalDate date;
+    private final String text;
+
+    // 진료 기록
+    public ClinicalSearchDocument(String kind, Integer sourceId, Integer clinicId, Integer doctorId, LocalDate date, String text) {
+        this.kind = kind;
+        this.sourceId = sourceId;
+        this.clinicId = clinicId;
+        this.doctorId = doctorId;
+        this.date = date;
+        this.text = text;
+    }
+
+    // 예약
+    public ClinicalSearchDocument(String kind, Integer sourceId, Integer clinicId, Integer doctorId, LocalDateTime occurredAt, String text) {
+        this(kind, sourceId, clinicId, doctorId, occurredAt.toLocalDate(), text);
+    }
+
+    // 챗봇 문의 (지점/담당 의사 없음)
+    public ClinicalSearchDocument(String kind, Integer sourceId, LocalDateTime receivedAt, String inquiryReason, String consultationNotes) {
+        this(kind, sourceId, null, null, receivedAt.toLocalDate(), join(inquiryReason, consultationNotes));
+    }
+
+    private static String join(String first, String second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return first + "\n" + second;
+    }
+}
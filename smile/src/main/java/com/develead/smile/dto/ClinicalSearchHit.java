@@ -0,0 +1,15 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class ClinicalSearchHit {
+    private final String kind;
+    private final Integer sourceId;
+    private final Integer doctorId;
+    private final LocalDate date;
+    private final double score;
+    private final String preview;
+}
@@ -0,0 +1,13 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 고객 목록 한 행 (화면에 표시하는 컬럼만)
+@Getter
+@AllArgsConstructor
+public class CustomerListItem {
+    private final Integer customerId;
+    private final String name;
+    private final String phoneNumber;
+    private final String email;
+}
@@ -0,0 +1,16 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDateTime;
+
+// 읽기 API(/api/v1)의 고객 한 건. 삭제된 고객도 deleted='Y'로 변경분에 포함된다.
+@Getter
+@AllArgsConstructor
+public class CustomerSyncItem {
+    private final Integer customerId;
+    private final String name;
+    private final String phoneNumber;
+    private final String email;
+    private final String deleted;
+    private final LocalDateTime lastModifiedAt;
+}
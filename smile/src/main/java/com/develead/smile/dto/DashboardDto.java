@@ -2,6 +2,7 @@ package com.develead.smile.dto;
 import lombok.Builder;
 import lombok.Getter;
 import java.math.BigDecimal;
+import java.util.List;
 
 @Getter
 @Builder
@@ -10,4 +11,6 @@ public class DashboardDto {
     private BigDecimal monthlyRevenue;
     private long lowStockItems;
     private long totalCustomers;
+    // [수정] 소비량 예측 기준 재주문 필요 품목 (재고 소진 예상일이 빠른 순)
+    private List<InventoryReorderItem> reorderItems;
 }
@@ -0,0 +1,13 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.time.LocalDate;
+
+// 재고 로그의 품목별 일일 출고 합계 (소비량 예측 재구성용)
+@Getter
+@AllArgsConstructor
+public class InventoryDailyConsumption {
+    private final Integer itemId;
+    private final LocalDate day;
+    private final Long quantity;
+}
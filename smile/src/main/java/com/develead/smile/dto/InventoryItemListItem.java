@@ -0,0 +1,15 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 재고 목록 한 행
+@Getter
+@AllArgsConstructor
+public class InventoryItemListItem {
+    private final Integer itemId;
+    private final String itemCode;
+    private final String itemName;
+    private final Integer quantity;
+    private final Integer safeStockLevel;
+    private final String unit;
+}
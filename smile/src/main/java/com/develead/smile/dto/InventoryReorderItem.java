@@ -0,0 +1,19 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 재주문 목록의 한 행. 소비 속도가 없으면(출고 이력 없음) daysUntilStockout은 null.
+@Getter
+@AllArgsConstructor
+public class InventoryReorderItem {
+    private final Integer itemId;
+    private final String itemCode;
+    private final String itemName;
+    private final String unit;
+    private final int quantity;
+    private final int safeStockLevel;
+    private final double dailyConsumption;
+    private final Double daysUntilStockout;
+    private final int reorderPoint;
+    private final int suggestedOrderQuantity;
+}
@@ -0,0 +1,38 @@
+package com.develead.smile.dto;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+// 관리자 목록 공통 요청 파라미터 (page, size, sort, dir, q). 목록별 필터는 컨트롤러에서 따로 받는다.
+@Getter
+@Setter
+public class ListQuery {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private int page = 0;
+    private int size = DEFAULT_SIZE;
+    private String sort;
+    private String dir;
+    private String q;
+
+    // 검색어는 앞뒤 공백을 떼고, 비어 있으면 null (필터 없음)
+    public String getQ() {
+        return q == null || q.isBlank() ? null : q.trim();
+    }
+
+    /**
+     * 허용 목록으로 정렬 키/방향을 확정해 Pageable을 만든다. 확정된 값은 화면이 현재 정렬을 표시할 수 있도록 이 객체에 다시 담는다.
+     */
+    public Pageable toPageable(ListSort sorts) {
+        String key = sorts.resolveKey(sort);
+        Sort.Direction direction = sorts.resolveDirection(sort, dir);
+        this.sort = key;
+        this.dir = direction.name().toLowerCase();
+        this.page = Math.max(0, page);
+        this.size = Math.max(1, Math.min(size, MAX_SIZE));
+        return PageRequest.of(page, size, sorts.toSort(key, direction));
+    }
+}
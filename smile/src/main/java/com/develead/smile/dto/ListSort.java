@@ -0,0 +1,45 @@
+package com.develead.smile.dto;
+import org.springframework.data.domain.Sort;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 목록별 정렬 허용 목록. 화면의 정렬 키를 엔티티 경로로 바꾸며, 목록에 없는 키는 기본 정렬로 대체한다 (임의 컬럼 정렬 방지).
+// 같은 값이 많은 컬럼으로 정렬해도 페이지 사이에 행이 겹치거나 빠지지 않도록 항상 ID를 마지막 정렬 기준으로 붙인다.
+public final class ListSort {
+    private final String idProperty;
+    private final String defaultKey;
+    private final Sort.Direction defaultDirection;
+    private final Map<String, String> properties = new LinkedHashMap<>();
+
+    private ListSort(String idProperty, String defaultKey, Sort.Direction defaultDirection) {
+        this.idProperty = idProperty;
+        this.defaultKey = defaultKey;
+        this.defaultDirection = defaultDirection;
+    }
+
+    public static ListSort by(String idProperty, String defaultKey, Sort.Direction defaultDirection) {
+        return new ListSort(idProperty, defaultKey, defaultDirection).allow(defaultKey, defaultKey);
+    }
+
+    public ListSort allow(String key, String property) {
+        properties.put(key, property);
+        return this;
+    }
+
+    String resolveKey(String key) {
+        return key != null && properties.containsKey(key) ? key : defaultKey;
+    }
+
+    Sort.Direction resolveDirection(String key, String dir) {
+        if (!resolveKey(key).equals(key) || dir == null) {
+            return defaultDirection;
+        }
+        return "asc".equalsIgnoreCase(dir) ? Sort.Direction.ASC : "desc".equalsIgnoreCase(dir) ? Sort.Direction.DESC : defaultDirection;
+    }
+
+    Sort toSort(String key, Sort.Direction direction) {
+        String property = properties.get(key);
+        Sort sort = Sort.by(direction, property);
+        return property.equals(idProperty) ? sort : sort.and(Sort.by(direction, idProperty));
+    }
+}
@@ -0,0 +1,16 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// 진료 기록 목록 한 행 (증상 @Lob, 진료 항목 컬렉션 제외)
+@Getter
+@AllArgsConstructor
+public class MedicalRecordListItem {
+    private final Integer recordId;
+    private final LocalDate treatmentDate;
+    private final String customerName;
+    private final String doctorName;
+    private final BigDecimal totalCost;
+}
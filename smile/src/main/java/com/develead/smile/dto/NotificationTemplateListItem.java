@@ -0,0 +1,13 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 알림 템플릿 목록 한 행 (본문 @Lob 제외)
+@Getter
+@AllArgsConstructor
+public class NotificationTemplateListItem {
+    private final Integer templateId;
+    private final String templateKey;
+    private final String description;
+    private final String channel;
+}
@@ -0,0 +1,73 @@
+package com.develead.smile.dto;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.web.util.UriComponentsBuilder;
+import java.util.List;
+
+// 관리자 목록 화면 모델. 한 페이지의 프로젝션 행과, 현재 필터를 유지한 채 페이지/정렬만 바꾸는 링크를 만든다.
+@Getter
+public class PagedList<T> {
+    private static final int PAGE_WINDOW = 5;
+
+    private final List<T> content;
+    private final int number;
+    private final int size;
+    private final long totalElements;
+    private final int totalPages;
+    private final boolean first;
+    private final boolean last;
+    private final String sort;
+    private final String dir;
+    private final int startPage;
+    private final int endPage;
+    @Getter(AccessLevel.NONE) private final UriComponentsBuilder base;
+
+    private PagedList(Page<T> page, ListQuery query, UriComponentsBuilder base) {
+        this.content = page.getContent();
+        this.number = page.getNumber();
+        this.size = page.getSize();
+        this.totalElements = page.getTotalElements();
+        this.totalPages = page.getTotalPages();
+        this.first = page.isFirst();
+        this.last = page.isLast();
+        this.sort = query.getSort();
+        this.dir = query.getDir();
+        this.base = base;
+
+        // 현재 페이지를 가운데 둔 최대 5개 페이지 번호 (예약 목록과 같은 방식)
+        int start = Math.max(0, number - PAGE_WINDOW / 2);
+        int end = Math.min(totalPages - 1, start + PAGE_WINDOW - 1);
+        this.startPage = Math.max(0, Math.min(start, end - PAGE_WINDOW + 1));
+        this.endPage = Math.max(end, 0);
+    }
+
+    public static <T> PagedList<T> of(Page<T> page, ListQuery query, HttpServletRequest request) {
+        UriComponentsBuilder base = UriComponentsBuilder.fromPath(request.getRequestURI());
+        request.getParameterMap().forEach((name, values) -> base.queryParam(name, (Object[]) values));
+        return new PagedList<>(page, query, base);
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+
+    public boolean isSortedBy(String key) {
+        return key.equals(sort);
+    }
+
+    public String pageUrl(int page) {
+        return base.cloneBuilder().replaceQueryParam("page", page).build().encode().toUriString();
+    }
+
+    // 이미 이 키로 정렬 중이면 방향만 뒤집고, 아니면 오름차순. 정렬이 바뀌면 첫 페이지로 간다.
+    public String sortUrl(String key) {
+        String nextDir = isSortedBy(key) && "asc".equals(dir) ? "desc" : "asc";
+        return base.cloneBuilder()
+                .replaceQueryParam("sort", key)
+                .replaceQueryParam("dir", nextDir)
+                .replaceQueryParam("page")
+                .build().encode().toUriString();
+    }
+}
@@ -0,0 +1,13 @@
+package com.develead.smile.dto;
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+
+@Getter
+@Builder
+public class PatientTimelineDto {
+    private Integer customerId;
+    private String customerName;
+    private List<PatientTimelineEntry> entries;
+    private String nextCursor; // 다음 페이지 조회용 커서 (없으면 null)
+}
@@ -0,0 +1,43 @@
+package com.develead.smile.dto;
+import lombok.Getter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 환자 타임라인의 한 항목 (예약/진료/결제/문의). JPQL 생성자 프로젝션으로 직접 조회한다.
+@Getter
+public class PatientTimelineEntry {
+    private final String kind;
+    private final Integer sourceId;
+    private final LocalDateTime occurredAt;
+    private final String title;
+    private final String detail;
+    private final String status;
+    private final BigDecimal amount;
+
+    // 예약, 챗봇 문의
+    public PatientTimelineEntry(String kind, Integer sourceId, LocalDateTime occurredAt, String title, String detail, String status) {
+        this(kind, sourceId, occurredAt, title, detail, status, null);
+    }
+
+    // 진료 기록 (진료일 기준)
+    public PatientTimelineEntry(String kind, Integer sourceId, LocalDate treatmentDate, String title, String detail, BigDecimal amount) {
+        this(kind, sourceId, treatmentDate.atStartOfDay(), title, detail, null, amount);
+    }
+
+    // 결제
+    public PatientTimelineEntry(String kind, Integer sourceId, LocalDateTime occurredAt, String title, BigDecimal amount) {
+        this(kind, sourceId, occurredAt, title, null, null, amount);
+    }
+
+    private PatientTimelineEntry(String kind, Integer sourceId, LocalDateTime occurredAt, String title, String detail,
+                                 String status, BigDecimal amount) {
+        this.kind = kind;
+        this.sourceId = sourceId;
+        this.occurredAt = occurredAt;
+        this.title = title;
+        this.detail = detail;
+        this.status = status;
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,12 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.util.List;
+
+// 구간별 소요 시간 지표. sampleRate가 0이면 측정이 꺼져 있어 phases가 비어 있다.
+@Getter
+@AllArgsConstructor
+public class PhaseMetricsDto {
+    private final double sampleRate;
+    private final List<PhaseStats> phases;
+}
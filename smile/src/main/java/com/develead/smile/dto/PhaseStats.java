@@ -0,0 +1,17 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 작업(operation)의 구간(phase)별 소요 시간 요약. 시간은 마이크로초, 백분위는 히스토그램 버킷 상한 기준 근사값.
+@Getter
+@AllArgsConstructor
+public class PhaseStats {
+    private final String operation;
+    private final String phase;
+    private final long count;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p95Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+}
@@ -0,0 +1,32 @@
+package com.develead.smile.dto;
+import lombok.Getter;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// 보고서 기간 내 결제 데이터의 버전.
+// 결제 행이나 보고서에 이름이 찍히는 환자 행이 수정되면 최종 수정 시각이, 결제가 삭제되면 건수가 달라진다.
+@Getter
+public class ReportDataVersion {
+    private final long transactionCount;
+    private final LocalDateTime transactionsModifiedAt;
+    private final LocalDateTime customersModifiedAt;
+
+    public ReportDataVersion(Long transactionCount, LocalDateTime transactionsModifiedAt, LocalDateTime customersModifiedAt) {
+        this.transactionCount = transactionCount != null ? transactionCount : 0L;
+        this.transactionsModifiedAt = transactionsModifiedAt;
+        this.customersModifiedAt = customersModifiedAt;
+    }
+
+    public String token() {
+        return transactionCount + "-" + epochMicros(transactionsModifiedAt) + "-" + epochMicros(customersModifiedAt);
+    }
+
+    private static long epochMicros(LocalDateTime time) {
+        if (time == null) {
+            return 0L;
+        }
+        Instant instant = time.toInstant(ZoneOffset.UTC);
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,17 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.math.BigDecimal;
+
+// 진료 항목 목록 한 행 (설명 등 @Lob 컬럼 제외)
+@Getter
+@AllArgsConstructor
+public class ServiceItemListItem {
+    private final Integer serviceItemId;
+    private final String serviceCode;
+    private final String serviceName;
+    private final String category;
+    private final BigDecimal defaultCost;
+    private final Character isInsuranceCovered;
+    private final Character isActive;
+}
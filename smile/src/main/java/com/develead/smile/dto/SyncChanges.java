@@ -0,0 +1,13 @@
+package com.develead.smile.dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.util.List;
+
+// 변경분 조회 결과. 클라이언트는 nextCursor를 저장해 두었다가 다음 요청의 cursor로 보낸다.
+@Getter
+@AllArgsConstructor
+public class SyncChanges<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasMore; // true면 바로 이어서 한 번 더 조회
+}
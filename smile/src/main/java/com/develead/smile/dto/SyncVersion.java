@@ -0,0 +1,36 @@
+package com.develead.smile.dto;
+import lombok.Getter;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+// 목록의 검증값: 범위 안 행들의 최종 수정 시각과 행 수. 목록 본문을 읽지 않고 집계 한 번으로 구해 ETag/Last-Modified를 만든다.
+// 행이 범위 밖으로 빠지는 변경(일정 이동 등)은 최종 수정 시각을 바꾸지 않으므로 행 수로 잡는다.
+@Getter
+public class SyncVersion {
+    private final LocalDateTime lastModifiedAt;
+    private final long count;
+
+    public SyncVersion(LocalDateTime lastModifiedAt, Long count) {
+        this.lastModifiedAt = lastModifiedAt;
+        this.count = count != null ? count : 0;
+    }
+
+    // 조인한 엔티티(예: 예약 목록에 표시하는 고객 이름)의 수정 시각까지 반영할 때
+    public SyncVersion(LocalDateTime lastModifiedAt, LocalDateTime joinedLastModifiedAt, Long count) {
+        this(joinedLastModifiedAt != null && (lastModifiedAt == null || joinedLastModifiedAt.isAfter(lastModifiedAt))
+                ? joinedLastModifiedAt : lastModifiedAt, count);
+    }
+
+    // Last-Modified는 초 단위이므로 ETag에는 마이크로초까지 넣는다 (같은 초 안의 수정도 구분)
+    public String etag(String scope) {
+        long modified = lastModifiedAt != null
+                ? lastModifiedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModifiedAt.getNano() / 1_000 : 0;
+        return "\"" + scope + "-" + count + "-" + modified + "\"";
+    }
+
+    // Last-Modified 헤더용 (행이 없으면 -1: 헤더 없이 ETag만 비교)
+    public long lastModifiedMillis() {
+        return lastModifiedAt != null ? lastModifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
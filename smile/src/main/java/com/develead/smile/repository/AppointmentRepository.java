@@ -2,14 +2,24 @@ package com.develead.smile.repository;
 
 import com.develead.smile.domain.Appointment;
 import com.develead.smile.domain.Doctor;
+import com.develead.smile.dto.AppointmentCalendarCount;
+import com.develead.smile.dto.AppointmentCalendarEntry;
+import com.develead.smile.dto.AppointmentSyncItem;
+import com.develead.smile.dto.BulkAppointmentTarget;
+import com.develead.smile.dto.ClinicalSearchDocument;
+import com.develead.smile.dto.PatientTimelineEntry;
+import com.develead.smile.dto.SyncVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Integer> {
     // [수정] JPQL 쿼리를 사용하여 명시적으로 조회
@@ -22,21 +32,40 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Intege
     // [수정] 스케줄러에서 사용할 쿼리 추가
     List<Appointment> findAllByAppointmentDatetimeBetween(LocalDateTime start, LocalDateTime end);
 
+    // [수정] 분산 스케줄러용: 예약 ID 기준 파티션 하나에서 아직 현재 일시로 알림을 보내지 않은 예약만 조회
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.customer JOIN FETCH a.clinic " +
+            "WHERE a.appointmentDatetime BETWEEN :start AND :end AND MOD(a.appointment_id, :partitions) = :partition " +
+            "AND (a.reminderSentFor IS NULL OR a.reminderSentFor <> a.appointmentDatetime)")
+    List<Appointment> findReminderPartition(@Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end,
+                                            @Param("partitions") int partitions,
+                                            @Param("partition") int partition);
+
+    // [수정] 알림 발송 표시. 다른 노드가 먼저 보냈거나 그 사이 일시가 바뀌었으면 0건이며, 이때는 보내지 않는다.
+    // 수정 시각(lastModifiedAt)은 건드리지 않는다 (읽기 API 변경분에 알림 발송이 섞이지 않도록).
+    @Modifying
+    @Query("UPDATE Appointment a SET a.reminderSentFor = a.appointmentDatetime " +
+            "WHERE a.appointment_id = :id AND a.appointmentDatetime = :appointmentDatetime " +
+            "AND (a.reminderSentFor IS NULL OR a.reminderSentFor <> a.appointmentDatetime)")
+    int markReminderSent(@Param("id") Integer id, @Param("appointmentDatetime") LocalDateTime appointmentDatetime);
+
     // [수정] 관리자 페이지용 정렬 쿼리 추가
     List<Appointment> findAllByOrderByAppointmentDatetimeDesc();
 
     // [수정] Pageable에서 동적 정렬을 처리하므로, JPQL의 ORDER BY 구문 제거
-    @Query(value = "SELECT a FROM Appointment a JOIN FETCH a.customer JOIN FETCH a.doctor WHERE " +
+    // [수정] 지점(clinic) 범위로 한정. (clinic_id, appointment_datetime) 인덱스를 탄다.
+    @Query(value = "SELECT a FROM Appointment a JOIN FETCH a.customer JOIN FETCH a.doctor WHERE a.clinic.clinic_id = :clinicId AND " +
             "(:status IS NULL OR :status = '' OR a.status = :status) AND " +
             "(:customerName IS NULL OR :customerName = '' OR a.customer.name LIKE %:customerName%) AND " +
             "(:startDate IS NULL OR a.appointmentDatetime >= :startDate) AND " +
             "(:endDate IS NULL OR a.appointmentDatetime <= :endDate)",
-            countQuery = "SELECT count(a) FROM Appointment a WHERE " +
+            countQuery = "SELECT count(a) FROM Appointment a WHERE a.clinic.clinic_id = :clinicId AND " +
                     "(:status IS NULL OR :status = '' OR a.status = :status) AND " +
                     "(:customerName IS NULL OR :customerName = '' OR a.customer.name LIKE %:customerName%) AND " +
                     "(:startDate IS NULL OR a.appointmentDatetime >= :startDate) AND " +
                     "(:endDate IS NULL OR a.appointmentDatetime <= :endDate)")
     Page<Appointment> findByFilters(
+            @Param("clinicId") Integer clinicId,
             @Param("status") String status,
             @Param("customerName") String customerName,
             @Param("startDate") LocalDateTime startDate,
@@ -48,4 +77,120 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Intege
     
     List<Appointment> findByDoctor(Doctor doctor);
 
+    // [수정] 지점별 대시보드 통계
+    @Query("SELECT count(a) FROM Appointment a WHERE a.clinic.clinic_id = :clinicId AND a.appointmentDatetime BETWEEN :start AND :end")
+    long countByClinicAndAppointmentDatetimeBetween(@Param("clinicId") Integer clinicId,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
+
+    @Query("SELECT a FROM Appointment a WHERE a.appointment_id = :id AND a.clinic.clinic_id = :clinicId")
+    Optional<Appointment> findByIdAndClinicId(@Param("id") Integer id, @Param("clinicId") Integer clinicId);
+
+    // [수정] 환자 타임라인용 프로젝션 조회 (커서 이전 항목만, 최신순)
+    @Query("SELECT new com.develead.smile.dto.PatientTimelineEntry('APPOINTMENT', a.appointment_id, a.appointmentDatetime, a.doctor.name, a.description, a.status) " +
+            "FROM Appointment a WHERE a.customer.customer_id = :customerId AND a.clinic.clinic_id = :clinicId AND " +
+            "(a.appointmentDatetime < :before OR (a.appointmentDatetime = :before AND a.appointment_id < :beforeId)) " +
+            "ORDER BY a.appointmentDatetime DESC, a.appointment_id DESC")
+    List<PatientTimelineEntry> findTimelineEntries(@Param("clinicId") Integer clinicId,
+                                                   @Param("customerId") Integer customerId,
+                                                   @Param("before") LocalDateTime before,
+                                                   @Param("beforeId") Integer beforeId,
+                                                   Pageable pageable);
+
+    // [수정] 예약 달력용 월간 집계 (날짜 x 의사 x 상태). (clinic_id, appointment_datetime) 인덱스 범위 조회 후 GROUP BY.
+    @Query("SELECT new com.develead.smile.dto.AppointmentCalendarCount(CAST(a.appointmentDatetime AS LocalDate), " +
+            "a.doctor.doctor_id, a.doctor.name, a.status, COUNT(a)) " +
+            "FROM Appointment a WHERE a.clinic.clinic_id = :clinicId " +
+            "AND a.appointmentDatetime >= :start AND a.appointmentDatetime < :end " +
+            "GROUP BY CAST(a.appointmentDatetime AS LocalDate), a.doctor.doctor_id, a.doctor.name, a.status")
+    List<AppointmentCalendarCount> countCalendarByClinic(@Param("clinicId") Integer clinicId,
+                                                         @Param("start") LocalDateTime start,
+                                                         @Param("end") LocalDateTime end);
+
+    // [수정] 예약 달력 일별 상세 (해당 날짜 행만 조회)
+    @Query("SELECT new com.develead.smile.dto.AppointmentCalendarEntry(a.appointment_id, a.appointmentDatetime, " +
+            "a.doctor.doctor_id, a.doctor.name, a.customer.name, a.status) " +
+            "FROM Appointment a WHERE a.clinic.clinic_id = :clinicId " +
+            "AND a.appointmentDatetime >= :start AND a.appointmentDatetime < :end " +
+            "ORDER BY a.appointmentDatetime, a.appointment_id")
+    List<AppointmentCalendarEntry> findCalendarEntriesByClinic(@Param("clinicId") Integer clinicId,
+                                                               @Param("start") LocalDateTime start,
+                                                               @Param("end") LocalDateTime end);
+
+    // [수정] 전문 검색 색인 초기 적재용 (ID 기준 keyset 페이징)
+    @Query("SELECT new com.develead.smile.dto.ClinicalSearchDocument('APPOINTMENT', a.appointment_id, a.clinic.clinic_id, a.doctor.doctor_id, a.appointmentDatetime, a.description) " +
+            "FROM Appointment a WHERE a.appointment_id > :afterId AND a.description IS NOT NULL ORDER BY a.appointment_id")
+    List<ClinicalSearchDocument> findSearchDocuments(@Param("afterId") Integer afterId, Pageable pageable);
+
+    // [수정] 예약 일괄 변경 대상 (지점 x 의사 x 날짜 x 상태). (clinic_id, appointment_datetime) 인덱스를 탄다.
+    @Query("SELECT new com.develead.smile.dto.BulkAppointmentTarget(a.appointment_id, a.appointmentDatetime, a.status, a.description) " +
+            "FROM Appointment a WHERE a.clinic.clinic_id = :clinicId AND a.doctor.doctor_id = :doctorId AND a.status = :status " +
+            "AND a.appointmentDatetime >= :start AND a.appointmentDatetime < :end ORDER BY a.appointment_id")
+    List<BulkAppointmentTarget> findBulkTargets(@Param("clinicId") Integer clinicId,
+                                                @Param("doctorId") Integer doctorId,
+                                                @Param("status") String status,
+                                                @Param("start") LocalDateTime start,
+                                                @Param("end") LocalDateTime end);
+
+    // [수정] 일괄 일정 변경 충돌 검사: 옮길 의사에게 같은 시각의 예약이 이미 있는지. 옮기는 예약 자신은 제외한다.
+    @Query("SELECT a.appointmentDatetime FROM Appointment a WHERE a.clinic.clinic_id = :clinicId AND a.doctor.doctor_id = :doctorId " +
+            "AND a.status = :status AND a.appointmentDatetime IN :datetimes AND a.appointment_id NOT IN :excludedIds")
+    List<LocalDateTime> findBookedDatetimes(@Param("clinicId") Integer clinicId,
+                                            @Param("doctorId") Integer doctorId,
+                                            @Param("status") String status,
+                                            @Param("datetimes") Collection<LocalDateTime> datetimes,
+                                            @Param("excludedIds") Collection<Integer> excludedIds);
+
+    // [수정] 일괄 일정 변경. 시각은 유지하고 날짜만 days만큼 옮긴다. 엔티티를 읽지 않는 UPDATE이므로 영속성 컨텍스트를 비운다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Appointment a SET a.appointmentDatetime = a.appointmentDatetime + (:days) day, " +
+            "a.doctor = :doctor, a.updatedBy = :updatedBy, a.lastModifiedAt = :modifiedAt WHERE a.appointment_id IN :ids")
+    int rescheduleAll(@Param("ids") Collection<Integer> ids,
+                      @Param("days") long days,
+                      @Param("doctor") Doctor doctor,
+                      @Param("updatedBy") Integer updatedBy,
+                      @Param("modifiedAt") LocalDateTime modifiedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Appointment a SET a.status = :status, a.updatedBy = :updatedBy, a.lastModifiedAt = :modifiedAt " +
+            "WHERE a.appointment_id IN :ids")
+    int updateStatusAll(@Param("ids") Collection<Integer> ids,
+                        @Param("status") String status,
+                        @Param("updatedBy") Integer updatedBy,
+                        @Param("modifiedAt") LocalDateTime modifiedAt);
+
+    // [수정] 일괄 변경 알림 대상. 변경 로그의 작업 ID로 예약과 고객을 한 번에 읽는다.
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.customer WHERE a.appointment_id IN " +
+            "(SELECT l.appointment.appointment_id FROM AppointmentChangeLog l WHERE l.bulkOperationId = :bulkOperationId) " +
+            "ORDER BY a.appointment_id")
+    List<Appointment> findBulkChanged(@Param("bulkOperationId") String bulkOperationId);
+
+    // [수정] 읽기 API: 지점 x 기간 예약 목록의 검증값. 목록에 표시하는 고객 이름이 바뀌어도 ETag가 바뀌도록 고객 수정 시각도 본다.
+    @Query("SELECT new com.develead.smile.dto.SyncVersion(max(a.lastModifiedAt), max(c.lastModifiedAt), count(a)) " +
+            "FROM Appointment a JOIN a.customer c WHERE a.clinic.clinic_id = :clinicId " +
+            "AND a.appointmentDatetime >= :start AND a.appointmentDatetime < :end")
+    SyncVersion findSyncVersionByClinic(@Param("clinicId") Integer clinicId,
+                                        @Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.develead.smile.dto.AppointmentSyncItem(a.appointment_id, a.appointmentDatetime, a.status, " +
+            "c.customer_id, c.name, d.doctor_id, d.name, a.description, a.lastModifiedAt) " +
+            "FROM Appointment a JOIN a.customer c JOIN a.doctor d WHERE a.clinic.clinic_id = :clinicId " +
+            "AND a.appointmentDatetime >= :start AND a.appointmentDatetime < :end " +
+            "ORDER BY a.appointmentDatetime, a.appointment_id")
+    List<AppointmentSyncItem> findSyncItemsByClinic(@Param("clinicId") Integer clinicId,
+                                                    @Param("start") LocalDateTime start,
+                                                    @Param("end") LocalDateTime end);
+
+    // [수정] 읽기 API 변경분: (수정 시각, ID) 커서 이후, until 이전에 수정된 예약. (clinic_id, last_modified_at, appointment_id) 인덱스를 탄다.
+    @Query("SELECT new com.develead.smile.dto.AppointmentSyncItem(a.appointment_id, a.appointmentDatetime, a.status, " +
+            "c.customer_id, c.name, d.doctor_id, d.name, a.description, a.lastModifiedAt) " +
+            "FROM Appointment a JOIN a.customer c JOIN a.doctor d WHERE a.clinic.clinic_id = :clinicId " +
+            "AND (a.lastModifiedAt > :afterModifiedAt OR (a.lastModifiedAt = :afterModifiedAt AND a.appointment_id > :afterId)) " +
+            "AND a.lastModifiedAt < :until ORDER BY a.lastModifiedAt, a.appointment_id")
+    List<AppointmentSyncItem> findSyncChanges(@Param("clinicId") Integer clinicId,
+                                              @Param("afterModifiedAt") LocalDateTime afterModifiedAt,
+                                              @Param("afterId") Integer afterId,
+                                              @Param("until") LocalDateTime until,
+                                              Pageable pageable);
 }
@@ -0,0 +1,47 @@
+package com.develead.smile.repository;
+import com.develead.smile.domain.ArAgingBalance;
+import com.develead.smile.domain.ArAgingBucket;
+import com.develead.smile.dto.ArAgingBucketTotal;
+import com.develead.smile.dto.ArAgingCustomerBalance;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArAgingBalanceRepository extends JpaRepository<ArAgingBalance, Long> {
+    @Query("SELECT COUNT(b) > 0 FROM ArAgingBalance b WHERE b.clinicId = :clinicId AND b.customerId = :customerId AND b.bucket = :bucket")
+    boolean exists(@Param("clinicId") Integer clinicId,
+                   @Param("customerId") Integer customerId,
+                   @Param("bucket") ArAgingBucket bucket);
+
+    // 동시 청구/수납에서도 합계가 유실되지 않도록 DB에서 원자적으로 증감한다
+    @Modifying
+    @Query("UPDATE ArAgingBalance b SET b.balance = b.balance + :amount, b.itemCount = b.itemCount + :items, b.updatedAt = :now " +
+            "WHERE b.clinicId = :clinicId AND b.customerId = :customerId AND b.bucket = :bucket")
+    int applyDelta(@Param("clinicId") Integer clinicId,
+                   @Param("customerId") Integer customerId,
+                   @Param("bucket") ArAgingBucket bucket,
+                   @Param("amount") BigDecimal amount,
+                   @Param("items") int items,
+                   @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.develead.smile.dto.ArAgingBucketTotal(b.bucket, SUM(b.balance), SUM(b.itemCount)) " +
+            "FROM ArAgingBalance b WHERE b.clinicId = :clinicId GROUP BY b.bucket")
+    List<ArAgingBucketTotal> sumByClinic(@Param("clinicId") Integer clinicId);
+
+    @Query("SELECT new com.develead.smile.dto.ArAgingCustomerBalance(c.customer_id, c.name, c.phoneNumber, b.balance, b.itemCount) " +
+            "FROM ArAgingBalance b JOIN Customer c ON c.customer_id = b.customerId " +
+            "WHERE b.clinicId = :clinicId AND b.bucket = :bucket AND b.balance > 0 ORDER BY b.balance DESC")
+    List<ArAgingCustomerBalance> findCustomers(@Param("clinicId") Integer clinicId,
+                                               @Param("bucket") ArAgingBucket bucket,
+                                               Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ArAgingBalance b WHERE b.clinicId = :clinicId")
+    int deleteByClinic(@Param("clinicId") Integer clinicId);
+}
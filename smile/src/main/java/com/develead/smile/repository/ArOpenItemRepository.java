@@ -0,0 +1,41 @@
+package com.develead.smile.repository;
+import com.develead.smile.domain.ArAgingBucket;
+import com.develead.smile.domain.ArOpenItem;
+import com.develead.smile.dto.ArOpenItemDto;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArOpenItemRepository extends JpaRepository<ArOpenItem, Integer> {
+    // 같은 청구서에 대한 수납 반영과 야간 재분류가 겹치지 않도록 행을 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM ArOpenItem o WHERE o.billing_id = :billingId")
+    Optional<ArOpenItem> findForUpdate(@Param("billingId") Integer billingId);
+
+    // 야간 재분류 대상: 아직 bucket에 있지만 청구일이 cutoff 이전이라 다음 구간으로 넘어가야 하는 항목
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM ArOpenItem o WHERE o.bucket = :bucket AND o.invoiceDate <= :cutoff ORDER BY o.invoiceDate, o.billing_id")
+    List<ArOpenItem> findDueForReaging(@Param("bucket") ArAgingBucket bucket,
+                                       @Param("cutoff") LocalDate cutoff,
+                                       Pageable pageable);
+
+    @Query("SELECT new com.develead.smile.dto.ArOpenItemDto(o.billing_id, o.invoiceDate, o.balance, o.bucket) " +
+            "FROM ArOpenItem o WHERE o.clinicId = :clinicId AND o.customerId = :customerId ORDER BY o.invoiceDate, o.billing_id")
+    List<ArOpenItemDto> findByClinicAndCustomer(@Param("clinicId") Integer clinicId,
+                                                @Param("customerId") Integer customerId);
+
+    @Query("SELECT DISTINCT o.clinicId FROM ArOpenItem o")
+    List<Integer> findClinicIds();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ArOpenItem o WHERE o.clinicId = :clinicId")
+    int deleteByClinic(@Param("clinicId") Integer clinicId);
+}
@@ -1,11 +1,20 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.Billing;
+import com.develead.smile.dto.ArOpenItemSource;
+import com.develead.smile.dto.BillingListItem;
+import com.develead.smile.dto.BillingSyncItem;
+import com.develead.smile.dto.BillingTotals;
+import com.develead.smile.dto.SyncVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface BillingRepository extends JpaRepository<Billing, Integer> {
@@ -13,8 +22,96 @@ public interface BillingRepository extends JpaRepository<Billing, Integer> {
     @Query("SELECT b FROM Billing b WHERE b.medicalRecord.record_id = :medicalRecordId")
     Optional<Billing> findByMedicalRecordId(@Param("medicalRecordId") Integer medicalRecordId);
 
+    // [수정] ID 조회도 현재 지점 청구서로 한정한다 (다른 지점 청구서는 없는 것으로 취급)
+    @Query("SELECT b FROM Billing b WHERE b.billing_id = :id AND b.medicalRecord.appointment.clinic.clinic_id = :clinicId")
+    Optional<Billing> findByIdAndClinicId(@Param("id") Integer id, @Param("clinicId") Integer clinicId);
+
+    // [수정] 수납 반영을 한 문장으로 처리하여 동시 수납 시 금액이 유실되지 않도록 한다.
+    // 상태(CASE)를 먼저 계산해야 MySQL(좌->우 순차 대입)과 표준 SQL에서 같은 결과가 나온다.
+    // 일괄 UPDATE에서는 연관 경로로 조인할 수 없으므로 지점 조건은 진료 기록 서브쿼리로 건다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Billing b SET " +
+            "b.billingStatus = CASE WHEN b.balance - :amount <= 0 THEN 'PAID' ELSE 'PARTIAL' END, " +
+            "b.totalPaid = b.totalPaid + :amount, " +
+            "b.balance = b.balance - :amount, " +
+            "b.updatedBy = :userId, " +
+            "b.version = b.version + 1, " +
+            "b.lastModifiedAt = :modifiedAt " +
+            "WHERE b.billing_id = :billingId AND b.medicalRecord.record_id IN " +
+            "(SELECT mr.record_id FROM MedicalRecord mr WHERE mr.appointment.clinic.clinic_id = :clinicId)")
+    int applyPayment(@Param("billingId") Integer billingId,
+                     @Param("clinicId") Integer clinicId,
+                     @Param("amount") BigDecimal amount,
+                     @Param("userId") Integer userId,
+                     @Param("modifiedAt") LocalDateTime modifiedAt);
+
+    // 수납 반영 후 금액/상태만 다시 읽는다 (즉시 로딩되는 진료 기록/예약 등은 잠금 전에 이미 읽었다)
+    @Query("SELECT new com.develead.smile.dto.BillingTotals(b.totalPaid, b.balance, b.billingStatus) FROM Billing b WHERE b.billing_id = :id")
+    BillingTotals findTotals(@Param("id") Integer id);
+
     // [수정] 통계를 위한 쿼리 추가
     @Query("SELECT SUM(pt.amount) FROM PaymentTransaction pt WHERE pt.transactionDate BETWEEN :start AND :end")
     BigDecimal findTotalRevenueBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-}
 
+    // [수정] 지점별 조회. 청구서는 진료 기록 -> 예약의 지점을 따른다.
+    @Query("SELECT SUM(pt.amount) FROM PaymentTransaction pt WHERE pt.billing.medicalRecord.appointment.clinic.clinic_id = :clinicId " +
+            "AND pt.transactionDate BETWEEN :start AND :end")
+    BigDecimal findTotalRevenueByClinicBetween(@Param("clinicId") Integer clinicId,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end);
+
+    @Query("SELECT b FROM Billing b JOIN FETCH b.medicalRecord mr JOIN FETCH mr.customer " +
+            "WHERE mr.appointment.clinic.clinic_id = :clinicId ORDER BY b.billing_id DESC")
+    List<Billing> findAllByClinicId(@Param("clinicId") Integer clinicId);
+
+    // [수정] 관리자 목록용 페이지 조회. 엔티티를 읽지 않으므로 수납 내역(EAGER)도 함께 읽히지 않는다.
+    @Query(value = "SELECT new com.develead.smile.dto.BillingListItem(b.billing_id, mr.treatmentDate, c.name, " +
+            "b.totalAmount, b.totalPaid, b.balance, b.billingStatus) " +
+            "FROM Billing b JOIN b.medicalRecord mr JOIN mr.customer c " +
+            "WHERE mr.appointment.clinic.clinic_id = :clinicId AND " +
+            "(:status IS NULL OR b.billingStatus = :status) AND " +
+            "(:q IS NULL OR c.name LIKE %:q%)",
+            countQuery = "SELECT count(b) FROM Billing b JOIN b.medicalRecord mr JOIN mr.customer c " +
+                    "WHERE mr.appointment.clinic.clinic_id = :clinicId AND " +
+                    "(:status IS NULL OR b.billingStatus = :status) AND " +
+                    "(:q IS NULL OR c.name LIKE %:q%)")
+    Page<BillingListItem> findListItems(@Param("clinicId") Integer clinicId,
+                                        @Param("q") String q,
+                                        @Param("status") String status,
+                                        Pageable pageable);
+
+    // [수정] 미수금 원장 재구성용. 지점의 잔액이 남은 청구서만 ID 기준 keyset 페이징으로 읽는다.
+    @Query("SELECT new com.develead.smile.dto.ArOpenItemSource(b.billing_id, mr.appointment.clinic.clinic_id, mr.customer.customer_id, " +
+            "mr.treatmentDate, b.balance) FROM Billing b JOIN b.medicalRecord mr " +
+            "WHERE mr.appointment.clinic.clinic_id = :clinicId AND b.balance > 0 AND b.billing_id > :afterId ORDER BY b.billing_id")
+    List<ArOpenItemSource> findOpenItemSources(@Param("clinicId") Integer clinicId,
+                                               @Param("afterId") Integer afterId,
+                                               Pageable pageable);
+
+    // [수정] 미수금 원장 초기 적재 대상 판별용: 잔액이 남은 청구서가 있는 지점
+    @Query("SELECT DISTINCT mr.appointment.clinic.clinic_id FROM Billing b JOIN b.medicalRecord mr WHERE b.balance > 0")
+    List<Integer> findClinicIdsWithOpenBalance();
+
+    // [수정] 읽기 API: 고객의 청구 요약 목록 검증값과 본문 (현재 지점). 진료 기록의 (customer_id, ...) 인덱스를 탄다.
+    @Query("SELECT new com.develead.smile.dto.SyncVersion(max(b.lastModifiedAt), count(b)) FROM Billing b JOIN b.medicalRecord mr " +
+            "WHERE mr.customer.customer_id = :customerId AND mr.appointment.clinic.clinic_id = :clinicId")
+    SyncVersion findSyncVersionByCustomer(@Param("clinicId") Integer clinicId, @Param("customerId") Integer customerId);
+
+    @Query("SELECT new com.develead.smile.dto.BillingSyncItem(b.billing_id, mr.record_id, mr.customer.customer_id, mr.treatmentDate, " +
+            "b.totalAmount, b.totalPaid, b.balance, b.billingStatus, b.lastModifiedAt) FROM Billing b JOIN b.medicalRecord mr " +
+            "WHERE mr.customer.customer_id = :customerId AND mr.appointment.clinic.clinic_id = :clinicId " +
+            "ORDER BY mr.treatmentDate DESC, b.billing_id DESC")
+    List<BillingSyncItem> findSyncItemsByCustomer(@Param("clinicId") Integer clinicId, @Param("customerId") Integer customerId);
+
+    // [수정] 읽기 API 변경분. (last_modified_at, billing_id) 인덱스 순서로 읽으며 지점은 조인으로 거른다.
+    @Query("SELECT new com.develead.smile.dto.BillingSyncItem(b.billing_id, mr.record_id, mr.customer.customer_id, mr.treatmentDate, " +
+            "b.totalAmount, b.totalPaid, b.balance, b.billingStatus, b.lastModifiedAt) FROM Billing b JOIN b.medicalRecord mr " +
+            "WHERE mr.appointment.clinic.clinic_id = :clinicId " +
+            "AND (b.lastModifiedAt > :afterModifiedAt OR (b.lastModifiedAt = :afterModifiedAt AND b.billing_id > :afterId)) " +
+            "AND b.lastModifiedAt < :until ORDER BY b.lastModifiedAt, b.billing_id")
+    List<BillingSyncItem> findSyncChanges(@Param("clinicId") Integer clinicId,
+                                          @Param("afterModifiedAt") LocalDateTime afterModifiedAt,
+                                          @Param("afterId") Integer afterId,
+                                          @Param("until") LocalDateTime until,
+                                          Pageable pageable);
+}
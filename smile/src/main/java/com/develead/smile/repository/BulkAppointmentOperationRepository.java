@@ -0,0 +1,19 @@
+package com.develead.smile.repository;
+import com.develead.smile.domain.BulkAppointmentOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface BulkAppointmentOperationRepository extends JpaRepository<BulkAppointmentOperation, String> {
+    @Query("SELECT o FROM BulkAppointmentOperation o WHERE o.operationId = :operationId AND o.clinicId = :clinicId")
+    Optional<BulkAppointmentOperation> findByIdAndClinicId(@Param("operationId") String operationId,
+                                                           @Param("clinicId") Integer clinicId);
+
+    @Modifying
+    @Query("DELETE FROM BulkAppointmentOperation o WHERE o.finishedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
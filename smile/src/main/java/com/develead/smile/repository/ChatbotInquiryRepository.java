@@ -1,16 +1,53 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.ChatbotInquiry;
+import com.develead.smile.dto.ChatbotInquiryConversion;
+import com.develead.smile.dto.ClinicalSearchDocument;
+import com.develead.smile.dto.PatientTimelineEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ChatbotInquiryRepository extends JpaRepository<ChatbotInquiry, Integer> {
     // [수정] 필터링을 위한 쿼리 추가
+    @Query("SELECT i FROM ChatbotInquiry i WHERE " +
+            "(:status IS NULL OR :status = '' OR i.inquiryStatus = :status) " +
+            "ORDER BY i.receivedAt DESC")
+    List<ChatbotInquiry> findByFilters(@Param("status") String status);
+
+    // [수정] 날짜 필터는 별도 쿼리로 분리. DATE(receivedAt) 비교나 "파라미터 IS NULL OR" 조건은
+    // 실행 계획을 미리 세우는 DB에서 received_at 인덱스를 못 타므로 [start, end) 범위로 직접 비교한다.
     @Query("SELECT i FROM ChatbotInquiry i WHERE " +
             "(:status IS NULL OR :status = '' OR i.inquiryStatus = :status) AND " +
-            "(CAST(:date AS date) IS NULL OR DATE(i.receivedAt) = :date) " +
+            "i.receivedAt >= :start AND i.receivedAt < :end " +
             "ORDER BY i.receivedAt DESC")
-    List<ChatbotInquiry> findByFilters(@Param("status") String status, @Param("date") LocalDate date);
+    List<ChatbotInquiry> findByFiltersReceivedBetween(@Param("status") String status,
+                                                      @Param("start") LocalDateTime start,
+                                                      @Param("end") LocalDateTime end);
+
+    // [수정] 환자 타임라인용 프로젝션 조회. 챗봇 문의는 고객과 직접 연결되지 않으므로 연락처로 매칭한다.
+    @Query("SELECT new com.develead.smile.dto.PatientTimelineEntry('INQUIRY', i.inquiry_id, i.receivedAt, i.inquiryReason, i.consultationNotes, i.inquiryStatus) " +
+            "FROM ChatbotInquiry i WHERE i.phoneNumber = :phoneNumber AND " +
+            "(i.receivedAt < :before OR (i.receivedAt = :before AND i.inquiry_id < :beforeId)) " +
+            "ORDER BY i.receivedAt DESC, i.inquiry_id DESC")
+    List<PatientTimelineEntry> findTimelineEntries(@Param("phoneNumber") String phoneNumber,
+                                                   @Param("before") LocalDateTime before,
+                                                   @Param("beforeId") Integer beforeId,
+                                                   Pageable pageable);
+
+    // [수정] 전문 검색 색인 초기 적재용 (ID 기준 keyset 페이징)
+    @Query("SELECT new com.develead.smile.dto.ClinicalSearchDocument('INQUIRY', i.inquiry_id, i.receivedAt, i.inquiryReason, i.consultationNotes) " +
+            "FROM ChatbotInquiry i WHERE i.inquiry_id > :afterId ORDER BY i.inquiry_id")
+    List<ClinicalSearchDocument> findSearchDocuments(@Param("afterId") Integer afterId, Pageable pageable);
+
+    // [수정] 챗봇 인텐트 집계의 문의 전환 반영용 ((receivedAt, inquiry_id) keyset)
+    @Query("SELECT new com.develead.smile.dto.ChatbotInquiryConversion(i.inquiry_id, i.sessionId, i.receivedAt) FROM ChatbotInquiry i " +
+            "WHERE i.receivedAt < :until AND (i.receivedAt > :afterTimestamp OR (i.receivedAt = :afterTimestamp AND i.inquiry_id > :afterId)) " +
+            "ORDER BY i.receivedAt, i.inquiry_id")
+    List<ChatbotInquiryConversion> findConversionsAfter(@Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                                        @Param("afterId") Integer afterId,
+                                                        @Param("until") LocalDateTime until,
+                                                        Pageable pageable);
 }
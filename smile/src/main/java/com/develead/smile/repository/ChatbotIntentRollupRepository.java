@@ -0,0 +1,31 @@
+package com.develead.smile.repository;
+import com.develead.smile.domain.ChatbotIntentRollup;
+import com.develead.smile.dto.ChatbotAnalyticsPoint;
+import com.develead.smile.dto.ChatbotIntentTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChatbotIntentRollupRepository extends JpaRepository<ChatbotIntentRollup, Long> {
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ChatbotIntentRollup r")
+    int deleteAllRollups();
+
+    // 집계 배치가 갱신할 행들 (배치에 포함된 시간대 범위, 양 끝 포함)
+    @Query("SELECT r FROM ChatbotIntentRollup r WHERE r.bucketHour >= :from AND r.bucketHour <= :to")
+    List<ChatbotIntentRollup> findByBucketHourRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.develead.smile.dto.ChatbotAnalyticsPoint(r.bucketHour, SUM(r.turns), SUM(r.sessions), SUM(r.sessionTurns), SUM(r.conversions)) " +
+            "FROM ChatbotIntentRollup r WHERE r.bucketHour >= :start AND r.bucketHour < :end " +
+            "GROUP BY r.bucketHour ORDER BY r.bucketHour")
+    List<ChatbotAnalyticsPoint> sumByHour(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT new com.develead.smile.dto.ChatbotIntentTotal(r.intent, SUM(r.turns), SUM(r.sessions), SUM(r.conversions)) " +
+            "FROM ChatbotIntentRollup r WHERE r.bucketHour >= :start AND r.bucketHour < :end " +
+            "GROUP BY r.intent ORDER BY SUM(r.turns) DESC, r.intent")
+    List<ChatbotIntentTotal> sumByIntent(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
@@ -1,7 +1,21 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.ChatbotLog;
+import com.develead.smile.dto.ChatbotLogTurn;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 public interface ChatbotLogRepository extends JpaRepository<ChatbotLog, Long> {
     List<ChatbotLog> findBySessionIdOrderByTimestampAsc(String sessionId);
+
+    // [수정] 인텐트 집계용. (timestamp, log_id) 위치 이후의 대화를 본문 없이 순서대로 읽는다
+    @Query("SELECT new com.develead.smile.dto.ChatbotLogTurn(l.log_id, l.sessionId, l.intent, l.timestamp) FROM ChatbotLog l " +
+            "WHERE l.timestamp < :until AND (l.timestamp > :afterTimestamp OR (l.timestamp = :afterTimestamp AND l.log_id > :afterId)) " +
+            "ORDER BY l.timestamp, l.log_id")
+    List<ChatbotLogTurn> findTurnsAfter(@Param("afterTimestamp") LocalDateTime afterTimestamp,
+                                        @Param("afterId") Long afterId,
+                                        @Param("until") LocalDateTime until,
+                                        Pageable pageable);
 }
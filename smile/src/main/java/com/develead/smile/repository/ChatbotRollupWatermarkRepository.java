@@ -0,0 +1,16 @@
+package com.develead.smile.repository;
+import com.develead.smile.domain.ChatbotRollupWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ChatbotRollupWatermarkRepository extends JpaRepository<ChatbotRollupWatermark, String> {
+    // 여러 노드의 집계 배치/재구성이 겹치지 않도록 행을 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM ChatbotRollupWatermark w WHERE w.name = :name")
+    Optional<ChatbotRollupWatermark> findForUpdate(@Param("name") String name);
+}
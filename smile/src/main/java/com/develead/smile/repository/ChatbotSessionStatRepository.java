@@ -0,0 +1,12 @@
+package com.develead.smile.repository;
+import com.develead.smile.domain.ChatbotSessionStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ChatbotSessionStatRepository extends JpaRepository<ChatbotSessionStat, String> {
+    // 재구성용. 같은 세션 ID로 다시 만들 때 영속성 컨텍스트에 남은 이전 행과 충돌하지 않도록 비운다
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ChatbotSessionStat s")
+    int deleteAllStats();
+}
@@ -1,7 +1,12 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.Clinic;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.Optional;
 public interface ClinicRepository extends JpaRepository<Clinic, Integer> {
     Optional<Clinic> findByClinicName(String name);
+
+    // 소속 지점이 없는 계정(기존 관리자 등)이 사용할 기본 지점
+    @Query("SELECT MIN(c.clinic_id) FROM Clinic c WHERE c.isActive = true")
+    Optional<Integer> findDefaultClinicId();
 }
\ No newline at end of file
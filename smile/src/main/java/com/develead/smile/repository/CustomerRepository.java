@@ -2,10 +2,40 @@ package com.develead.smile.repository;
 
 import com.develead.smile.domain.Customer;
 import com.develead.smile.domain.UserAccount;
+import com.develead.smile.dto.CustomerListItem;
+import com.develead.smile.dto.CustomerSyncItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface CustomerRepository extends JpaRepository<Customer, Integer> {
     // [수정] 오류 해결을 위해 메소드 추가
     Optional<Customer> findByUserAccount(UserAccount userAccount);
-}
\ No newline at end of file
+
+    // [수정] 관리자 목록용 페이지 조회 (표시 컬럼만, 삭제된 고객 제외). 정렬은 Pageable로 받는다.
+    @Query(value = "SELECT new com.develead.smile.dto.CustomerListItem(c.customer_id, c.name, c.phoneNumber, c.email) " +
+            "FROM Customer c WHERE c.deleted = 'N' AND " +
+            "(:q IS NULL OR c.name LIKE %:q% OR c.phoneNumber LIKE %:q%)",
+            countQuery = "SELECT count(c) FROM Customer c WHERE c.deleted = 'N' AND " +
+                    "(:q IS NULL OR c.name LIKE %:q% OR c.phoneNumber LIKE %:q%)")
+    Page<CustomerListItem> findListItems(@Param("q") String q, Pageable pageable);
+
+    // [수정] 읽기 API: 고객 한 건 (ETag는 행의 수정 시각)
+    @Query("SELECT new com.develead.smile.dto.CustomerSyncItem(c.customer_id, c.name, c.phoneNumber, c.email, c.deleted, c.lastModifiedAt) " +
+            "FROM Customer c WHERE c.customer_id = :id")
+    Optional<CustomerSyncItem> findSyncItem(@Param("id") Integer id);
+
+    // [수정] 읽기 API 변경분 (삭제 포함). (last_modified_at, customer_id) 인덱스를 탄다.
+    @Query("SELECT new com.develead.smile.dto.CustomerSyncItem(c.customer_id, c.name, c.phoneNumber, c.email, c.deleted, c.lastModifiedAt) " +
+            "FROM Customer c WHERE (c.lastModifiedAt > :afterModifiedAt OR (c.lastModifiedAt = :afterModifiedAt AND c.customer_id > :afterId)) " +
+            "AND c.lastModifiedAt < :until ORDER BY c.lastModifiedAt, c.customer_id")
+    List<CustomerSyncItem> findSyncChanges(@Param("afterModifiedAt") LocalDateTime afterModifiedAt,
+                                           @Param("afterId") Integer afterId,
+                                           @Param("until") LocalDateTime until,
+                                           Pageable pageable);
+}
@@ -1,7 +1,21 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.Doctor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 public interface DoctorRepository extends JpaRepository<Doctor, Integer> {
     Optional<Doctor> findByName(String name);
+
+    // [수정] 초기 데이터 확인을 한 번의 조회로
+    List<Doctor> findByNameIn(Collection<String> names);
+
+    @Query("SELECT d FROM Doctor d WHERE d.clinic.clinic_id = :clinicId ORDER BY d.name")
+    List<Doctor> findAllByClinicId(@Param("clinicId") Integer clinicId);
+
+    // [수정] 현재 지점 소속 의사만. 예약/진료 기록에 지점을 복사하므로 지점도 함께 읽는다.
+    @Query("SELECT d FROM Doctor d JOIN FETCH d.clinic c WHERE d.doctor_id = :id AND c.clinic_id = :clinicId")
+    Optional<Doctor> findByIdAndClinicId(@Param("id") Integer id, @Param("clinicId") Integer clinicId);
 }
\ No newline at end of file
@@ -1,10 +1,51 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.InventoryItem;
+import com.develead.smile.dto.InventoryItemListItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface InventoryItemRepository extends JpaRepository<InventoryItem, Integer> {
     // [수정] 통계를 위한 쿼리 추가
     @Query("SELECT count(i) FROM InventoryItem i WHERE i.quantity < i.safeStockLevel")
     long countLowStockItems();
+
+    // [수정] 지점별 조회
+    @Query("SELECT count(i) FROM InventoryItem i WHERE i.clinic.clinic_id = :clinicId AND i.quantity < i.safeStockLevel")
+    long countLowStockItemsByClinicId(@Param("clinicId") Integer clinicId);
+
+    @Query("SELECT i FROM InventoryItem i WHERE i.clinic.clinic_id = :clinicId ORDER BY i.itemCode")
+    List<InventoryItem> findAllByClinicId(@Param("clinicId") Integer clinicId);
+
+    // [수정] 관리자 목록용 페이지 조회. lowStock이면 안전 재고 미만 품목만.
+    @Query(value = "SELECT new com.develead.smile.dto.InventoryItemListItem(i.item_id, i.itemCode, i.itemName, i.quantity, i.safeStockLevel, i.unit) " +
+            "FROM InventoryItem i WHERE i.clinic.clinic_id = :clinicId AND " +
+            "(:lowStock = false OR i.quantity < i.safeStockLevel) AND " +
+            "(:q IS NULL OR i.itemCode LIKE %:q% OR i.itemName LIKE %:q%)",
+            countQuery = "SELECT count(i) FROM InventoryItem i WHERE i.clinic.clinic_id = :clinicId AND " +
+                    "(:lowStock = false OR i.quantity < i.safeStockLevel) AND " +
+                    "(:q IS NULL OR i.itemCode LIKE %:q% OR i.itemName LIKE %:q%)")
+    Page<InventoryItemListItem> findListItems(@Param("clinicId") Integer clinicId,
+                                              @Param("q") String q,
+                                              @Param("lowStock") boolean lowStock,
+                                              Pageable pageable);
+
+    @Query("SELECT i FROM InventoryItem i WHERE i.item_id = :id AND i.clinic.clinic_id = :clinicId")
+    Optional<InventoryItem> findByIdAndClinicId(@Param("id") Integer id, @Param("clinicId") Integer clinicId);
+
+    // [수정] 재주문 후보: 출고 이력으로 소비 속도가 잡힌 품목과 안전 재고 미만 품목
+    @Query("SELECT i FROM InventoryItem i WHERE i.clinic.clinic_id = :clinicId " +
+            "AND (i.consumptionSince IS NOT NULL OR i.quantity < i.safeStockLevel)")
+    List<InventoryItem> findForecastCandidatesByClinicId(@Param("clinicId") Integer clinicId);
+
+    // [수정] 소비량 예측 재구성용. 지점 품목을 ID 기준 keyset 페이징으로 읽는다.
+    @Query("SELECT i FROM InventoryItem i WHERE i.clinic.clinic_id = :clinicId AND i.item_id > :afterId ORDER BY i.item_id")
+    List<InventoryItem> findPageByClinicId(@Param("clinicId") Integer clinicId,
+                                           @Param("afterId") Integer afterId,
+                                           Pageable pageable);
 }
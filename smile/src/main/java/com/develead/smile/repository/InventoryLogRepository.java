@@ -1,4 +1,18 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.InventoryLog;
+import com.develead.smile.dto.InventoryDailyConsumption;
 import org.springframework.data.jpa.repository.JpaRepository;
-public interface InventoryLogRepository extends JpaRepository<InventoryLog, Integer> {}
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface InventoryLogRepository extends JpaRepository<InventoryLog, Integer> {
+    // [수정] 소비량 예측 재구성용. 로그 행이 아니라 품목 x 날짜별 출고 합계만 읽는다 (OUT은 음수로 기록됨)
+    @Query("SELECT new com.develead.smile.dto.InventoryDailyConsumption(l.item.item_id, CAST(l.logDate AS LocalDate), SUM(-l.quantityChanged)) " +
+            "FROM InventoryLog l WHERE l.item.item_id IN :itemIds AND l.changeType = 'OUT' " +
+            "GROUP BY l.item.item_id, CAST(l.logDate AS LocalDate) " +
+            "ORDER BY l.item.item_id, CAST(l.logDate AS LocalDate)")
+    List<InventoryDailyConsumption> findDailyConsumption(@Param("itemIds") Collection<Integer> itemIds);
+}
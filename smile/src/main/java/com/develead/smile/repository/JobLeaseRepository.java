@@ -0,0 +1,41 @@
+package com.develead.smile.repository;
+import com.develead.smile.domain.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+    List<JobLease> findAllByJobNameAndPartitionCount(String jobName, int partitionCount);
+
+    // 이번 실행(runKey)에서 아직 처리되지 않았거나, 임대가 만료된(소유 노드가 죽은) 파티션만 획득
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JobLease l SET l.runKey = :runKey, l.ownerId = :ownerId, l.leaseUntil = :leaseUntil, l.status = 'RUNNING' " +
+            "WHERE l.leaseKey = :leaseKey AND (l.runKey IS NULL OR l.runKey <> :runKey " +
+            "OR (l.status <> 'DONE' AND (l.leaseUntil IS NULL OR l.leaseUntil < :now)))")
+    int tryClaim(@Param("leaseKey") String leaseKey, @Param("runKey") String runKey, @Param("ownerId") String ownerId,
+                 @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JobLease l SET l.status = 'DONE', l.completedAt = :now, l.leaseUntil = NULL " +
+            "WHERE l.leaseKey = :leaseKey AND l.runKey = :runKey AND l.ownerId = :ownerId")
+    int complete(@Param("leaseKey") String leaseKey, @Param("runKey") String runKey,
+                 @Param("ownerId") String ownerId, @Param("now") LocalDateTime now);
+
+    // 처리 중인 노드가 임대 만료 전에 주기적으로 연장한다. 이미 다른 노드가 회수했다면 0건.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JobLease l SET l.leaseUntil = :leaseUntil " +
+            "WHERE l.leaseKey = :leaseKey AND l.runKey = :runKey AND l.ownerId = :ownerId AND l.status = 'RUNNING'")
+    int renew(@Param("leaseKey") String leaseKey, @Param("runKey") String runKey,
+              @Param("ownerId") String ownerId, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 처리 실패 시 임대를 즉시 만료시켜 다른 노드(또는 다음 회수 주기)가 재시도할 수 있게 한다
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JobLease l SET l.leaseUntil = :now " +
+            "WHERE l.leaseKey = :leaseKey AND l.runKey = :runKey AND l.ownerId = :ownerId AND l.status = 'RUNNING'")
+    int release(@Param("leaseKey") String leaseKey, @Param("runKey") String runKey,
+                @Param("ownerId") String ownerId, @Param("now") LocalDateTime now);
+}
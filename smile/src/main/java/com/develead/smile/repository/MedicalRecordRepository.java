@@ -1,12 +1,62 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.MedicalRecord;
+import com.develead.smile.dto.ClinicalSearchDocument;
+import com.develead.smile.dto.MedicalRecordListItem;
+import com.develead.smile.dto.PatientTimelineEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Integer> {
-    // [수정] JOIN FETCH를 사용하여 연관된 엔티티를 즉시 로딩
-    @Query("SELECT mr FROM MedicalRecord mr LEFT JOIN FETCH mr.services mrs LEFT JOIN FETCH mrs.serviceItem WHERE mr.record_id = :id")
-    Optional<MedicalRecord> findByIdWithDetails(@Param("id") Integer id);
+    // [수정] JOIN FETCH를 사용하여 연관된 엔티티를 즉시 로딩. 현재 지점 기록만 조회한다 (다른 지점 기록은 없는 것으로 취급)
+    @Query("SELECT mr FROM MedicalRecord mr LEFT JOIN FETCH mr.services mrs LEFT JOIN FETCH mrs.serviceItem " +
+            "WHERE mr.record_id = :id AND mr.appointment.clinic.clinic_id = :clinicId")
+    Optional<MedicalRecord> findByIdWithDetailsAndClinicId(@Param("id") Integer id, @Param("clinicId") Integer clinicId);
+
+    @Query("SELECT mr FROM MedicalRecord mr WHERE mr.record_id = :id AND mr.appointment.clinic.clinic_id = :clinicId")
+    Optional<MedicalRecord> findByIdAndClinicId(@Param("id") Integer id, @Param("clinicId") Integer clinicId);
+
+    // [수정] 지점별 조회. 진료 기록은 연결된 예약의 지점을 따른다.
+    @Query("SELECT mr FROM MedicalRecord mr JOIN FETCH mr.customer JOIN FETCH mr.doctor " +
+            "WHERE mr.appointment.clinic.clinic_id = :clinicId ORDER BY mr.treatmentDate DESC, mr.record_id DESC")
+    List<MedicalRecord> findAllByClinicId(@Param("clinicId") Integer clinicId);
+
+    // [수정] 관리자 목록용 페이지 조회. 고객명/진료일 기간 필터, 증상(@Lob)과 진료 항목은 읽지 않는다.
+    @Query(value = "SELECT new com.develead.smile.dto.MedicalRecordListItem(mr.record_id, mr.treatmentDate, c.name, d.name, mr.totalCost) " +
+            "FROM MedicalRecord mr JOIN mr.customer c JOIN mr.doctor d " +
+            "WHERE mr.appointment.clinic.clinic_id = :clinicId AND " +
+            "(:q IS NULL OR c.name LIKE %:q%) AND " +
+            "(:startDate IS NULL OR mr.treatmentDate >= :startDate) AND " +
+            "(:endDate IS NULL OR mr.treatmentDate <= :endDate)",
+            countQuery = "SELECT count(mr) FROM MedicalRecord mr JOIN mr.customer c " +
+                    "WHERE mr.appointment.clinic.clinic_id = :clinicId AND " +
+                    "(:q IS NULL OR c.name LIKE %:q%) AND " +
+                    "(:startDate IS NULL OR mr.treatmentDate >= :startDate) AND " +
+                    "(:endDate IS NULL OR mr.treatmentDate <= :endDate)")
+    Page<MedicalRecordListItem> findListItems(@Param("clinicId") Integer clinicId,
+                                              @Param("q") String q,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate,
+                                              Pageable pageable);
+
+    // [수정] 환자 타임라인용 프로젝션 조회 (커서 이전 항목만, 최신순)
+    @Query("SELECT new com.develead.smile.dto.PatientTimelineEntry('TREATMENT', mr.record_id, mr.treatmentDate, mr.doctor.name, mr.symptoms, mr.totalCost) " +
+            "FROM MedicalRecord mr WHERE mr.customer.customer_id = :customerId AND mr.appointment.clinic.clinic_id = :clinicId AND " +
+            "(mr.treatmentDate < :beforeDate OR (mr.treatmentDate = :beforeDate AND mr.record_id < :beforeId)) " +
+            "ORDER BY mr.treatmentDate DESC, mr.record_id DESC")
+    List<PatientTimelineEntry> findTimelineEntries(@Param("clinicId") Integer clinicId,
+                                                   @Param("customerId") Integer customerId,
+                                                   @Param("beforeDate") LocalDate beforeDate,
+                                                   @Param("beforeId") Integer beforeId,
+                                                   Pageable pageable);
+
+    // [수정] 전문 검색 색인 초기 적재용 (ID 기준 keyset 페이징)
+    @Query("SELECT new com.develead.smile.dto.ClinicalSearchDocument('TREATMENT', mr.record_id, mr.appointment.clinic.clinic_id, mr.doctor.doctor_id, mr.treatmentDate, mr.symptoms) " +
+            "FROM MedicalRecord mr WHERE mr.record_id > :afterId AND mr.symptoms IS NOT NULL ORDER BY mr.record_id")
+    List<ClinicalSearchDocument> findSearchDocuments(@Param("afterId") Integer afterId, Pageable pageable);
 }
@@ -1,7 +1,20 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.NotificationTemplate;
+import com.develead.smile.dto.NotificationTemplateListItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 public interface NotificationTemplateRepository extends JpaRepository<NotificationTemplate, Integer> {
     Optional<NotificationTemplate> findByTemplateKey(String templateKey);
+
+    // [수정] 관리자 목록용 페이지 조회 (본문 @Lob 제외)
+    @Query(value = "SELECT new com.develead.smile.dto.NotificationTemplateListItem(t.template_id, t.templateKey, t.description, t.channel) " +
+            "FROM NotificationTemplate t WHERE (:channel IS NULL OR t.channel = :channel) AND " +
+            "(:q IS NULL OR t.templateKey LIKE %:q% OR t.description LIKE %:q%)",
+            countQuery = "SELECT count(t) FROM NotificationTemplate t WHERE (:channel IS NULL OR t.channel = :channel) AND " +
+                    "(:q IS NULL OR t.templateKey LIKE %:q% OR t.description LIKE %:q%)")
+    Page<NotificationTemplateListItem> findListItems(@Param("q") String q, @Param("channel") String channel, Pageable pageable);
 }
@@ -0,0 +1,52 @@
+package com.develead.smile.repository;
+import com.develead.smile.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // 처리 대기 중이거나, 처리하던 노드가 죽어 점유 시간이 지난 이벤트
+    // (상태 IN 조건을 먼저 두어 OR 조건이어도 (status, availableAt) 인덱스로 범위를 좁힌다)
+    @Query("SELECT e.event_id FROM OutboxEvent e WHERE e.status IN ('PENDING', 'PROCESSING') AND " +
+            "((e.status = 'PENDING' AND e.availableAt <= :now) OR (e.status = 'PROCESSING' AND e.claimedUntil < :now)) " +
+            "ORDER BY e.event_id")
+    List<Long> findDispatchableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 조건부 UPDATE로 점유. 여러 노드가 같은 이벤트를 골라도 한 노드만 성공한다.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.status = 'PROCESSING', e.claimToken = :token, e.claimedUntil = :until " +
+            "WHERE e.event_id IN :ids AND ((e.status = 'PENDING' AND e.availableAt <= :now) " +
+            "OR (e.status = 'PROCESSING' AND e.claimedUntil < :now))")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.claimToken = :token ORDER BY e.event_id")
+    List<OutboxEvent> findClaimed(@Param("token") String token);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.status = 'DONE', e.processedAt = :now, e.claimedUntil = NULL, e.lastError = NULL " +
+            "WHERE e.event_id = :id AND e.claimToken = :token")
+    int markDone(@Param("id") Long id, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.attempts = :attempts, e.availableAt = :retryAt, " +
+            "e.claimedUntil = NULL, e.lastError = :error, e.completedHandlers = :completedHandlers " +
+            "WHERE e.event_id = :id AND e.claimToken = :token")
+    int markFailed(@Param("id") Long id, @Param("token") String token, @Param("status") String status,
+                   @Param("attempts") int attempts, @Param("retryAt") LocalDateTime retryAt, @Param("error") String error,
+                   @Param("completedHandlers") String completedHandlers);
+
+    // 노드별 캐시 무효화용: 최근에 기록된 이벤트 (처리 상태와 무관하게 모든 노드가 읽는다)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.createdAt >= :since ORDER BY e.event_id")
+    List<OutboxEvent> findCreatedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'DONE' AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
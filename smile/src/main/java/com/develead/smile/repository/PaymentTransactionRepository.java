@@ -1,5 +1,8 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.PaymentTransaction;
+import com.develead.smile.dto.PatientTimelineEntry;
+import com.develead.smile.dto.ReportDataVersion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,4 +18,22 @@ public interface PaymentTransactionRepository extends JpaRepository<PaymentTrans
             "JOIN FETCH mr.customer " +
             "WHERE pt.transactionDate BETWEEN :start AND :end")
     List<PaymentTransaction> findAllByTransactionDateBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // [수정] 보고서 캐시 키로 사용할 기간별 데이터 버전 조회 (보고서에 출력되는 결제/환자 행의 최종 수정 시각)
+    @Query("SELECT new com.develead.smile.dto.ReportDataVersion(COUNT(pt), MAX(pt.lastModifiedAt), MAX(c.lastModifiedAt)) " +
+            "FROM PaymentTransaction pt JOIN pt.billing b JOIN b.medicalRecord mr JOIN mr.customer c " +
+            "WHERE pt.transactionDate BETWEEN :start AND :end")
+    ReportDataVersion findDataVersionBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // [수정] 환자 타임라인용 프로젝션 조회 (커서 이전 항목만, 최신순)
+    @Query("SELECT new com.develead.smile.dto.PatientTimelineEntry('PAYMENT', pt.transaction_id, pt.transactionDate, pt.paymentMethod, pt.amount) " +
+            "FROM PaymentTransaction pt WHERE pt.billing.medicalRecord.customer.customer_id = :customerId AND " +
+            "pt.billing.medicalRecord.appointment.clinic.clinic_id = :clinicId AND " +
+            "(pt.transactionDate < :before OR (pt.transactionDate = :before AND pt.transaction_id < :beforeId)) " +
+            "ORDER BY pt.transactionDate DESC, pt.transaction_id DESC")
+    List<PatientTimelineEntry> findTimelineEntries(@Param("clinicId") Integer clinicId,
+                                                   @Param("customerId") Integer customerId,
+                                                   @Param("before") LocalDateTime before,
+                                                   @Param("beforeId") Integer beforeId,
+                                                   Pageable pageable);
 }
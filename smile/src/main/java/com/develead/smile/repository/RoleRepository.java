@@ -2,8 +2,13 @@ package com.develead.smile.repository;
 
 import com.develead.smile.domain.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Integer> {
     Optional<Role> findByRoleName(String roleName);
+
+    // [수정] 초기 데이터 확인을 한 번의 조회로
+    List<Role> findByRoleNameIn(Collection<String> roleNames);
 }
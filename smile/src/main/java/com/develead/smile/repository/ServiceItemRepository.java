@@ -1,4 +1,24 @@
 package com.develead.smile.repository;
 import com.develead.smile.domain.ServiceItem;
+import com.develead.smile.dto.ServiceItemListItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-public interface ServiceItemRepository extends JpaRepository<ServiceItem, Integer> {}
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
+public interface ServiceItemRepository extends JpaRepository<ServiceItem, Integer> {
+    // [수정] 관리자 목록용 페이지 조회 (삭제 항목 제외, 설명 @Lob 제외)
+    @Query(value = "SELECT new com.develead.smile.dto.ServiceItemListItem(s.service_item_id, s.serviceCode, s.serviceName, s.category, " +
+            "s.defaultCost, s.isInsuranceCovered, s.isActive) FROM ServiceItem s WHERE s.deleted = 'N' AND " +
+            "(:category IS NULL OR s.category = :category) AND " +
+            "(:q IS NULL OR s.serviceCode LIKE %:q% OR s.serviceName LIKE %:q%)",
+            countQuery = "SELECT count(s) FROM ServiceItem s WHERE s.deleted = 'N' AND " +
+                    "(:category IS NULL OR s.category = :category) AND " +
+                    "(:q IS NULL OR s.serviceCode LIKE %:q% OR s.serviceName LIKE %:q%)")
+    Page<ServiceItemListItem> findListItems(@Param("q") String q, @Param("category") String category, Pageable pageable);
+
+    // 목록 화면의 분야 필터 선택지
+    @Query("SELECT DISTINCT s.category FROM ServiceItem s WHERE s.deleted = 'N' ORDER BY s.category")
+    List<String> findCategories();
+}
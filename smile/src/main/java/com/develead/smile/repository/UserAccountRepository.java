@@ -1,9 +1,18 @@
 package com.develead.smile.repository;
 
 import com.develead.smile.domain.UserAccount;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 
 public interface UserAccountRepository extends JpaRepository<UserAccount, Integer> {
+    // 역할은 항상 함께 쓰이므로 (EAGER) 별도 SELECT 없이 한 번에 읽는다
+    @EntityGraph(attributePaths = "role")
     Optional<UserAccount> findByLoginId(String loginId);
+
+    // 지점 ID만 필요할 때 계정 전체(역할 포함)를 읽지 않도록 FK 컬럼만 조회
+    @Query("SELECT u.clinic.clinic_id FROM UserAccount u WHERE u.loginId = :loginId")
+    Optional<Integer> findClinicIdByLoginId(@Param("loginId") String loginId);
 }
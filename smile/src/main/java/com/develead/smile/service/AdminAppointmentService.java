@@ -3,6 +3,7 @@ import com.develead.smile.domain.*;
 import com.develead.smile.dto.AdminAppointmentDto;
 import com.develead.smile.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,12 +19,15 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Lazy
 public class AdminAppointmentService {
     private final AppointmentRepository appointmentRepository;
     private final CustomerRepository customerRepository;
     private final DoctorRepository doctorRepository;
     private final UserAccountRepository userAccountRepository;
     private final AppointmentChangeLogRepository logRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final ClinicContext clinicContext;
 
     public List<Appointment> findAll() {
         return appointmentRepository.findAllByOrderByAppointmentDatetimeDesc();
@@ -33,11 +37,11 @@ public class AdminAppointmentService {
     public Page<Appointment> findByFilters(String status, String customerName, LocalDate startDate, LocalDate endDate, Pageable pageable) {
         LocalDateTime startDateTime = (startDate != null) ? startDate.atStartOfDay() : null;
         LocalDateTime endDateTime = (endDate != null) ? endDate.atTime(LocalTime.MAX) : null;
-        return appointmentRepository.findByFilters(status, customerName, startDateTime, endDateTime, pageable);
+        return appointmentRepository.findByFilters(clinicContext.currentClinicId(), status, customerName, startDateTime, endDateTime, pageable);
     }
 
     public Optional<Appointment> findById(Integer id) {
-        return appointmentRepository.findById(id);
+        return appointmentRepository.findByIdAndClinicId(id, clinicContext.currentClinicId());
     }
 
     @Transactional
@@ -53,8 +57,10 @@ public class AdminAppointmentService {
             appointment = new Appointment();
             appointment.setCreatedBy(currentUser.getUser_account_id());
         } else {
-            appointment = appointmentRepository.findById(dto.getAppointmentId()).orElseThrow();
+            appointment = appointmentRepository.findByIdAndClinicId(dto.getAppointmentId(), clinicContext.currentClinicId()).orElseThrow();
         }
+        Integer previousClinicId = appointment.getClinic() != null ? appointment.getClinic().getClinic_id() : null;
+        LocalDateTime previousDatetime = appointment.getAppointmentDatetime();
 
         // 변경 감지 및 로그
         logIfChanged(appointment, "customerId", isNew ? null : appointment.getCustomer().getCustomer_id().toString(), dto.getCustomerId().toString(), currentUser);
@@ -76,6 +82,7 @@ public class AdminAppointmentService {
         if (isNew) {
             logChange(savedAppointment, "ALL", null, "Created", currentUser);
         }
+        domainEventPublisher.publishAppointmentChanged(savedAppointment, previousClinicId, previousDatetime);
     }
 
     private void logIfChanged(Appointment appointment, String fieldName, String oldValue, String newValue, UserAccount user) {
@@ -0,0 +1,83 @@
+package com.develead.smile.service;
+import com.develead.smile.config.PrimaryReads;
+import com.develead.smile.dto.AppointmentCalendarCount;
+import com.develead.smile.dto.AppointmentCalendarDto;
+import com.develead.smile.dto.AppointmentCalendarEntry;
+import com.develead.smile.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * 월간 예약 달력. 예약 행을 모두 읽지 않고 GROUP BY 집계(날짜 x 의사 x 상태)만 읽어 조립한다.
+ * 지점+월 단위로 캐시하며, 예약 변경 이벤트가 오면 {@link CacheInvalidationEventHandler}가 모든 노드에서 해당 월을 비운다.
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentCalendarService {
+    public static final String CALENDAR_CACHE = "appointmentCalendar";
+
+    private final AppointmentRepository appointmentRepository;
+
+    public static String cacheKey(Integer clinicId, YearMonth month) {
+        return clinicId + ":" + month;
+    }
+
+    // 캐시에 넣을 값이므로 읽기 전용 트랜잭션이어도 복제본이 아닌 주 DB에서 읽는다 (복제 지연이 캐시에 남지 않도록)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CALENDAR_CACHE, key = "T(com.develead.smile.service.AppointmentCalendarService).cacheKey(#clinicId, #month)")
+    public AppointmentCalendarDto getMonth(Integer clinicId, YearMonth month) {
+        List<AppointmentCalendarCount> counts = PrimaryReads.call(() -> appointmentRepository.countCalendarByClinic(
+                clinicId, month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay()));
+
+        Map<LocalDate, Map<Integer, List<AppointmentCalendarCount>>> byDay = new TreeMap<>();
+        for (AppointmentCalendarCount count : counts) {
+            byDay.computeIfAbsent(count.getDate(), date -> new LinkedHashMap<>())
+                    .computeIfAbsent(count.getDoctorId(), doctorId -> new ArrayList<>())
+                    .add(count);
+        }
+
+        List<AppointmentCalendarDto.Day> days = new ArrayList<>(byDay.size());
+        byDay.forEach((date, byDoctor) -> {
+            Map<String, Long> dayStatusCounts = new TreeMap<>();
+            List<AppointmentCalendarDto.DoctorDay> doctors = new ArrayList<>(byDoctor.size());
+            long dayTotal = 0;
+            for (List<AppointmentCalendarCount> doctorCounts : byDoctor.values()) {
+                Map<String, Long> statusCounts = new TreeMap<>();
+                long total = 0;
+                for (AppointmentCalendarCount count : doctorCounts) {
+                    statusCounts.merge(count.getStatus(), count.getCount(), Long::sum);
+                    dayStatusCounts.merge(count.getStatus(), count.getCount(), Long::sum);
+                    total += count.getCount();
+                }
+                AppointmentCalendarCount first = doctorCounts.get(0);
+                doctors.add(new AppointmentCalendarDto.DoctorDay(first.getDoctorId(), first.getDoctorName(), total,
+                        Collections.unmodifiableMap(statusCounts)));
+                dayTotal += total;
+            }
+            doctors.sort(Comparator.comparing(AppointmentCalendarDto.DoctorDay::getDoctorName));
+            days.add(new AppointmentCalendarDto.Day(date, dayTotal, Collections.unmodifiableMap(dayStatusCounts),
+                    List.copyOf(doctors)));
+        });
+        return new AppointmentCalendarDto(clinicId, month, List.copyOf(days));
+    }
+
+    // 일별 상세는 해당 날짜 행만 조회하며 캐시하지 않는다
+    public List<AppointmentCalendarEntry> getDay(Integer clinicId, LocalDate date) {
+        return appointmentRepository.findCalendarEntriesByClinic(
+                clinicId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    // 이벤트를 남기지 않는 경로(직접 DB 수정 등)에 대비해 주기적으로 전체를 비운다
+    @Scheduled(fixedRateString = "${smile.cache.calendar-ttl-ms:600000}")
+    @CacheEvict(cacheNames = CALENDAR_CACHE, allEntries = true)
+    public void evictCalendarCache() {
+    }
+}
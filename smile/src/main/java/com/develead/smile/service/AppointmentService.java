@@ -7,9 +7,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
 
 @Service @RequiredArgsConstructor
 public class AppointmentService {
@@ -18,7 +16,7 @@ public class AppointmentService {
     private final CustomerRepository customerRepository;
     private final UserAccountRepository userAccountRepository;
     private final AppointmentChangeLogRepository appointmentChangeLogRepository;
-    private final NotificationService notificationService; // 추가
+    private final DomainEventPublisher domainEventPublisher;
 
     @Transactional
     public void createAppointment(AppointmentDto dto, String loginId) {
@@ -41,16 +39,8 @@ public class AppointmentService {
         // [수정] 예약 생성 로그 기록
         logChange(savedAppointment, "status", null, savedAppointment.getStatus(), user);
 
-        // [수정] 예약 확정 알림 발송
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy년 MM월 dd일 HH:mm");
-        notificationService.sendNotification(
-                customer,
-                "APPOINTMENT_CONFIRMATION",
-                Map.of(
-                        "고객명", customer.getName(),
-                        "예약일시", savedAppointment.getAppointmentDatetime().format(formatter)
-                )
-        );
+        // [수정] 예약 확정 알림은 아웃박스에 기록하고 커밋 이후 OutboxRelay가 발송한다
+        domainEventPublisher.publishAppointmentEvent(OutboxEvent.EventType.APPOINTMENT_BOOKED, savedAppointment);
     }
 
     public List<Appointment> findAppointmentsByLoginId(String loginId) {
@@ -77,6 +67,7 @@ public class AppointmentService {
 
         // [수정] 예약 취소 로그 기록
         logChange(appointment, "status", previousStatus, newStatus, user);
+        domainEventPublisher.publishAppointmentEvent(OutboxEvent.EventType.APPOINTMENT_CANCELLED, appointment);
     }
 
     // [수정] 로그 기록을 위한 private 메소드
@@ -0,0 +1,23 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// 수납 후 미수금 연령 원장 반영. 수납 트랜잭션 밖에서 처리해 청구서 행 잠금 구간을 줄인다 (재전달되어도 결과가 같다).
+@Component
+@RequiredArgsConstructor
+public class ArAgingEventHandler implements OutboxEventHandler {
+    private final ArAgingService arAgingService;
+
+    @Override
+    public boolean supports(OutboxEvent.EventType eventType) {
+        return eventType == OutboxEvent.EventType.PAYMENT_RECEIVED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, Map<String, String> payload) {
+        arAgingService.refresh(event.getAggregateId());
+    }
+}
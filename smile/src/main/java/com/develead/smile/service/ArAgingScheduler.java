@@ -0,0 +1,64 @@
+package com.develead.smile.service;
+import com.develead.smile.repository.ArOpenItemRepository;
+import com.develead.smile.repository.BillingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// 매일 새벽 미수금 연령 구간 재분류. 원장이 공유 DB에 있으므로 JobCoordinator 임대를 얻은 노드 하나만 실행한다.
+// [수정] 기동 시 원장이 비어 있는 지점(원장 도입 전 청구서만 있는 지점)을 지점별 트랜잭션으로 적재한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArAgingScheduler {
+    private static final String REAGE_JOB = "ar-aging-reage";
+    private static final String BACKFILL_JOB = "ar-aging-backfill";
+
+    private final ArAgingService arAgingService;
+    private final JobCoordinator jobCoordinator;
+    private final BillingRepository billingRepository;
+    private final ArOpenItemRepository openItemRepository;
+
+    @Scheduled(cron = "${smile.ar-aging.reage-cron:0 10 0 * * *}")
+    public void reage() {
+        LocalDate today = LocalDate.now();
+        int processed = jobCoordinator.runPartitioned(REAGE_JOB, today.toString(), 1, partition -> arAgingService.reage(today));
+        if (processed > 0) {
+            log.info("Receivable aging re-aged on {}", jobCoordinator.getNodeId());
+        }
+    }
+
+    // 요청 처리와 무관하므로 가상 스레드에서 진행한다. 적재 전까지 해당 지점의 요약은 비어 있다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        Thread.ofVirtual().name("ar-aging-backfill").start(() -> {
+            try {
+                backfill();
+            } catch (RuntimeException e) {
+                log.error("Failed to backfill receivable ledger", e);
+            }
+        });
+    }
+
+    // 잔액이 남은 청구서가 있는데 미결 항목이 하나도 없는 지점만 다시 만든다. 여러 노드가 함께 기동해도 임대를 얻은 노드만 적재한다.
+    void backfill() {
+        Set<Integer> missing = new HashSet<>(billingRepository.findClinicIdsWithOpenBalance());
+        missing.removeAll(openItemRepository.findClinicIds());
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<Integer> clinicIds = missing.stream().sorted().toList();
+        jobCoordinator.runPartitioned(BACKFILL_JOB, LocalDate.now().toString(), 1, partition -> {
+            for (Integer clinicId : clinicIds) {
+                arAgingService.rebuild(clinicId);
+            }
+        });
+    }
+}
@@ -0,0 +1,263 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.ArAgingBalance;
+import com.develead.smile.domain.ArAgingBucket;
+import com.develead.smile.domain.ArOpenItem;
+import com.develead.smile.domain.Billing;
+import com.develead.smile.domain.MedicalRecord;
+import com.develead.smile.dto.ArAgingBucketTotal;
+import com.develead.smile.dto.ArAgingCustomerBalance;
+import com.develead.smile.dto.ArAgingSummaryDto;
+import com.develead.smile.dto.ArOpenItemDto;
+import com.develead.smile.dto.ArOpenItemSource;
+import com.develead.smile.repository.ArAgingBalanceRepository;
+import com.develead.smile.repository.ArOpenItemRepository;
+import com.develead.smile.repository.BillingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 미수금(AR) 연령 분석. 청구서 이력을 매번 훑지 않도록 두 개의 파생 테이블을 증분으로 유지한다.
+ * <ul>
+ *   <li>ar_open_item: 잔액이 남은 청구서별 잔액과 현재 연령 구간</li>
+ *   <li>ar_aging_balance: 지점 x 고객 x 구간별 합계 (요약/상세 조회는 이 테이블만 읽는다)</li>
+ * </ul>
+ * 청구서 생성/수정 시 같은 트랜잭션에서 {@link #track(Billing)}로 증감분을 반영하고,
+ * 수납은 청구서 행 잠금을 짧게 유지하도록 커밋 이후 {@link ArAgingEventHandler}가 {@link #refresh(Integer)}로 반영한다.
+ * 날짜가 지나 구간이 바뀌는 항목은 야간에 {@link #reage(LocalDate)}가 옮긴다.
+ * 도입 시점의 기존 청구서는 기동 후 {@link ArAgingScheduler}가 지점별로 적재하고,
+ * 불일치 복구는 {@link #rebuild(Integer)}로 해당 지점의 원장만 청구서에서 다시 만든다.
+ */
+@Slf4j
+@Service
+public class ArAgingService {
+    private static final int PAGE_SIZE = 500;
+
+    private final ArOpenItemRepository openItemRepository;
+    private final ArAgingBalanceRepository balanceRepository;
+    private final BillingRepository billingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public ArAgingService(ArOpenItemRepository openItemRepository,
+                          ArAgingBalanceRepository balanceRepository,
+                          BillingRepository billingRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.openItemRepository = openItemRepository;
+        this.balanceRepository = balanceRepository;
+        this.billingRepository = billingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 청구서의 현재 잔액을 원장에 반영한다. 청구서 행을 저장/갱신한 트랜잭션 안에서 호출해야 하며,
+     * 그 행 잠금 덕분에 같은 청구서에 대한 반영은 순서대로 일어난다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void track(Billing billing) {
+        track(billing, LocalDate.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void track(Billing billing, LocalDate asOf) {
+        apply(billing, openItemRepository.findForUpdate(billing.getBilling_id()).orElse(null), asOf);
+    }
+
+    /**
+     * 같은 트랜잭션에서 방금 만든 청구서를 원장에 추가한다. 기존 미결 항목이 있을 수 없으므로 잠금 조회를 생략한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void trackNew(Billing billing) {
+        apply(billing, null, LocalDate.now());
+    }
+
+    /**
+     * 커밋된 청구서 잔액으로 원장을 맞춘다. 미결 항목을 먼저 잠근 뒤 청구서를 읽으므로,
+     * 같은 청구서에 대한 반영이 겹쳐도 마지막 반영이 최신 잔액을 남긴다. 여러 번 호출해도 결과가 같다.
+     */
+    @Transactional
+    public void refresh(Integer billingId) {
+        ArOpenItem item = openItemRepository.findForUpdate(billingId).orElse(null);
+        billingRepository.findById(billingId).ifPresent(billing -> apply(billing, item, LocalDate.now()));
+    }
+
+    private void apply(Billing billing, ArOpenItem item, LocalDate asOf) {
+        MedicalRecord record = billing.getMedicalRecord();
+        Integer clinicId = record.getAppointment().getClinic().getClinic_id();
+        Integer customerId = record.getCustomer().getCustomer_id();
+        BigDecimal balance = billing.getBalance();
+
+        if (item != null) {
+            addToBalance(item.getClinicId(), item.getCustomerId(), item.getBucket(), item.getBalance().negate(), -1);
+        }
+        if (balance.compareTo(BigDecimal.ZERO) <= 0) {
+            if (item != null) {
+                openItemRepository.delete(item);
+            }
+            return;
+        }
+        if (item == null) {
+            item = new ArOpenItem();
+            item.setBilling_id(billing.getBilling_id());
+        }
+        item.setClinicId(clinicId);
+        item.setCustomerId(customerId);
+        item.setInvoiceDate(record.getTreatmentDate());
+        item.setBalance(balance);
+        item.setBucket(ArAgingBucket.of(record.getTreatmentDate(), asOf));
+        item.setUpdatedAt(LocalDateTime.now());
+        openItemRepository.save(item);
+        addToBalance(clinicId, customerId, item.getBucket(), balance, 1);
+    }
+
+    // 다음 구간 기준일을 지난 항목을 한 페이지씩(각각 별도 트랜잭션) 옮긴다. 옮긴 항목은 조회 조건에서 빠지므로 항상 첫 페이지를 읽는다.
+    public int reage(LocalDate asOf) {
+        int moved = 0;
+        for (ArAgingBucket bucket : ArAgingBucket.values()) {
+            ArAgingBucket next = bucket.next();
+            if (next == null) {
+                continue;
+            }
+            int count;
+            do {
+                count = Objects.requireNonNull(transactionTemplate.execute(status -> {
+                    List<ArOpenItem> items = openItemRepository.findDueForReaging(bucket, next.cutoffDate(asOf), PageRequest.of(0, PAGE_SIZE));
+                    for (ArOpenItem item : items) {
+                        ArAgingBucket target = ArAgingBucket.of(item.getInvoiceDate(), asOf);
+                        addToBalance(item.getClinicId(), item.getCustomerId(), item.getBucket(), item.getBalance().negate(), -1);
+                        addToBalance(item.getClinicId(), item.getCustomerId(), target, item.getBalance(), 1);
+                        item.setBucket(target);
+                        item.setUpdatedAt(LocalDateTime.now());
+                    }
+                    return items.size();
+                }));
+                moved += count;
+            } while (count == PAGE_SIZE);
+        }
+        log.info("Re-aged {} open receivable items as of {}", moved, asOf);
+        return moved;
+    }
+
+    /**
+     * 지점의 원장을 청구서에서 다시 만든다. 그 지점에서 잔액이 남은 청구서만 ID 순서로 읽으며 한 트랜잭션으로 교체한다.
+     * 다른 지점의 원장과 수납은 건드리지 않지만, 같은 지점의 수납이 몰리는 시간에는 실행하지 않는다.
+     *
+     * @return 미결 항목 수
+     */
+    @Transactional
+    public int rebuild(Integer clinicId) {
+        return rebuild(clinicId, LocalDate.now());
+    }
+
+    @Transactional
+    public int rebuild(Integer clinicId, LocalDate asOf) {
+        openItemRepository.deleteByClinic(clinicId);
+        balanceRepository.deleteByClinic(clinicId);
+
+        Map<List<Object>, ArAgingBalance> balances = new LinkedHashMap<>();
+        int count = 0;
+        Integer afterId = 0;
+        List<ArOpenItemSource> page;
+        do {
+            page = billingRepository.findOpenItemSources(clinicId, afterId, PageRequest.of(0, PAGE_SIZE));
+            List<ArOpenItem> items = new ArrayList<>(page.size());
+            for (ArOpenItemSource source : page) {
+                ArOpenItem item = new ArOpenItem();
+                item.setBilling_id(source.getBillingId());
+                item.setClinicId(source.getClinicId());
+                item.setCustomerId(source.getCustomerId());
+                item.setInvoiceDate(source.getInvoiceDate());
+                item.setBalance(source.getBalance());
+                item.setBucket(ArAgingBucket.of(source.getInvoiceDate(), asOf));
+                items.add(item);
+
+                ArAgingBalance balance = balances.computeIfAbsent(
+                        List.of(item.getCustomerId(), item.getBucket()), key -> {
+                            ArAgingBalance row = new ArAgingBalance();
+                            row.setClinicId(source.getClinicId());
+                            row.setCustomerId(source.getCustomerId());
+                            row.setBucket(item.getBucket());
+                            return row;
+                        });
+                balance.setBalance(balance.getBalance().add(item.getBalance()));
+                balance.setItemCount(balance.getItemCount() + 1);
+            }
+            openItemRepository.saveAll(items);
+            count += items.size();
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getBillingId();
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        balanceRepository.saveAll(balances.values());
+        log.info("Rebuilt receivable ledger of clinic {}: {} open items in {} balance rows", clinicId, count, balances.size());
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public ArAgingSummaryDto getSummary(Integer clinicId) {
+        Map<ArAgingBucket, ArAgingBucketTotal> totals = new EnumMap<>(ArAgingBucket.class);
+        for (ArAgingBucketTotal total : balanceRepository.sumByClinic(clinicId)) {
+            totals.put(total.getBucket(), total);
+        }
+        List<ArAgingBucketTotal> buckets = new ArrayList<>(ArAgingBucket.values().length);
+        BigDecimal totalBalance = BigDecimal.ZERO;
+        long totalItems = 0;
+        for (ArAgingBucket bucket : ArAgingBucket.values()) {
+            ArAgingBucketTotal total = totals.getOrDefault(bucket, new ArAgingBucketTotal(bucket, BigDecimal.ZERO, 0L));
+            buckets.add(total);
+            totalBalance = totalBalance.add(total.getBalance());
+            totalItems += total.getItemCount();
+        }
+        return new ArAgingSummaryDto(clinicId, LocalDate.now(), List.copyOf(buckets), totalBalance, totalItems);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArAgingCustomerBalance> getCustomers(Integer clinicId, ArAgingBucket bucket, int limit) {
+        return balanceRepository.findCustomers(clinicId, bucket, PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArOpenItemDto> getOpenItems(Integer clinicId, Integer customerId) {
+        return openItemRepository.findByClinicAndCustomer(clinicId, customerId);
+    }
+
+    private void addToBalance(Integer clinicId, Integer customerId, ArAgingBucket bucket, BigDecimal amount, int items) {
+        LocalDateTime now = LocalDateTime.now();
+        if (balanceRepository.applyDelta(clinicId, customerId, bucket, amount, items, now) == 0) {
+            ensureBalanceRow(clinicId, customerId, bucket);
+            balanceRepository.applyDelta(clinicId, customerId, bucket, amount, items, now);
+        }
+    }
+
+    // 합계 행은 처음 한 번만 별도 트랜잭션으로 만든다. 업무 트랜잭션이 롤백되어도 남는 것은 0원짜리 행뿐이다.
+    private void ensureBalanceRow(Integer clinicId, Integer customerId, ArAgingBucket bucket) {
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                if (!balanceRepository.exists(clinicId, customerId, bucket)) {
+                    ArAgingBalance row = new ArAgingBalance();
+                    row.setClinicId(clinicId);
+                    row.setCustomerId(customerId);
+                    row.setBucket(bucket);
+                    balanceRepository.saveAndFlush(row);
+                }
+            });
+        } catch (DataAccessException | TransactionException e) {
+            // 다른 트랜잭션이 동시에 생성함
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// 모든 도메인 이벤트를 감사 로그(smile.audit 로거)로 남긴다
+@Slf4j(topic = "smile.audit")
+@Component
+public class AuditEventHandler implements OutboxEventHandler {
+
+    @Override
+    public boolean supports(OutboxEvent.EventType eventType) {
+        return true;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, Map<String, String> payload) {
+        log.info("event={} id={} aggregate={}#{} occurredAt={} payload={}",
+                event.getEventType(), event.getEvent_id(), event.getAggregateType(), event.getAggregateId(),
+                event.getCreatedAt(), payload);
+    }
+}
@@ -1,60 +1,109 @@
 package com.develead.smile.service;
 import com.develead.smile.domain.*;
+import com.develead.smile.dto.BillingListItem;
+import com.develead.smile.dto.BillingTotals;
+import com.develead.smile.dto.ListQuery;
+import com.develead.smile.dto.ListSort;
 import com.develead.smile.dto.PaymentTransactionDto;
 import com.develead.smile.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 
 @Service @RequiredArgsConstructor
 public class BillingService {
+    static final ListSort LIST_SORT = ListSort.by("billing_id", "id", Sort.Direction.DESC)
+            .allow("id", "billing_id")
+            .allow("treatmentDate", "medicalRecord.treatmentDate")
+            .allow("customerName", "medicalRecord.customer.name")
+            .allow("balance", "balance");
+
     private final BillingRepository billingRepository;
     private final UserAccountRepository userAccountRepository;
     private final PaymentTransactionRepository transactionRepository;
     private final BillingChangeLogRepository logRepository; // 추가
+    private final ClinicContext clinicContext;
+    private final DomainEventPublisher domainEventPublisher;
+    private final PhaseRecorder phaseRecorder;
+
+    // [수정] 현재 사용자 소속 지점의 청구서만 조회
+    public List<Billing> findAll() { return billingRepository.findAllByClinicId(clinicContext.currentClinicId()); }
+    public Optional<Billing> findById(Integer id) { return billingRepository.findByIdAndClinicId(id, clinicContext.currentClinicId()); }
 
-    public List<Billing> findAll() { return billingRepository.findAll(); }
-    public Optional<Billing> findById(Integer id) { return billingRepository.findById(id); }
+    // [수정] 관리자 목록: 현재 지점 청구서 한 페이지 (q: 고객명 검색, status: 수납 상태)
+    @Transactional(readOnly = true)
+    public Page<BillingListItem> findPage(ListQuery query, String status) {
+        String billingStatus = status == null || status.isBlank() ? null : status;
+        return billingRepository.findListItems(clinicContext.currentClinicId(), query.getQ(), billingStatus, query.toPageable(LIST_SORT));
+    }
 
     @Transactional
     public void addPayment(Integer billingId, PaymentTransactionDto transactionDto) {
-        Billing billing = billingRepository.findById(billingId).orElseThrow();
-        UserAccount currentUser = getCurrentUser();
+        // [수정] 구간별 소요 시간 측정 (smile.metrics.phase-sample-rate가 0이면 측정하지 않음)
+        try (PhaseRecorder.Timer timer = phaseRecorder.start("billing.addPayment")) {
+            timer.phase("lookup");
+            UserAccount currentUser = getCurrentUser();
+            Integer clinicId = clinicContext.currentClinicId();
+            BigDecimal amount = transactionDto.getAmount();
+            // 청구서와 즉시 로딩되는 진료 기록/예약/고객은 잠금 전에 읽어 둔다 (다른 지점 청구서는 없는 것으로 취급)
+            Billing billing = billingRepository.findByIdAndClinicId(billingId, clinicId)
+                    .orElseThrow(() -> new NoSuchElementException("Billing not found: " + billingId));
 
-        // 변경 전 값 저장
-        BigDecimal oldTotalPaid = billing.getTotalPaid();
-        BigDecimal oldBalance = billing.getBalance();
-        String oldStatus = billing.getBillingStatus();
+            // [수정] 읽고-더하고-저장하는 방식은 동시 수납 시 한쪽 금액이 유실되므로, DB에서 원자적으로 증감한다.
+            // 행 잠금은 이 UPDATE부터 커밋까지 유지되므로, 이후에는 금액 한 행 조회와 커밋 시 일괄 INSERT만 둔다.
+            // 미수금 연령 원장은 커밋 이후 ArAgingEventHandler가 반영한다.
+            timer.phase("applyPayment");
+            int updated = billingRepository.applyPayment(billingId, clinicId, amount, currentUser.getUser_account_id(), LocalDateTime.now());
+            if (updated == 0) {
+                throw new NoSuchElementException("Billing not found: " + billingId);
+            }
+            BillingTotals totals = billingRepository.findTotals(billingId);
+            billing.setTotalPaid(totals.getTotalPaid());
+            billing.setBalance(totals.getBalance());
+            billing.setBillingStatus(totals.getBillingStatus());
 
-        PaymentTransaction transaction = new PaymentTransaction();
-        transaction.setBilling(billing);
-        transaction.setAmount(transactionDto.getAmount());
-        transaction.setPaymentMethod(transactionDto.getPaymentMethod());
-        transaction.setCreatedBy(currentUser.getUser_account_id());
-        transactionRepository.save(transaction);
+            // UPDATE가 영속성 컨텍스트를 비웠으므로 연관 관계에는 조회 없이 참조만 건다
+            Billing billingRef = billingRepository.getReferenceById(billingId);
 
-        // 청구서 정보 업데이트
-        billing.setTotalPaid(billing.getTotalPaid().add(transaction.getAmount()));
-        billing.setBalance(billing.getTotalAmount().subtract(billing.getTotalPaid()));
-        billing.setUpdatedBy(currentUser.getUser_account_id());
+            timer.phase("transaction");
+            PaymentTransaction transaction = new PaymentTransaction();
+            transaction.setBilling(billingRef);
+            transaction.setAmount(amount);
+            transaction.setPaymentMethod(transactionDto.getPaymentMethod());
+            transaction.setCreatedBy(currentUser.getUser_account_id());
+            transactionRepository.save(transaction);
 
-        if (billing.getBalance().compareTo(BigDecimal.ZERO) <= 0) {
-            billing.setBillingStatus("PAID");
-        } else {
-            billing.setBillingStatus("PARTIAL");
-        }
+            // 변경 전 값은 반영된 값에서 역산 (이 트랜잭션의 UPDATE 직후 값이므로 다른 수납과 섞이지 않음)
+            timer.phase("changeLog");
+            BigDecimal oldTotalPaid = billing.getTotalPaid().subtract(amount);
+            BigDecimal oldBalance = billing.getBalance().add(amount);
+            String oldStatus = statusFor(oldTotalPaid, oldBalance);
 
-        // 변경 사항 로그 기록
-        logIfChanged(billing, "totalPaid", oldTotalPaid.toString(), billing.getTotalPaid().toString(), currentUser);
-        logIfChanged(billing, "balance", oldBalance.toString(), billing.getBalance().toString(), currentUser);
-        logIfChanged(billing, "billingStatus", oldStatus, billing.getBillingStatus(), currentUser);
+            // 변경 사항 로그 기록
+            logIfChanged(billingRef, "totalPaid", oldTotalPaid.toString(), billing.getTotalPaid().toString(), currentUser);
+            logIfChanged(billingRef, "balance", oldBalance.toString(), billing.getBalance().toString(), currentUser);
+            logIfChanged(billingRef, "billingStatus", oldStatus, billing.getBillingStatus(), currentUser);
 
-        billingRepository.save(billing);
+            timer.phase("event");
+            domainEventPublisher.publishPaymentReceived(billing, transaction);
+        }
+    }
+
+    // MedicalRecordService의 청구서 상태 규칙과 동일
+    private static String statusFor(BigDecimal totalPaid, BigDecimal balance) {
+        if (balance.compareTo(BigDecimal.ZERO) <= 0) {
+            return "PAID";
+        }
+        return totalPaid.compareTo(BigDecimal.ZERO) > 0 ? "PARTIAL" : "UNPAID";
     }
 
     private void logIfChanged(Billing billing, String fieldName, String oldValue, String newValue, UserAccount user) {
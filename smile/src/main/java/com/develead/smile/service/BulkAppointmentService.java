@@ -0,0 +1,280 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.AppointmentChangeLog;
+import com.develead.smile.domain.BulkAppointmentOperation;
+import com.develead.smile.domain.Doctor;
+import com.develead.smile.domain.UserAccount;
+import com.develead.smile.dto.BulkAppointmentProgress;
+import com.develead.smile.dto.BulkAppointmentRequest;
+import com.develead.smile.dto.BulkAppointmentTarget;
+import com.develead.smile.dto.ClinicalSearchDocument;
+import com.develead.smile.repository.AppointmentChangeLogRepository;
+import com.develead.smile.repository.AppointmentRepository;
+import com.develead.smile.repository.BulkAppointmentOperationRepository;
+import com.develead.smile.repository.DoctorRepository;
+import com.develead.smile.repository.UserAccountRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * 예약 일괄 변경 (의사 부재 시 하루치 예약을 다른 날짜/의사로 옮기거나 취소).
+ * 예약마다 저장하지 않고 ID 묶음 단위의 UPDATE 한 번과 변경 로그 배치 INSERT로 처리하며,
+ * 전체가 한 트랜잭션이라 중간에 실패하면 아무것도 반영되지 않는다.
+ * 알림/캐시 무효화는 작업당 이벤트 하나로 커밋 이후에 처리된다.
+ * 요청은 가상 스레드에서 실행되고 진행 상황은 작업 ID로 조회한다. 진행 상황은 묶음마다 별도 트랜잭션으로
+ * bulk_appointment_operation 행에 기록하므로 작업을 실행하지 않은 노드에서도 조회된다.
+ * 다른 의사/날짜로 옮길 때 그 시각에 대상 의사의 예약이 이미 있으면 해당 예약은 옮기지 않고 충돌로 보고한다.
+ */
+@Slf4j
+@Service
+public class BulkAppointmentService {
+    static final String ACTIVE_STATUS = "예약완료";
+    static final String CANCELLED_STATUS = "예약취소";
+    private static final int MAX_RECORDED_CONFLICTS = 200;
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentChangeLogRepository logRepository;
+    private final BulkAppointmentOperationRepository operationRepository;
+    private final DoctorRepository doctorRepository;
+    private final UserAccountRepository userAccountRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final ClinicalSearchIndexer clinicalSearchIndexer;
+    private final ClinicContext clinicContext;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNew;
+    private final int chunkSize;
+    private final long retentionMinutes;
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bulk-appointment-", 0).factory());
+
+    public BulkAppointmentService(AppointmentRepository appointmentRepository,
+                                  AppointmentChangeLogRepository logRepository,
+                                  BulkAppointmentOperationRepository operationRepository,
+                                  DoctorRepository doctorRepository,
+                                  UserAccountRepository userAccountRepository,
+                                  DomainEventPublisher domainEventPublisher,
+                                  ClinicalSearchIndexer clinicalSearchIndexer,
+                                  ClinicContext clinicContext,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${smile.appointment.bulk-chunk-size:500}") int chunkSize,
+                                  @Value("${smile.appointment.bulk-retention-minutes:60}") long retentionMinutes) {
+        this.appointmentRepository = appointmentRepository;
+        this.logRepository = logRepository;
+        this.operationRepository = operationRepository;
+        this.doctorRepository = doctorRepository;
+        this.userAccountRepository = userAccountRepository;
+        this.domainEventPublisher = domainEventPublisher;
+        this.clinicalSearchIndexer = clinicalSearchIndexer;
+        this.clinicContext = clinicContext;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    public BulkAppointmentProgress start(BulkAppointmentRequest request) {
+        validate(request);
+        Integer clinicId = clinicContext.currentClinicId();
+        BulkAppointmentProgress progress = new BulkAppointmentProgress(UUID.randomUUID().toString(), request.getOperation());
+        record(progress, clinicId);
+        executor.execute(new DelegatingSecurityContextRunnable(() -> {
+            try {
+                execute(request, progress);
+            } catch (RuntimeException e) {
+                log.warn("Bulk appointment operation {} failed", progress.getOperationId(), e);
+                progress.fail(e.getMessage());
+                record(progress, clinicId);
+            }
+        }, SecurityContextHolder.getContext()));
+        return progress;
+    }
+
+    public Optional<BulkAppointmentProgress> getProgress(String operationId) {
+        return operationRepository.findByIdAndClinicId(operationId, clinicContext.currentClinicId())
+                .map(BulkAppointmentService::toProgress);
+    }
+
+    // 한 트랜잭션 안에서 실행한다. 호출 스레드에 로그인 정보(SecurityContext)가 있어야 한다.
+    void execute(BulkAppointmentRequest request, BulkAppointmentProgress progress) {
+        Integer clinicId = clinicContext.currentClinicId();
+        transactionTemplate.executeWithoutResult(status -> apply(request, progress, clinicId));
+        progress.complete();
+        record(progress, clinicId);
+    }
+
+    private void apply(BulkAppointmentRequest request, BulkAppointmentProgress progress, Integer clinicId) {
+        UserAccount user = userAccountRepository.findByLoginId(
+                SecurityContextHolder.getContext().getAuthentication().getName()).orElseThrow();
+        LocalDate date = request.getDate();
+        List<BulkAppointmentTarget> targets = appointmentRepository.findBulkTargets(clinicId, request.getDoctorId(),
+                ACTIVE_STATUS, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        progress.start(targets.size());
+        record(progress, clinicId);
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        boolean reschedule = request.getOperation() == BulkAppointmentRequest.Operation.RESCHEDULE;
+        LocalDate targetDate = request.getTargetDate() != null ? request.getTargetDate() : date;
+        long days = ChronoUnit.DAYS.between(date, targetDate);
+        Doctor doctor = reschedule ? targetDoctor(request, clinicId) : null;
+        boolean doctorChanged = doctor != null && !doctor.getDoctor_id().equals(request.getDoctorId());
+
+        List<ClinicalSearchDocument> documents = new ArrayList<>();
+        for (int from = 0; from < targets.size(); from += chunkSize) {
+            List<BulkAppointmentTarget> chunk = targets.subList(from, Math.min(from + chunkSize, targets.size()));
+            List<AppointmentChangeLog> logs = new ArrayList<>(chunk.size() * 2);
+            // UPDATE가 이전 묶음의 변경 로그를 flush하고 영속성 컨텍스트를 비우므로 메모리 사용량은 묶음 크기로 제한된다
+            if (reschedule) {
+                List<BulkAppointmentTarget> movable = withoutConflicts(chunk, clinicId, doctor, days, progress);
+                if (!movable.isEmpty()) {
+                    appointmentRepository.rescheduleAll(ids(movable), days, doctor, user.getUser_account_id(), LocalDateTime.now());
+                }
+                for (BulkAppointmentTarget target : movable) {
+                    LocalDateTime moved = target.getAppointmentDatetime().plusDays(days);
+                    if (days != 0) {
+                        logs.add(changeLog(target, "appointmentDatetime", target.getAppointmentDatetime().toString(), moved.toString(), user, progress));
+                    }
+                    if (doctorChanged) {
+                        logs.add(changeLog(target, "doctorId", request.getDoctorId().toString(), doctor.getDoctor_id().toString(), user, progress));
+                    }
+                    documents.add(new ClinicalSearchDocument(ClinicalSearchIndex.KIND_APPOINTMENT, target.getAppointmentId(),
+                            clinicId, doctor.getDoctor_id(), moved, target.getDescription()));
+                }
+            } else {
+                appointmentRepository.updateStatusAll(ids(chunk), CANCELLED_STATUS, user.getUser_account_id(), LocalDateTime.now());
+                for (BulkAppointmentTarget target : chunk) {
+                    logs.add(changeLog(target, "status", target.getStatus(), CANCELLED_STATUS, user, progress));
+                }
+            }
+            logRepository.saveAll(logs);
+            progress.advance(chunk.size());
+            record(progress, clinicId);
+        }
+
+        int changed = targets.size() - progress.getConflictCount();
+        if (changed == 0) {
+            return;
+        }
+        clinicalSearchIndexer.upsertAfterCommit(documents);
+        domainEventPublisher.publishAppointmentsBulkChanged(clinicId, request.getDoctorId(), progress.getOperationId(),
+                request.getOperation().name(), targetDate.atStartOfDay(), reschedule ? date.atStartOfDay() : null, changed);
+    }
+
+    // 옮길 시각에 대상 의사의 예약완료 건이 이미 있는 예약은 빼고 충돌로 기록한다
+    private List<BulkAppointmentTarget> withoutConflicts(List<BulkAppointmentTarget> chunk, Integer clinicId, Doctor doctor,
+                                                        long days, BulkAppointmentProgress progress) {
+        Set<LocalDateTime> movedTimes = new HashSet<>();
+        for (BulkAppointmentTarget target : chunk) {
+            movedTimes.add(target.getAppointmentDatetime().plusDays(days));
+        }
+        Set<LocalDateTime> booked = new HashSet<>(appointmentRepository.findBookedDatetimes(clinicId, doctor.getDoctor_id(),
+                ACTIVE_STATUS, movedTimes, ids(chunk)));
+        if (booked.isEmpty()) {
+            return chunk;
+        }
+        List<BulkAppointmentTarget> movable = new ArrayList<>(chunk.size());
+        List<Integer> conflicts = new ArrayList<>();
+        for (BulkAppointmentTarget target : chunk) {
+            if (booked.contains(target.getAppointmentDatetime().plusDays(days))) {
+                conflicts.add(target.getAppointmentId());
+            } else {
+                movable.add(target);
+            }
+        }
+        progress.conflicted(conflicts);
+        return movable;
+    }
+
+    private static List<Integer> ids(List<BulkAppointmentTarget> targets) {
+        return targets.stream().map(BulkAppointmentTarget::getAppointmentId).toList();
+    }
+
+    // 진행 상황은 업무 트랜잭션과 별도로 바로 커밋해 다른 노드의 조회에도 보이게 한다
+    private void record(BulkAppointmentProgress progress, Integer clinicId) {
+        requiresNew.executeWithoutResult(status -> {
+            BulkAppointmentOperation row = operationRepository.findById(progress.getOperationId()).orElseGet(() -> {
+                BulkAppointmentOperation created = new BulkAppointmentOperation();
+                created.setOperationId(progress.getOperationId());
+                created.setClinicId(clinicId);
+                created.setOperation(progress.getOperation());
+                created.setRequestedAt(progress.getRequestedAt());
+                return created;
+            });
+            row.setState(progress.getState());
+            row.setTotal(progress.getTotal());
+            row.setProcessed(progress.getProcessed());
+            row.setConflictCount(progress.getConflictCount());
+            List<Integer> conflicts = progress.getConflicts();
+            row.setConflictIds(conflicts.isEmpty() ? null : conflicts.stream().limit(MAX_RECORDED_CONFLICTS)
+                    .map(String::valueOf).collect(Collectors.joining(",")));
+            row.setError(progress.getError() != null && progress.getError().length() > 1000
+                    ? progress.getError().substring(0, 1000) : progress.getError());
+            row.setFinishedAt(progress.getFinishedAt());
+            operationRepository.save(row);
+        });
+    }
+
+    private static BulkAppointmentProgress toProgress(BulkAppointmentOperation row) {
+        List<Integer> conflicts = row.getConflictIds() == null ? List.of()
+                : Arrays.stream(row.getConflictIds().split(",")).map(Integer::valueOf).toList();
+        return new BulkAppointmentProgress(row.getOperationId(), row.getOperation(), row.getRequestedAt(), row.getState(),
+                row.getTotal(), row.getProcessed(), row.getConflictCount(), conflicts, row.getError(), row.getFinishedAt());
+    }
+
+    private Doctor targetDoctor(BulkAppointmentRequest request, Integer clinicId) {
+        Integer doctorId = request.getTargetDoctorId() != null ? request.getTargetDoctorId() : request.getDoctorId();
+        Doctor doctor = doctorRepository.findById(doctorId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid doctor Id:" + doctorId));
+        if (doctor.getClinic() == null || !clinicId.equals(doctor.getClinic().getClinic_id())) {
+            throw new IllegalArgumentException("Doctor " + doctorId + " does not belong to clinic " + clinicId);
+        }
+        return doctor;
+    }
+
+    private AppointmentChangeLog changeLog(BulkAppointmentTarget target, String fieldName, String prev, String next,
+                                           UserAccount user, BulkAppointmentProgress progress) {
+        AppointmentChangeLog log = new AppointmentChangeLog();
+        log.setAppointment(appointmentRepository.getReferenceById(target.getAppointmentId()));
+        log.setFieldName(fieldName);
+        log.setPreviousValue(prev);
+        log.setNewValue(next);
+        log.setChangedBy(user);
+        log.setBulkOperationId(progress.getOperationId());
+        return log;
+    }
+
+    private static void validate(BulkAppointmentRequest request) {
+        if (request.getOperation() == BulkAppointmentRequest.Operation.RESCHEDULE
+                && request.getTargetDate() == null && request.getTargetDoctorId() == null) {
+            throw new IllegalArgumentException("targetDate or targetDoctorId is required to reschedule");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${smile.appointment.bulk-cleanup-interval-ms:600000}")
+    public void purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        transactionTemplate.executeWithoutResult(status -> operationRepository.deleteFinishedBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,111 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.OutboxEvent;
+import com.develead.smile.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 예약/수납 변경 시 해당 지점의 대시보드 캐시와, 예약이 속한(속했던) 달의 예약 달력 캐시를 비운다.
+ * 캐시는 노드마다 따로 있으므로 아웃박스 릴레이(한 노드만 점유)로는 처리하지 않는다.
+ * <ul>
+ *   <li>이벤트를 기록한 노드: 커밋 직후 바로 비운다.</li>
+ *   <li>다른 노드: 최근에 기록된 아웃박스 이벤트를 주기적으로 읽어 비운다 (처리 상태와 무관하게 모든 노드가 읽는 방송 채널).</li>
+ * </ul>
+ * 이벤트 ID는 노드별 시퀀스 블록에서 나오므로 커밋 순서와 다르다. 그래서 ID 커서 대신 생성 시각 기준으로
+ * 조회 구간을 겹쳐 읽고, 이미 반영한 이벤트는 건너뛴다 (비우기는 여러 번 해도 결과가 같다).
+ */
+@Slf4j
+@Component
+public class CacheInvalidationEventHandler {
+    private final CacheManager cacheManager;
+    private final OutboxEventRepository outboxEventRepository;
+    private final long lookbackSeconds;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 반영한 이벤트 ID -> 반영 시각 (조회 구간을 벗어나면 정리)
+    private final Map<Long, LocalDateTime> applied = new ConcurrentHashMap<>();
+
+    public CacheInvalidationEventHandler(CacheManager cacheManager,
+                                         OutboxEventRepository outboxEventRepository,
+                                         @Value("${smile.cache.invalidation-lookback-seconds:60}") long lookbackSeconds) {
+        this.cacheManager = cacheManager;
+        this.outboxEventRepository = outboxEventRepository;
+        this.lookbackSeconds = lookbackSeconds;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOutboxWritten(DomainEventPublisher.OutboxWritten written) {
+        apply(written.eventId(), written.payload());
+    }
+
+    // 다른 노드가 기록한 이벤트. 커밋이 늦어 생성 시각이 구간 앞쪽에 찍힌 이벤트도 잡도록 구간을 넉넉히 겹친다.
+    @Scheduled(fixedDelayString = "${smile.cache.invalidation-poll-ms:2000}")
+    public void pollRecentEvents() {
+        LocalDateTime since = LocalDateTime.now().minusSeconds(lookbackSeconds);
+        try {
+            for (OutboxEvent event : outboxEventRepository.findCreatedSince(since)) {
+                if (!applied.containsKey(event.getEvent_id())) {
+                    apply(event.getEvent_id(), readPayload(event.getPayload()));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation poll failed", e);
+        }
+        applied.values().removeIf(appliedAt -> appliedAt.isBefore(since));
+    }
+
+    void apply(Long eventId, Map<String, String> payload) {
+        applied.put(eventId, LocalDateTime.now());
+        String clinicId = payload.get("clinicId");
+        if (clinicId == null) {
+            return;
+        }
+        evict(DashboardService.DASHBOARD_CACHE, Integer.valueOf(clinicId));
+        evictCalendar(clinicId, payload.get("appointmentDatetime"));
+        // 예약 일시나 지점이 바뀐 경우 이전 달력도 비운다
+        String previousClinicId = payload.getOrDefault("previousClinicId", clinicId);
+        if (!previousClinicId.equals(clinicId)) {
+            evict(DashboardService.DASHBOARD_CACHE, Integer.valueOf(previousClinicId));
+        }
+        evictCalendar(previousClinicId, payload.get("previousAppointmentDatetime"));
+    }
+
+    private void evictCalendar(String clinicId, String appointmentDatetime) {
+        if (appointmentDatetime == null) {
+            return;
+        }
+        YearMonth month = YearMonth.from(LocalDateTime.parse(appointmentDatetime));
+        evict(AppointmentCalendarService.CALENDAR_CACHE, AppointmentCalendarService.cacheKey(Integer.valueOf(clinicId), month));
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private Map<String, String> readPayload(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed outbox payload: {}", json);
+            return Map.of();
+        }
+    }
+}
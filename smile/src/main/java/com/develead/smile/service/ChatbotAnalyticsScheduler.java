@@ -0,0 +1,30 @@
+package com.develead.smile.service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// 새로 쌓인 챗봇 대화/문의를 주기적으로 인텐트 집계에 반영한다.
+// 실행 분(minute)마다 JobCoordinator 임대를 얻은 노드 하나만 실행하며, 겹쳐도 watermark 행 잠금으로 직렬화된다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatbotAnalyticsScheduler {
+    private static final String ROLLUP_JOB = "chatbot-intent-rollup";
+
+    private final ChatbotAnalyticsService chatbotAnalyticsService;
+    private final JobCoordinator jobCoordinator;
+
+    @Scheduled(fixedDelayString = "${smile.chatbot.analytics.interval-ms:60000}", initialDelay = 60000)
+    public void rollup() {
+        String runKey = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).toString();
+        jobCoordinator.runPartitioned(ROLLUP_JOB, runKey, 1, partition -> {
+            int processed = chatbotAnalyticsService.ingest();
+            if (processed > 0) {
+                log.debug("Rolled up {} chatbot logs and inquiries on {}", processed, jobCoordinator.getNodeId());
+            }
+        });
+    }
+}
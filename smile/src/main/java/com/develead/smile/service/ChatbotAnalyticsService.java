@@ -0,0 +1,294 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.ChatbotIntentRollup;
+import com.develead.smile.domain.ChatbotRollupWatermark;
+import com.develead.smile.domain.ChatbotSessionStat;
+import com.develead.smile.dto.ChatbotAnalyticsDto;
+import com.develead.smile.dto.ChatbotAnalyticsPoint;
+import com.develead.smile.dto.ChatbotInquiryConversion;
+import com.develead.smile.dto.ChatbotLogTurn;
+import com.develead.smile.repository.ChatbotInquiryRepository;
+import com.develead.smile.repository.ChatbotIntentRollupRepository;
+import com.develead.smile.repository.ChatbotLogRepository;
+import com.develead.smile.repository.ChatbotRollupWatermarkRepository;
+import com.develead.smile.repository.ChatbotSessionStatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 챗봇 인텐트 분석. chatbot_log는 본문(@Lob)이 커서 기간별 GROUP BY가 느리므로,
+ * 새로 쌓인 대화와 문의 접수를 (시각, ID) 위치(watermark) 이후부터 한 페이지씩 읽어 시간대 x 인텐트 집계에 더한다.
+ * <ul>
+ *   <li>chatbot_intent_rollup: 분석 화면이 읽는 유일한 테이블</li>
+ *   <li>chatbot_session_stat: 세션의 시작 시각/첫 인텐트, 대화 수, 문의 전환 여부</li>
+ * </ul>
+ * 로그는 챗봇 서버가 직접 기록하므로 기록 시점에 끼어들 수 없다. 대신 커밋이 늦은 행을 놓치지 않도록
+ * 최근 settle-seconds 이내의 행은 다음 실행으로 미룬다. 도입 시점의 기존 이력은 {@link #backfill()}로 적재한다.
+ */
+@Slf4j
+@Service
+public class ChatbotAnalyticsService {
+    static final String WATERMARK = "chatbot-intent-rollup";
+    static final String UNKNOWN_INTENT = "UNKNOWN";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ChatbotLogRepository logRepository;
+    private final ChatbotInquiryRepository inquiryRepository;
+    private final ChatbotIntentRollupRepository rollupRepository;
+    private final ChatbotSessionStatRepository sessionRepository;
+    private final ChatbotRollupWatermarkRepository watermarkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final long settleSeconds;
+
+    public ChatbotAnalyticsService(ChatbotLogRepository logRepository,
+                                   ChatbotInquiryRepository inquiryRepository,
+                                   ChatbotIntentRollupRepository rollupRepository,
+                                   ChatbotSessionStatRepository sessionRepository,
+                                   ChatbotRollupWatermarkRepository watermarkRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${smile.chatbot.analytics.page-size:1000}") int pageSize,
+                                   @Value("${smile.chatbot.analytics.settle-seconds:120}") long settleSeconds) {
+        this.logRepository = logRepository;
+        this.inquiryRepository = inquiryRepository;
+        this.rollupRepository = rollupRepository;
+        this.sessionRepository = sessionRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+        this.settleSeconds = settleSeconds;
+    }
+
+    // 지금까지 쌓인 대화/문의를 집계에 반영한다 (최근 settle-seconds 제외)
+    public int ingest() {
+        return ingest(LocalDateTime.now().minusSeconds(settleSeconds));
+    }
+
+    /**
+     * until 이전에 기록된 대화와 문의를 반영한다. 페이지마다 별도 트랜잭션이며, 로그를 먼저 읽어
+     * 문의가 반영될 때 그 세션의 대화가 이미 집계되어 있도록 한다.
+     *
+     * @return 반영한 대화 + 문의 수
+     */
+    public int ingest(LocalDateTime until) {
+        int processed = 0;
+        int count;
+        do {
+            count = Objects.requireNonNull(transactionTemplate.execute(status -> ingestTurns(until)));
+            processed += count;
+        } while (count == pageSize);
+        do {
+            count = Objects.requireNonNull(transactionTemplate.execute(status -> ingestConversions(until)));
+            processed += count;
+        } while (count == pageSize);
+        return processed;
+    }
+
+    /**
+     * 집계를 비우고 chatbot_log/chatbot_inquiry 전체에서 다시 만든다.
+     * 비우는 동안 watermark 행을 잠그므로 진행 중인 정기 집계와 겹치지 않는다.
+     *
+     * @return 반영한 대화 + 문의 수
+     */
+    public int backfill() {
+        return backfill(LocalDateTime.now().minusSeconds(settleSeconds));
+    }
+
+    public int backfill(LocalDateTime until) {
+        transactionTemplate.executeWithoutResult(status -> {
+            lockWatermark();
+            rollupRepository.deleteAllRollups();
+            sessionRepository.deleteAllStats();
+            // 삭제가 영속성 컨텍스트를 비우므로 (이미 잠근) 행을 다시 읽어 되돌린다
+            reset(lockWatermark());
+        });
+        int processed = ingest(until);
+        log.info("Backfilled chatbot intent rollups from {} logs and inquiries", processed);
+        return processed;
+    }
+
+    @Transactional(readOnly = true)
+    public ChatbotAnalyticsDto getAnalytics(LocalDate from, LocalDate to, ChatbotAnalyticsDto.Granularity granularity) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        List<ChatbotAnalyticsPoint> series = rollupRepository.sumByHour(start, end);
+        if (granularity == ChatbotAnalyticsDto.Granularity.DAY) {
+            series = sumByDay(series);
+        }
+        return new ChatbotAnalyticsDto(from, to, granularity, series, rollupRepository.sumByIntent(start, end));
+    }
+
+    private int ingestTurns(LocalDateTime until) {
+        ChatbotRollupWatermark watermark = lockWatermark();
+        List<ChatbotLogTurn> turns = logRepository.findTurnsAfter(watermark.getLogTimestamp(), watermark.getLogId(),
+                until, PageRequest.of(0, pageSize));
+        if (turns.isEmpty()) {
+            return 0;
+        }
+        Map<String, ChatbotSessionStat> sessions = loadSessions(turns.stream().map(ChatbotLogTurn::getSessionId));
+        Map<RollupKey, ChatbotIntentRollup> deltas = new HashMap<>();
+        for (ChatbotLogTurn turn : turns) {
+            String intent = intentOf(turn.getIntent());
+            ChatbotIntentRollup current = delta(deltas, turn.getTimestamp(), intent);
+            current.setTurns(current.getTurns() + 1);
+            if (turn.getSessionId() == null) {
+                continue;
+            }
+            ChatbotSessionStat session = sessions.computeIfAbsent(turn.getSessionId(), id -> startSession(id, turn.getTimestamp(), intent, deltas));
+            session.setTurns(session.getTurns() + 1);
+            ChatbotIntentRollup started = delta(deltas, session.getStartedAt(), session.getFirstIntent());
+            started.setSessionTurns(started.getSessionTurns() + 1);
+        }
+        sessionRepository.saveAll(sessions.values());
+        apply(deltas);
+
+        ChatbotLogTurn last = turns.get(turns.size() - 1);
+        watermark.setLogTimestamp(last.getTimestamp());
+        watermark.setLogId(last.getLogId());
+        watermark.setUpdatedAt(LocalDateTime.now());
+        return turns.size();
+    }
+
+    private int ingestConversions(LocalDateTime until) {
+        ChatbotRollupWatermark watermark = lockWatermark();
+        List<ChatbotInquiryConversion> inquiries = inquiryRepository.findConversionsAfter(watermark.getInquiryTimestamp(),
+                watermark.getInquiryId(), until, PageRequest.of(0, pageSize));
+        if (inquiries.isEmpty()) {
+            return 0;
+        }
+        Map<String, ChatbotSessionStat> sessions = loadSessions(inquiries.stream().map(ChatbotInquiryConversion::getSessionId));
+        Map<RollupKey, ChatbotIntentRollup> deltas = new HashMap<>();
+        for (ChatbotInquiryConversion inquiry : inquiries) {
+            if (inquiry.getSessionId() == null) {
+                continue;
+            }
+            // 대화 기록 없이 접수된 문의도 세션 하나로 센다
+            ChatbotSessionStat session = sessions.computeIfAbsent(inquiry.getSessionId(),
+                    id -> startSession(id, inquiry.getReceivedAt(), UNKNOWN_INTENT, deltas));
+            if (session.getConvertedAt() != null) {
+                continue;
+            }
+            session.setConvertedAt(inquiry.getReceivedAt());
+            ChatbotIntentRollup started = delta(deltas, session.getStartedAt(), session.getFirstIntent());
+            started.setConversions(started.getConversions() + 1);
+        }
+        sessionRepository.saveAll(sessions.values());
+        apply(deltas);
+
+        ChatbotInquiryConversion last = inquiries.get(inquiries.size() - 1);
+        watermark.setInquiryTimestamp(last.getReceivedAt());
+        watermark.setInquiryId(last.getInquiryId());
+        watermark.setUpdatedAt(LocalDateTime.now());
+        return inquiries.size();
+    }
+
+    // 처음 실행할 때 watermark 행을 만든다. 두 노드가 동시에 만들면 한쪽이 키 중복으로 실패하고 다음 주기에 다시 시도한다.
+    private ChatbotRollupWatermark lockWatermark() {
+        return watermarkRepository.findForUpdate(WATERMARK).orElseGet(() -> {
+            ChatbotRollupWatermark watermark = new ChatbotRollupWatermark();
+            watermark.setName(WATERMARK);
+            reset(watermark);
+            return watermarkRepository.saveAndFlush(watermark);
+        });
+    }
+
+    private static void reset(ChatbotRollupWatermark watermark) {
+        watermark.setLogTimestamp(EPOCH);
+        watermark.setLogId(0);
+        watermark.setInquiryTimestamp(EPOCH);
+        watermark.setInquiryId(0);
+        watermark.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private Map<String, ChatbotSessionStat> loadSessions(Stream<String> sessionIds) {
+        Set<String> ids = sessionIds.filter(Objects::nonNull).collect(Collectors.toSet());
+        return sessionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ChatbotSessionStat::getSessionId, Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    private static ChatbotSessionStat startSession(String sessionId, LocalDateTime startedAt, String intent,
+                                                   Map<RollupKey, ChatbotIntentRollup> deltas) {
+        ChatbotSessionStat session = new ChatbotSessionStat();
+        session.setSessionId(sessionId);
+        session.setStartedAt(startedAt);
+        session.setFirstIntent(intent);
+        ChatbotIntentRollup started = delta(deltas, startedAt, intent);
+        started.setSessions(started.getSessions() + 1);
+        return session;
+    }
+
+    // 배치에서 모은 증감분을 집계 행에 더한다. watermark 행 잠금으로 집계 배치는 한 번에 하나만 실행된다.
+    private void apply(Map<RollupKey, ChatbotIntentRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        LocalDateTime from = deltas.keySet().stream().map(RollupKey::hour).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = deltas.keySet().stream().map(RollupKey::hour).max(Comparator.naturalOrder()).orElseThrow();
+        Map<RollupKey, ChatbotIntentRollup> rows = new HashMap<>();
+        for (ChatbotIntentRollup row : rollupRepository.findByBucketHourRange(from, to)) {
+            rows.put(new RollupKey(row.getBucketHour(), row.getIntent()), row);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ChatbotIntentRollup> created = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            ChatbotIntentRollup row = rows.get(key);
+            if (row == null) {
+                created.add(delta);
+                return;
+            }
+            row.setTurns(row.getTurns() + delta.getTurns());
+            row.setSessions(row.getSessions() + delta.getSessions());
+            row.setSessionTurns(row.getSessionTurns() + delta.getSessionTurns());
+            row.setConversions(row.getConversions() + delta.getConversions());
+            row.setUpdatedAt(now);
+        });
+        rollupRepository.saveAll(created);
+    }
+
+    private static ChatbotIntentRollup delta(Map<RollupKey, ChatbotIntentRollup> deltas, LocalDateTime at, String intent) {
+        RollupKey key = new RollupKey(at.truncatedTo(ChronoUnit.HOURS), intent);
+        return deltas.computeIfAbsent(key, k -> {
+            ChatbotIntentRollup row = new ChatbotIntentRollup();
+            row.setBucketHour(k.hour());
+            row.setIntent(k.intent());
+            return row;
+        });
+    }
+
+    private static String intentOf(String intent) {
+        if (intent == null || intent.isBlank()) {
+            return UNKNOWN_INTENT;
+        }
+        String trimmed = intent.trim();
+        return trimmed.length() > 100 ? trimmed.substring(0, 100) : trimmed;
+    }
+
+    private static List<ChatbotAnalyticsPoint> sumByDay(List<ChatbotAnalyticsPoint> hourly) {
+        Map<LocalDateTime, long[]> days = new LinkedHashMap<>();
+        for (ChatbotAnalyticsPoint point : hourly) {
+            long[] sums = days.computeIfAbsent(point.getBucket().truncatedTo(ChronoUnit.DAYS), d -> new long[4]);
+            sums[0] += point.getTurns();
+            sums[1] += point.getSessions();
+            sums[2] += point.getSessionTurns();
+            sums[3] += point.getConversions();
+        }
+        List<ChatbotAnalyticsPoint> daily = new ArrayList<>(days.size());
+        days.forEach((day, sums) -> daily.add(new ChatbotAnalyticsPoint(day, sums[0], sums[1], sums[2], sums[3])));
+        return daily;
+    }
+
+    private record RollupKey(LocalDateTime hour, String intent) {
+    }
+}
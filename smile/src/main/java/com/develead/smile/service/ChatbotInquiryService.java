@@ -5,6 +5,7 @@ import com.develead.smile.dto.ChatbotInquiryDto;
 import com.develead.smile.repository.ChatbotInquiryRepository;
 import com.develead.smile.repository.UserAccountRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,13 +17,17 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Lazy
 public class ChatbotInquiryService {
     private final ChatbotInquiryRepository inquiryRepository;
     private final UserAccountRepository userAccountRepository;
 
     // [수정] 필터링 조회 메소드 추가
     public List<ChatbotInquiry> findByFilters(String status, LocalDate date) {
-        return inquiryRepository.findByFilters(status, date);
+        if (date == null) {
+            return inquiryRepository.findByFilters(status);
+        }
+        return inquiryRepository.findByFiltersReceivedBetween(status, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
     }
 
     public Optional<ChatbotInquiry> findById(Integer id) {
@@ -0,0 +1,35 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.Clinic;
+import com.develead.smile.repository.ClinicRepository;
+import com.develead.smile.repository.UserAccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 로그인한 직원의 소속 지점(clinic)을 알려준다.
+ * 지점 단위로 나뉘는 조회/통계/캐시는 모두 여기서 얻은 지점 ID를 조건(키)으로 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClinicContext {
+    private final UserAccountRepository userAccountRepository;
+    private final ClinicRepository clinicRepository;
+
+    public Integer currentClinicId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            Integer clinicId = userAccountRepository.findClinicIdByLoginId(authentication.getName()).orElse(null);
+            if (clinicId != null) {
+                return clinicId;
+            }
+        }
+        return clinicRepository.findDefaultClinicId()
+                .orElseThrow(() -> new IllegalStateException("No active clinic configured"));
+    }
+
+    public Clinic currentClinic() {
+        return clinicRepository.getReferenceById(currentClinicId());
+    }
+}
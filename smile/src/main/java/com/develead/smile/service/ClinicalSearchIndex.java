@@ -0,0 +1,331 @@
+package com.develead.smile.service;
+import com.develead.smile.dto.ClinicalSearchDocument;
+import com.develead.smile.dto.ClinicalSearchHit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 진료 텍스트 전문 검색용 메모리 역색인.
+ * 문서는 내부 번호(증가 순)로 관리하고, 수정/삭제 시 기존 번호는 삭제 표시(tombstone)만 한 뒤
+ * 삭제 비율이 커지면 posting 목록을 한 번에 압축한다. 점수는 BM25.
+ */
+@Slf4j
+@Component
+public class ClinicalSearchIndex {
+    public static final String KIND_APPOINTMENT = "APPOINTMENT";
+    public static final String KIND_TREATMENT = "TREATMENT";
+    public static final String KIND_INQUIRY = "INQUIRY";
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int PREVIEW_LENGTH = 80;
+    private static final int MIN_DELETED_FOR_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> liveDocs = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    // 내부 문서 번호로 접근하는 문서 속성 (clinicIds 0 = 지점 없음, doctorIds 0 = 담당 의사 없음)
+    private String[] kinds = new String[1024];
+    private int[] sourceIds = new int[1024];
+    private int[] clinicIds = new int[1024];
+    private int[] doctorIds = new int[1024];
+    private int[] epochDays = new int[1024];
+    private int[] lengths = new int[1024];
+    private String[] previews = new String[1024];
+
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+    private volatile boolean ready;
+
+    /** 문서를 추가하거나 같은 원본의 기존 문서를 교체한다. 본문이 비어 있으면 색인에서 제거된다. */
+    public void upsert(ClinicalSearchDocument document) {
+        Map<String, Integer> termFrequencies = termFrequencies(document.getText());
+        lock.writeLock().lock();
+        try {
+            removeInternal(key(document.getKind(), document.getSourceId()));
+            addInternal(document, termFrequencies);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 초기 적재용. 적재 도중 증분 색인이 먼저 반영한 문서는 더 최신이므로 덮어쓰지 않는다.
+     */
+    public void addAllIfAbsent(List<ClinicalSearchDocument> documents) {
+        List<Map<String, Integer>> frequencies = new ArrayList<>(documents.size());
+        for (ClinicalSearchDocument document : documents) {
+            frequencies.add(termFrequencies(document.getText()));
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < documents.size(); i++) {
+                ClinicalSearchDocument document = documents.get(i);
+                if (!liveDocs.containsKey(key(document.getKind(), document.getSourceId()))) {
+                    addInternal(document, frequencies.get(i));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String kind, Integer sourceId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key(kind, sourceId));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param clinicId 지점 필터 (null이면 전체, 지점이 없는 챗봇 문의는 항상 포함)
+     * @param doctorId 담당 의사 필터 (null이면 전체, 챗봇 문의는 의사 필터 지정 시 제외)
+     * @param from     시작일 (포함, null 가능)
+     * @param to       종료일 (포함, null 가능)
+     */
+    public List<ClinicalSearchHit> search(String query, Integer clinicId, Integer doctorId, LocalDate from, LocalDate to, int limit) {
+        Set<String> terms = new LinkedHashSet<>(ClinicalTextTokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int fromDay = from != null ? (int) from.toEpochDay() : Integer.MIN_VALUE;
+        int toDay = to != null ? (int) to.toEpochDay() : Integer.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            int live = docCount - deletedCount;
+            if (live == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / live);
+            float[] scores = new float[docCount];
+            int[] touched = new int[16];
+            int touchedCount = 0;
+
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.max(0.01, Math.log(1 + (live - list.size + 0.5) / (list.size + 0.5)));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (deleted.get(doc) || !matches(doc, clinicId, doctorId, fromDay, toDay)) {
+                        continue;
+                    }
+                    int tf = list.freqs[i];
+                    double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengths[doc] / averageLength));
+                    if (scores[doc] == 0f) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = doc;
+                    }
+                    scores[doc] += (float) (idf * norm);
+                }
+            }
+            return topHits(scores, touched, touchedCount, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        this.ready = true;
+    }
+
+    private List<ClinicalSearchHit> topHits(float[] scores, int[] touched, int touchedCount, int limit) {
+        // 최소 힙으로 상위 limit개 유지. 동점이면 최근 문서(큰 내부 번호) 우선
+        Comparator<Integer> byScore = Comparator.<Integer>comparingDouble(doc -> scores[doc]).thenComparingInt(doc -> doc);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, byScore);
+        for (int i = 0; i < touchedCount; i++) {
+            heap.offer(touched[i]);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<ClinicalSearchHit> hits = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int doc = heap.poll();
+            hits.add(new ClinicalSearchHit(kinds[doc], sourceIds[doc], doctorIds[doc] != 0 ? doctorIds[doc] : null,
+                    LocalDate.ofEpochDay(epochDays[doc]), scores[doc], previews[doc]));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private boolean matches(int doc, Integer clinicId, Integer doctorId, int fromDay, int toDay) {
+        if (clinicId != null && clinicIds[doc] != 0 && clinicIds[doc] != clinicId) {
+            return false;
+        }
+        if (doctorId != null && doctorIds[doc] != doctorId) {
+            return false;
+        }
+        return epochDays[doc] >= fromDay && epochDays[doc] <= toDay;
+    }
+
+    private void addInternal(ClinicalSearchDocument document, Map<String, Integer> termFrequencies) {
+        if (termFrequencies.isEmpty()) {
+            return;
+        }
+        ensureCapacity(docCount + 1);
+        int doc = docCount++;
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+            length += entry.getValue();
+        }
+        kinds[doc] = document.getKind();
+        sourceIds[doc] = document.getSourceId();
+        clinicIds[doc] = document.getClinicId() != null ? document.getClinicId() : 0;
+        doctorIds[doc] = document.getDoctorId() != null ? document.getDoctorId() : 0;
+        epochDays[doc] = (int) document.getDate().toEpochDay();
+        lengths[doc] = length;
+        previews[doc] = preview(document.getText());
+        totalLength += length;
+        liveDocs.put(key(document.getKind(), document.getSourceId()), doc);
+    }
+
+    private void removeInternal(String key) {
+        Integer doc = liveDocs.remove(key);
+        if (doc == null) {
+            return;
+        }
+        deleted.set(doc);
+        deletedCount++;
+        totalLength -= lengths[doc];
+        previews[doc] = null;
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_DELETED_FOR_COMPACTION || deletedCount * 4 < docCount) {
+            return;
+        }
+        long started = System.nanoTime();
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            kinds[next] = kinds[doc];
+            sourceIds[next] = sourceIds[doc];
+            clinicIds[next] = clinicIds[doc];
+            doctorIds[next] = doctorIds[doc];
+            epochDays[next] = epochDays[doc];
+            lengths[next] = lengths[doc];
+            previews[next] = previews[doc];
+            next++;
+        }
+        Arrays.fill(kinds, next, docCount, null);
+        Arrays.fill(previews, next, docCount, null);
+
+        Iterator<Postings> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            Postings list = iterator.next();
+            list.remap(remap);
+            if (list.size == 0) {
+                iterator.remove();
+            }
+        }
+        liveDocs.replaceAll((key, doc) -> remap[doc]);
+
+        log.info("Compacted clinical search index: {} -> {} documents in {} ms",
+                docCount, next, (System.nanoTime() - started) / 1_000_000);
+        docCount = next;
+        deletedCount = 0;
+        deleted.clear();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= sourceIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, sourceIds.length + (sourceIds.length >> 1));
+        kinds = Arrays.copyOf(kinds, capacity);
+        sourceIds = Arrays.copyOf(sourceIds, capacity);
+        clinicIds = Arrays.copyOf(clinicIds, capacity);
+        doctorIds = Arrays.copyOf(doctorIds, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+        previews = Arrays.copyOf(previews, capacity);
+    }
+
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : ClinicalTextTokenizer.tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private static String preview(String text) {
+        String collapsed = text.strip().replaceAll("\\s+", " ");
+        return collapsed.length() <= PREVIEW_LENGTH ? collapsed : collapsed.substring(0, PREVIEW_LENGTH) + "…";
+    }
+
+    private static String key(String kind, Integer sourceId) {
+        return kind + ":" + sourceId;
+    }
+
+    // 한 단어의 posting 목록. 내부 문서 번호 오름차순으로만 추가된다.
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (size > 0 && size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, size);
+                freqs = Arrays.copyOf(freqs, size);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.Appointment;
+import com.develead.smile.domain.ChatbotInquiry;
+import com.develead.smile.domain.Clinic;
+import com.develead.smile.domain.Doctor;
+import com.develead.smile.domain.MedicalRecord;
+import com.develead.smile.dto.ClinicalSearchDocument;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 진료 기록/예약/챗봇 문의 저장 시 검색 색인을 갱신하는 JPA 엔티티 리스너.
+ * 롤백된 변경이 색인에 남지 않도록 커밋 이후에 반영한다.
+ * (색인 빈이 없는 슬라이스 테스트에서는 아무 일도 하지 않는다)
+ */
+@Component
+public class ClinicalSearchIndexer {
+    private final ObjectProvider<ClinicalSearchIndex> searchIndex;
+
+    public ClinicalSearchIndexer(ObjectProvider<ClinicalSearchIndex> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        afterCommit(index -> {
+            ClinicalSearchDocument document = toDocument(entity);
+            if (document != null) {
+                index.upsert(document);
+            }
+        });
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        afterCommit(index -> {
+            ClinicalSearchDocument document = toDocument(entity);
+            if (document != null) {
+                index.remove(document.getKind(), document.getSourceId());
+            }
+        });
+    }
+
+    // 엔티티를 읽지 않는 일괄 UPDATE에는 리스너가 호출되지 않으므로, 바뀐 문서를 직접 받아 커밋 이후에 반영한다
+    public void upsertAfterCommit(List<ClinicalSearchDocument> documents) {
+        if (!documents.isEmpty()) {
+            afterCommit(index -> documents.forEach(index::upsert));
+        }
+    }
+
+    private void afterCommit(Consumer<ClinicalSearchIndex> action) {
+        ClinicalSearchIndex index = searchIndex.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(index);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.accept(index);
+            }
+        });
+    }
+
+    static ClinicalSearchDocument toDocument(Object entity) {
+        if (entity instanceof MedicalRecord record) {
+            return new ClinicalSearchDocument(ClinicalSearchIndex.KIND_TREATMENT, record.getRecord_id(),
+                    record.getAppointment() != null ? clinicId(record.getAppointment().getClinic()) : null, doctorId(record.getDoctor()), record.getTreatmentDate(), record.getSymptoms());
+        }
+        if (entity instanceof Appointment appointment) {
+            return new ClinicalSearchDocument(ClinicalSearchIndex.KIND_APPOINTMENT, appointment.getAppointment_id(),
+                    clinicId(appointment.getClinic()), doctorId(appointment.getDoctor()), appointment.getAppointmentDatetime(), appointment.getDescription());
+        }
+        if (entity instanceof ChatbotInquiry inquiry) {
+            return new ClinicalSearchDocument(ClinicalSearchIndex.KIND_INQUIRY, inquiry.getInquiry_id(),
+                    inquiry.getReceivedAt(), inquiry.getInquiryReason(), inquiry.getConsultationNotes());
+        }
+        return null;
+    }
+
+    private static Integer clinicId(Clinic clinic) {
+        return clinic != null ? clinic.getClinic_id() : null;
+    }
+
+    private static Integer doctorId(Doctor doctor) {
+        return doctor != null ? doctor.getDoctor_id() : null;
+    }
+}
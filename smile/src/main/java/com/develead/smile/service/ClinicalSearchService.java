@@ -0,0 +1,86 @@
+package com.develead.smile.service;
+import com.develead.smile.dto.ClinicalSearchDocument;
+import com.develead.smile.dto.ClinicalSearchHit;
+import com.develead.smile.repository.AppointmentRepository;
+import com.develead.smile.repository.ChatbotInquiryRepository;
+import com.develead.smile.repository.MedicalRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * 진료 증상/예약 메모/챗봇 상담 내용 전문 검색.
+ * 기동 시 DB에서 색인을 한 번 적재하고, 이후에는 {@link ClinicalSearchIndexer}가 저장 시점마다 증분 반영한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClinicalSearchService {
+    private static final int LOAD_PAGE_SIZE = 2000;
+
+    private final ClinicalSearchIndex searchIndex;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ChatbotInquiryRepository chatbotInquiryRepository;
+    private final ClinicContext clinicContext;
+
+    // [수정] 현재 지점 문서와 지점이 없는 챗봇 문의만 검색한다
+    public List<ClinicalSearchHit> search(String query, Integer doctorId, LocalDate from, LocalDate to, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return searchIndex.search(query, clinicContext.currentClinicId(), doctorId, from, to, limit);
+    }
+
+    public boolean isIndexReady() {
+        return searchIndex.isReady();
+    }
+
+    public int indexedDocumentCount() {
+        return searchIndex.size();
+    }
+
+    // 초기 적재는 요청 처리와 무관하므로 가상 스레드에서 진행한다. 적재 중에도 검색은 가능하다(부분 결과).
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexOnStartup() {
+        Thread.ofVirtual().name("clinical-search-loader").start(() -> {
+            try {
+                loadIndex();
+            } catch (RuntimeException e) {
+                log.error("Failed to load clinical search index", e);
+            }
+        });
+    }
+
+    void loadIndex() {
+        long started = System.nanoTime();
+        int loaded = load(medicalRecordRepository::findSearchDocuments)
+                + load(appointmentRepository::findSearchDocuments)
+                + load(chatbotInquiryRepository::findSearchDocuments);
+        searchIndex.markReady();
+        log.info("Clinical search index loaded: {} documents in {} ms", loaded, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private int load(BiFunction<Integer, Pageable, List<ClinicalSearchDocument>> pageLoader) {
+        Pageable page = PageRequest.of(0, LOAD_PAGE_SIZE);
+        int afterId = 0;
+        int loaded = 0;
+        while (true) {
+            List<ClinicalSearchDocument> documents = pageLoader.apply(afterId, page);
+            searchIndex.addAllIfAbsent(documents);
+            loaded += documents.size();
+            if (documents.size() < LOAD_PAGE_SIZE) {
+                return loaded;
+            }
+            afterId = documents.get(documents.size() - 1).getSourceId();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.develead.smile.service;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 진료 텍스트용 토크나이저.
+ * 한글은 형태소 분석 없이 음절 바이그램으로 쪼개 조사/어미가 붙어도 검색되도록 하고 ("잇몸이" -> 잇몸, 몸이),
+ * 영문/숫자는 단어 단위로 자른다. 색인과 질의에 같은 규칙을 적용해야 한다.
+ */
+public final class ClinicalTextTokenizer {
+    private static final int MAX_WORD_LENGTH = 32;
+
+    private ClinicalTextTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            char c = normalized.charAt(i);
+            if (isHangulSyllable(c)) {
+                int start = i;
+                while (i < length && isHangulSyllable(normalized.charAt(i))) i++;
+                emitHangul(normalized, start, i, tokens);
+            } else if (Character.isLetterOrDigit(c)) {
+                int start = i;
+                while (i < length && Character.isLetterOrDigit(normalized.charAt(i)) && !isHangulSyllable(normalized.charAt(i))) i++;
+                emitWord(normalized, start, i, tokens);
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    // 한 음절 단어("이", "통")는 그대로, 두 음절 이상은 겹치는 바이그램으로 색인
+    private static void emitHangul(String text, int start, int end, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 1 < end; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+
+    private static void emitWord(String text, int start, int end, List<String> tokens) {
+        int length = end - start;
+        if (length == 1 && !Character.isDigit(text.charAt(start))) {
+            return;
+        }
+        tokens.add(text.substring(start, start + Math.min(length, MAX_WORD_LENGTH)));
+    }
+
+    private static boolean isHangulSyllable(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
@@ -1,21 +1,39 @@
 package com.develead.smile.service;
 
 import com.develead.smile.domain.Customer;
+import com.develead.smile.dto.CustomerListItem;
+import com.develead.smile.dto.ListQuery;
+import com.develead.smile.dto.ListSort;
 import com.develead.smile.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerService {
+    // 관리자 목록 정렬 허용 목록 (화면 키 -> 엔티티 경로)
+    static final ListSort LIST_SORT = ListSort.by("customer_id", "id", Sort.Direction.ASC)
+            .allow("id", "customer_id")
+            .allow("name", "name")
+            .allow("phoneNumber", "phoneNumber");
+
     private final CustomerRepository customerRepository;
 
     public List<Customer> findAllCustomers() {
         return customerRepository.findAll();
     }
 
+    // [수정] 관리자 목록: 한 페이지의 표시 컬럼만 조회 (q: 이름/연락처 검색)
+    @Transactional(readOnly = true)
+    public Page<CustomerListItem> findPage(ListQuery query) {
+        return customerRepository.findListItems(query.getQ(), query.toPageable(LIST_SORT));
+    }
+
     public Optional<Customer> findCustomerById(Integer id) {
         return customerRepository.findById(id);
     }
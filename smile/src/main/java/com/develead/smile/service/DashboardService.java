@@ -1,41 +1,69 @@
 package com.develead.smile.service;
 import com.develead.smile.dto.DashboardDto;
+import com.develead.smile.dto.InventoryReorderItem;
 import com.develead.smile.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
+    public static final String DASHBOARD_CACHE = "dashboard";
+    private static final int REORDER_LIST_SIZE = 10;
+
     private final AppointmentRepository appointmentRepository;
     private final BillingRepository billingRepository;
     private final InventoryItemRepository inventoryItemRepository;
     private final CustomerRepository customerRepository;
+    private final InventoryForecastService inventoryForecastService;
+    private final ParallelQueryExecutor parallelQueryExecutor;
 
-    public DashboardDto getDashboardStatistics() {
+    // [수정] 지점별로 통계를 집계하고 캐시한다 (캐시 키 = 지점 ID)
+    @Cacheable(cacheNames = DASHBOARD_CACHE, key = "#clinicId")
+    public DashboardDto getDashboardStatistics(Integer clinicId) {
         LocalDate today = LocalDate.now();
         LocalDateTime startOfDay = today.atStartOfDay();
         LocalDateTime endOfDay = today.atTime(LocalTime.MAX);
-        long todayAppointments = appointmentRepository.countByAppointmentDatetimeBetween(startOfDay, endOfDay);
-
         YearMonth currentMonth = YearMonth.now();
         LocalDateTime startOfMonth = currentMonth.atDay(1).atStartOfDay();
         LocalDateTime endOfMonth = currentMonth.atEndOfMonth().atTime(LocalTime.MAX);
-        BigDecimal monthlyRevenue = billingRepository.findTotalRevenueBetween(startOfMonth, endOfMonth);
 
-        long lowStockItems = inventoryItemRepository.countLowStockItems();
-        long totalCustomers = customerRepository.count();
+        // [수정] 서로 독립적인 집계를 동시에 실행
+        try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+            Supplier<Long> todayAppointments = scope.fork(() ->
+                    appointmentRepository.countByClinicAndAppointmentDatetimeBetween(clinicId, startOfDay, endOfDay));
+            Supplier<BigDecimal> monthlyRevenue = scope.fork(() ->
+                    billingRepository.findTotalRevenueByClinicBetween(clinicId, startOfMonth, endOfMonth));
+            Supplier<Long> lowStockItems = scope.fork(() -> inventoryItemRepository.countLowStockItemsByClinicId(clinicId));
+            // 고객은 모든 지점이 공유하므로 전체 수
+            Supplier<Long> totalCustomers = scope.fork(customerRepository::count);
+            Supplier<List<InventoryReorderItem>> reorderItems = scope.fork(() ->
+                    inventoryForecastService.getReorderList(clinicId, REORDER_LIST_SIZE));
+            scope.join();
+
+            return DashboardDto.builder()
+                    .todayAppointments(todayAppointments.get())
+                    .monthlyRevenue(monthlyRevenue.get() != null ? monthlyRevenue.get() : BigDecimal.ZERO)
+                    .lowStockItems(lowStockItems.get())
+                    .totalCustomers(totalCustomers.get())
+                    .reorderItems(reorderItems.get())
+                    .build();
+        }
+    }
 
-        return DashboardDto.builder()
-                .todayAppointments(todayAppointments)
-                .monthlyRevenue(monthlyRevenue != null ? monthlyRevenue : BigDecimal.ZERO)
-                .lowStockItems(lowStockItems)
-                .totalCustomers(totalCustomers)
-                .build();
+    // 대시보드 수치는 짧은 지연을 허용하므로 주기적으로 전 지점 캐시를 비운다
+    @Scheduled(fixedRateString = "${smile.cache.dashboard-ttl-ms:60000}")
+    @CacheEvict(cacheNames = DASHBOARD_CACHE, allEntries = true)
+    public void evictDashboardCache() {
     }
 }
@@ -0,0 +1,21 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.Doctor;
+import com.develead.smile.repository.DoctorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DoctorService {
+    public static final String CLINIC_DOCTORS_CACHE = "clinicDoctors";
+
+    private final DoctorRepository doctorRepository;
+
+    // 관리자 화면의 의사 선택 목록. 지점별로 캐시한다 (의사 정보는 초기 데이터로만 등록됨)
+    @Cacheable(cacheNames = CLINIC_DOCTORS_CACHE, key = "#clinicId")
+    public List<Doctor> findByClinic(Integer clinicId) {
+        return doctorRepository.findAllByClinicId(clinicId);
+    }
+}
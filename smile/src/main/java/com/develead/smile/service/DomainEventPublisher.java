@@ -0,0 +1,108 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.*;
+import com.develead.smile.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 도메인 이벤트를 아웃박스 테이블에 기록한다.
+ * 반드시 업무 트랜잭션 안에서 호출해야 하며(MANDATORY), 롤백되면 이벤트도 함께 사라진다.
+ * 알림/감사/캐시 무효화 같은 부수 효과는 커밋 이후 {@link OutboxRelay}가 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class DomainEventPublisher {
+
+    // 커밋 직후 릴레이를 깨우고, 이 노드의 캐시를 바로 비우기 위한 신호 (폴링 주기를 기다리지 않도록)
+    public record OutboxWritten(Long eventId, Map<String, String> payload) {
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public void publish(OutboxEvent.EventType eventType, String aggregateType, Integer aggregateId, Map<String, String> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setPayload(toJson(payload));
+        outboxEventRepository.save(event);
+        applicationEventPublisher.publishEvent(new OutboxWritten(event.getEvent_id(), Map.copyOf(payload)));
+    }
+
+    public void publishAppointmentEvent(OutboxEvent.EventType eventType, Appointment appointment) {
+        publish(eventType, "Appointment", appointment.getAppointment_id(), appointmentPayload(appointment, Map.of()));
+    }
+
+    private static Map<String, String> appointmentPayload(Appointment appointment, Map<String, String> extra) {
+        Map<String, String> payload = new LinkedHashMap<>();
+        putIfNotNull(payload, "customerId", appointment.getCustomer() != null ? appointment.getCustomer().getCustomer_id() : null);
+        putIfNotNull(payload, "clinicId", appointment.getClinic() != null ? appointment.getClinic().getClinic_id() : null);
+        putIfNotNull(payload, "doctorId", appointment.getDoctor() != null ? appointment.getDoctor().getDoctor_id() : null);
+        putIfNotNull(payload, "appointmentDatetime", appointment.getAppointmentDatetime());
+        putIfNotNull(payload, "status", appointment.getStatus());
+        payload.putAll(extra);
+        return payload;
+    }
+
+    // 예약 변경. 일시/지점이 바뀌었으면 이전 값도 함께 남겨 이전 달의 캐시도 비울 수 있게 한다.
+    public void publishAppointmentChanged(Appointment appointment, Integer previousClinicId, LocalDateTime previousDatetime) {
+        Map<String, String> previous = new LinkedHashMap<>();
+        putIfNotNull(previous, "previousClinicId", previousClinicId);
+        putIfNotNull(previous, "previousAppointmentDatetime", previousDatetime);
+        publish(OutboxEvent.EventType.APPOINTMENT_CHANGED, "Appointment", appointment.getAppointment_id(),
+                appointmentPayload(appointment, previous));
+    }
+
+    // 예약 일괄 변경은 예약마다가 아니라 작업 하나에 이벤트 하나를 남긴다. 대상 예약은 변경 로그의 작업 ID로 찾는다.
+    public void publishAppointmentsBulkChanged(Integer clinicId, Integer doctorId, String bulkOperationId, String operation,
+                                               LocalDateTime appointmentDatetime, LocalDateTime previousDatetime, int count) {
+        Map<String, String> payload = new LinkedHashMap<>();
+        putIfNotNull(payload, "clinicId", clinicId);
+        putIfNotNull(payload, "doctorId", doctorId);
+        putIfNotNull(payload, "bulkOperationId", bulkOperationId);
+        putIfNotNull(payload, "operation", operation);
+        putIfNotNull(payload, "appointmentDatetime", appointmentDatetime);
+        putIfNotNull(payload, "previousAppointmentDatetime", previousDatetime);
+        putIfNotNull(payload, "count", count);
+        publish(OutboxEvent.EventType.APPOINTMENTS_BULK_CHANGED, "Doctor", doctorId, payload);
+    }
+
+    public void publishPaymentReceived(Billing billing, PaymentTransaction transaction) {
+        MedicalRecord record = billing.getMedicalRecord();
+        Map<String, String> payload = new LinkedHashMap<>();
+        putIfNotNull(payload, "billingId", billing.getBilling_id());
+        putIfNotNull(payload, "customerId", record.getCustomer().getCustomer_id());
+        putIfNotNull(payload, "clinicId", record.getAppointment().getClinic().getClinic_id());
+        putIfNotNull(payload, "amount", transaction.getAmount().toPlainString());
+        putIfNotNull(payload, "paymentMethod", transaction.getPaymentMethod());
+        putIfNotNull(payload, "balance", billing.getBalance().toPlainString());
+        putIfNotNull(payload, "billingStatus", billing.getBillingStatus());
+        publish(OutboxEvent.EventType.PAYMENT_RECEIVED, "Billing", billing.getBilling_id(), payload);
+    }
+
+    private static void putIfNotNull(Map<String, String> payload, String key, Object value) {
+        if (value != null) {
+            payload.put(key, value.toString());
+        }
+    }
+
+    private String toJson(Map<String, String> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event payload", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.InventoryItem;
+import com.develead.smile.dto.InventoryDailyConsumption;
+import com.develead.smile.dto.InventoryReorderItem;
+import com.develead.smile.repository.InventoryItemRepository;
+import com.develead.smile.repository.InventoryLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * 재고 소비량 예측. 품목별 일일 출고량의 지수 가중 이동 평균(EWMA)을 재고 행에 들고 다니며,
+ * 출고가 기록될 때마다 지난 날들을 마감해 갱신한다. 재고 로그를 다시 읽는 것은 {@link #rebuildFromHistory(Integer)}뿐이다.
+ * <p>
+ * 하루 단위로 평균을 내므로 날짜가 바뀐 뒤 첫 출고(또는 조회) 때 전날까지의 출고가 반영되고,
+ * 출고가 없던 날은 0으로 반영된다. 0에서 시작하는 초기 편향은 조회 시 관측 일수로 보정한다.
+ * 재주문점 = 조달 기간 동안의 예상 소비량 + 안전 재고.
+ */
+@Slf4j
+@Service
+public class InventoryForecastService {
+    static final String OUT = "OUT";
+    private static final int ITEM_PAGE_SIZE = 200;
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryLogRepository inventoryLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double alpha;
+    private final int leadTimeDays;
+    private final int coverDays;
+
+    public InventoryForecastService(InventoryItemRepository inventoryItemRepository,
+                                    InventoryLogRepository inventoryLogRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${smile.inventory.forecast.alpha:0.2}") double alpha,
+                                    @Value("${smile.inventory.forecast.lead-time-days:7}") int leadTimeDays,
+                                    @Value("${smile.inventory.forecast.cover-days:14}") int coverDays) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.inventoryLogRepository = inventoryLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.alpha = alpha;
+        this.leadTimeDays = leadTimeDays;
+        this.coverDays = coverDays;
+    }
+
+    /**
+     * 재고 변동 하나를 반영한다. 출고(OUT)만 소비로 보며, 품목 행은 호출한 트랜잭션이 커밋할 때 함께 저장된다.
+     * 집계 중인 날짜보다 이른 날짜의 출고(늦게 입력된 기록)는 집계 중인 날짜에 더한다.
+     */
+    public void recordMovement(InventoryItem item, String changeType, int quantityChanged, LocalDate day) {
+        if (!OUT.equals(changeType) || quantityChanged == 0) {
+            return;
+        }
+        if (item.getConsumptionDay() == null) {
+            item.setConsumptionSince(day);
+            item.setConsumptionDay(day);
+            item.setConsumptionDayOut(0);
+        } else if (day.isAfter(item.getConsumptionDay())) {
+            item.setDailyConsumptionRate(smoothedRate(item, day));
+            item.setConsumptionDay(day);
+            item.setConsumptionDayOut(0);
+        }
+        item.setConsumptionDayOut(item.getConsumptionDayOut() + Math.abs(quantityChanged));
+    }
+
+    // today 기준 일일 소비량 추정치 (마감된 날만 사용, 초기 편향 보정)
+    public double consumptionRate(InventoryItem item, LocalDate today) {
+        if (item.getConsumptionSince() == null) {
+            return 0;
+        }
+        long closedDays = ChronoUnit.DAYS.between(item.getConsumptionSince(), today);
+        if (closedDays <= 0) {
+            // 아직 마감된 날이 없으면 오늘 출고량을 하루치로 본다
+            return item.getConsumptionDayOut();
+        }
+        return smoothedRate(item, today) / (1 - Math.pow(1 - alpha, closedDays));
+    }
+
+    public InventoryReorderItem forecast(InventoryItem item, LocalDate today) {
+        double rate = consumptionRate(item, today);
+        Double daysUntilStockout = rate > 0 ? item.getQuantity() / rate : null;
+        int reorderPoint = ceil(rate * leadTimeDays) + item.getSafeStockLevel();
+        int target = ceil(rate * (leadTimeDays + coverDays)) + item.getSafeStockLevel();
+        return new InventoryReorderItem(item.getItem_id(), item.getItemCode(), item.getItemName(), item.getUnit(),
+                item.getQuantity(), item.getSafeStockLevel(), rate, daysUntilStockout, reorderPoint,
+                Math.max(0, target - item.getQuantity()));
+    }
+
+    // 재주문이 필요한 품목 (재주문점 이하이거나 안전 재고 미만). 재고가 먼저 바닥날 품목부터.
+    @Transactional(readOnly = true)
+    public List<InventoryReorderItem> getReorderList(Integer clinicId, int limit) {
+        LocalDate today = LocalDate.now();
+        List<InventoryReorderItem> reorder = new ArrayList<>();
+        for (InventoryItem item : inventoryItemRepository.findForecastCandidatesByClinicId(clinicId)) {
+            InventoryReorderItem forecast = forecast(item, today);
+            boolean belowSafeStock = item.getQuantity() < item.getSafeStockLevel();
+            if (belowSafeStock || (forecast.getDailyConsumption() > 0 && item.getQuantity() <= forecast.getReorderPoint())) {
+                reorder.add(forecast);
+            }
+        }
+        reorder.sort(Comparator.comparing(InventoryReorderItem::getDaysUntilStockout, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(InventoryReorderItem::getItemCode));
+        return reorder.size() > limit ? List.copyOf(reorder.subList(0, limit)) : List.copyOf(reorder);
+    }
+
+    /**
+     * 지점의 재고 로그에서 예측 상태를 다시 만든다 (도입 시 기존 이력 적재용).
+     * 품목을 ITEM_PAGE_SIZE개씩 별도 트랜잭션으로 처리하며, 로그 행을 하나씩 읽지 않고
+     * 그 품목들의 날짜별 출고 합계만 읽어 순서대로 흘려 넣는다.
+     *
+     * @return 예측 상태가 만들어진 품목 수
+     */
+    public int rebuildFromHistory(Integer clinicId) {
+        Set<Integer> forecasted = new HashSet<>();
+        Integer afterId = 0;
+        List<InventoryItem> page;
+        do {
+            Integer pageAfterId = afterId;
+            page = Objects.requireNonNull(transactionTemplate.execute(status -> {
+                List<InventoryItem> items = inventoryItemRepository.findPageByClinicId(clinicId, pageAfterId, PageRequest.of(0, ITEM_PAGE_SIZE));
+                rebuildPage(items, forecasted);
+                return items;
+            }));
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getItem_id();
+            }
+        } while (page.size() == ITEM_PAGE_SIZE);
+        log.info("Rebuilt consumption forecasts for {} inventory items of clinic {}", forecasted.size(), clinicId);
+        return forecasted.size();
+    }
+
+    // 페이지의 품목 상태를 비우고 출고 합계를 다시 흘려 넣는다. 품목 행은 트랜잭션 커밋 때 저장된다.
+    private void rebuildPage(List<InventoryItem> page, Set<Integer> forecasted) {
+        if (page.isEmpty()) {
+            return;
+        }
+        Map<Integer, InventoryItem> byId = new HashMap<>();
+        for (InventoryItem item : page) {
+            item.setDailyConsumptionRate(0);
+            item.setConsumptionSince(null);
+            item.setConsumptionDay(null);
+            item.setConsumptionDayOut(0);
+            byId.put(item.getItem_id(), item);
+        }
+        for (InventoryDailyConsumption daily : inventoryLogRepository.findDailyConsumption(byId.keySet())) {
+            forecasted.add(daily.getItemId());
+            recordMovement(byId.get(daily.getItemId()), OUT, daily.getQuantity().intValue(), daily.getDay());
+        }
+    }
+
+    // 집계 중인 날을 마감하고, 그 뒤 day 전날까지 출고가 없던 날들을 0으로 반영한 EWMA
+    private double smoothedRate(InventoryItem item, LocalDate day) {
+        long elapsed = ChronoUnit.DAYS.between(item.getConsumptionDay(), day);
+        if (elapsed <= 0) {
+            return item.getDailyConsumptionRate();
+        }
+        double closed = alpha * item.getConsumptionDayOut() + (1 - alpha) * item.getDailyConsumptionRate();
+        return closed * Math.pow(1 - alpha, elapsed - 1);
+    }
+
+    // 보정 나눗셈의 부동소수 오차(10.000000000000002 등)로 한 개씩 더 주문하지 않도록 올림 전에 잘라낸다
+    private static int ceil(double quantity) {
+        return (int) Math.ceil(quantity - 1e-9);
+    }
+}
@@ -1,28 +1,47 @@
 package com.develead.smile.service;
 import com.develead.smile.domain.*;
+import com.develead.smile.dto.InventoryItemListItem;
+import com.develead.smile.dto.ListQuery;
+import com.develead.smile.dto.ListSort;
 import com.develead.smile.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-@Service @RequiredArgsConstructor
+@Service @RequiredArgsConstructor @Lazy
 public class InventoryService {
+    static final ListSort LIST_SORT = ListSort.by("item_id", "itemCode", Sort.Direction.ASC)
+            .allow("itemName", "itemName")
+            .allow("quantity", "quantity");
+
     private final InventoryItemRepository inventoryItemRepository;
     private final InventoryLogRepository inventoryLogRepository;
     private final UserAccountRepository userAccountRepository;
-    private final ClinicRepository clinicRepository;
+    private final ClinicContext clinicContext;
+    private final InventoryForecastService inventoryForecastService;
+
+    // [수정] 현재 사용자 소속 지점의 재고만 조회
+    public List<InventoryItem> findAll() { return inventoryItemRepository.findAllByClinicId(clinicContext.currentClinicId()); }
+    public Optional<InventoryItem> findById(Integer id) { return inventoryItemRepository.findByIdAndClinicId(id, clinicContext.currentClinicId()); }
 
-    public List<InventoryItem> findAll() { return inventoryItemRepository.findAll(); }
-    public Optional<InventoryItem> findById(Integer id) { return inventoryItemRepository.findById(id); }
+    // [수정] 관리자 목록: 현재 지점 재고 한 페이지 (q: 코드/자재명 검색, lowStock: 안전 재고 미만만)
+    @Transactional(readOnly = true)
+    public Page<InventoryItemListItem> findPage(ListQuery query, boolean lowStock) {
+        return inventoryItemRepository.findListItems(clinicContext.currentClinicId(), query.getQ(), lowStock, query.toPageable(LIST_SORT));
+    }
 
     @Transactional
     public InventoryItem save(InventoryItem item) {
         UserAccount currentUser = getCurrentUser();
-        // 임시로 기본 Clinic 설정 (실제로는 사용자 소속 Clinic 등으로 설정해야 함)
-        Clinic clinic = clinicRepository.findById(1).orElseThrow();
-        item.setClinic(clinic);
+        // [수정] 사용자 소속 지점으로 설정
+        Integer clinicId = clinicContext.currentClinicId();
+        item.setClinic(clinicContext.currentClinic());
 
         if (item.getItem_id() == null) { // 신규 등록
             item.setCreatedBy(currentUser.getUser_account_id());
@@ -31,7 +50,7 @@ public class InventoryService {
             logChange(savedItem, "CREATE", item.getQuantity(), "신규 등록", currentUser.getUser_account_id());
             return savedItem;
         } else { // 수정
-            InventoryItem existingItem = inventoryItemRepository.findById(item.getItem_id()).orElseThrow();
+            InventoryItem existingItem = inventoryItemRepository.findByIdAndClinicId(item.getItem_id(), clinicId).orElseThrow();
             int quantityChange = item.getQuantity() - existingItem.getQuantity();
 
             existingItem.setItemName(item.getItemName());
@@ -59,6 +78,8 @@ public class InventoryService {
         log.setReason(reason);
         log.setLoggedBy(userId);
         inventoryLogRepository.save(log);
+        // [수정] 로그를 다시 읽지 않도록 소비량 예측도 같은 트랜잭션에서 증분 갱신
+        inventoryForecastService.recordMovement(item, changeType, quantityChanged, log.getLogDate().toLocalDate());
     }
 
     private UserAccount getCurrentUser() {
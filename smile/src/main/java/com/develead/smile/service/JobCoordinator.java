@@ -0,0 +1,172 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.JobLease;
+import com.develead.smile.repository.JobLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * DB 임대(lease) 기반 스케줄 작업 조정기.
+ * 작업을 N개의 파티션으로 나누고, 살아있는 노드가 파티션 단위로 임대를 획득해 처리한다.
+ * 처리 중에는 임대 기간의 1/3마다 임대를 연장하므로 오래 걸리는 파티션도 다른 노드에 넘어가지 않고,
+ * 노드가 죽으면 연장이 멈춰 임대가 만료되고 다른 노드가 해당 파티션을 회수한다.
+ */
+@Slf4j
+@Component
+public class JobCoordinator {
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate requiresNew;
+    private final long leaseSeconds;
+    private final String nodeId;
+    private final ScheduledExecutorService leaseRenewer;
+
+    public JobCoordinator(JobLeaseRepository jobLeaseRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${smile.jobs.lease-seconds:600}") long leaseSeconds) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseSeconds = leaseSeconds;
+        this.nodeId = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("job-lease-renewer").daemon().factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewer.shutdownNow();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * runKey(예: 실행 날짜) 단위로 한 번씩 각 파티션을 처리한다.
+     * 이미 완료되었거나 다른 노드가 유효한 임대를 가진 파티션은 건너뛴다.
+     *
+     * @return 이 노드가 처리한 파티션 수
+     */
+    public int runPartitioned(String jobName, String runKey, int partitionCount, IntConsumer work) {
+        ensurePartitions(jobName, partitionCount);
+
+        // 노드마다 시작 파티션을 다르게 하여 임대 경합을 줄인다
+        int offset = ThreadLocalRandom.current().nextInt(partitionCount);
+        int processed = 0;
+        for (int i = 0; i < partitionCount; i++) {
+            int partition = (offset + i) % partitionCount;
+            String leaseKey = leaseKey(jobName, partition, partitionCount);
+            if (!claim(leaseKey, runKey)) {
+                continue;
+            }
+            ScheduledFuture<?> renewal = startRenewal(leaseKey, runKey);
+            try {
+                work.accept(partition);
+                renewal.cancel(false);
+                complete(leaseKey, runKey);
+                processed++;
+            } catch (RuntimeException e) {
+                renewal.cancel(false);
+                log.error("Job {} partition {}/{} failed on {}", jobName, partition, partitionCount, nodeId, e);
+                release(leaseKey, runKey);
+            }
+        }
+        return processed;
+    }
+
+    private boolean claim(String leaseKey, String runKey) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = requiresNew.execute(status ->
+                jobLeaseRepository.tryClaim(leaseKey, runKey, nodeId, now.plusSeconds(leaseSeconds), now));
+        return updated != null && updated > 0;
+    }
+
+    // 취소 직후 실행 중이던 연장이 늦게 반영되더라도 RUNNING 상태에서만 연장되므로 완료/해제된 임대에는 영향이 없다
+    private ScheduledFuture<?> startRenewal(String leaseKey, String runKey) {
+        long intervalMillis = Math.max(1, leaseSeconds * 1000 / 3);
+        return leaseRenewer.scheduleWithFixedDelay(() -> renew(leaseKey, runKey),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void renew(String leaseKey, String runKey) {
+        try {
+            Integer updated = requiresNew.execute(status ->
+                    jobLeaseRepository.renew(leaseKey, runKey, nodeId, LocalDateTime.now().plusSeconds(leaseSeconds)));
+            if (updated == null || updated == 0) {
+                log.warn("Lease {} for run {} is no longer held by {}", leaseKey, runKey, nodeId);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // 다음 주기에 다시 시도한다. 임대가 만료되기 전까지 두 번의 기회가 더 있다.
+            log.warn("Failed to renew lease {} on {}: {}", leaseKey, nodeId, e.getMessage());
+        }
+    }
+
+    private void complete(String leaseKey, String runKey) {
+        Integer updated = requiresNew.execute(status ->
+                jobLeaseRepository.complete(leaseKey, runKey, nodeId, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            // 임대 만료 후 다른 노드가 회수한 경우. 해당 파티션은 중복 처리되었을 수 있다.
+            log.warn("Lease {} for run {} was taken over before {} completed it", leaseKey, runKey, nodeId);
+        }
+    }
+
+    private void release(String leaseKey, String runKey) {
+        requiresNew.execute(status -> jobLeaseRepository.release(leaseKey, runKey, nodeId, LocalDateTime.now()));
+    }
+
+    private void ensurePartitions(String jobName, int partitionCount) {
+        Set<String> existing = jobLeaseRepository.findAllByJobNameAndPartitionCount(jobName, partitionCount).stream()
+                .map(JobLease::getLeaseKey)
+                .collect(Collectors.toSet());
+        for (int partition = 0; partition < partitionCount; partition++) {
+            String leaseKey = leaseKey(jobName, partition, partitionCount);
+            if (existing.contains(leaseKey)) {
+                continue;
+            }
+            JobLease lease = new JobLease();
+            lease.setLeaseKey(leaseKey);
+            lease.setJobName(jobName);
+            lease.setPartitionNo(partition);
+            lease.setPartitionCount(partitionCount);
+            try {
+                requiresNew.executeWithoutResult(status -> {
+                    if (!jobLeaseRepository.existsById(leaseKey)) {
+                        jobLeaseRepository.save(lease);
+                    }
+                });
+            } catch (DataAccessException | TransactionException e) {
+                // 다른 노드가 동시에 생성함
+            }
+        }
+    }
+
+    private static String leaseKey(String jobName, int partition, int partitionCount) {
+        return jobName + ":" + partition + "/" + partitionCount;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.develead.smile.service;
 import com.develead.smile.domain.*;
+import com.develead.smile.dto.ListQuery;
+import com.develead.smile.dto.ListSort;
 import com.develead.smile.dto.MedicalRecordDto;
+import com.develead.smile.dto.MedicalRecordListItem;
 import com.develead.smile.dto.MedicalRecordServiceDto;
 import com.develead.smile.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -17,6 +25,10 @@ import java.util.stream.Collectors;
 
 @Service @RequiredArgsConstructor
 public class MedicalRecordService {
+    static final ListSort LIST_SORT = ListSort.by("record_id", "treatmentDate", Sort.Direction.DESC)
+            .allow("customerName", "customer.name")
+            .allow("totalCost", "totalCost");
+
     private final MedicalRecordRepository medicalRecordRepository;
     private final AppointmentRepository appointmentRepository;
     private final CustomerRepository customerRepository;
@@ -25,75 +37,108 @@ public class MedicalRecordService {
     private final UserAccountRepository userAccountRepository;
     private final MedicalRecordChangeLogRepository logRepository;
     private final BillingRepository billingRepository; // 추가
+    private final ClinicContext clinicContext;
+    private final DomainEventPublisher domainEventPublisher;
+    private final ArAgingService arAgingService;
+    private final PhaseRecorder phaseRecorder;
 
+    // [수정] 현재 사용자 소속 지점의 진료 기록만 조회
     public List<MedicalRecord> findAll() {
-        return medicalRecordRepository.findAll();
+        return medicalRecordRepository.findAllByClinicId(clinicContext.currentClinicId());
+    }
+
+    // [수정] 관리자 목록: 현재 지점 진료 기록 한 페이지 (q: 고객명 검색, 진료일 기간)
+    @Transactional(readOnly = true)
+    public Page<MedicalRecordListItem> findPage(ListQuery query, LocalDate startDate, LocalDate endDate) {
+        return medicalRecordRepository.findListItems(clinicContext.currentClinicId(), query.getQ(), startDate, endDate,
+                query.toPageable(LIST_SORT));
     }
 
-    // [수정] JOIN FETCH를 사용하는 새로운 메소드 호출
+    // [수정] JOIN FETCH를 사용하는 새로운 메소드 호출 (현재 지점 기록만)
     public Optional<MedicalRecord> findById(Integer id) {
-        return medicalRecordRepository.findByIdWithDetails(id);
+        return medicalRecordRepository.findByIdWithDetailsAndClinicId(id, clinicContext.currentClinicId());
     }
 
     @Transactional
     public MedicalRecord save(MedicalRecordDto dto) {
-        UserAccount currentUser = getCurrentUser();
-        Customer customer = customerRepository.findById(dto.getCustomerId()).orElseThrow();
-        Doctor doctor = doctorRepository.findById(dto.getDoctorId()).orElseThrow();
-
-        MedicalRecord record;
-        boolean isNewRecord = (dto.getRecord_id() == null);
-
-        if (isNewRecord) {
-            record = new MedicalRecord();
-            Appointment appointment = new Appointment();
-            appointment.setCustomer(customer);
-            appointment.setDoctor(doctor);
-            appointment.setClinic(doctor.getClinic());
-            appointment.setAppointmentDatetime(dto.getTreatmentDate().atStartOfDay());
-            appointment.setStatus("진료완료");
-            appointment.setCreatedBy(currentUser.getUser_account_id());
-            appointment = appointmentRepository.save(appointment);
-
-            record.setAppointment(appointment);
-            record.setCreatedBy(currentUser.getUser_account_id());
-        } else {
-            record = medicalRecordRepository.findById(dto.getRecord_id()).orElseThrow();
-            logIfChanged(record, "symptoms", record.getSymptoms(), dto.getSymptoms(), currentUser);
-        }
-
-        record.setCustomer(customer);
-        record.setDoctor(doctor);
-        record.setTreatmentDate(dto.getTreatmentDate());
-        record.setSymptoms(dto.getSymptoms());
-        record.setUpdatedBy(currentUser.getUser_account_id());
-
-        // [수정] 신규 레코드일 경우, 로그 기록 전에 먼저 저장하여 ID를 생성합니다.
-        if (isNewRecord) {
-            medicalRecordRepository.saveAndFlush(record);
-        }
-
-        updateServices(record, dto.getServices(), currentUser);
-
-        BigDecimal totalCost = record.getServices().stream()
-                .map(service -> service.getCostAtService().multiply(BigDecimal.valueOf(service.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // [수정] 구간별 소요 시간 측정 (smile.metrics.phase-sample-rate가 0이면 측정하지 않음)
+        try (PhaseRecorder.Timer timer = phaseRecorder.start("medicalRecord.save")) {
+            timer.phase("lookup");
+            UserAccount currentUser = getCurrentUser();
+            Integer clinicId = clinicContext.currentClinicId();
+            Customer customer = customerRepository.findById(dto.getCustomerId()).orElseThrow();
+            // [수정] 다른 지점 의사로 기록/예약을 만들지 않도록 현재 지점 소속 의사만 조회
+            Doctor doctor = doctorRepository.findByIdAndClinicId(dto.getDoctorId(), clinicId).orElseThrow();
+            // [수정] 진료 항목을 한 번에 조회 (신규 기록을 INSERT 전에 완성할 수 있도록 먼저 읽는다)
+            Map<Integer, MedicalRecordServiceDto> serviceDtos = dto.getServices() != null ?
+                    dto.getServices().stream().collect(Collectors.toMap(MedicalRecordServiceDto::getServiceItemId, Function.identity(), (a, b) -> a)) :
+                    Map.of();
+            Map<Integer, ServiceItem> serviceItems = serviceItemRepository.findAllById(serviceDtos.keySet()).stream()
+                    .collect(Collectors.toMap(ServiceItem::getService_item_id, Function.identity()));
+
+            MedicalRecord record;
+            boolean isNewRecord = (dto.getRecord_id() == null);
+            // [수정] 변경 로그는 모았다가 진료 기록을 영속화한 뒤 한 번에 저장한다
+            List<MedicalRecordChangeLog> changes = new ArrayList<>();
+
+            if (isNewRecord) {
+                timer.phase("appointment");
+                record = new MedicalRecord();
+                Appointment appointment = new Appointment();
+                appointment.setCustomer(customer);
+                appointment.setDoctor(doctor);
+                appointment.setClinic(doctor.getClinic());
+                appointment.setAppointmentDatetime(dto.getTreatmentDate().atStartOfDay());
+                appointment.setStatus("진료완료");
+                appointment.setCreatedBy(currentUser.getUser_account_id());
+                appointment = appointmentRepository.save(appointment);
+                // [수정] 진료 기록과 함께 만들어진 예약도 달력/대시보드에 반영되도록 변경 이벤트를 남긴다 (예약 알림 대상 아님)
+                domainEventPublisher.publishAppointmentEvent(OutboxEvent.EventType.APPOINTMENT_CHANGED, appointment);
+
+                record.setAppointment(appointment);
+                record.setCreatedBy(currentUser.getUser_account_id());
+            } else {
+                record = medicalRecordRepository.findByIdAndClinicId(dto.getRecord_id(), clinicId).orElseThrow();
+                logIfChanged(changes, record, "symptoms", record.getSymptoms(), dto.getSymptoms(), currentUser);
+            }
 
-        logIfChanged(record, "totalCost", record.getTotalCost().toString(), totalCost.toString(), currentUser);
-        record.setTotalCost(totalCost);
+            timer.phase("record");
+            record.setCustomer(customer);
+            record.setDoctor(doctor);
+            record.setTreatmentDate(dto.getTreatmentDate());
+            record.setSymptoms(dto.getSymptoms());
+            record.setUpdatedBy(currentUser.getUser_account_id());
+
+            timer.phase("services");
+            updateServices(record, serviceDtos, serviceItems, currentUser, changes);
+
+            timer.phase("cost");
+            BigDecimal totalCost = record.getServices().stream()
+                    .map(service -> service.getCostAtService().multiply(BigDecimal.valueOf(service.getQuantity())))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            logIfChanged(changes, record, "totalCost", record.getTotalCost().toString(), totalCost.toString(), currentUser);
+            record.setTotalCost(totalCost);
+
+            // [수정] 신규 레코드는 비용까지 채운 뒤 한 번만 영속화한다 (INSERT 후 UPDATE 없음).
+            // ID는 시퀀스에서 미리 할당되므로 진료 항목/로그와 함께 flush 때 테이블별 배치 INSERT로 나간다.
+            MedicalRecord savedRecord = medicalRecordRepository.save(record);
+            if (isNewRecord) {
+                logChange(changes, savedRecord, "ALL", null, "Created", currentUser);
+            }
+            logRepository.saveAll(changes);
 
-        MedicalRecord savedRecord = medicalRecordRepository.save(record);
+            timer.phase("billing");
+            if (isNewRecord) {
+                // [수정] 신규 진료 기록 생성 시, 청구서 정보도 함께 생성
+                createBillingForNewRecord(savedRecord, currentUser);
+            } else {
+                // [수정] 기존 진료 기록의 비용이 변경되면 청구서도 업데이트
+                updateBillingForExistingRecord(savedRecord, currentUser);
+            }
 
-        if (isNewRecord) {
-            logChange(savedRecord, "ALL", null, "Created", currentUser);
-            // [수정] 신규 진료 기록 생성 시, 청구서 정보도 함께 생성
-            createBillingForNewRecord(savedRecord, currentUser);
-        } else {
-            // [수정] 기존 진료 기록의 비용이 변경되면 청구서도 업데이트
-            updateBillingForExistingRecord(savedRecord, currentUser);
+            return savedRecord;
         }
-
-        return savedRecord;
     }
 
     private void createBillingForNewRecord(MedicalRecord record, UserAccount user) {
@@ -104,6 +149,7 @@ public class MedicalRecordService {
         billing.setCreatedBy(user.getUser_account_id());
         billing.setUpdatedBy(user.getUser_account_id());
         billingRepository.save(billing);
+        arAgingService.trackNew(billing);
     }
 
     private void updateBillingForExistingRecord(MedicalRecord record, UserAccount user) {
@@ -125,31 +171,34 @@ public class MedicalRecordService {
             billing.setBillingStatus("UNPAID");
         }
         billingRepository.save(billing);
+        // [수정] 청구 금액이나 진료일이 바뀌면 미수금 연령 원장도 갱신
+        arAgingService.track(billing);
     }
 
-    private void updateServices(MedicalRecord record, List<MedicalRecordServiceDto> serviceDtos, UserAccount user) {
-        Map<Integer, MedicalRecordServiceDto> dtoMap = (serviceDtos != null) ?
-                serviceDtos.stream().collect(Collectors.toMap(MedicalRecordServiceDto::getServiceItemId, Function.identity(), (a, b) -> a)) :
-                Map.of();
-
+    private void updateServices(MedicalRecord record, Map<Integer, MedicalRecordServiceDto> dtoMap,
+                                Map<Integer, ServiceItem> serviceItems, UserAccount user,
+                                List<MedicalRecordChangeLog> changes) {
         Map<Integer, com.develead.smile.domain.MedicalRecordService> existingServiceMap = record.getServices().stream()
                 .collect(Collectors.toMap(service -> service.getServiceItem().getService_item_id(), Function.identity()));
 
         record.getServices().removeIf(service -> {
             boolean shouldRemove = !dtoMap.containsKey(service.getServiceItem().getService_item_id());
             if (shouldRemove) {
-                logChange(record, "serviceItem", service.getServiceItem().getServiceName(), "Removed", user);
+                logChange(changes, record, "serviceItem", service.getServiceItem().getServiceName(), "Removed", user);
             }
             return shouldRemove;
         });
 
         dtoMap.forEach((itemId, dto) -> {
-            ServiceItem serviceItem = serviceItemRepository.findById(itemId).orElseThrow();
+            ServiceItem serviceItem = serviceItems.get(itemId);
+            if (serviceItem == null) {
+                throw new NoSuchElementException("Service item not found: " + itemId);
+            }
             com.develead.smile.domain.MedicalRecordService existingService = existingServiceMap.get(itemId);
 
             if (existingService != null) {
                 if (existingService.getQuantity() != dto.getQuantity()) {
-                    logChange(record, "serviceQuantity",
+                    logChange(changes, record, "serviceQuantity",
                             serviceItem.getServiceName() + ": " + existingService.getQuantity(),
                             serviceItem.getServiceName() + ": " + dto.getQuantity(), user);
                     existingService.setQuantity(dto.getQuantity());
@@ -161,25 +210,25 @@ public class MedicalRecordService {
                 newService.setQuantity(dto.getQuantity());
                 newService.setCostAtService(serviceItem.getDefaultCost());
                 record.getServices().add(newService);
-                logChange(record, "serviceItem", null, serviceItem.getServiceName() + " Added", user);
+                logChange(changes, record, "serviceItem", null, serviceItem.getServiceName() + " Added", user);
             }
         });
     }
 
-    private void logIfChanged(MedicalRecord record, String fieldName, String oldValue, String newValue, UserAccount user) {
+    private void logIfChanged(List<MedicalRecordChangeLog> changes, MedicalRecord record, String fieldName, String oldValue, String newValue, UserAccount user) {
         if (!Objects.equals(oldValue, newValue)) {
-            logChange(record, fieldName, oldValue, newValue, user);
+            logChange(changes, record, fieldName, oldValue, newValue, user);
         }
     }
 
-    private void logChange(MedicalRecord record, String fieldName, String prev, String next, UserAccount user) {
+    private void logChange(List<MedicalRecordChangeLog> changes, MedicalRecord record, String fieldName, String prev, String next, UserAccount user) {
         MedicalRecordChangeLog log = new MedicalRecordChangeLog();
         log.setMedicalRecord(record);
         log.setFieldName(fieldName);
         log.setPreviousValue(prev);
         log.setNewValue(next);
         log.setChangedBy(user);
-        logRepository.save(log);
+        changes.add(log);
     }
 
     private UserAccount getCurrentUser() {
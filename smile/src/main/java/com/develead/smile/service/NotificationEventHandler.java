@@ -0,0 +1,76 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.Appointment;
+import com.develead.smile.domain.Customer;
+import com.develead.smile.domain.OutboxEvent;
+import com.develead.smile.repository.AppointmentRepository;
+import com.develead.smile.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// 예약 확정/취소 알림 발송 (템플릿이 등록되지 않은 종류는 NotificationService에서 무시된다)
+// 일괄 변경은 대상 예약을 한 번에 읽어 한 번에 발송한다. 일정 변경은 새 일시로 예약 확정 알림을 보낸다.
+@Component
+@RequiredArgsConstructor
+public class NotificationEventHandler implements OutboxEventHandler {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy년 MM월 dd일 HH:mm");
+
+    private final CustomerRepository customerRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final NotificationService notificationService;
+
+    @Override
+    public boolean supports(OutboxEvent.EventType eventType) {
+        return eventType == OutboxEvent.EventType.APPOINTMENT_BOOKED
+                || eventType == OutboxEvent.EventType.APPOINTMENT_CANCELLED
+                || eventType == OutboxEvent.EventType.APPOINTMENTS_BULK_CHANGED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, Map<String, String> payload) {
+        if (event.getEventType() == OutboxEvent.EventType.APPOINTMENTS_BULK_CHANGED) {
+            handleBulk(payload);
+            return;
+        }
+        String customerId = payload.get("customerId");
+        String appointmentDatetime = payload.get("appointmentDatetime");
+        if (customerId == null || appointmentDatetime == null) {
+            return;
+        }
+        Customer customer = customerRepository.findById(Integer.valueOf(customerId)).orElse(null);
+        if (customer == null) {
+            return;
+        }
+        String templateKey = event.getEventType() == OutboxEvent.EventType.APPOINTMENT_BOOKED
+                ? "APPOINTMENT_CONFIRMATION" : "APPOINTMENT_CANCELLATION";
+        notificationService.sendNotification(customer, templateKey, params(customer, LocalDateTime.parse(appointmentDatetime)));
+    }
+
+    private void handleBulk(Map<String, String> payload) {
+        String bulkOperationId = payload.get("bulkOperationId");
+        if (bulkOperationId == null) {
+            return;
+        }
+        List<Appointment> appointments = appointmentRepository.findBulkChanged(bulkOperationId);
+        List<NotificationService.Recipient> recipients = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            recipients.add(new NotificationService.Recipient(appointment.getCustomer(),
+                    params(appointment.getCustomer(), appointment.getAppointmentDatetime())));
+        }
+        String templateKey = "CANCEL".equals(payload.get("operation"))
+                ? "APPOINTMENT_CANCELLATION" : "APPOINTMENT_CONFIRMATION";
+        notificationService.sendNotifications(templateKey, recipients);
+    }
+
+    private static Map<String, String> params(Customer customer, LocalDateTime appointmentDatetime) {
+        return Map.of(
+                "고객명", customer.getName(),
+                "예약일시", appointmentDatetime.format(FORMATTER)
+        );
+    }
+}
@@ -1,41 +1,93 @@
 package com.develead.smile.service;
 import com.develead.smile.domain.Appointment;
 import com.develead.smile.repository.AppointmentRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class NotificationScheduler {
+    private static final String REMINDER_JOB = "appointment-reminder";
+    private static final LocalTime REMINDER_TIME = LocalTime.of(9, 0);
+
     private final AppointmentRepository appointmentRepository;
     private final NotificationService notificationService;
+    private final JobCoordinator jobCoordinator;
+    private final TransactionTemplate transactionTemplate;
+    private final int reminderPartitions;
+
+    public NotificationScheduler(AppointmentRepository appointmentRepository,
+                                 NotificationService notificationService,
+                                 JobCoordinator jobCoordinator,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${smile.jobs.reminder.partitions:8}") int reminderPartitions) {
+        this.appointmentRepository = appointmentRepository;
+        this.notificationService = notificationService;
+        this.jobCoordinator = jobCoordinator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reminderPartitions = reminderPartitions;
+    }
 
     // 매일 오전 9시에 실행
+    // [수정] 여러 인스턴스가 동시에 실행해도 파티션(예약 ID 기준) 임대를 획득한 노드만 발송하므로 중복 발송되지 않음
     @Scheduled(cron = "0 0 9 * * *")
     public void sendAppointmentReminders() {
-        System.out.println("Sending daily appointment reminders...");
-        LocalDateTime startOfTomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+        runReminderJob();
+    }
+
+    // [수정] 9시 이후 완료되지 않은 파티션(죽은 노드가 잡고 있던 파티션 포함)을 주기적으로 회수하여 처리
+    @Scheduled(fixedDelayString = "${smile.jobs.reclaim-interval-ms:60000}", initialDelay = 60000)
+    public void reclaimAppointmentReminders() {
+        if (LocalTime.now().isBefore(REMINDER_TIME)) {
+            return;
+        }
+        runReminderJob();
+    }
+
+    private void runReminderJob() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime startOfTomorrow = today.plusDays(1).atStartOfDay();
         LocalDateTime endOfTomorrow = startOfTomorrow.plusDays(1).minusNanos(1);
 
-        List<Appointment> tomorrowAppointments = appointmentRepository.findAllByAppointmentDatetimeBetween(startOfTomorrow, endOfTomorrow);
+        int processed = jobCoordinator.runPartitioned(REMINDER_JOB, today.toString(), reminderPartitions,
+                partition -> sendReminders(startOfTomorrow, endOfTomorrow, partition));
+        if (processed > 0) {
+            log.info("Sent appointment reminders for {} partition(s) on {}", processed, jobCoordinator.getNodeId());
+        }
+    }
+
+    // [수정] 예약마다 발송 표시와 발송 로그를 한 트랜잭션으로 커밋한다.
+    // 임대가 만료되어 다른 노드가 파티션을 다시 처리해도 이미 보낸 예약은 조회에서 빠지고, 표시 UPDATE가 행을 잠가 동시 발송도 막는다.
+    void sendReminders(LocalDateTime start, LocalDateTime end, int partition) {
+        List<Appointment> tomorrowAppointments = appointmentRepository.findReminderPartition(
+                start, end, reminderPartitions, partition);
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
         for (Appointment app : tomorrowAppointments) {
-            notificationService.sendNotification(
-                    app.getCustomer(),
-                    "APPOINTMENT_REMINDER",
-                    Map.of(
-                            "고객명", app.getCustomer().getName(),
-                            "병원명", app.getClinic().getClinicName(),
-                            "예약일시", app.getAppointmentDatetime().format(formatter)
-                    )
-            );
+            transactionTemplate.executeWithoutResult(status -> {
+                if (appointmentRepository.markReminderSent(app.getAppointment_id(), app.getAppointmentDatetime()) == 0) {
+                    return;
+                }
+                notificationService.sendNotification(
+                        app.getCustomer(),
+                        "APPOINTMENT_REMINDER",
+                        Map.of(
+                                "고객명", app.getCustomer().getName(),
+                                "병원명", app.getClinic().getClinicName(),
+                                "예약일시", app.getAppointmentDatetime().format(formatter)
+                        )
+                );
+            });
         }
     }
 }
@@ -3,6 +3,8 @@ import com.develead.smile.domain.*;
 import com.develead.smile.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Service @RequiredArgsConstructor
@@ -10,27 +12,47 @@ public class NotificationService {
     private final NotificationTemplateRepository templateRepository;
     private final NotificationLogRepository logRepository;
 
+    public record Recipient(Customer customer, Map<String, String> params) {
+    }
+
     public void sendNotification(Customer customer, String templateKey, Map<String, String> params) {
-        templateRepository.findByTemplateKey(templateKey).ifPresent(template -> {
-            String content = template.getBody();
-            for (Map.Entry<String, String> entry : params.entrySet()) {
-                content = content.replace("{" + entry.getKey() + "}", entry.getValue());
-            }
+        templateRepository.findByTemplateKey(templateKey).ifPresent(template ->
+                logRepository.save(send(template, new Recipient(customer, params))));
+    }
+
+    // [수정] 일괄 발송. 템플릿은 한 번만 읽고 발송 로그는 한 번에 저장한다 (JDBC 배치 INSERT)
+    public int sendNotifications(String templateKey, List<Recipient> recipients) {
+        NotificationTemplate template = templateRepository.findByTemplateKey(templateKey).orElse(null);
+        if (template == null || recipients.isEmpty()) {
+            return 0;
+        }
+        List<NotificationLog> logs = new ArrayList<>(recipients.size());
+        for (Recipient recipient : recipients) {
+            logs.add(send(template, recipient));
+        }
+        logRepository.saveAll(logs);
+        return logs.size();
+    }
+
+    private NotificationLog send(NotificationTemplate template, Recipient recipient) {
+        String content = template.getBody();
+        for (Map.Entry<String, String> entry : recipient.params().entrySet()) {
+            content = content.replace("{" + entry.getKey() + "}", entry.getValue());
+        }
 
-            // 실제 발송 로직 (예: SMS API 호출) 대신 콘솔 출력으로 시뮬레이션
-            System.out.println("--- Sending Notification ---");
-            System.out.println("To: " + customer.getPhoneNumber());
-            System.out.println("Content: " + content);
-            System.out.println("--------------------------");
+        // 실제 발송 로직 (예: SMS API 호출) 대신 콘솔 출력으로 시뮬레이션
+        System.out.println("--- Sending Notification ---");
+        System.out.println("To: " + recipient.customer().getPhoneNumber());
+        System.out.println("Content: " + content);
+        System.out.println("--------------------------");
 
-            // 발송 로그 기록
-            NotificationLog log = new NotificationLog();
-            log.setCustomer(customer);
-            log.setChannel(template.getChannel());
-            log.setTemplateKey(templateKey);
-            log.setContent(content);
-            log.setStatus("SUCCESS"); // 실제로는 API 응답에 따라 SUCCESS/FAILED 설정
-            logRepository.save(log);
-        });
+        // 발송 로그 기록
+        NotificationLog log = new NotificationLog();
+        log.setCustomer(recipient.customer());
+        log.setChannel(template.getChannel());
+        log.setTemplateKey(template.getTemplateKey());
+        log.setContent(content);
+        log.setStatus("SUCCESS"); // 실제로는 API 응답에 따라 SUCCESS/FAILED 설정
+        return log;
     }
 }
@@ -1,15 +1,32 @@
 package com.develead.smile.service;
 import com.develead.smile.domain.NotificationTemplate;
+import com.develead.smile.dto.ListQuery;
+import com.develead.smile.dto.ListSort;
+import com.develead.smile.dto.NotificationTemplateListItem;
 import com.develead.smile.repository.NotificationTemplateRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
-@Service @RequiredArgsConstructor
+@Service @RequiredArgsConstructor @Lazy
 public class NotificationTemplateService {
+    static final ListSort LIST_SORT = ListSort.by("template_id", "templateKey", Sort.Direction.ASC)
+            .allow("channel", "channel");
+
     private final NotificationTemplateRepository templateRepository;
     public List<NotificationTemplate> findAll() { return templateRepository.findAll(); }
     public Optional<NotificationTemplate> findById(Integer id) { return templateRepository.findById(id); }
     public NotificationTemplate save(NotificationTemplate template) { return templateRepository.save(template); }
+
+    // [수정] 관리자 목록: 본문 없이 한 페이지만 조회 (q: 키/설명 검색, channel: SMS/EMAIL)
+    @Transactional(readOnly = true)
+    public Page<NotificationTemplateListItem> findPage(ListQuery query, String channel) {
+        String filter = channel == null || channel.isBlank() ? null : channel;
+        return templateRepository.findListItems(query.getQ(), filter, query.toPageable(LIST_SORT));
+    }
 }
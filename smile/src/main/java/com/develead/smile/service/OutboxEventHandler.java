@@ -0,0 +1,20 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.OutboxEvent;
+import org.springframework.util.ClassUtils;
+import java.util.Map;
+
+/**
+ * 아웃박스 이벤트 소비자. 전달은 최소 1회(at-least-once)이므로 같은 이벤트가 다시 전달되어도 안전해야 한다.
+ * 릴레이는 핸들러별 완료 여부를 이벤트에 남기므로, 다른 핸들러가 실패해 재시도될 때 이미 성공한 핸들러는 다시 호출되지 않는다.
+ * (처리 중 노드가 죽어 점유가 만료된 경우에는 다시 호출될 수 있다)
+ */
+public interface OutboxEventHandler {
+    boolean supports(OutboxEvent.EventType eventType);
+
+    void handle(OutboxEvent event, Map<String, String> payload);
+
+    // 완료 기록에 쓰는 이름. 이벤트가 남아 있는 동안 바뀌면 안 된다.
+    default String name() {
+        return ClassUtils.getUserClass(this).getSimpleName();
+    }
+}
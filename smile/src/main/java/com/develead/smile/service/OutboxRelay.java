@@ -0,0 +1,167 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.OutboxEvent;
+import com.develead.smile.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 아웃박스 릴레이. 커밋된 이벤트를 점유(claim)한 뒤 등록된 {@link OutboxEventHandler}에 전달한다.
+ * 커밋 직후 신호로 즉시 깨어나고, 신호를 놓친 경우(다른 노드, 재시작)를 위해 주기적으로도 폴링한다.
+ * 실패한 이벤트는 지수 백오프로 재시도하고, 최대 횟수를 넘으면 FAILED로 남긴다.
+ * 재시도할 때는 이전 시도에서 이미 성공한 핸들러를 건너뛴다 (알림이 중복 발송되지 않도록).
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final TransactionTemplate requiresNew;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long claimSeconds;
+    private final int retentionDays;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("outbox-relay").factory());
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxEventHandler> handlers,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${smile.outbox.batch-size:100}") int batchSize,
+                       @Value("${smile.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${smile.outbox.claim-seconds:300}") long claimSeconds,
+                       @Value("${smile.outbox.retention-days:7}") int retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.claimSeconds = claimSeconds;
+        this.retentionDays = retentionDays;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOutboxWritten(DomainEventPublisher.OutboxWritten signal) {
+        requestDispatch();
+    }
+
+    @Scheduled(fixedDelayString = "${smile.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        requestDispatch();
+    }
+
+    // 여러 신호가 몰려도 대기 중인 처리는 하나만 둔다 (처리 중 들어온 신호는 다음 회차로 합쳐짐)
+    public void requestDispatch() {
+        if (dispatchQueued.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                dispatchQueued.set(false);
+                dispatchPending();
+            });
+        }
+    }
+
+    @Scheduled(cron = "${smile.outbox.cleanup-cron:0 20 4 * * *}")
+    public void purgeProcessed() {
+        Integer deleted = requiresNew.execute(status ->
+                outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        log.info("Purged {} processed outbox events", deleted);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    void dispatchPending() {
+        try {
+            List<OutboxEvent> batch;
+            do {
+                batch = claimBatch();
+                batch.forEach(this::dispatch);
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Outbox dispatch failed", e);
+        }
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        String token = UUID.randomUUID().toString();
+        return requiresNew.execute(status -> {
+            List<Long> ids = outboxEventRepository.findDispatchableIds(now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxEventRepository.claim(ids, token, now.plusSeconds(claimSeconds), now);
+            return outboxEventRepository.findClaimed(token);
+        });
+    }
+
+    private void dispatch(OutboxEvent event) {
+        Set<String> completed = completedHandlers(event);
+        try {
+            Map<String, String> payload = readPayload(event.getPayload());
+            for (OutboxEventHandler handler : handlers) {
+                if (handler.supports(event.getEventType()) && !completed.contains(handler.name())) {
+                    handler.handle(event, payload);
+                    completed.add(handler.name());
+                }
+            }
+            requiresNew.executeWithoutResult(status ->
+                    outboxEventRepository.markDone(event.getEvent_id(), event.getClaimToken(), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            int attempts = event.getAttempts() + 1;
+            boolean giveUp = attempts >= maxAttempts;
+            long backoffSeconds = Math.min(1L << Math.min(attempts, 12), 3600);
+            String error = e.toString().length() > 1000 ? e.toString().substring(0, 1000) : e.toString();
+            requiresNew.executeWithoutResult(status -> outboxEventRepository.markFailed(
+                    event.getEvent_id(), event.getClaimToken(), giveUp ? OutboxEvent.FAILED : OutboxEvent.PENDING,
+                    attempts, LocalDateTime.now().plusSeconds(backoffSeconds), error,
+                    completed.isEmpty() ? null : String.join(",", completed)));
+            log.warn("Outbox event {} ({}) failed on attempt {}{}", event.getEvent_id(), event.getEventType(), attempts,
+                    giveUp ? ", giving up" : "", e);
+        }
+    }
+
+    private static Set<String> completedHandlers(OutboxEvent event) {
+        Set<String> completed = new LinkedHashSet<>();
+        if (event.getCompletedHandlers() != null && !event.getCompletedHandlers().isBlank()) {
+            completed.addAll(Arrays.asList(event.getCompletedHandlers().split(",")));
+        }
+        return completed;
+    }
+
+    private Map<String, String> readPayload(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.develead.smile.service;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 서로 독립적인 읽기 전용 조회를 가상 스레드에서 동시에 실행한다. 응답 시간이 조회 시간의 합이 아니라 가장 느린 조회 시간이 된다.
+ *
+ * <pre>
+ * try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+ *     Supplier&lt;Long&gt; count = scope.fork(repository::count);
+ *     scope.join();
+ *     return count.get();
+ * }
+ * </pre>
+ *
+ * 각 조회는 자체 읽기 전용 트랜잭션에서 실행되므로 호출자의 트랜잭션에서 아직 커밋되지 않은 변경은 보이지 않는다.
+ * 호출 스레드의 SecurityContext는 각 조회 스레드로 전달된다.
+ * 하나라도 실패하거나 마감 시간을 넘기면 나머지 조회는 취소된다.
+ */
+@Component
+public class ParallelQueryExecutor {
+    private final PlatformTransactionManager transactionManager;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("parallel-query-", 0).factory());
+    // 커넥션 풀을 다 쓰지 않도록 동시에 실행되는 조회 수 제한
+    private final Semaphore permits;
+    private final Duration defaultTimeout;
+
+    public ParallelQueryExecutor(PlatformTransactionManager transactionManager,
+                                 @Value("${smile.parallel.max-concurrency:8}") int maxConcurrency,
+                                 @Value("${smile.parallel.default-timeout-ms:5000}") long defaultTimeoutMs) {
+        this.transactionManager = transactionManager;
+        this.permits = new Semaphore(maxConcurrency);
+        this.defaultTimeout = Duration.ofMillis(defaultTimeoutMs);
+    }
+
+    public Scope open() {
+        return open(defaultTimeout);
+    }
+
+    public Scope open(Duration timeout) {
+        return new Scope(Instant.now().plus(timeout));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T runQuery(Supplier<T> query, Instant deadline) throws InterruptedException {
+        if (!permits.tryAcquire(remainingMillis(deadline), TimeUnit.MILLISECONDS)) {
+            throw new QueryTimeoutException("No query slot became available before the deadline");
+        }
+        try {
+            long remaining = remainingMillis(deadline);
+            if (remaining <= 0) {
+                throw new QueryTimeoutException("Deadline passed before the query started");
+            }
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            // 트랜잭션 타임아웃은 JPA 쿼리 타임아웃으로도 적용되어 DB에서도 조회가 중단된다
+            template.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remaining + 999)));
+            return template.execute(status -> query.get());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static long remainingMillis(Instant deadline) {
+        return Duration.between(Instant.now(), deadline).toMillis();
+    }
+
+    public final class Scope implements AutoCloseable {
+        private final Instant deadline;
+        private final SecurityContext securityContext = SecurityContextHolder.getContext();
+        private final CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+        private final List<Future<Object>> futures = new ArrayList<>();
+
+        private Scope(Instant deadline) {
+            this.deadline = deadline;
+        }
+
+        /** 조회를 시작한다. 반환된 Supplier는 {@link #join()} 이후에만 사용할 수 있다. */
+        @SuppressWarnings("unchecked")
+        public <T> Supplier<T> fork(Supplier<T> query) {
+            Callable<Object> task = () -> runQuery(query, deadline);
+            Future<Object> future = completion.submit(new DelegatingSecurityContextCallable<>(task, securityContext));
+            futures.add(future);
+            return () -> {
+                if (future.state() != Future.State.SUCCESS) {
+                    throw new IllegalStateException("join() must complete successfully before reading results");
+                }
+                return (T) future.resultNow();
+            };
+        }
+
+        /**
+         * 모든 조회가 끝날 때까지 기다린다. 끝난 순서대로 확인하므로 하나가 실패하면 느린 조회를 기다리지 않고
+         * 즉시 나머지를 취소하고 예외를 던진다. 마감 시간을 넘긴 경우도 마찬가지다.
+         */
+        public void join() {
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    Future<Object> done = completion.poll(Math.max(0, remainingMillis(deadline)), TimeUnit.MILLISECONDS);
+                    if (done == null) {
+                        cancelAll();
+                        throw new QueryTimeoutException("Parallel queries did not finish before the deadline");
+                    }
+                    done.get();
+                }
+            } catch (ExecutionException e) {
+                cancelAll();
+                throw propagate(e.getCause());
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for parallel queries");
+            }
+        }
+
+        // 조회 결과를 쓰지 않고 빠져나가는 경우(예외 등)에도 남은 조회를 정리한다
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        private RuntimeException propagate(Throwable cause) {
+            if (cause instanceof RuntimeException runtimeException) {
+                return runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            return new IllegalStateException(cause);
+        }
+    }
+}
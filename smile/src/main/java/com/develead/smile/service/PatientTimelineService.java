@@ -0,0 +1,116 @@
+package com.develead.smile.service;
+import com.develead.smile.domain.Customer;
+import com.develead.smile.dto.PatientTimelineDto;
+import com.develead.smile.dto.PatientTimelineEntry;
+import com.develead.smile.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 환자 타임라인 조회 서비스.
+ * 예약/진료/결제/문의를 각각 한 번의 프로젝션 쿼리(커서 이후 size+1건)로 읽어 시간순으로 병합한다.
+ * 정렬 키: 발생시각 DESC, 종류 순서 ASC, ID DESC
+ * 예약/진료/결제는 현재 지점 것만 보인다. 챗봇 문의는 지점 구분이 없어 고객(전화번호) 기준으로만 거른다.
+ */
+@Service
+@RequiredArgsConstructor
+@Lazy
+@Transactional(readOnly = true)
+public class PatientTimelineService {
+    private static final List<String> KIND_ORDER = List.of("APPOINTMENT", "TREATMENT", "PAYMENT", "INQUIRY");
+    private static final LocalDateTime FIRST_PAGE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final Comparator<PatientTimelineEntry> TIMELINE_ORDER =
+            Comparator.comparing(PatientTimelineEntry::getOccurredAt).reversed()
+                    .thenComparing(entry -> KIND_ORDER.indexOf(entry.getKind()))
+                    .thenComparing(PatientTimelineEntry::getSourceId, Comparator.reverseOrder());
+
+    private final CustomerRepository customerRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final PaymentTransactionRepository paymentTransactionRepository;
+    private final ChatbotInquiryRepository chatbotInquiryRepository;
+    private final ClinicContext clinicContext;
+
+    public PatientTimelineDto getTimeline(Integer customerId, String cursor, int size) {
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid customer Id:" + customerId));
+        Cursor after = Cursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        Integer clinicId = clinicContext.currentClinicId();
+
+        List<PatientTimelineEntry> merged = new ArrayList<>();
+        merged.addAll(appointmentRepository.findTimelineEntries(
+                clinicId, customerId, after.occurredAt, after.beforeIdFor("APPOINTMENT"), limit));
+        merged.addAll(medicalRecordRepository.findTimelineEntries(
+                clinicId, customerId, after.occurredAt.toLocalDate(), after.beforeIdForTreatment(), limit));
+        merged.addAll(paymentTransactionRepository.findTimelineEntries(
+                clinicId, customerId, after.occurredAt, after.beforeIdFor("PAYMENT"), limit));
+        merged.addAll(chatbotInquiryRepository.findTimelineEntries(
+                customer.getPhoneNumber(), after.occurredAt, after.beforeIdFor("INQUIRY"), limit));
+        merged.sort(TIMELINE_ORDER);
+
+        List<PatientTimelineEntry> page = merged.size() > size ? merged.subList(0, size) : merged;
+        String nextCursor = merged.size() > size ? Cursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return PatientTimelineDto.builder()
+                .customerId(customerId)
+                .customerName(customer.getName())
+                .entries(new ArrayList<>(page))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // 마지막으로 반환한 항목의 (발생시각, 종류, ID). 각 소스 쿼리의 "이전 항목" 조건으로 변환된다.
+    private record Cursor(LocalDateTime occurredAt, int kindOrder, int sourceId) {
+
+        static Cursor of(PatientTimelineEntry entry) {
+            return new Cursor(entry.getOccurredAt(), KIND_ORDER.indexOf(entry.getKind()), entry.getSourceId());
+        }
+
+        static Cursor decode(String value) {
+            if (value == null || value.isBlank()) {
+                return new Cursor(FIRST_PAGE, -1, Integer.MAX_VALUE);
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split("~");
+                return new Cursor(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid timeline cursor: " + value);
+            }
+        }
+
+        String encode() {
+            String raw = occurredAt + "~" + kindOrder + "~" + sourceId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // 같은 시각이면 종류 순서가 뒤인 소스는 전부, 같은 종류는 더 작은 ID만, 앞선 종류는 제외
+        int beforeIdFor(String kind) {
+            int order = KIND_ORDER.indexOf(kind);
+            if (order > kindOrder) return Integer.MAX_VALUE;
+            if (order == kindOrder) return sourceId;
+            return Integer.MIN_VALUE;
+        }
+
+        // 진료 기록은 날짜 단위이므로 커서가 자정이 아니면 해당 날짜의 기록은 모두 커서 이전이다
+        int beforeIdForTreatment() {
+            if (!occurredAt.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+                return Integer.MAX_VALUE;
+            }
+            return beforeIdFor("TREATMENT");
+        }
+    }
+}
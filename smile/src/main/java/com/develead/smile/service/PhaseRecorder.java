@@ -0,0 +1,155 @@
+package com.develead.smile.service;
+
+import com.develead.smile.dto.PhaseStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 쓰기 경로의 구간(phase)별 소요 시간을 히스토그램으로 모은다.
+ *
+ * <pre>
+ * try (PhaseRecorder.Timer timer = phaseRecorder.start("medicalRecord.save")) {
+ *     timer.phase("lookup");
+ *     ...
+ *     timer.phase("billing");
+ *     ...
+ * }
+ * </pre>
+ *
+ * phase()를 부르면 이전 구간이 끝나고 새 구간이 시작되며, 마지막 구간은 close()에서 끝난다.
+ * 트랜잭션 안에서 쓰면 close() 이후 커밋(남은 flush 포함)까지를 "commit"(롤백이면 "rollback") 구간으로,
+ * 시작부터 트랜잭션 종료까지를 "total"로 기록한다.
+ * <p>
+ * smile.metrics.phase-sample-rate(0~1, 기본 0)의 비율로 작업 단위 샘플링을 한다. 샘플링되지 않은 작업은
+ * 아무것도 하지 않는 타이머를 받으므로 꺼져 있을 때는 시각 측정도 하지 않는다.
+ */
+@Component
+public class PhaseRecorder {
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::operation).thenComparing(Key::phase);
+
+    private final double sampleRate;
+    private final ConcurrentMap<Key, PhaseHistogram> histograms = new ConcurrentHashMap<>();
+
+    public PhaseRecorder(@Value("${smile.metrics.phase-sample-rate:0}") double sampleRate) {
+        this.sampleRate = Math.max(0, Math.min(1, sampleRate));
+    }
+
+    public Timer start(String operation) {
+        if (sampleRate == 0 || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return Timer.OFF;
+        }
+        return new ActiveTimer(operation);
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public List<PhaseStats> snapshot() {
+        return histograms.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .map(e -> stats(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    void record(String operation, String phase, long nanos) {
+        Key key = new Key(operation, phase);
+        PhaseHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(key, k -> new PhaseHistogram());
+        }
+        histogram.record(nanos / 1_000);
+    }
+
+    private static PhaseStats stats(Key key, PhaseHistogram histogram) {
+        long count = histogram.count();
+        return new PhaseStats(key.operation, key.phase, count, count > 0 ? histogram.sum() / count : 0,
+                histogram.percentile(0.5), histogram.percentile(0.95), histogram.percentile(0.99), histogram.max());
+    }
+
+    private record Key(String operation, String phase) {
+    }
+
+    /**
+     * 한 작업의 구간 타이머. 한 스레드에서만 쓴다.
+     */
+    public interface Timer extends AutoCloseable {
+        Timer OFF = new Timer() {
+            @Override
+            public void phase(String name) {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        // 이전 구간을 끝내고 name 구간을 시작한다
+        void phase(String name);
+
+        @Override
+        void close();
+    }
+
+    private final class ActiveTimer implements Timer {
+        private final String operation;
+        private final long startedAt = System.nanoTime();
+        private String phase;
+        private long phaseStartedAt;
+        private boolean closed;
+
+        ActiveTimer(String operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public void phase(String name) {
+            long now = System.nanoTime();
+            endPhase(now);
+            phase = name;
+            phaseStartedAt = now;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long closedAt = System.nanoTime();
+            endPhase(closedAt);
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                record(operation, "total", closedAt - startedAt);
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    long completedAt = System.nanoTime();
+                    record(operation, status == STATUS_COMMITTED ? "commit" : "rollback", completedAt - closedAt);
+                    record(operation, "total", completedAt - startedAt);
+                }
+            });
+        }
+
+        private void endPhase(long now) {
+            if (phase != null) {
+                record(operation, phase, now - phaseStartedAt);
+                phase = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.develead.smile.service;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+/**
+ * 생성된 보고서 PDF를 로컬 디스크에 보관하는 내용 주소(content-addressed) 캐시.
+ * 키 = 보고서 종류 + 기간 + 데이터 버전. 데이터가 바뀌면 키가 달라지므로 별도의 무효화가 필요 없다.
+ */
+@Slf4j
+@Component
+public class ReportCache {
+
+    @FunctionalInterface
+    public interface PdfRenderer {
+        byte[] render() throws IOException;
+    }
+
+    private final Path cacheDir;
+
+    public ReportCache(@Value("${smile.report.cache-dir:${java.io.tmpdir}/smile-report-cache}") String cacheDir) {
+        this.cacheDir = Paths.get(cacheDir);
+    }
+
+    public byte[] getOrRender(String reportType, String period, String dataVersion, PdfRenderer renderer) throws IOException {
+        Path file = cacheDir.resolve(fileName(reportType, period, dataVersion));
+        if (Files.isRegularFile(file)) {
+            return Files.readAllBytes(file);
+        }
+
+        byte[] pdf = renderer.render();
+        try {
+            store(reportType, period, file, pdf);
+        } catch (IOException e) {
+            // 캐시 저장 실패는 보고서 생성 자체를 실패시키지 않는다
+            log.warn("Failed to cache report {}: {}", file, e.getMessage());
+        }
+        return pdf;
+    }
+
+    public boolean contains(String reportType, String period, String dataVersion) {
+        return Files.isRegularFile(cacheDir.resolve(fileName(reportType, period, dataVersion)));
+    }
+
+    private void store(String reportType, String period, Path file, byte[] pdf) throws IOException {
+        Files.createDirectories(cacheDir);
+        Path temp = Files.createTempFile(cacheDir, "report-", ".tmp");
+        try {
+            Files.write(temp, pdf);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        evictOtherVersions(prefix(reportType, period), file);
+    }
+
+    // 같은 기간의 이전 데이터 버전 파일 정리
+    private void evictOtherVersions(String prefix, Path keep) throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.filter(path -> path.getFileName().toString().startsWith(prefix) && !path.equals(keep))
+                    .forEach(path -> {
+                        try {
+                            Files.deleteIfExists(path);
+                        } catch (IOException e) {
+                            log.debug("Could not delete stale report {}", path);
+                        }
+                    });
+        }
+    }
+
+    private static String fileName(String reportType, String period, String dataVersion) {
+        return prefix(reportType, period) + sha256(reportType + "|" + period + "|" + dataVersion).substring(0, 16) + ".pdf";
+    }
+
+    private static String prefix(String reportType, String period) {
+        return reportType + "_" + period + "_";
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.develead.smile.service;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+// 새벽 시간대에 전일/전주/전월 보고서를 미리 렌더링하여 디스크 캐시를 채운다.
+// [수정] 보고서 종류별로 JobCoordinator 파티션을 나눠 임대를 얻은 노드만 렌더링한다.
+// 여러 노드가 캐시를 나눠 쓰려면 smile.report.cache-dir을 공유 볼륨으로 지정해야 하며,
+// 로컬 디스크를 쓰는 노드는 미리 렌더링되지 않은 보고서를 첫 요청 때 렌더링한다.
+@Slf4j
+@Component
+public class ReportPrecomputeScheduler {
+    private static final String PRECOMPUTE_JOB = "report-precompute";
+    private static final int DAILY = 0;
+    private static final int WEEKLY = 1;
+    private static final int MONTHLY = 2;
+    private static final int REPORT_TYPES = 3;
+
+    private final ReportService reportService;
+    private final JobCoordinator jobCoordinator;
+    private final CronExpression precomputeCron;
+
+    public ReportPrecomputeScheduler(ReportService reportService,
+                                     JobCoordinator jobCoordinator,
+                                     @Value("${smile.report.precompute-cron:0 30 3 * * *}") String precomputeCron) {
+        this.reportService = reportService;
+        this.jobCoordinator = jobCoordinator;
+        this.precomputeCron = CronExpression.parse(precomputeCron);
+    }
+
+    @Scheduled(cron = "${smile.report.precompute-cron:0 30 3 * * *}")
+    public void precomputeReports() {
+        runPrecomputeJob();
+    }
+
+    // [수정] 오늘 예정 시각이 지난 뒤 완료되지 않은 보고서(실패했거나 죽은 노드가 잡고 있던 파티션)를 회수하여 처리
+    @Scheduled(fixedDelayString = "${smile.jobs.reclaim-interval-ms:60000}", initialDelay = 60000)
+    public void reclaimReports() {
+        LocalDateTime scheduledToday = precomputeCron.next(LocalDate.now().atStartOfDay().minusNanos(1));
+        if (scheduledToday == null || LocalDateTime.now().isBefore(scheduledToday)) {
+            return;
+        }
+        runPrecomputeJob();
+    }
+
+    private void runPrecomputeJob() {
+        LocalDate today = LocalDate.now();
+        int processed = jobCoordinator.runPartitioned(PRECOMPUTE_JOB, today.toString(), REPORT_TYPES,
+                reportType -> precompute(today, reportType));
+        if (processed > 0) {
+            log.info("Precomputed {} sales report(s) for {} on {}", processed, today.minusDays(1), jobCoordinator.getNodeId());
+        }
+    }
+
+    // 실패는 예외로 알려야 JobCoordinator가 임대를 풀고 다음 회수 주기에 다시 시도한다
+    private void precompute(LocalDate today, int reportType) {
+        try {
+            switch (reportType) {
+                case DAILY -> reportService.generateDailySalesReport(today.minusDays(1));
+                case WEEKLY -> reportService.generateWeeklySalesReport(today.minusWeeks(1));
+                case MONTHLY -> reportService.generateMonthlySalesReport(YearMonth.from(today).minusMonths(1));
+                default -> throw new IllegalArgumentException("Unknown report partition: " + reportType);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
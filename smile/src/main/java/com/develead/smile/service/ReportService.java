@@ -21,18 +21,21 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class ReportService {
+    // 보고서 템플릿/렌더링 방식이 바뀌면 올려서 기존 캐시를 무효화한다
+    private static final String RENDER_VERSION = "1";
+
     private final PaymentTransactionRepository transactionRepository;
     private final SpringTemplateEngine templateEngine;
+    private final ReportCache reportCache;
 
     public byte[] generateDailySalesReport(LocalDate date) throws IOException {
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.atTime(LocalTime.MAX);
-        List<PaymentTransaction> transactions = transactionRepository.findAllByTransactionDateBetween(start, end);
 
         String title = "일일 매출 보고서";
         String dateRange = date.format(DateTimeFormatter.ofPattern("yyyy년 MM월 dd일"));
 
-        return generatePdfFromTransactions(title, dateRange, transactions);
+        return renderCached("daily", date.toString(), start, end, title, dateRange);
     }
 
     public byte[] generateWeeklySalesReport(LocalDate date) throws IOException {
@@ -41,7 +44,6 @@ public class ReportService {
 
         LocalDateTime start = startOfWeek.atStartOfDay();
         LocalDateTime end = endOfWeek.atTime(LocalTime.MAX);
-        List<PaymentTransaction> transactions = transactionRepository.findAllByTransactionDateBetween(start, end);
 
         String title = "주간 매출 보고서";
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy.MM.dd");
@@ -51,18 +53,25 @@ public class ReportService {
                 startOfWeek.getYear(),
                 startOfWeek.get(WeekFields.of(Locale.KOREA).weekOfYear()));
 
-        return generatePdfFromTransactions(title, dateRange, transactions);
+        return renderCached("weekly", startOfWeek.toString(), start, end, title, dateRange);
     }
 
     public byte[] generateMonthlySalesReport(YearMonth yearMonth) throws IOException {
         LocalDateTime start = yearMonth.atDay(1).atStartOfDay();
         LocalDateTime end = yearMonth.atEndOfMonth().atTime(LocalTime.MAX);
-        List<PaymentTransaction> transactions = transactionRepository.findAllByTransactionDateBetween(start, end);
 
         String title = "월간 매출 보고서";
         String dateRange = yearMonth.format(DateTimeFormatter.ofPattern("yyyy년 MM월"));
 
-        return generatePdfFromTransactions(title, dateRange, transactions);
+        return renderCached("monthly", yearMonth.toString(), start, end, title, dateRange);
+    }
+
+    // [수정] 기간 내 결제 데이터 버전이 같으면 디스크에 캐시된 PDF를 그대로 반환
+    private byte[] renderCached(String reportType, String period, LocalDateTime start, LocalDateTime end,
+                                String title, String dateRange) throws IOException {
+        String dataVersion = RENDER_VERSION + ":" + transactionRepository.findDataVersionBetween(start, end).token();
+        return reportCache.getOrRender(reportType, period, dataVersion, () ->
+                generatePdfFromTransactions(title, dateRange, transactionRepository.findAllByTransactionDateBetween(start, end)));
     }
 
     private byte[] generatePdfFromTransactions(String title, String dateRange, List<PaymentTransaction> transactions) throws IOException {
@@ -1,7 +1,13 @@
 package com.develead.smile.service;
 import com.develead.smile.domain.*;
+import com.develead.smile.dto.ListQuery;
+import com.develead.smile.dto.ListSort;
+import com.develead.smile.dto.ServiceItemListItem;
 import com.develead.smile.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -9,8 +15,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-@Service @RequiredArgsConstructor
+@Service @RequiredArgsConstructor @Lazy
 public class ServiceItemService {
+    static final ListSort LIST_SORT = ListSort.by("service_item_id", "serviceCode", Sort.Direction.ASC)
+            .allow("serviceName", "serviceName")
+            .allow("category", "category")
+            .allow("defaultCost", "defaultCost");
+
     private final ServiceItemRepository serviceItemRepository;
     private final ServiceItemChangeLogRepository logRepository;
     private final UserAccountRepository userAccountRepository;
@@ -18,6 +29,16 @@ public class ServiceItemService {
     public List<ServiceItem> findAll() { return serviceItemRepository.findAll(); }
     public Optional<ServiceItem> findById(Integer id) { return serviceItemRepository.findById(id); }
 
+    // [수정] 관리자 목록: 삭제되지 않은 항목을 DB에서 걸러 한 페이지만 조회 (q: 코드/항목명 검색)
+    @Transactional(readOnly = true)
+    public Page<ServiceItemListItem> findPage(ListQuery query, String category) {
+        String filter = category == null || category.isBlank() ? null : category;
+        return serviceItemRepository.findListItems(query.getQ(), filter, query.toPageable(LIST_SORT));
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> findCategories() { return serviceItemRepository.findCategories(); }
+
     @Transactional
     public ServiceItem create(ServiceItem serviceItem) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
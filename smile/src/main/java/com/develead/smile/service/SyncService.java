@@ -0,0 +1,143 @@
+package com.develead.smile.service;
+import com.develead.smile.dto.AppointmentSyncItem;
+import com.develead.smile.dto.BillingSyncItem;
+import com.develead.smile.dto.CustomerSyncItem;
+import com.develead.smile.dto.SyncChanges;
+import com.develead.smile.dto.SyncVersion;
+import com.develead.smile.repository.AppointmentRepository;
+import com.develead.smile.repository.BillingRepository;
+import com.develead.smile.repository.CustomerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 프런트 데스크 태블릿 등이 폴링하는 읽기 API(/api/v1)용 조회.
+ * <p>
+ * 목록은 집계 한 번으로 검증값(최종 수정 시각, 행 수)을 먼저 구하고, 요청의 ETag와 같으면 목록 쿼리를 실행하지 않는다.
+ * 검증값과 본문은 같은 읽기 트랜잭션(같은 DB 노드)에서 이 순서로 읽으므로 본문이 ETag보다 오래된 상태일 수는 없다.
+ * <p>
+ * 변경분은 (수정 시각, ID) 커서 이후의 행을 keyset으로 읽는다. 커서보다 이른 시각으로 늦게 커밋되는 트랜잭션과
+ * 복제본 지연을 놓치지 않도록 settle 시간보다 오래된 수정까지만 돌려준다 (복제 지연 허용치보다 크게 잡는다).
+ */
+@Service
+public class SyncService {
+    private static final LocalDateTime FIRST_CURSOR = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final AppointmentRepository appointmentRepository;
+    private final CustomerRepository customerRepository;
+    private final BillingRepository billingRepository;
+    private final long settleSeconds;
+
+    public SyncService(AppointmentRepository appointmentRepository,
+                       CustomerRepository customerRepository,
+                       BillingRepository billingRepository,
+                       @Value("${smile.api.sync.settle-seconds:10}") long settleSeconds) {
+        this.appointmentRepository = appointmentRepository;
+        this.customerRepository = customerRepository;
+        this.billingRepository = billingRepository;
+        this.settleSeconds = settleSeconds;
+    }
+
+    /**
+     * 지점의 하루 예약 목록. notModified가 검증값을 보고 true를 돌려주면 목록을 읽지 않고 empty.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<AppointmentSyncItem>> getAppointments(Integer clinicId, LocalDate date, Predicate<SyncVersion> notModified) {
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
+        if (notModified.test(appointmentRepository.findSyncVersionByClinic(clinicId, start, end))) {
+            return Optional.empty();
+        }
+        return Optional.of(appointmentRepository.findSyncItemsByClinic(clinicId, start, end));
+    }
+
+    @Transactional(readOnly = true)
+    public SyncChanges<AppointmentSyncItem> getAppointmentChanges(Integer clinicId, String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        List<AppointmentSyncItem> rows = appointmentRepository.findSyncChanges(
+                clinicId, after.modifiedAt, after.id, settledBefore(), PageRequest.of(0, size + 1));
+        return changes(rows, size, after, AppointmentSyncItem::getLastModifiedAt, AppointmentSyncItem::getAppointmentId);
+    }
+
+    // 고객 한 건은 PK 조회 한 번이므로 본문의 수정 시각을 그대로 검증값으로 쓴다
+    @Transactional(readOnly = true)
+    public Optional<CustomerSyncItem> getCustomer(Integer customerId) {
+        return customerRepository.findSyncItem(customerId);
+    }
+
+    @Transactional(readOnly = true)
+    public SyncChanges<CustomerSyncItem> getCustomerChanges(String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        List<CustomerSyncItem> rows = customerRepository.findSyncChanges(
+                after.modifiedAt, after.id, settledBefore(), PageRequest.of(0, size + 1));
+        return changes(rows, size, after, CustomerSyncItem::getLastModifiedAt, CustomerSyncItem::getCustomerId);
+    }
+
+    /**
+     * 고객의 청구 요약 목록 (현재 지점). notModified가 true를 돌려주면 목록을 읽지 않고 empty.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<BillingSyncItem>> getBillings(Integer clinicId, Integer customerId, Predicate<SyncVersion> notModified) {
+        if (notModified.test(billingRepository.findSyncVersionByCustomer(clinicId, customerId))) {
+            return Optional.empty();
+        }
+        return Optional.of(billingRepository.findSyncItemsByCustomer(clinicId, customerId));
+    }
+
+    @Transactional(readOnly = true)
+    public SyncChanges<BillingSyncItem> getBillingChanges(Integer clinicId, String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        List<BillingSyncItem> rows = billingRepository.findSyncChanges(
+                clinicId, after.modifiedAt, after.id, settledBefore(), PageRequest.of(0, size + 1));
+        return changes(rows, size, after, BillingSyncItem::getLastModifiedAt, BillingSyncItem::getBillingId);
+    }
+
+    private LocalDateTime settledBefore() {
+        return LocalDateTime.now().minusSeconds(settleSeconds);
+    }
+
+    // size+1건을 읽어 다음 페이지 유무를 판단한다. 변경이 없으면 받은 커서를 그대로 돌려준다.
+    private static <T> SyncChanges<T> changes(List<T> rows, int size, Cursor after,
+                                              Function<T, LocalDateTime> modifiedAt, Function<T, Integer> id) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? List.copyOf(rows.subList(0, size)) : rows;
+        Cursor next = items.isEmpty() ? after : Cursor.of(items.get(items.size() - 1), modifiedAt, id);
+        return new SyncChanges<>(items, next.encode(), hasMore);
+    }
+
+    // 마지막으로 돌려준 행의 (수정 시각, ID)
+    private record Cursor(LocalDateTime modifiedAt, int id) {
+
+        static <T> Cursor of(T row, Function<T, LocalDateTime> modifiedAt, Function<T, Integer> id) {
+            return new Cursor(modifiedAt.apply(row), id.apply(row));
+        }
+
+        static Cursor decode(String value) {
+            if (value == null || value.isBlank()) {
+                return new Cursor(FIRST_CURSOR, 0);
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split("~");
+                return new Cursor(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid sync cursor: " + value);
+            }
+        }
+
+        String encode() {
+            String raw = modifiedAt + "~" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
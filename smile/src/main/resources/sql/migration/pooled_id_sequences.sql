@@ -0,0 +1,42 @@
+-- Pooled ID sequences (MySQL)
+-- IDENTITY -> SEQUENCE(allocationSize = 50) 전환용. 애플리케이션 배포 전에 한 번 실행한다.
+-- MySQL은 시퀀스가 없어 Hibernate가 <table>_seq 테이블(next_val 한 행)로 시퀀스를 흉내 낸다.
+-- pooled 방식은 읽은 값을 블록의 상한으로 쓰므로(값 - 49 ~ 값) 기존 최대 ID + 50에서 시작해야 충돌하지 않는다.
+-- ddl-auto가 먼저 테이블을 만들었다면 (next_val = 1) 아래 INSERT 대신 UPDATE로 같은 값을 넣는다.
+-- chatbot_log, chatbot_inquiry는 외부 챗봇이 직접 INSERT하는 테이블이라 AUTO_INCREMENT(IDENTITY)를 유지한다.
+
+CREATE TABLE IF NOT EXISTS appointment_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO appointment_seq (next_val) SELECT COALESCE(MAX(appointment_id), 0) + 50 FROM appointment;
+
+CREATE TABLE IF NOT EXISTS appointment_change_log_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO appointment_change_log_seq (next_val) SELECT COALESCE(MAX(log_id), 0) + 50 FROM appointment_change_log;
+
+CREATE TABLE IF NOT EXISTS medical_record_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO medical_record_seq (next_val) SELECT COALESCE(MAX(record_id), 0) + 50 FROM medical_record;
+
+CREATE TABLE IF NOT EXISTS medical_record_service_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO medical_record_service_seq (next_val) SELECT COALESCE(MAX(record_service_id), 0) + 50 FROM medical_record_service;
+
+CREATE TABLE IF NOT EXISTS medical_record_change_log_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO medical_record_change_log_seq (next_val) SELECT COALESCE(MAX(log_id), 0) + 50 FROM medical_record_change_log;
+
+CREATE TABLE IF NOT EXISTS billing_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO billing_seq (next_val) SELECT COALESCE(MAX(billing_id), 0) + 50 FROM billing;
+
+CREATE TABLE IF NOT EXISTS billing_change_log_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO billing_change_log_seq (next_val) SELECT COALESCE(MAX(log_id), 0) + 50 FROM billing_change_log;
+
+CREATE TABLE IF NOT EXISTS payment_transaction_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO payment_transaction_seq (next_val) SELECT COALESCE(MAX(transaction_id), 0) + 50 FROM payment_transaction;
+
+CREATE TABLE IF NOT EXISTS inventory_log_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO inventory_log_seq (next_val) SELECT COALESCE(MAX(log_id), 0) + 50 FROM inventory_log;
+
+CREATE TABLE IF NOT EXISTS service_item_change_log_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO service_item_change_log_seq (next_val) SELECT COALESCE(MAX(log_id), 0) + 50 FROM service_item_change_log;
+
+CREATE TABLE IF NOT EXISTS notification_log_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO notification_log_seq (next_val) SELECT COALESCE(MAX(log_id), 0) + 50 FROM notification_log;
+
+CREATE TABLE IF NOT EXISTS outbox_event_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO outbox_event_seq (next_val) SELECT COALESCE(MAX(event_id), 0) + 50 FROM outbox_event;
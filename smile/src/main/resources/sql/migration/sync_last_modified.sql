@@ -0,0 +1,10 @@
+-- 읽기 API(/api/v1)용 최종 수정 시각 컬럼 (MySQL)
+-- 기존 DB에는 ddl-auto가 NOT NULL 컬럼을 값 없이 추가하지 못하므로 애플리케이션 배포 전에 한 번 실행한다.
+-- 기존 행은 실행 시각으로 채워지며, 첫 변경분 조회에서 한 번씩 모두 내려간다. 인덱스는 schema/indexes.sql 참고.
+
+ALTER TABLE appointment ADD COLUMN last_modified_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+ALTER TABLE customer ADD COLUMN last_modified_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+ALTER TABLE billing ADD COLUMN last_modified_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+-- 매출 보고서 캐시의 데이터 버전 (PaymentTransactionRepository.findDataVersionBetween)
+ALTER TABLE payment_transaction ADD COLUMN last_modified_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
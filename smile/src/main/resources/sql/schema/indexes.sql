@@ -0,0 +1,57 @@
+-- Smile Dental Clinic - 조회 패턴 기반 인덱스 (MySQL)
+-- 엔티티의 @Index와 같은 내용이다. ddl-auto로 새로 만든 DB에는 이미 생성되어 있으므로 기존 DB에만 적용한다.
+-- 각 인덱스가 받쳐 주는 리포지토리 쿼리를 함께 적었다. 조회 계획은 QueryPlanIntegrationTest에서 검증한다.
+
+-- AppointmentRepository.findByFilters, countByClinicAndAppointmentDatetimeBetween (지점별 목록/대시보드)
+CREATE INDEX idx_appointment_clinic_datetime ON appointment (clinic_id, appointment_datetime);
+-- AppointmentRepository.findPartitionByAppointmentDatetimeBetween, countByAppointmentDatetimeBetween (알림 스케줄러)
+CREATE INDEX idx_appointment_datetime ON appointment (appointment_datetime);
+-- AppointmentRepository.findAppointmentsByCustomerId, findTimelineEntries (환자 타임라인 커서)
+CREATE INDEX idx_appointment_customer_datetime ON appointment (customer_id, appointment_datetime, appointment_id);
+-- AppointmentRepository.findSyncChanges (읽기 API 변경분 커서)
+CREATE INDEX idx_appointment_clinic_modified ON appointment (clinic_id, last_modified_at, appointment_id);
+-- CustomerRepository.findSyncChanges
+CREATE INDEX idx_customer_modified ON customer (last_modified_at, customer_id);
+-- BillingRepository.findSyncChanges
+CREATE INDEX idx_billing_modified ON billing (last_modified_at, billing_id);
+
+-- MedicalRecordRepository.findTimelineEntries, PaymentTransactionRepository.findTimelineEntries (고객 -> 진료 기록)
+CREATE INDEX idx_medical_record_customer_date ON medical_record (customer_id, treatment_date, record_id);
+
+-- PaymentTransactionRepository.findAllByTransactionDateBetween, findDataVersionBetween (매출 보고서)
+-- BillingRepository.findTotalRevenueByClinicBetween (대시보드 월 매출)
+CREATE INDEX idx_payment_transaction_date ON payment_transaction (transaction_date);
+
+-- ChatbotLogRepository.findBySessionIdOrderByTimestampAsc (상담 대화 기록)
+CREATE INDEX idx_chatbot_log_session ON chatbot_log (session_id, timestamp);
+
+-- ChatbotInquiryRepository.findByFilters (날짜 필터, 최신순)
+CREATE INDEX idx_chatbot_inquiry_received ON chatbot_inquiry (received_at);
+-- ChatbotInquiryRepository.findTimelineEntries (연락처로 환자 타임라인 매칭)
+CREATE INDEX idx_chatbot_inquiry_phone_received ON chatbot_inquiry (phone_number, received_at, inquiry_id);
+
+-- InventoryItemRepository.findAllByClinicId, countLowStockItemsByClinicId, findListItems
+CREATE INDEX idx_inventory_item_clinic_code ON inventory_item (clinic_id, item_code);
+-- DoctorRepository.findAllByClinicId
+CREATE INDEX idx_doctor_clinic_name ON doctor (clinic_id, name);
+
+-- OutboxEventRepository.findDispatchableIds / findClaimed
+CREATE INDEX idx_outbox_event_status_available ON outbox_event (status, available_at);
+CREATE INDEX idx_outbox_event_claim_token ON outbox_event (claim_token);
+-- OutboxEventRepository.findCreatedSince (노드별 캐시 무효화)
+CREATE INDEX idx_outbox_event_created_at ON outbox_event (created_at);
+
+-- AppointmentRepository.findBulkChanged (일괄 변경 알림 대상)
+CREATE INDEX idx_appointment_change_log_bulk ON appointment_change_log (bulk_operation_id);
+
+-- ArOpenItemRepository.findDueForReaging (야간 연령 재분류), findByClinicAndCustomer (고객 상세)
+CREATE INDEX idx_ar_open_item_bucket_date ON ar_open_item (bucket, invoice_date);
+CREATE INDEX idx_ar_open_item_clinic_customer ON ar_open_item (clinic_id, customer_id);
+-- ArAgingBalanceRepository.applyDelta (고유 키), sumByClinic / findCustomers (지점 요약, 구간 상세)
+CREATE UNIQUE INDEX uk_ar_aging_balance ON ar_aging_balance (clinic_id, customer_id, bucket);
+CREATE INDEX idx_ar_aging_balance_clinic_bucket ON ar_aging_balance (clinic_id, bucket, balance);
+
+-- ChatbotLogRepository.findTurnsAfter (인텐트 집계 watermark 이후 대화)
+CREATE INDEX idx_chatbot_log_timestamp ON chatbot_log (timestamp, log_id);
+-- ChatbotIntentRollupRepository.findByBucketHourRange / sumByHour / sumByIntent (고유 키, 기간 조회)
+CREATE UNIQUE INDEX uk_chatbot_intent_rollup ON chatbot_intent_rollup (bucket_hour, intent);
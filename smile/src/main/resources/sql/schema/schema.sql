@@ -254,6 +254,8 @@ CREATE TABLE chatbot_inquiry_logs (
 );
 
 -- Create indexes for better performance
+-- 주의: 아래 인덱스는 이 파일의 예전 테이블 정의 기준이다. JPA로 매핑된 실제 테이블의 인덱스는
+-- 엔티티의 @Index와 indexes.sql(기존 DB 적용용)을 따른다.
 CREATE INDEX idx_customers_email ON customers(email);
 CREATE INDEX idx_customers_phone ON customers(phone);
 CREATE INDEX idx_appointments_date ON appointments(appointment_date);
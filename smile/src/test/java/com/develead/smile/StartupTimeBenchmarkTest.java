@@ -0,0 +1,55 @@
+package com.develead.smile;
+
+import com.develead.smile.config.StartupTimings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 기동 시간 회귀 확인. 실제 포트로 띄운 뒤 첫 요청까지의 시간을 로그로 남기고 예산을 넘으면 실패한다.
+ * 기본 빌드에서는 제외되며 ./mvnw -Pbenchmark test 로 실행한다.
+ * 다른 테스트가 이미 요청을 보낸 캐시된 컨텍스트를 재사용하면 첫 요청을 잴 수 없으므로 항상 새 컨텍스트로 띄운다.
+ * 예산은 -Dsmile.startup.first-request-budget-ms 로 조정한다 (CI 장비 기준으로 여유 있게).
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+class StartupTimeBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeBenchmarkTest.class);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private StartupTimings startupTimings;
+
+    @Value("${smile.startup.first-request-budget-ms:30000}")
+    private long budgetMillis;
+
+    @Test
+    @DisplayName("첫 요청(로그인 화면)까지의 시간이 예산 안에 든다")
+    void timeToFirstRequestWithinBudget() {
+        assertTrue(startupTimings.getTimeToFirstRequestMillis().isEmpty());
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/login", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        long ready = startupTimings.getReadyMillis().orElseThrow();
+        long firstRequest = startupTimings.getTimeToFirstRequestMillis().orElseThrow();
+        log.info("startup: ready {} ms, time-to-first-request {} ms (budget {} ms)", ready, firstRequest, budgetMillis);
+        assertTrue(firstRequest >= ready);
+        assertTrue(firstRequest <= budgetMillis, "time-to-first-request " + firstRequest + " ms exceeds budget " + budgetMillis + " ms");
+    }
+}
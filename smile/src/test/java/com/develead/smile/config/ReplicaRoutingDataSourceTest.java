@@ -0,0 +1,203 @@
+package com.develead.smile.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * H2 두 개를 주 DB/복제본 대신 사용해 라우팅과 대체 동작을 검증한다.
+ * 실제 복제가 없으므로 heartbeat 행을 복사해서 복제를 흉내 낸다.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcDataSource primary;
+    private JdbcDataSource replica;
+    private SwitchableDataSource replicaConnections;
+    private MutableClock clock;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        primary = h2("primary-" + suffix, "primary");
+        replica = h2("replica-" + suffix, "replica");
+        new JdbcTemplate(replica).execute(ReplicaLagMonitor.CREATE_TABLE);
+
+        clock = new MutableClock();
+        monitor = new ReplicaLagMonitor(primary, replica, 5_000, clock);
+        replicaConnections = new SwitchableDataSource(replica);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replicaConnections, monitor));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("복제 지연을 아직 모르면 읽기 전용 트랜잭션도 주 DB 사용")
+    void usesPrimaryUntilLagIsKnown() {
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", currentNode(readOnly));
+    }
+
+    @Test
+    @DisplayName("복제본이 따라오면 읽기 전용 트랜잭션만 복제본으로 간다")
+    void routesReadOnlyTransactionsToReplica() {
+        monitor.check();
+        replicateHeartbeat();
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals("replica", currentNode(readOnly));
+        assertEquals("primary", currentNode(readWrite));
+        // 트랜잭션 밖의 조회는 주 DB
+        assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM node_marker", String.class));
+    }
+
+    @Test
+    @DisplayName("주 DB 읽기 힌트로 감싼 읽기 전용 트랜잭션은 복제본이 따라와도 주 DB 사용")
+    void primaryReadHintKeepsReadOnlyTransactionOnPrimary() {
+        monitor.check();
+        replicateHeartbeat();
+        monitor.check();
+
+        assertEquals("primary", readOnly.execute(status -> PrimaryReads.call(
+                () -> jdbcTemplate.queryForObject("SELECT name FROM node_marker", String.class))));
+        // 힌트 밖에서는 다시 복제본
+        assertEquals("replica", currentNode(readOnly));
+    }
+
+    @Test
+    @DisplayName("복제 지연이 허용치를 넘으면 주 DB로 대체")
+    void fallsBackToPrimaryWhenReplicaLags() {
+        monitor.check();
+        replicateHeartbeat();
+        monitor.check();
+        assertEquals("replica", currentNode(readOnly));
+
+        clock.advance(10_000);
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertTrue(monitor.getLastLagMillis() >= 10_000);
+        assertEquals("primary", currentNode(readOnly));
+    }
+
+    @Test
+    @DisplayName("복제본 커넥션을 얻지 못하면 주 DB로 대체")
+    void fallsBackToPrimaryWhenReplicaIsDown() {
+        monitor.check();
+        replicateHeartbeat();
+        monitor.check();
+
+        replicaConnections.down = true;
+
+        assertEquals("primary", currentNode(readOnly));
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    @DisplayName("오래 갱신되지 않은 다른 노드의 heartbeat 행은 지운다")
+    void prunesHeartbeatsOfStoppedNodes() {
+        JdbcTemplate primaryTemplate = new JdbcTemplate(primary);
+        monitor.check();
+        long now = clock.millis();
+        primaryTemplate.update("INSERT INTO replica_heartbeat (node_id, beat_millis) VALUES (?, ?)",
+                "stopped", now - ReplicaLagMonitor.STALE_HEARTBEAT_MILLIS - 1);
+        primaryTemplate.update("INSERT INTO replica_heartbeat (node_id, beat_millis) VALUES (?, ?)", "alive", now);
+
+        clock.advance(60_000);
+        monitor.check();
+
+        assertEquals(0, primaryTemplate.queryForObject(
+                "SELECT COUNT(*) FROM replica_heartbeat WHERE node_id = 'stopped'", Integer.class));
+        assertEquals(2, primaryTemplate.queryForObject("SELECT COUNT(*) FROM replica_heartbeat", Integer.class));
+    }
+
+    private String currentNode(TransactionTemplate template) {
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node_marker", String.class));
+    }
+
+    private void replicateHeartbeat() {
+        JdbcTemplate target = new JdbcTemplate(replica);
+        target.update("DELETE FROM replica_heartbeat");
+        new JdbcTemplate(primary).query("SELECT node_id, beat_millis FROM replica_heartbeat", rs -> {
+            target.update("INSERT INTO replica_heartbeat (node_id, beat_millis) VALUES (?, ?)",
+                    rs.getString(1), rs.getLong(2));
+        });
+    }
+
+    private static JdbcDataSource h2(String name, String marker) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node_marker (name VARCHAR(20))");
+        template.update("INSERT INTO node_marker (name) VALUES (?)", marker);
+        return dataSource;
+    }
+
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private final AtomicLong offsetMillis = new AtomicLong();
+
+        void advance(long millis) {
+            offsetMillis.addAndGet(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.now().plusMillis(offsetMillis.get());
+        }
+    }
+}
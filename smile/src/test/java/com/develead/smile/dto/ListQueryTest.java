@@ -0,0 +1,75 @@
+package com.develead.smile.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListQueryTest {
+
+    private static final ListSort SORTS = ListSort.by("record_id", "treatmentDate", Sort.Direction.DESC)
+            .allow("customerName", "customer.name");
+
+    @Test
+    @DisplayName("허용된 정렬 키는 엔티티 경로로 바뀌고 ID가 마지막 정렬 기준으로 붙는다")
+    void allowedKeyMapsToPropertyWithIdTiebreaker() {
+        ListQuery query = new ListQuery();
+        query.setSort("customerName");
+        query.setDir("ASC");
+
+        Pageable pageable = query.toPageable(SORTS);
+
+        assertEquals(Sort.by(Sort.Direction.ASC, "customer.name").and(Sort.by(Sort.Direction.ASC, "record_id")),
+                pageable.getSort());
+        assertEquals("customerName", query.getSort());
+        assertEquals("asc", query.getDir());
+    }
+
+    @Test
+    @DisplayName("허용 목록에 없는 키와 범위를 벗어난 페이지/크기는 기본값으로 바뀐다")
+    void unknownKeyAndOutOfRangeValuesFallBack() {
+        ListQuery query = new ListQuery();
+        query.setSort("symptoms");
+        query.setDir("asc");
+        query.setPage(-3);
+        query.setSize(10_000);
+        query.setQ("   ");
+
+        Pageable pageable = query.toPageable(SORTS);
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "treatmentDate").and(Sort.by(Sort.Direction.DESC, "record_id")),
+                pageable.getSort());
+        assertEquals(0, pageable.getPageNumber());
+        assertEquals(ListQuery.MAX_SIZE, pageable.getPageSize());
+        assertEquals("treatmentDate", query.getSort());
+        assertEquals("desc", query.getDir());
+        assertNull(query.getQ());
+    }
+
+    @Test
+    @DisplayName("페이지/정렬 링크는 나머지 검색 조건을 유지한다")
+    void linksKeepFilters() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/medical-records");
+        request.addParameter("q", "홍길동");
+        request.addParameter("page", "2");
+        ListQuery query = new ListQuery();
+        query.setQ("홍길동");
+        query.setPage(2);
+        Pageable pageable = query.toPageable(SORTS);
+
+        PagedList<String> list = PagedList.of(new PageImpl<>(List.of("a"), pageable, 200), query, request);
+
+        assertEquals("/admin/medical-records?q=%ED%99%8D%EA%B8%B8%EB%8F%99&page=3", list.pageUrl(3));
+        assertEquals("/admin/medical-records?q=%ED%99%8D%EA%B8%B8%EB%8F%99&sort=treatmentDate&dir=asc",
+                list.sortUrl("treatmentDate"));
+        assertEquals(0, list.getStartPage());
+        assertEquals(4, list.getEndPage());
+        assertEquals(10, list.getTotalPages());
+    }
+}
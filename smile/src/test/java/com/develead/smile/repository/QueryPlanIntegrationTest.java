@@ -0,0 +1,197 @@
+package com.develead.smile.repository;
+
+import com.develead.smile.domain.ArAgingBucket;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 자주 실행되는 리포지토리 쿼리가 인덱스를 타는지 검증한다.
+ * Hibernate가 실제로 생성한 SQL을 가로채 H2의 EXPLAIN으로 실행 계획을 확인하고,
+ * 조건이 걸린 테이블을 전체 스캔(tableScan)하면 실패한다.
+ * 조인으로 따라가는 작은 테이블은 PK로 접근하므로 검사 대상 테이블만 지정한다.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.develead.smile.repository.QueryPlanIntegrationTest$CapturingStatementInspector")
+@ActiveProfiles("test")
+class QueryPlanIntegrationTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 5, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+    @Autowired
+    private BillingRepository billingRepository;
+    @Autowired
+    private PaymentTransactionRepository paymentTransactionRepository;
+    @Autowired
+    private ChatbotLogRepository chatbotLogRepository;
+    @Autowired
+    private ChatbotInquiryRepository chatbotInquiryRepository;
+    @Autowired
+    private ChatbotIntentRollupRepository chatbotIntentRollupRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private InventoryItemRepository inventoryItemRepository;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private ArOpenItemRepository arOpenItemRepository;
+    @Autowired
+    private ArAgingBalanceRepository arAgingBalanceRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    @DisplayName("예약: 지점별 목록/대시보드/달력/일괄 변경, 알림 스케줄러, 환자 타임라인")
+    void appointmentQueries() {
+        assertNoFullScan(() -> appointmentRepository.countByClinicAndAppointmentDatetimeBetween(1, FROM, TO),
+                "APPOINTMENT");
+        assertNoFullScan(() -> appointmentRepository.findByFilters(1, null, null, FROM, TO,
+                PageRequest.of(0, 10, Sort.by("appointmentDatetime").descending())), "APPOINTMENT");
+        assertNoFullScan(() -> appointmentRepository.findReminderPartition(FROM, TO, 4, 1),
+                "APPOINTMENT");
+        assertNoFullScan(() -> appointmentRepository.findTimelineEntries(1, 1, TO, Integer.MAX_VALUE, PageRequest.of(0, 20)),
+                "APPOINTMENT");
+        assertNoFullScan(() -> appointmentRepository.findAppointmentsByCustomerId(1), "APPOINTMENT");
+        assertNoFullScan(() -> appointmentRepository.countCalendarByClinic(1, FROM, TO), "APPOINTMENT");
+        assertNoFullScan(() -> appointmentRepository.findCalendarEntriesByClinic(1, FROM, TO), "APPOINTMENT");
+        assertNoFullScan(() -> appointmentRepository.findBulkTargets(1, 1, "예약완료", FROM, TO), "APPOINTMENT");
+        assertNoFullScan(() -> appointmentRepository.findBulkChanged("operation"), "APPOINTMENT", "APPOINTMENT_CHANGE_LOG");
+    }
+
+    @Test
+    @DisplayName("읽기 API: 예약 검증값/목록, 예약/고객/청구 변경분")
+    void syncApiQueries() {
+        assertNoFullScan(() -> appointmentRepository.findSyncVersionByClinic(1, FROM, TO), "APPOINTMENT");
+        assertNoFullScan(() -> appointmentRepository.findSyncItemsByClinic(1, FROM, TO), "APPOINTMENT");
+        assertNoFullScan(() -> appointmentRepository.findSyncChanges(1, FROM, 0, TO, PageRequest.of(0, 101)), "APPOINTMENT");
+        assertNoFullScan(() -> customerRepository.findSyncChanges(FROM, 0, TO, PageRequest.of(0, 101)), "CUSTOMER");
+        assertNoFullScan(() -> billingRepository.findSyncChanges(1, FROM, 0, TO, PageRequest.of(0, 101)), "BILLING");
+    }
+
+    @Test
+    @DisplayName("진료 기록/청구: 환자 타임라인, 진료 기록별 청구서")
+    void treatmentAndBillingQueries() {
+        assertNoFullScan(() -> medicalRecordRepository.findTimelineEntries(1, 1, TO.toLocalDate(), Integer.MAX_VALUE, PageRequest.of(0, 20)),
+                "MEDICAL_RECORD");
+        assertNoFullScan(() -> billingRepository.findByMedicalRecordId(1), "BILLING");
+    }
+
+    @Test
+    @DisplayName("결제: 매출 보고서 기간 조회, 지점 월 매출, 환자 타임라인")
+    void paymentQueries() {
+        assertNoFullScan(() -> paymentTransactionRepository.findAllByTransactionDateBetween(FROM, TO),
+                "PAYMENT_TRANSACTION");
+        assertNoFullScan(() -> paymentTransactionRepository.findDataVersionBetween(FROM, TO), "PAYMENT_TRANSACTION");
+        assertNoFullScan(() -> billingRepository.findTotalRevenueByClinicBetween(1, FROM, TO),
+                "PAYMENT_TRANSACTION", "BILLING", "MEDICAL_RECORD", "APPOINTMENT");
+        assertNoFullScan(() -> paymentTransactionRepository.findTimelineEntries(1, 1, TO, Integer.MAX_VALUE, PageRequest.of(0, 20)),
+                "PAYMENT_TRANSACTION", "BILLING", "MEDICAL_RECORD");
+    }
+
+    @Test
+    @DisplayName("미수금 연령: 지점 요약, 구간/고객 상세, 야간 재분류")
+    void receivableAgingQueries() {
+        assertNoFullScan(() -> arAgingBalanceRepository.sumByClinic(1), "AR_AGING_BALANCE");
+        assertNoFullScan(() -> arAgingBalanceRepository.findCustomers(1, ArAgingBucket.DAYS_OVER_90, PageRequest.of(0, 50)),
+                "AR_AGING_BALANCE");
+        assertNoFullScan(() -> arOpenItemRepository.findByClinicAndCustomer(1, 1), "AR_OPEN_ITEM");
+        assertNoFullScan(() -> arOpenItemRepository.findDueForReaging(ArAgingBucket.DAYS_0_30, LocalDate.of(2024, 5, 1),
+                PageRequest.of(0, 500)), "AR_OPEN_ITEM");
+    }
+
+    @Test
+    @DisplayName("챗봇: 세션 대화 기록, 날짜 필터, 연락처 타임라인, 인텐트 집계")
+    void chatbotQueries() {
+        assertNoFullScan(() -> chatbotLogRepository.findBySessionIdOrderByTimestampAsc("session-1"), "CHATBOT_LOG");
+        assertNoFullScan(() -> chatbotInquiryRepository.findByFiltersReceivedBetween(null, FROM, TO), "CHATBOT_INQUIRY");
+        assertNoFullScan(() -> chatbotInquiryRepository.findTimelineEntries("010-1234-5678", TO, Integer.MAX_VALUE,
+                PageRequest.of(0, 20)), "CHATBOT_INQUIRY");
+        assertNoFullScan(() -> chatbotLogRepository.findTurnsAfter(FROM, 0L, TO, PageRequest.of(0, 1000)), "CHATBOT_LOG");
+        assertNoFullScan(() -> chatbotInquiryRepository.findConversionsAfter(FROM, 0, TO, PageRequest.of(0, 1000)), "CHATBOT_INQUIRY");
+        assertNoFullScan(() -> chatbotIntentRollupRepository.findByBucketHourRange(FROM, TO), "CHATBOT_INTENT_ROLLUP");
+        assertNoFullScan(() -> chatbotIntentRollupRepository.sumByHour(FROM, TO), "CHATBOT_INTENT_ROLLUP");
+    }
+
+    @Test
+    @DisplayName("기타: 아웃박스 릴레이, 지점 재고, 로그인")
+    void operationalQueries() {
+        assertNoFullScan(() -> outboxEventRepository.findDispatchableIds(TO, PageRequest.of(0, 100)), "OUTBOX_EVENT");
+        assertNoFullScan(() -> outboxEventRepository.findClaimed("token"), "OUTBOX_EVENT");
+        assertNoFullScan(() -> inventoryItemRepository.countLowStockItemsByClinicId(1), "INVENTORY_ITEM");
+        assertNoFullScan(() -> inventoryItemRepository.findForecastCandidatesByClinicId(1), "INVENTORY_ITEM");
+        assertNoFullScan(() -> inventoryItemRepository.findListItems(1, null, false,
+                PageRequest.of(0, 20, Sort.by("itemCode", "item_id"))), "INVENTORY_ITEM");
+        assertNoFullScan(() -> userAccountRepository.findByLoginId("admin"), "USER_ACCOUNT");
+    }
+
+    private void assertNoFullScan(Runnable query, String... tables) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(CapturingStatementInspector.STATEMENTS);
+        assertFalse(statements.isEmpty(), "no SQL was captured");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            for (String table : tables) {
+                assertFalse(plan.contains("PUBLIC." + table + ".tableScan"),
+                        () -> "full scan of " + table + " in plan:\n" + plan);
+            }
+        }
+    }
+
+    // 파라미터 값과 관계없이 준비 시점의 계획을 보므로 모든 파라미터를 NULL로 채운다
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
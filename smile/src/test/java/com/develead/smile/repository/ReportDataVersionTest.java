@@ -0,0 +1,113 @@
+package com.develead.smile.repository;
+
+import com.develead.smile.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 보고서 캐시 키는 보고서에 찍히는 값(결제 일시/수단/금액, 환자 이름)이 바뀌면 달라져야 한다
+@DataJpaTest
+@ActiveProfiles("test")
+class ReportDataVersionTest {
+    private static final LocalDateTime FROM = LocalDate.of(2024, 5, 1).atStartOfDay();
+    private static final LocalDateTime TO = LocalDate.of(2024, 5, 31).atTime(23, 59);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private PaymentTransactionRepository paymentTransactionRepository;
+
+    private Customer customer;
+    private PaymentTransaction payment;
+
+    @BeforeEach
+    void setUp() {
+        Clinic clinic = new Clinic();
+        clinic.setClinicName("스마일 치과");
+        entityManager.persist(clinic);
+        Doctor doctor = new Doctor();
+        doctor.setName("김의사");
+        doctor.setClinic(clinic);
+        entityManager.persist(doctor);
+        customer = new Customer();
+        customer.setName("홍길동");
+        customer.setPhoneNumber("010-1111-2222");
+        entityManager.persist(customer);
+
+        Appointment appointment = new Appointment();
+        appointment.setCustomer(customer);
+        appointment.setDoctor(doctor);
+        appointment.setClinic(clinic);
+        appointment.setAppointmentDatetime(FROM.plusDays(2));
+        appointment.setStatus("진료완료");
+        entityManager.persist(appointment);
+        MedicalRecord record = new MedicalRecord();
+        record.setAppointment(appointment);
+        record.setCustomer(customer);
+        record.setDoctor(doctor);
+        record.setTreatmentDate(FROM.plusDays(2).toLocalDate());
+        record.setTotalCost(new BigDecimal("10000"));
+        entityManager.persist(record);
+        Billing billing = new Billing();
+        billing.setMedicalRecord(record);
+        billing.setTotalAmount(new BigDecimal("10000"));
+        billing.setBalance(new BigDecimal("10000"));
+        entityManager.persist(billing);
+
+        payment = new PaymentTransaction();
+        payment.setBilling(billing);
+        payment.setAmount(new BigDecimal("10000"));
+        payment.setPaymentMethod("카드");
+        payment.setTransactionDate(FROM.plusDays(2));
+        entityManager.persist(payment);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("결제 수단만 바뀌어도 버전이 달라진다")
+    void changesWhenPaymentIsEdited() {
+        String before = version();
+
+        payment.setPaymentMethod("현금");
+        entityManager.flush();
+
+        assertNotEquals(before, version());
+    }
+
+    @Test
+    @DisplayName("보고서에 찍히는 환자 이름이 바뀌면 버전이 달라진다")
+    void changesWhenCustomerIsRenamed() {
+        String before = version();
+
+        customer.setName("홍길순");
+        entityManager.flush();
+
+        assertNotEquals(before, version());
+    }
+
+    @Test
+    @DisplayName("결제가 삭제되면 버전이 달라지고, 변경이 없으면 같다")
+    void changesOnlyWhenDataChanges() {
+        String before = version();
+        assertEquals(before, version());
+
+        entityManager.remove(payment);
+        entityManager.flush();
+
+        assertNotEquals(before, version());
+    }
+
+    private String version() {
+        return paymentTransactionRepository.findDataVersionBetween(FROM, TO).token();
+    }
+}
@@ -0,0 +1,121 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.*;
+import com.develead.smile.dto.AppointmentCalendarDto;
+import com.develead.smile.dto.AppointmentCalendarEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AppointmentCalendarService.class)
+class AppointmentCalendarServiceTest {
+
+    private static final YearMonth MAY = YearMonth.of(2024, 5);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private AppointmentCalendarService calendarService;
+
+    private Clinic clinic;
+    private Doctor kim;
+    private Doctor lee;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        clinic = clinic("스마일 치과");
+        kim = doctor("김의사", clinic);
+        lee = doctor("이의사", clinic);
+        customer = new Customer();
+        customer.setName("홍길동");
+        customer.setPhoneNumber("010-1234-5678");
+        entityManager.persist(customer);
+
+        appointment(kim, clinic, LocalDateTime.of(2024, 5, 3, 9, 0), "예약완료");
+        appointment(kim, clinic, LocalDateTime.of(2024, 5, 3, 10, 0), "예약완료");
+        appointment(kim, clinic, LocalDateTime.of(2024, 5, 3, 11, 0), "예약취소");
+        appointment(lee, clinic, LocalDateTime.of(2024, 5, 3, 23, 30), "진료완료");
+        appointment(lee, clinic, LocalDateTime.of(2024, 5, 20, 14, 0), "예약완료");
+        // 다른 달, 다른 지점은 제외
+        appointment(kim, clinic, LocalDateTime.of(2024, 6, 1, 0, 0), "예약완료");
+        Clinic other = clinic("다른 지점");
+        appointment(doctor("박의사", other), other, LocalDateTime.of(2024, 5, 3, 9, 0), "예약완료");
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("월간 달력 - 날짜별/의사별 건수와 상태 분포")
+    void monthAggregates() {
+        AppointmentCalendarDto calendar = calendarService.getMonth(clinic.getClinic_id(), MAY);
+
+        assertEquals(2, calendar.getDays().size());
+        AppointmentCalendarDto.Day third = calendar.getDays().get(0);
+        assertEquals(LocalDate.of(2024, 5, 3), third.getDate());
+        assertEquals(4, third.getTotal());
+        assertEquals(Map.of("예약완료", 2L, "예약취소", 1L, "진료완료", 1L), third.getStatusCounts());
+
+        assertEquals(2, third.getDoctors().size());
+        AppointmentCalendarDto.DoctorDay kimDay = third.getDoctors().get(0);
+        assertEquals("김의사", kimDay.getDoctorName());
+        assertEquals(3, kimDay.getTotal());
+        assertEquals(Map.of("예약완료", 2L, "예약취소", 1L), kimDay.getStatusCounts());
+        assertEquals(1, third.getDoctors().get(1).getTotal());
+
+        AppointmentCalendarDto.Day twentieth = calendar.getDays().get(1);
+        assertEquals(LocalDate.of(2024, 5, 20), twentieth.getDate());
+        assertEquals(1, twentieth.getTotal());
+    }
+
+    @Test
+    @DisplayName("일별 상세 - 해당 날짜의 예약만 시간순으로 조회")
+    void dayDrillDown() {
+        List<AppointmentCalendarEntry> entries = calendarService.getDay(clinic.getClinic_id(), LocalDate.of(2024, 5, 3));
+
+        assertEquals(4, entries.size());
+        assertEquals(LocalDateTime.of(2024, 5, 3, 9, 0), entries.get(0).getAppointmentDatetime());
+        assertEquals(LocalDateTime.of(2024, 5, 3, 23, 30), entries.get(3).getAppointmentDatetime());
+        assertEquals("이의사", entries.get(3).getDoctorName());
+        assertEquals("홍길동", entries.get(0).getCustomerName());
+    }
+
+    private Clinic clinic(String name) {
+        Clinic clinic = new Clinic();
+        clinic.setClinicName(name);
+        return entityManager.persist(clinic);
+    }
+
+    private Doctor doctor(String name, Clinic clinic) {
+        Doctor doctor = new Doctor();
+        doctor.setName(name);
+        doctor.setClinic(clinic);
+        return entityManager.persist(doctor);
+    }
+
+    private void appointment(Doctor doctor, Clinic clinic, LocalDateTime datetime, String status) {
+        Appointment appointment = new Appointment();
+        appointment.setCustomer(customer);
+        appointment.setDoctor(doctor);
+        appointment.setClinic(clinic);
+        appointment.setAppointmentDatetime(datetime);
+        appointment.setStatus(status);
+        entityManager.persist(appointment);
+    }
+}
@@ -37,7 +37,7 @@ class AppointmentServiceTest {
     @Mock
     private AppointmentChangeLogRepository appointmentChangeLogRepository;
     @Mock
-    private NotificationService notificationService;
+    private DomainEventPublisher domainEventPublisher;
 
     @InjectMocks
     private AppointmentService appointmentService;
@@ -103,7 +103,7 @@ class AppointmentServiceTest {
         // Then
         verify(appointmentRepository).save(any(Appointment.class));
         verify(appointmentChangeLogRepository).save(any(AppointmentChangeLog.class));
-        verify(notificationService).sendNotification(eq(customer), eq("APPOINTMENT_CONFIRMATION"), any());
+        verify(domainEventPublisher).publishAppointmentEvent(OutboxEvent.EventType.APPOINTMENT_BOOKED, savedAppointment);
     }
 
     @Test
@@ -185,6 +185,7 @@ class AppointmentServiceTest {
         assertEquals("예약취소", appointment.getStatus());
         verify(appointmentRepository).save(appointment);
         verify(appointmentChangeLogRepository).save(any(AppointmentChangeLog.class));
+        verify(domainEventPublisher).publishAppointmentEvent(OutboxEvent.EventType.APPOINTMENT_CANCELLED, appointment);
     }
 
     @Test
@@ -0,0 +1,63 @@
+package com.develead.smile.service;
+
+import com.develead.smile.repository.ArOpenItemRepository;
+import com.develead.smile.repository.BillingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArAgingSchedulerTest {
+
+    @Mock
+    private ArAgingService arAgingService;
+    @Mock
+    private JobCoordinator jobCoordinator;
+    @Mock
+    private BillingRepository billingRepository;
+    @Mock
+    private ArOpenItemRepository openItemRepository;
+    @InjectMocks
+    private ArAgingScheduler scheduler;
+
+    @Test
+    @DisplayName("기동 적재 - 미결 청구서는 있는데 원장이 비어 있는 지점만 다시 만든다")
+    void backfillsClinicsWithoutLedger() {
+        when(billingRepository.findClinicIdsWithOpenBalance()).thenReturn(List.of(1, 2, 3));
+        when(openItemRepository.findClinicIds()).thenReturn(List.of(2));
+        when(jobCoordinator.runPartitioned(eq("ar-aging-backfill"), anyString(), eq(1), any())).thenAnswer(invocation -> {
+            invocation.<IntConsumer>getArgument(3).accept(0);
+            return 1;
+        });
+
+        scheduler.backfill();
+
+        verify(arAgingService).rebuild(1);
+        verify(arAgingService).rebuild(3);
+        verifyNoMoreInteractions(arAgingService);
+    }
+
+    @Test
+    @DisplayName("기동 적재 - 모든 지점의 원장이 있으면 임대도 잡지 않는다")
+    void skipsWhenLedgerIsPopulated() {
+        when(billingRepository.findClinicIdsWithOpenBalance()).thenReturn(List.of(1));
+        when(openItemRepository.findClinicIds()).thenReturn(List.of(1));
+
+        scheduler.backfill();
+
+        verify(jobCoordinator, never()).runPartitioned(anyString(), anyString(), anyInt(), any());
+        verifyNoInteractions(arAgingService);
+    }
+}
@@ -0,0 +1,178 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.*;
+import com.develead.smile.dto.ArAgingBucketTotal;
+import com.develead.smile.dto.ArAgingCustomerBalance;
+import com.develead.smile.dto.ArAgingSummaryDto;
+import com.develead.smile.dto.ArOpenItemDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ArAgingService.class)
+class ArAgingServiceTest {
+    private static final LocalDate AS_OF = LocalDate.of(2024, 6, 30);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ArAgingService arAgingService;
+
+    private Clinic clinic;
+    private Doctor doctor;
+    private Customer hong;
+    private Customer kim;
+
+    @BeforeEach
+    void setUp() {
+        clinic = new Clinic();
+        clinic.setClinicName("스마일 치과");
+        entityManager.persist(clinic);
+        doctor = new Doctor();
+        doctor.setName("김의사");
+        doctor.setClinic(clinic);
+        entityManager.persist(doctor);
+        hong = customer("홍길동", "010-1111-2222");
+        kim = customer("김철수", "010-3333-4444");
+    }
+
+    @Test
+    @DisplayName("청구/수납 시 구간별 합계를 증분으로 유지")
+    void tracksBalancesIncrementally() {
+        Billing recent = bill(hong, LocalDate.of(2024, 6, 20), "10000");
+        Billing lastMonth = bill(hong, LocalDate.of(2024, 5, 15), "20000");
+        Billing old = bill(kim, LocalDate.of(2024, 3, 1), "30000");
+        arAgingService.track(recent, AS_OF);
+        arAgingService.track(lastMonth, AS_OF);
+        arAgingService.track(old, AS_OF);
+
+        ArAgingSummaryDto summary = arAgingService.getSummary(clinic.getClinic_id());
+        assertBucket(summary, ArAgingBucket.DAYS_0_30, "10000", 1);
+        assertBucket(summary, ArAgingBucket.DAYS_31_60, "20000", 1);
+        assertBucket(summary, ArAgingBucket.DAYS_61_90, "0", 0);
+        assertBucket(summary, ArAgingBucket.DAYS_OVER_90, "30000", 1);
+        assertEquals(0, new BigDecimal("60000").compareTo(summary.getTotalBalance()));
+
+        // 일부 수납은 잔액만 줄고, 완납되면 미결 항목에서 빠진다
+        lastMonth.setBalance(new BigDecimal("5000"));
+        arAgingService.track(lastMonth, AS_OF);
+        old.setBalance(BigDecimal.ZERO);
+        arAgingService.track(old, AS_OF);
+
+        summary = arAgingService.getSummary(clinic.getClinic_id());
+        assertBucket(summary, ArAgingBucket.DAYS_31_60, "5000", 1);
+        assertBucket(summary, ArAgingBucket.DAYS_OVER_90, "0", 0);
+        assertEquals(2, summary.getTotalItems());
+
+        List<ArAgingCustomerBalance> customers = arAgingService.getCustomers(clinic.getClinic_id(), ArAgingBucket.DAYS_31_60, 10);
+        assertEquals(1, customers.size());
+        assertEquals("홍길동", customers.get(0).getCustomerName());
+        assertTrue(arAgingService.getCustomers(clinic.getClinic_id(), ArAgingBucket.DAYS_OVER_90, 10).isEmpty());
+
+        List<ArOpenItemDto> items = arAgingService.getOpenItems(clinic.getClinic_id(), hong.getCustomer_id());
+        assertEquals(List.of(lastMonth.getBilling_id(), recent.getBilling_id()),
+                items.stream().map(ArOpenItemDto::getBillingId).toList());
+    }
+
+    @Test
+    @DisplayName("야간 재분류 - 기준일을 넘긴 항목만 다음 구간으로 옮긴다")
+    void reagesItemsPastBoundary() {
+        arAgingService.track(bill(hong, LocalDate.of(2024, 6, 20), "10000"), AS_OF);
+        arAgingService.track(bill(hong, LocalDate.of(2024, 6, 29), "7000"), AS_OF);
+        arAgingService.track(bill(kim, LocalDate.of(2024, 4, 15), "30000"), AS_OF);
+
+        // 7/25 기준: 6/20 청구분은 35일(31-60), 6/29는 26일(0-30), 4/15는 101일(90 초과)
+        int moved = arAgingService.reage(LocalDate.of(2024, 7, 25));
+
+        assertEquals(2, moved);
+        ArAgingSummaryDto summary = arAgingService.getSummary(clinic.getClinic_id());
+        assertBucket(summary, ArAgingBucket.DAYS_0_30, "7000", 1);
+        assertBucket(summary, ArAgingBucket.DAYS_31_60, "10000", 1);
+        assertBucket(summary, ArAgingBucket.DAYS_61_90, "0", 0);
+        assertBucket(summary, ArAgingBucket.DAYS_OVER_90, "30000", 1);
+    }
+
+    @Test
+    @DisplayName("재구성 결과는 증분 반영 결과와 같고, 다른 지점의 원장은 건드리지 않는다")
+    void rebuildMatchesIncrementalLedger() {
+        bill(hong, LocalDate.of(2024, 6, 20), "10000");
+        bill(hong, LocalDate.of(2024, 5, 15), "20000");
+        bill(kim, LocalDate.of(2024, 3, 1), "30000");
+        Billing paid = bill(kim, LocalDate.of(2024, 6, 1), "40000");
+        paid.setBalance(BigDecimal.ZERO);
+        Clinic other = new Clinic();
+        other.setClinicName("다른 지점");
+        entityManager.persist(other);
+        Doctor otherDoctor = new Doctor();
+        otherDoctor.setName("박의사");
+        otherDoctor.setClinic(other);
+        entityManager.persist(otherDoctor);
+        arAgingService.track(bill(other, otherDoctor, kim, LocalDate.of(2024, 6, 25), "50000"), AS_OF);
+        entityManager.flush();
+
+        int openItems = arAgingService.rebuild(clinic.getClinic_id(), AS_OF);
+
+        assertEquals(3, openItems);
+        ArAgingSummaryDto summary = arAgingService.getSummary(clinic.getClinic_id());
+        assertBucket(summary, ArAgingBucket.DAYS_0_30, "10000", 1);
+        assertBucket(summary, ArAgingBucket.DAYS_31_60, "20000", 1);
+        assertBucket(summary, ArAgingBucket.DAYS_OVER_90, "30000", 1);
+        assertEquals(3, summary.getTotalItems());
+        assertBucket(arAgingService.getSummary(other.getClinic_id()), ArAgingBucket.DAYS_0_30, "50000", 1);
+    }
+
+    private static void assertBucket(ArAgingSummaryDto summary, ArAgingBucket bucket, String balance, long items) {
+        ArAgingBucketTotal total = summary.getBuckets().get(bucket.ordinal());
+        assertEquals(bucket, total.getBucket());
+        assertEquals(0, new BigDecimal(balance).compareTo(total.getBalance()), () -> bucket + " balance " + total.getBalance());
+        assertEquals(items, total.getItemCount(), () -> bucket + " items");
+    }
+
+    private Customer customer(String name, String phoneNumber) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setPhoneNumber(phoneNumber);
+        return entityManager.persist(customer);
+    }
+
+    private Billing bill(Customer customer, LocalDate treatmentDate, String amount) {
+        return bill(clinic, doctor, customer, treatmentDate, amount);
+    }
+
+    private Billing bill(Clinic clinic, Doctor doctor, Customer customer, LocalDate treatmentDate, String amount) {
+        Appointment appointment = new Appointment();
+        appointment.setCustomer(customer);
+        appointment.setDoctor(doctor);
+        appointment.setClinic(clinic);
+        appointment.setAppointmentDatetime(treatmentDate.atStartOfDay());
+        appointment.setStatus("진료완료");
+        entityManager.persist(appointment);
+
+        MedicalRecord record = new MedicalRecord();
+        record.setAppointment(appointment);
+        record.setCustomer(customer);
+        record.setDoctor(doctor);
+        record.setTreatmentDate(treatmentDate);
+        record.setTotalCost(new BigDecimal(amount));
+        entityManager.persist(record);
+
+        Billing billing = new Billing();
+        billing.setMedicalRecord(record);
+        billing.setTotalAmount(new BigDecimal(amount));
+        billing.setBalance(new BigDecimal(amount));
+        return entityManager.persist(billing);
+    }
+}
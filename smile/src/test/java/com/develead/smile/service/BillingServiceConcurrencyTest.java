@@ -0,0 +1,193 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.*;
+import com.develead.smile.dto.ArAgingBucketTotal;
+import com.develead.smile.dto.PaymentTransactionDto;
+import com.develead.smile.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 여러 수납 창구가 같은 청구서에 동시에 수납할 때 금액이 유실되지 않는지 검증한다.
+ * 각 스레드가 실제로 커밋해야 하므로 테스트 트랜잭션을 사용하지 않는다.
+ * 미수금 연령 원장은 커밋 이후 아웃박스로 반영되므로, 수납이 끝난 뒤 릴레이를 한 번 돌려 확인한다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:billing-concurrency;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({BillingService.class, ClinicContext.class, DomainEventPublisher.class, ArAgingService.class, PhaseRecorder.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BillingServiceConcurrencyTest {
+    private static final Logger log = LoggerFactory.getLogger(BillingServiceConcurrencyTest.class);
+
+    private static final int THREADS = 8;
+    private static final int PAYMENTS_PER_THREAD = 50;
+    private static final BigDecimal PAYMENT = new BigDecimal("1000");
+    private static final BigDecimal TOTAL_AMOUNT = new BigDecimal("1000000");
+
+    @Autowired
+    private BillingService billingService;
+    @Autowired
+    private BillingRepository billingRepository;
+    @Autowired
+    private PaymentTransactionRepository transactionRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    @Autowired
+    private ClinicRepository clinicRepository;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private MedicalRecordRepository medicalRecordRepository;
+    @Autowired
+    private ArOpenItemRepository openItemRepository;
+    @Autowired
+    private ArAgingBalanceRepository agingBalanceRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private ArAgingService arAgingService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Integer billingId;
+    private Integer clinicId;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.save(new Role("ROLE_STAFF_" + System.nanoTime()));
+
+        Clinic clinic = new Clinic();
+        clinic.setClinicName("스마일 치과");
+        clinic = clinicRepository.save(clinic);
+        clinicId = clinic.getClinic_id();
+
+        UserAccount cashier = new UserAccount();
+        cashier.setLoginId("cashier-" + System.nanoTime());
+        cashier.setPasswordHash("$2a$10$hashedPassword");
+        cashier.setRole(role);
+        cashier.setClinic(clinic);
+        cashier = userAccountRepository.save(cashier);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(cashier.getLoginId(), null));
+
+        Doctor doctor = new Doctor();
+        doctor.setName("김의사");
+        doctor.setClinic(clinic);
+        doctor = doctorRepository.save(doctor);
+
+        Customer customer = new Customer();
+        customer.setName("홍길동");
+        customer.setPhoneNumber("010-" + System.nanoTime());
+        customer = customerRepository.save(customer);
+
+        Appointment appointment = new Appointment();
+        appointment.setCustomer(customer);
+        appointment.setDoctor(doctor);
+        appointment.setClinic(clinic);
+        appointment.setAppointmentDatetime(LocalDate.now().atStartOfDay());
+        appointment.setStatus("진료완료");
+        appointment = appointmentRepository.save(appointment);
+
+        MedicalRecord record = new MedicalRecord();
+        record.setAppointment(appointment);
+        record.setCustomer(customer);
+        record.setDoctor(doctor);
+        record.setTreatmentDate(LocalDate.now());
+        record.setTotalCost(TOTAL_AMOUNT);
+        record = medicalRecordRepository.save(record);
+
+        Billing billing = new Billing();
+        billing.setMedicalRecord(record);
+        billing.setTotalAmount(TOTAL_AMOUNT);
+        billing.setBalance(TOTAL_AMOUNT);
+        billingId = billingRepository.save(billing).getBilling_id();
+    }
+
+    @Test
+    @DisplayName("동시 수납 - 유실되는 금액 없이 모두 반영")
+    void concurrentPayments_NoLostUpdates() throws Exception {
+        String loginId = SecurityContextHolder.getContext().getAuthentication().getName();
+        long transactionsBefore = transactionRepository.count();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(loginId, null));
+                start.await();
+                for (int i = 0; i < PAYMENTS_PER_THREAD; i++) {
+                    PaymentTransactionDto dto = new PaymentTransactionDto();
+                    dto.setAmount(PAYMENT);
+                    dto.setPaymentMethod("CARD");
+                    billingService.addPayment(billingId, dto);
+                }
+                SecurityContextHolder.clearContext();
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        executor.shutdown();
+
+        int payments = THREADS * PAYMENTS_PER_THREAD;
+        log.info("addPayment throughput: {} payments/s ({} threads x {} payments, {} ms)",
+                String.format("%.1f", payments / (elapsedNanos / 1_000_000_000.0)), THREADS, PAYMENTS_PER_THREAD, elapsedNanos / 1_000_000);
+
+        Billing billing = billingRepository.findById(billingId).orElseThrow();
+        BigDecimal expectedPaid = PAYMENT.multiply(BigDecimal.valueOf(payments));
+        assertEquals(0, expectedPaid.compareTo(billing.getTotalPaid()));
+        assertEquals(0, TOTAL_AMOUNT.subtract(expectedPaid).compareTo(billing.getBalance()));
+        assertEquals("PARTIAL", billing.getBillingStatus());
+        assertEquals(payments, billing.getVersion());
+        assertEquals(transactionsBefore + payments, transactionRepository.count());
+
+        // 미수금 연령 원장도 청구서 잔액과 일치 (커밋 이후 반영이 유실되거나 순서가 뒤바뀌지 않음)
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, List.of(new ArAgingEventHandler(arAgingService)),
+                transactionManager, 100, 10, 300, 7);
+        try {
+            relay.dispatchPending();
+        } finally {
+            relay.shutdown();
+        }
+        assertEquals(0, billing.getBalance().compareTo(openItemRepository.findById(billingId).orElseThrow().getBalance()));
+        ArAgingBucketTotal current = agingBalanceRepository.sumByClinic(clinicId).get(0);
+        assertEquals(ArAgingBucket.DAYS_0_30, current.getBucket());
+        assertEquals(0, billing.getBalance().compareTo(current.getBalance()));
+        assertEquals(1L, current.getItemCount());
+    }
+}
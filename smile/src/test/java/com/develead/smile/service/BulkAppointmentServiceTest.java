@@ -0,0 +1,257 @@
+package com.develead.smile.service;
+
+import com.develead.smile.config.JpaBatchingConfig;
+import com.develead.smile.domain.*;
+import com.develead.smile.dto.BulkAppointmentProgress;
+import com.develead.smile.dto.BulkAppointmentRequest;
+import com.develead.smile.repository.AppointmentChangeLogRepository;
+import com.develead.smile.repository.AppointmentRepository;
+import com.develead.smile.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 묶음 크기를 1로 줄여 여러 묶음에 걸친 처리와 진행률 갱신을 함께 검증한다
+@DataJpaTest(properties = "smile.appointment.bulk-chunk-size=1")
+@ActiveProfiles("test")
+@Import({BulkAppointmentService.class, ClinicContext.class, DomainEventPublisher.class, ClinicalSearchIndexer.class,
+        JpaBatchingConfig.class})
+class BulkAppointmentServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 3);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private BulkAppointmentService bulkAppointmentService;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private AppointmentChangeLogRepository changeLogRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private Clinic clinic;
+    private Doctor kim;
+    private Doctor lee;
+    private Customer customer;
+    private Appointment morning;
+    private Appointment afternoon;
+    private Appointment alreadyCancelled;
+    private Appointment nextDay;
+    private Appointment otherDoctor;
+
+    @BeforeEach
+    void setUp() {
+        clinic = clinic("스마일 치과");
+        kim = doctor("김의사", clinic);
+        lee = doctor("이의사", clinic);
+
+        Role role = entityManager.persist(new Role("ROLE_ADMIN"));
+        UserAccount user = new UserAccount();
+        user.setLoginId("admin@example.com");
+        user.setPasswordHash("$2a$10$hashedPassword");
+        user.setRole(role);
+        user.setClinic(clinic);
+        entityManager.persist(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getLoginId(), null));
+
+        customer = new Customer();
+        customer.setName("홍길동");
+        customer.setPhoneNumber("010-1234-5678");
+        entityManager.persist(customer);
+
+        morning = appointment(kim, DAY.atTime(9, 0), "예약완료");
+        afternoon = appointment(kim, DAY.atTime(14, 30), "예약완료");
+        alreadyCancelled = appointment(kim, DAY.atTime(11, 0), "예약취소");
+        nextDay = appointment(kim, DAY.plusDays(1).atTime(9, 0), "예약완료");
+        otherDoctor = appointment(lee, DAY.atTime(9, 0), "예약완료");
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("일괄 일정 변경 - 시각은 유지하고 날짜/의사만 옮긴다")
+    void reschedulesDayToAnotherDateAndDoctor() {
+        BulkAppointmentRequest request = request(BulkAppointmentRequest.Operation.RESCHEDULE);
+        request.setTargetDate(DAY.plusDays(3));
+        request.setTargetDoctorId(lee.getDoctor_id());
+        BulkAppointmentProgress progress = new BulkAppointmentProgress("op-1", request.getOperation());
+
+        bulkAppointmentService.execute(request, progress);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(BulkAppointmentProgress.State.COMPLETED, progress.getState());
+        assertEquals(2, progress.getTotal());
+        assertEquals(2, progress.getProcessed());
+
+        Appointment movedMorning = appointmentRepository.findById(morning.getAppointment_id()).orElseThrow();
+        assertEquals(LocalDateTime.of(2024, 5, 6, 9, 0), movedMorning.getAppointmentDatetime());
+        assertEquals(lee.getDoctor_id(), movedMorning.getDoctor().getDoctor_id());
+        Appointment movedAfternoon = appointmentRepository.findById(afternoon.getAppointment_id()).orElseThrow();
+        assertEquals(LocalDateTime.of(2024, 5, 6, 14, 30), movedAfternoon.getAppointmentDatetime());
+
+        // 취소된 예약, 다른 날짜, 다른 의사의 예약은 그대로
+        assertEquals(DAY.atTime(11, 0), reload(alreadyCancelled).getAppointmentDatetime());
+        assertEquals(DAY.plusDays(1).atTime(9, 0), reload(nextDay).getAppointmentDatetime());
+        assertEquals(DAY.atTime(9, 0), reload(otherDoctor).getAppointmentDatetime());
+
+        // 예약마다 일시/의사 변경 로그 2건, 모두 같은 작업 ID
+        List<AppointmentChangeLog> logs = changeLogRepository.findAll();
+        assertEquals(4, logs.size());
+        assertTrue(logs.stream().allMatch(log -> "op-1".equals(log.getBulkOperationId())));
+
+        // 작업 전체에 이벤트 하나, 옮기기 전/후 날짜를 함께 남긴다
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals(OutboxEvent.EventType.APPOINTMENTS_BULK_CHANGED, events.get(0).getEventType());
+        assertTrue(events.get(0).getPayload().contains("\"previousAppointmentDatetime\":\"2024-05-03T00:00\""));
+        assertTrue(events.get(0).getPayload().contains("\"appointmentDatetime\":\"2024-05-06T00:00\""));
+
+        List<Appointment> notified = appointmentRepository.findBulkChanged("op-1");
+        assertEquals(List.of(morning.getAppointment_id(), afternoon.getAppointment_id()),
+                notified.stream().map(Appointment::getAppointment_id).toList());
+        assertEquals("홍길동", notified.get(0).getCustomer().getName());
+    }
+
+    @Test
+    @DisplayName("옮길 시각에 대상 의사의 예약이 있으면 그 예약은 두고 충돌로 보고한다")
+    void reportsConflictsWithTargetDoctorsBookings() {
+        Appointment leeBooked = appointment(lee, DAY.plusDays(3).atTime(9, 0), "예약완료");
+        appointment(lee, DAY.plusDays(3).atTime(14, 30), "예약취소");
+        entityManager.flush();
+        entityManager.clear();
+        BulkAppointmentRequest request = request(BulkAppointmentRequest.Operation.RESCHEDULE);
+        request.setTargetDate(DAY.plusDays(3));
+        request.setTargetDoctorId(lee.getDoctor_id());
+        BulkAppointmentProgress progress = new BulkAppointmentProgress("op-4", request.getOperation());
+
+        bulkAppointmentService.execute(request, progress);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2, progress.getProcessed());
+        assertEquals(List.of(morning.getAppointment_id()), progress.getConflicts());
+        // 충돌한 예약은 원래 의사/시각 그대로, 취소된 예약과 겹치는 것은 충돌이 아니다
+        assertEquals(DAY.atTime(9, 0), reload(morning).getAppointmentDatetime());
+        assertEquals(kim.getDoctor_id(), reload(morning).getDoctor().getDoctor_id());
+        assertEquals(DAY.plusDays(3).atTime(14, 30), reload(afternoon).getAppointmentDatetime());
+        assertEquals(lee.getDoctor_id(), reload(leeBooked).getDoctor().getDoctor_id());
+        assertEquals(2, changeLogRepository.findAll().size());
+        assertEquals(List.of(afternoon.getAppointment_id()),
+                appointmentRepository.findBulkChanged("op-4").stream().map(Appointment::getAppointment_id).toList());
+    }
+
+    @Test
+    @DisplayName("진행 상황은 DB에 기록되어 작업을 실행하지 않은 노드에서도 조회된다")
+    void progressIsReadFromTheDatabase() {
+        BulkAppointmentProgress progress = new BulkAppointmentProgress("op-5", BulkAppointmentRequest.Operation.CANCEL);
+
+        bulkAppointmentService.execute(request(BulkAppointmentRequest.Operation.CANCEL), progress);
+
+        BulkAppointmentProgress stored = bulkAppointmentService.getProgress("op-5").orElseThrow();
+        assertNotSame(progress, stored);
+        assertEquals(BulkAppointmentProgress.State.COMPLETED, stored.getState());
+        assertEquals(2, stored.getTotal());
+        assertEquals(2, stored.getProcessed());
+        assertNotNull(stored.getFinishedAt());
+        assertTrue(bulkAppointmentService.getProgress("unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("일괄 취소 - 해당 날짜의 예약완료 건만 취소")
+    void cancelsActiveAppointmentsOfTheDay() {
+        BulkAppointmentProgress progress = new BulkAppointmentProgress("op-2", BulkAppointmentRequest.Operation.CANCEL);
+
+        bulkAppointmentService.execute(request(BulkAppointmentRequest.Operation.CANCEL), progress);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2, progress.getProcessed());
+        assertEquals("예약취소", reload(morning).getStatus());
+        assertEquals("예약취소", reload(afternoon).getStatus());
+        assertEquals(DAY.atTime(9, 0), reload(morning).getAppointmentDatetime());
+        assertEquals("예약완료", reload(nextDay).getStatus());
+        assertEquals("예약완료", reload(otherDoctor).getStatus());
+
+        List<AppointmentChangeLog> logs = changeLogRepository.findAll();
+        assertEquals(2, logs.size());
+        assertTrue(logs.stream().allMatch(log -> "status".equals(log.getFieldName())
+                && "예약완료".equals(log.getPreviousValue()) && "예약취소".equals(log.getNewValue())));
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("다른 지점 의사에게는 옮길 수 없다")
+    void rejectsDoctorFromAnotherClinic() {
+        Doctor outsider = doctor("박의사", clinic("다른 지점"));
+        BulkAppointmentRequest request = request(BulkAppointmentRequest.Operation.RESCHEDULE);
+        request.setTargetDoctorId(outsider.getDoctor_id());
+
+        assertThrows(IllegalArgumentException.class, () -> bulkAppointmentService.execute(request,
+                new BulkAppointmentProgress("op-3", request.getOperation())));
+    }
+
+    @Test
+    @DisplayName("옮길 날짜와 의사가 모두 없으면 시작하지 않는다")
+    void rejectsRescheduleWithoutTarget() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkAppointmentService.start(request(BulkAppointmentRequest.Operation.RESCHEDULE)));
+    }
+
+    private BulkAppointmentRequest request(BulkAppointmentRequest.Operation operation) {
+        BulkAppointmentRequest request = new BulkAppointmentRequest();
+        request.setOperation(operation);
+        request.setDoctorId(kim.getDoctor_id());
+        request.setDate(DAY);
+        return request;
+    }
+
+    private Appointment reload(Appointment appointment) {
+        return appointmentRepository.findById(appointment.getAppointment_id()).orElseThrow();
+    }
+
+    private Clinic clinic(String name) {
+        Clinic clinic = new Clinic();
+        clinic.setClinicName(name);
+        return entityManager.persist(clinic);
+    }
+
+    private Doctor doctor(String name, Clinic clinic) {
+        Doctor doctor = new Doctor();
+        doctor.setName(name);
+        doctor.setClinic(clinic);
+        return entityManager.persist(doctor);
+    }
+
+    private Appointment appointment(Doctor doctor, LocalDateTime datetime, String status) {
+        Appointment appointment = new Appointment();
+        appointment.setCustomer(customer);
+        appointment.setDoctor(doctor);
+        appointment.setClinic(doctor.getClinic());
+        appointment.setAppointmentDatetime(datetime);
+        appointment.setStatus(status);
+        return entityManager.persist(appointment);
+    }
+}
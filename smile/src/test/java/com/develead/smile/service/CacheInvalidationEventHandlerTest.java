@@ -0,0 +1,83 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.OutboxEvent;
+import com.develead.smile.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationEventHandlerTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private Cache dashboard;
+    private Cache calendar;
+    private CacheInvalidationEventHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+                DashboardService.DASHBOARD_CACHE, AppointmentCalendarService.CALENDAR_CACHE);
+        dashboard = cacheManager.getCache(DashboardService.DASHBOARD_CACHE);
+        calendar = cacheManager.getCache(AppointmentCalendarService.CALENDAR_CACHE);
+        handler = new CacheInvalidationEventHandler(cacheManager, outboxEventRepository, 60);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 기록한 예약 변경 이벤트 - 이 노드의 대시보드와 이전/새 달력을 비움")
+    void pollEvictsForEventsWrittenByOtherNodes() {
+        dashboard.put(1, "dashboard");
+        calendar.put(AppointmentCalendarService.cacheKey(1, YearMonth.of(2025, 3)), "march");
+        calendar.put(AppointmentCalendarService.cacheKey(1, YearMonth.of(2025, 4)), "april");
+        calendar.put(AppointmentCalendarService.cacheKey(1, YearMonth.of(2025, 5)), "may");
+        when(outboxEventRepository.findCreatedSince(any())).thenReturn(List.of(event(10L,
+                "{\"clinicId\":\"1\",\"appointmentDatetime\":\"2025-04-02T10:00\",\"previousAppointmentDatetime\":\"2025-03-30T10:00\"}")));
+
+        handler.pollRecentEvents();
+
+        assertNull(dashboard.get(1));
+        assertNull(calendar.get(AppointmentCalendarService.cacheKey(1, YearMonth.of(2025, 3))));
+        assertNull(calendar.get(AppointmentCalendarService.cacheKey(1, YearMonth.of(2025, 4))));
+        assertNotNull(calendar.get(AppointmentCalendarService.cacheKey(1, YearMonth.of(2025, 5))));
+    }
+
+    @Test
+    @DisplayName("이 노드가 커밋 직후 이미 비운 이벤트는 폴링에서 다시 비우지 않음")
+    void pollSkipsEventsAlreadyAppliedAfterCommit() {
+        dashboard.put(1, "stale");
+        handler.onOutboxWritten(new DomainEventPublisher.OutboxWritten(10L, Map.of("clinicId", "1")));
+        assertNull(dashboard.get(1));
+
+        // 커밋 이후 다시 채워진 캐시는 같은 이벤트를 다시 읽어도 유지된다
+        dashboard.put(1, "fresh");
+        when(outboxEventRepository.findCreatedSince(any())).thenReturn(List.of(event(10L, "{\"clinicId\":\"1\"}")));
+        handler.pollRecentEvents();
+
+        assertEquals("fresh", dashboard.get(1).get());
+    }
+
+    private static OutboxEvent event(Long id, String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEvent_id(id);
+        event.setEventType(OutboxEvent.EventType.APPOINTMENT_CHANGED);
+        event.setAggregateType("Appointment");
+        event.setAggregateId(1);
+        event.setPayload(payload);
+        return event;
+    }
+}
@@ -0,0 +1,144 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.ChatbotInquiry;
+import com.develead.smile.domain.ChatbotLog;
+import com.develead.smile.dto.ChatbotAnalyticsDto;
+import com.develead.smile.dto.ChatbotAnalyticsPoint;
+import com.develead.smile.dto.ChatbotIntentTotal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 페이지 크기를 2로 줄여 같은 시각의 로그가 페이지 경계에 걸치는 경우까지 검증한다
+@DataJpaTest(properties = "smile.chatbot.analytics.page-size=2")
+@ActiveProfiles("test")
+@Import(ChatbotAnalyticsService.class)
+class ChatbotAnalyticsServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 3);
+    private static final LocalDateTime NOON = DAY.atTime(12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ChatbotAnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        // s1: 10시에 예약 문의로 시작해 3번 대화 후 문의 접수, s2: 가격 문의 한 번
+        log("s1", "예약", DAY.atTime(10, 5));
+        log("s1", "가격", DAY.atTime(10, 20));
+        log("s2", "가격", DAY.atTime(10, 20));
+        log(null, null, DAY.atTime(10, 50));
+        log("s1", "예약", DAY.atTime(11, 10));
+        inquiry("s1", DAY.atTime(11, 15));
+        inquiry("s1", DAY.atTime(11, 30));
+        inquiry(null, DAY.atTime(11, 40));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("시간대 x 인텐트 집계 - 세션 지표는 시작 시각/첫 인텐트 기준")
+    void rollsUpTurnsSessionsAndConversions() {
+        assertEquals(8, analyticsService.ingest(NOON));
+
+        ChatbotAnalyticsDto analytics = analyticsService.getAnalytics(DAY, DAY, ChatbotAnalyticsDto.Granularity.HOUR);
+
+        assertEquals(2, analytics.getSeries().size());
+        ChatbotAnalyticsPoint ten = analytics.getSeries().get(0);
+        assertEquals(DAY.atTime(10, 0), ten.getBucket());
+        assertEquals(4, ten.getTurns());
+        assertEquals(2, ten.getSessions());
+        assertEquals(4, ten.getSessionTurns());
+        // 같은 세션의 두 번째 문의는 전환으로 다시 세지 않는다
+        assertEquals(1, ten.getConversions());
+        assertEquals(2.0, ten.getAvgTurnsPerSession(), 1e-9);
+        assertEquals(0.5, ten.getConversionRate(), 1e-9);
+        ChatbotAnalyticsPoint eleven = analytics.getSeries().get(1);
+        assertEquals(1, eleven.getTurns());
+        assertEquals(0, eleven.getSessions());
+
+        List<ChatbotIntentTotal> intents = analytics.getIntents();
+        assertEquals(List.of("가격", "예약", ChatbotAnalyticsService.UNKNOWN_INTENT),
+                intents.stream().map(ChatbotIntentTotal::getIntent).toList());
+        assertEquals(1, intents.get(1).getConversions());
+        assertEquals(0, intents.get(0).getConversions());
+    }
+
+    @Test
+    @DisplayName("이미 반영한 행은 다시 읽지 않고, 새 대화만 기존 세션에 더한다")
+    void ingestsOnlyNewRows() {
+        analyticsService.ingest(NOON);
+        assertEquals(0, analyticsService.ingest(NOON));
+
+        log("s2", "예약", DAY.atTime(12, 30));
+        entityManager.flush();
+        assertEquals(1, analyticsService.ingest(DAY.atTime(13, 0)));
+
+        ChatbotAnalyticsDto analytics = analyticsService.getAnalytics(DAY, DAY, ChatbotAnalyticsDto.Granularity.DAY);
+        assertEquals(1, analytics.getSeries().size());
+        ChatbotAnalyticsPoint day = analytics.getSeries().get(0);
+        assertEquals(DAY.atStartOfDay(), day.getBucket());
+        assertEquals(6, day.getTurns());
+        assertEquals(2, day.getSessions());
+        assertEquals(5, day.getSessionTurns());
+    }
+
+    @Test
+    @DisplayName("settle 시간 이후의 행은 다음 실행으로 미룬다")
+    void defersRowsAfterUntil() {
+        assertEquals(4, analyticsService.ingest(DAY.atTime(11, 0)));
+        ChatbotAnalyticsPoint ten = analyticsService.getAnalytics(DAY, DAY, ChatbotAnalyticsDto.Granularity.HOUR).getSeries().get(0);
+        assertEquals(0, ten.getConversions());
+
+        assertEquals(4, analyticsService.ingest(NOON));
+        ten = analyticsService.getAnalytics(DAY, DAY, ChatbotAnalyticsDto.Granularity.HOUR).getSeries().get(0);
+        assertEquals(1, ten.getConversions());
+        assertEquals(4, ten.getSessionTurns());
+    }
+
+    @Test
+    @DisplayName("재구성 결과는 증분 반영 결과와 같다")
+    void backfillMatchesIncrementalRollups() {
+        analyticsService.ingest(DAY.atTime(10, 30));
+        analyticsService.ingest(NOON);
+        ChatbotAnalyticsPoint incremental = analyticsService.getAnalytics(DAY, DAY, ChatbotAnalyticsDto.Granularity.DAY).getSeries().get(0);
+
+        assertEquals(8, analyticsService.backfill(NOON));
+
+        ChatbotAnalyticsPoint rebuilt = analyticsService.getAnalytics(DAY, DAY, ChatbotAnalyticsDto.Granularity.DAY).getSeries().get(0);
+        assertEquals(incremental.getTurns(), rebuilt.getTurns());
+        assertEquals(incremental.getSessions(), rebuilt.getSessions());
+        assertEquals(incremental.getSessionTurns(), rebuilt.getSessionTurns());
+        assertEquals(incremental.getConversions(), rebuilt.getConversions());
+    }
+
+    private void log(String sessionId, String intent, LocalDateTime timestamp) {
+        ChatbotLog log = new ChatbotLog();
+        log.setSessionId(sessionId);
+        log.setIntent(intent);
+        log.setUserMessage("안녕하세요");
+        log.setBotResponse("무엇을 도와드릴까요?");
+        log.setTimestamp(timestamp);
+        entityManager.persist(log);
+    }
+
+    private void inquiry(String sessionId, LocalDateTime receivedAt) {
+        ChatbotInquiry inquiry = new ChatbotInquiry();
+        inquiry.setSessionId(sessionId);
+        inquiry.setCustomerName("홍길동");
+        inquiry.setPhoneNumber("010-1234-5678");
+        inquiry.setReceivedAt(receivedAt);
+        entityManager.persist(inquiry);
+    }
+}
@@ -0,0 +1,214 @@
+package com.develead.smile.service;
+
+import com.develead.smile.config.JpaBatchingConfig;
+import com.develead.smile.domain.*;
+import com.develead.smile.dto.*;
+import com.develead.smile.repository.BillingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 다른 지점의 진료 기록/청구서/예약은 ID를 알아도 조회, 수납, 수정할 수 없고 타임라인과 검색에도 나오지 않는다
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({MedicalRecordService.class, BillingService.class, AdminAppointmentService.class, PatientTimelineService.class,
+        ClinicalSearchService.class, ClinicalSearchIndex.class, ClinicContext.class, DomainEventPublisher.class,
+        ArAgingService.class, PhaseRecorder.class, JpaBatchingConfig.class})
+class ClinicScopingTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 3);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private MedicalRecordService medicalRecordService;
+    @Autowired
+    private BillingService billingService;
+    @Autowired
+    private AdminAppointmentService adminAppointmentService;
+    @Autowired
+    private PatientTimelineService patientTimelineService;
+    @Autowired
+    private ClinicalSearchService clinicalSearchService;
+    @Autowired
+    private ClinicalSearchIndex searchIndex;
+    @Autowired
+    private BillingRepository billingRepository;
+
+    private Customer customer;
+    private MedicalRecord ownRecord;
+    private MedicalRecord otherRecord;
+    private Billing otherBilling;
+
+    @BeforeEach
+    void setUp() {
+        Role role = entityManager.persist(new Role("ROLE_ADMIN"));
+        Clinic own = clinic("스마일 치과");
+        Clinic other = clinic("다른 지점");
+        user("own@example.com", role, own);
+        user("other@example.com", role, other);
+        Doctor ownDoctor = doctor("김의사", own);
+        Doctor otherDoctor = doctor("박의사", other);
+
+        customer = new Customer();
+        customer.setName("홍길동");
+        customer.setPhoneNumber("010-1234-5678");
+        entityManager.persist(customer);
+        ServiceItem item = entityManager.persist(serviceItem());
+
+        // 고객은 지점 공용이므로 두 지점 모두 같은 고객의 기록을 남긴다
+        loginAs("other@example.com");
+        otherRecord = medicalRecordService.save(recordDto(otherDoctor, item, "다른 지점 잇몸 출혈"));
+        loginAs("own@example.com");
+        ownRecord = medicalRecordService.save(recordDto(ownDoctor, item, "우리 지점 잇몸 출혈"));
+        entityManager.flush();
+        otherBilling = billingRepository.findByMedicalRecordId(otherRecord.getRecord_id()).orElseThrow();
+
+        // 색인은 커밋 이후에 반영되므로 테스트 트랜잭션 안에서는 직접 넣는다
+        searchIndex.upsert(ClinicalSearchIndexer.toDocument(otherRecord));
+        searchIndex.upsert(ClinicalSearchIndexer.toDocument(ownRecord));
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("다른 지점 진료 기록/청구서/예약은 ID로 조회되지 않는다")
+    void otherClinicRecordsAreNotFoundById() {
+        assertTrue(medicalRecordService.findById(otherRecord.getRecord_id()).isEmpty());
+        assertTrue(billingService.findById(otherBilling.getBilling_id()).isEmpty());
+        assertTrue(adminAppointmentService.findById(otherRecord.getAppointment().getAppointment_id()).isEmpty());
+
+        assertTrue(medicalRecordService.findById(ownRecord.getRecord_id()).isPresent());
+    }
+
+    @Test
+    @DisplayName("다른 지점 청구서에는 수납할 수 없고 잔액도 바뀌지 않는다")
+    void paymentToOtherClinicBillingIsRejected() {
+        PaymentTransactionDto payment = new PaymentTransactionDto();
+        payment.setAmount(new BigDecimal("5000"));
+        payment.setPaymentMethod("CARD");
+
+        assertThrows(NoSuchElementException.class, () -> billingService.addPayment(otherBilling.getBilling_id(), payment));
+
+        entityManager.clear();
+        Billing reloaded = entityManager.find(Billing.class, otherBilling.getBilling_id());
+        assertEquals(0, BigDecimal.ZERO.compareTo(reloaded.getTotalPaid()));
+        assertEquals(0, otherBilling.getBalance().compareTo(reloaded.getBalance()));
+    }
+
+    @Test
+    @DisplayName("다른 지점 진료 기록과 예약은 수정할 수 없다")
+    void otherClinicRecordsCannotBeEdited() {
+        MedicalRecordDto recordDto = new MedicalRecordDto();
+        recordDto.setRecord_id(otherRecord.getRecord_id());
+        recordDto.setCustomerId(customer.getCustomer_id());
+        recordDto.setDoctorId(otherRecord.getDoctor().getDoctor_id());
+        recordDto.setTreatmentDate(DAY);
+        recordDto.setSymptoms("변경 시도");
+        recordDto.setServices(List.of());
+        assertThrows(NoSuchElementException.class, () -> medicalRecordService.save(recordDto));
+
+        AdminAppointmentDto appointmentDto = new AdminAppointmentDto();
+        appointmentDto.setAppointmentId(otherRecord.getAppointment().getAppointment_id());
+        appointmentDto.setCustomerId(customer.getCustomer_id());
+        appointmentDto.setDoctorId(otherRecord.getDoctor().getDoctor_id());
+        appointmentDto.setAppointmentDatetime(DAY.atTime(10, 0));
+        appointmentDto.setStatus("예약취소");
+        assertThrows(NoSuchElementException.class, () -> adminAppointmentService.save(appointmentDto));
+    }
+
+    @Test
+    @DisplayName("다른 지점 의사로는 새 진료 기록을 만들 수 없다")
+    void newRecordWithOtherClinicDoctorIsRejected() {
+        MedicalRecordDto recordDto = new MedicalRecordDto();
+        recordDto.setCustomerId(customer.getCustomer_id());
+        recordDto.setDoctorId(otherRecord.getDoctor().getDoctor_id());
+        recordDto.setTreatmentDate(DAY);
+        recordDto.setSymptoms("다른 지점 의사");
+        recordDto.setServices(List.of());
+
+        assertThrows(NoSuchElementException.class, () -> medicalRecordService.save(recordDto));
+    }
+
+    @Test
+    @DisplayName("타임라인과 전문 검색에는 현재 지점 항목만 나온다")
+    void timelineAndSearchShowCurrentClinicOnly() {
+        PatientTimelineDto timeline = patientTimelineService.getTimeline(customer.getCustomer_id(), null, 20);
+        assertFalse(timeline.getEntries().isEmpty());
+        assertTrue(timeline.getEntries().stream().noneMatch(entry ->
+                entry.getSourceId().equals(otherRecord.getRecord_id()) && entry.getKind().equals("TREATMENT")));
+        assertTrue(timeline.getEntries().stream().noneMatch(entry ->
+                entry.getSourceId().equals(otherRecord.getAppointment().getAppointment_id()) && entry.getKind().equals("APPOINTMENT")));
+        assertTrue(timeline.getEntries().stream().anyMatch(entry ->
+                entry.getSourceId().equals(ownRecord.getRecord_id()) && entry.getKind().equals("TREATMENT")));
+
+        List<ClinicalSearchHit> hits = clinicalSearchService.search("잇몸 출혈", null, null, null, 10);
+        assertEquals(List.of(ownRecord.getRecord_id()), hits.stream().map(ClinicalSearchHit::getSourceId).toList());
+    }
+
+    private void loginAs(String loginId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(loginId, null));
+    }
+
+    private MedicalRecordDto recordDto(Doctor doctor, ServiceItem item, String symptoms) {
+        MedicalRecordDto dto = new MedicalRecordDto();
+        dto.setCustomerId(customer.getCustomer_id());
+        dto.setDoctorId(doctor.getDoctor_id());
+        dto.setTreatmentDate(DAY);
+        dto.setSymptoms(symptoms);
+        MedicalRecordServiceDto line = new MedicalRecordServiceDto();
+        line.setServiceItemId(item.getService_item_id());
+        line.setQuantity(1);
+        dto.setServices(List.of(line));
+        return dto;
+    }
+
+    private void user(String loginId, Role role, Clinic clinic) {
+        UserAccount user = new UserAccount();
+        user.setLoginId(loginId);
+        user.setPasswordHash("$2a$10$hashedPassword");
+        user.setRole(role);
+        user.setClinic(clinic);
+        entityManager.persist(user);
+    }
+
+    private Clinic clinic(String name) {
+        Clinic clinic = new Clinic();
+        clinic.setClinicName(name);
+        return entityManager.persist(clinic);
+    }
+
+    private Doctor doctor(String name, Clinic clinic) {
+        Doctor doctor = new Doctor();
+        doctor.setName(name);
+        doctor.setClinic(clinic);
+        return entityManager.persist(doctor);
+    }
+
+    private static ServiceItem serviceItem() {
+        ServiceItem item = new ServiceItem();
+        item.setServiceCode("SVC-1");
+        item.setServiceName("스케일링");
+        item.setCategory("일반");
+        item.setDefaultCost(new BigDecimal("10000"));
+        return item;
+    }
+}
@@ -0,0 +1,138 @@
+package com.develead.smile.service;
+
+import com.develead.smile.dto.ClinicalSearchDocument;
+import com.develead.smile.dto.ClinicalSearchHit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 전문 검색 색인 성능 회귀 확인. 운영 규모(수십만 건)의 합성 진료 문서로 초기 적재 시간과
+ * 검색/증분 색인 지연(p50/p95/p99)을 로그로 남기고 예산을 넘으면 실패한다.
+ * 기본 빌드에서는 제외되며 ./mvnw -Pbenchmark test 로 실행한다.
+ * 규모와 예산은 -Dsmile.search.benchmark.documents, -Dsmile.search.benchmark.load-budget-ms,
+ * -Dsmile.search.benchmark.query-p95-budget-ms 로 조정한다 (CI 장비 기준으로 여유 있게).
+ */
+@Tag("benchmark")
+class ClinicalSearchIndexBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(ClinicalSearchIndexBenchmarkTest.class);
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 5 * 365;
+    private static final int CLINICS = 5;
+    private static final int DOCTORS_PER_CLINIC = 8;
+    private static final int LOAD_PAGE_SIZE = 2000;
+    private static final int QUERY_ROUNDS = 200;
+
+    private static final String[] PHRASES = {
+            "잇몸 출혈", "잇몸 부종", "치석 제거", "스케일링 시행", "어금니 통증", "찬물에 시림", "충치 치료",
+            "신경 치료 2차", "사랑니 발치", "임플란트 식립", "임플란트 상담", "크라운 본뜨기", "레진 충전",
+            "교정 상담", "브라켓 탈락", "턱관절 통증", "입 벌릴 때 소리", "구취 호소", "잇몸 퇴축", "치아 파절",
+            "X-Ray 촬영", "파노라마 촬영", "불소 도포", "실란트", "틀니 조정", "야간 이갈이", "마우스피스 제작",
+            "발치 후 소독", "봉합사 제거", "정기 검진", "양치 시 피가 남", "씹을 때 통증", "음식물 끼임",
+            "치아 흔들림", "염증 의심", "항생제 처방", "진통제 처방", "다음 내원 시 재평가", "보험 적용 문의"
+    };
+    private static final String[] QUERIES = {
+            "잇몸 출혈", "사랑니 발치", "임플란트", "턱관절", "신경 치료", "야간 이갈이 마우스피스", "파노라마", "구취"
+    };
+
+    private final int documents = Integer.getInteger("smile.search.benchmark.documents", 300_000);
+    private final long loadBudgetMillis = Long.getLong("smile.search.benchmark.load-budget-ms", 60_000);
+    private final long queryP95BudgetMillis = Long.getLong("smile.search.benchmark.query-p95-budget-ms", 200);
+
+    @Test
+    @DisplayName("수십만 건 색인의 적재 시간과 검색 지연이 예산 안에 든다")
+    void loadAndQueryLatencyWithinBudget() {
+        Random random = new Random(42);
+        ClinicalSearchIndex index = new ClinicalSearchIndex();
+
+        long started = System.nanoTime();
+        for (int from = 1; from <= documents; from += LOAD_PAGE_SIZE) {
+            List<ClinicalSearchDocument> page = new ArrayList<>(LOAD_PAGE_SIZE);
+            for (int id = from; id < from + LOAD_PAGE_SIZE && id <= documents; id++) {
+                page.add(document(id, random));
+            }
+            index.addAllIfAbsent(page);
+        }
+        long loadMillis = (System.nanoTime() - started) / 1_000_000;
+        assertEquals(documents, index.size());
+
+        // JIT 예열 후 측정
+        for (int i = 0; i < 50; i++) {
+            search(index, random, i);
+        }
+        long[] unfiltered = new long[QUERY_ROUNDS];
+        long[] filtered = new long[QUERY_ROUNDS];
+        int hits = 0;
+        for (int i = 0; i < QUERY_ROUNDS; i++) {
+            long start = System.nanoTime();
+            hits += index.search(QUERIES[i % QUERIES.length], null, null, null, null, 20).size();
+            unfiltered[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            search(index, random, i);
+            filtered[i] = System.nanoTime() - start;
+        }
+        assertTrue(hits > 0);
+
+        long[] upserts = new long[QUERY_ROUNDS];
+        for (int i = 0; i < QUERY_ROUNDS; i++) {
+            ClinicalSearchDocument changed = document(1 + random.nextInt(documents), random);
+            long start = System.nanoTime();
+            index.upsert(changed);
+            upserts[i] = System.nanoTime() - start;
+        }
+
+        log.info("clinical search: {} documents loaded in {} ms (budget {} ms)", documents, loadMillis, loadBudgetMillis);
+        log.info("clinical search: query {}, filtered query {}, upsert {}",
+                percentiles(unfiltered), percentiles(filtered), percentiles(upserts));
+
+        assertTrue(loadMillis <= loadBudgetMillis, "load " + loadMillis + " ms exceeds budget " + loadBudgetMillis + " ms");
+        long p95 = Math.max(percentile(unfiltered, 95), percentile(filtered, 95)) / 1_000_000;
+        assertTrue(p95 <= queryP95BudgetMillis, "query p95 " + p95 + " ms exceeds budget " + queryP95BudgetMillis + " ms");
+    }
+
+    // 지점 + (절반은) 의사 + 최근 1년 기간 필터
+    private static List<ClinicalSearchHit> search(ClinicalSearchIndex index, Random random, int round) {
+        int clinicId = 1 + random.nextInt(CLINICS);
+        Integer doctorId = round % 2 == 0 ? doctorId(clinicId, random) : null;
+        LocalDate to = FIRST_DAY.plusDays(DAYS);
+        return index.search(QUERIES[round % QUERIES.length], clinicId, doctorId, to.minusYears(1), to, 20);
+    }
+
+    private static ClinicalSearchDocument document(int id, Random random) {
+        int clinicId = 1 + random.nextInt(CLINICS);
+        StringBuilder text = new StringBuilder();
+        int phrases = 3 + random.nextInt(8);
+        for (int i = 0; i < phrases; i++) {
+            text.append(PHRASES[random.nextInt(PHRASES.length)]).append(i % 3 == 2 ? ". " : ", ");
+        }
+        return new ClinicalSearchDocument(ClinicalSearchIndex.KIND_TREATMENT, id, clinicId, doctorId(clinicId, random),
+                FIRST_DAY.plusDays(random.nextInt(DAYS)), text.toString());
+    }
+
+    private static int doctorId(int clinicId, Random random) {
+        return (clinicId - 1) * DOCTORS_PER_CLINIC + 1 + random.nextInt(DOCTORS_PER_CLINIC);
+    }
+
+    private static String percentiles(long[] nanos) {
+        return String.format("p50 %.2f / p95 %.2f / p99 %.2f ms",
+                percentile(nanos, 50) / 1e6, percentile(nanos, 95) / 1e6, percentile(nanos, 99) / 1e6);
+    }
+
+    private static long percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+}
@@ -0,0 +1,105 @@
+package com.develead.smile.service;
+
+import com.develead.smile.dto.ClinicalSearchDocument;
+import com.develead.smile.dto.ClinicalSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClinicalSearchIndexTest {
+
+    private ClinicalSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClinicalSearchIndex();
+    }
+
+    @Test
+    @DisplayName("한글은 음절 바이그램, 영문/숫자는 단어 단위로 토큰화")
+    void tokenize() {
+        assertEquals(List.of("잇몸", "몸이", "붓고", "출혈"), ClinicalTextTokenizer.tokenize("잇몸이 붓고, 출혈"));
+        assertEquals(List.of("ray", "촬영", "36"), ClinicalTextTokenizer.tokenize("X-Ray 촬영 #36"));
+        assertTrue(ClinicalTextTokenizer.tokenize("  ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("조사가 붙은 문장도 검색되고, 많이 언급된 문서가 상위에 온다")
+    void searchRanksByRelevance() {
+        index.upsert(treatment(1, 10, "2024-05-01", "잇몸 출혈이 있음. 잇몸 염증 의심"));
+        index.upsert(treatment(2, 10, "2024-05-02", "어금니 통증"));
+        index.upsert(treatment(3, 11, "2024-05-03", "양치 시 잇몸에서 피가 남"));
+
+        List<ClinicalSearchHit> hits = index.search("잇몸", null, null, null, null, 10);
+
+        assertEquals(List.of(1, 3), hits.stream().map(ClinicalSearchHit::getSourceId).toList());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("지점/의사/기간 필터")
+    void searchWithFilters() {
+        index.upsert(treatment(1, 10, "2024-05-01", "잇몸 출혈"));
+        index.upsert(treatment(2, 11, "2024-05-10", "잇몸 출혈"));
+        index.upsert(new ClinicalSearchDocument(ClinicalSearchIndex.KIND_INQUIRY, 7,
+                LocalDate.parse("2024-05-05").atStartOfDay(), "잇몸 출혈 상담", null));
+        index.upsert(new ClinicalSearchDocument(ClinicalSearchIndex.KIND_TREATMENT, 8, 2, 20,
+                LocalDate.parse("2024-05-04"), "잇몸 출혈"));
+
+        // 다른 지점 기록은 제외되고, 지점이 없는 챗봇 문의는 모든 지점에서 보인다
+        assertEquals(List.of(2, 1, 7), sourceIds(index.search("출혈", 1, null, null, null, 10)));
+        assertEquals(List.of(8, 7), sourceIds(index.search("출혈", 2, null, null, null, 10)));
+        index.remove(ClinicalSearchIndex.KIND_TREATMENT, 8);
+
+        assertEquals(List.of(2), sourceIds(index.search("출혈", null, 11, null, null, 10)));
+        assertEquals(List.of(1, 7), sourceIds(index.search("출혈", null, null, null, LocalDate.parse("2024-05-05"), 10)));
+        assertEquals(3, index.search("출혈", null, null, null, null, 10).size());
+    }
+
+    @Test
+    @DisplayName("수정된 문서는 새 내용으로만 검색되고, 삭제가 많아지면 압축 후에도 결과가 유지된다")
+    void updateAndCompact() {
+        index.upsert(treatment(1, 10, "2024-05-01", "사랑니 발치"));
+        index.upsert(treatment(1, 10, "2024-05-01", "스케일링"));
+
+        assertTrue(index.search("발치", null, null, null, null, 10).isEmpty());
+        assertEquals(List.of(1), sourceIds(index.search("스케일링", null, null, null, null, 10)));
+
+        for (int round = 0; round < 3; round++) {
+            for (int id = 100; id < 1200; id++) {
+                index.upsert(treatment(id, 10, "2024-06-01", "정기 검진 " + round));
+            }
+        }
+        assertEquals(1101, index.size());
+        assertEquals(List.of(1), sourceIds(index.search("스케일링", null, null, null, null, 10)));
+        assertEquals(5, index.search("정기 검진", null, null, null, null, 5).size());
+    }
+
+    @Test
+    @DisplayName("초기 적재는 증분 색인이 먼저 반영한 문서를 덮어쓰지 않는다")
+    void bulkLoadKeepsNewerDocuments() {
+        index.upsert(treatment(1, 10, "2024-05-01", "최신 내용"));
+        List<ClinicalSearchDocument> loaded = new ArrayList<>();
+        loaded.add(treatment(1, 10, "2024-05-01", "예전 내용"));
+        loaded.add(treatment(2, 10, "2024-05-01", "예전 내용"));
+
+        index.addAllIfAbsent(loaded);
+
+        assertEquals(List.of(2), sourceIds(index.search("예전", null, null, null, null, 10)));
+        assertEquals(List.of(1), sourceIds(index.search("최신", null, null, null, null, 10)));
+    }
+
+    private static ClinicalSearchDocument treatment(int id, int doctorId, String date, String text) {
+        return new ClinicalSearchDocument(ClinicalSearchIndex.KIND_TREATMENT, id, 1, doctorId, LocalDate.parse(date), text);
+    }
+
+    private static List<Integer> sourceIds(List<ClinicalSearchHit> hits) {
+        return hits.stream().map(ClinicalSearchHit::getSourceId).toList();
+    }
+}
@@ -0,0 +1,156 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.Clinic;
+import com.develead.smile.domain.InventoryItem;
+import com.develead.smile.domain.InventoryLog;
+import com.develead.smile.dto.InventoryReorderItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(InventoryForecastService.class)
+class InventoryForecastServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private InventoryForecastService forecastService;
+
+    private Clinic clinic;
+
+    @BeforeEach
+    void setUp() {
+        clinic = new Clinic();
+        clinic.setClinicName("스마일 치과");
+        entityManager.persist(clinic);
+    }
+
+    @Test
+    @DisplayName("매일 같은 양을 쓰면 일평균 소비량은 그 양이다")
+    void constantConsumptionGivesThatRate() {
+        InventoryItem gloves = item("GL-01", "장갑", 500, 50);
+        for (int d = 0; d < 10; d++) {
+            // 하루 두 번에 나눠 출고해도 하루치로 합산된다
+            forecastService.recordMovement(gloves, "OUT", -4, DAY.plusDays(d));
+            forecastService.recordMovement(gloves, "OUT", -6, DAY.plusDays(d));
+        }
+
+        assertEquals(10.0, forecastService.consumptionRate(gloves, DAY.plusDays(10)), 1e-9);
+
+        InventoryReorderItem forecast = forecastService.forecast(gloves, DAY.plusDays(10));
+        assertEquals(50.0, forecast.getDaysUntilStockout(), 1e-9);
+        assertEquals(70 + 50, forecast.getReorderPoint());
+        // (조달 7일 + 보유 14일) x 10 + 안전 재고 50 - 현재 500
+        assertEquals(0, forecast.getSuggestedOrderQuantity());
+    }
+
+    @Test
+    @DisplayName("입고는 소비로 보지 않고, 출고가 없던 날은 0으로 반영되어 소비량이 줄어든다")
+    void idleDaysDecayRate() {
+        InventoryItem masks = item("MK-01", "마스크", 100, 0);
+        forecastService.recordMovement(masks, "IN", 200, DAY);
+        assertEquals(0.0, forecastService.consumptionRate(masks, DAY.plusDays(1)));
+
+        for (int d = 0; d < 5; d++) {
+            forecastService.recordMovement(masks, "OUT", -10, DAY.plusDays(d));
+        }
+        double busy = forecastService.consumptionRate(masks, DAY.plusDays(5));
+        double idle = forecastService.consumptionRate(masks, DAY.plusDays(15));
+
+        assertEquals(10.0, busy, 1e-9);
+        assertTrue(idle < busy / 2, () -> "rate after idle days " + idle);
+        assertTrue(idle > 0);
+    }
+
+    @Test
+    @DisplayName("재주문 목록 - 재주문점 이하 또는 안전 재고 미만 품목만, 소진이 빠른 순")
+    void reorderListContainsItemsAtOrBelowReorderPoint() {
+        LocalDate today = LocalDate.now();
+        InventoryItem fast = item("A-01", "레진", 30, 5);
+        InventoryItem slow = item("B-01", "거즈", 60, 5);
+        InventoryItem plenty = item("C-01", "면봉", 1000, 5);
+        InventoryItem belowSafe = item("D-01", "봉합사", 2, 5);
+        for (int d = 7; d >= 1; d--) {
+            forecastService.recordMovement(fast, "OUT", -10, today.minusDays(d));
+            forecastService.recordMovement(slow, "OUT", -8, today.minusDays(d));
+            forecastService.recordMovement(plenty, "OUT", -10, today.minusDays(d));
+        }
+        entityManager.flush();
+
+        List<InventoryReorderItem> reorder = forecastService.getReorderList(clinic.getClinic_id(), 10);
+
+        // 레진 3일, 거즈 7.5일 (재주문점 61), 면봉 100일, 봉합사는 소비 이력 없이 안전 재고 미만
+        assertEquals(List.of("A-01", "B-01", "D-01"), reorder.stream().map(InventoryReorderItem::getItemCode).toList());
+        assertNull(reorder.get(2).getDaysUntilStockout());
+        assertEquals(2, forecastService.getReorderList(clinic.getClinic_id(), 2).size());
+    }
+
+    @Test
+    @DisplayName("재고 로그에서 다시 만든 예측은 증분 반영 결과와 같다")
+    void rebuildFromHistoryMatchesIncrementalState() {
+        InventoryItem incremental = item("GL-01", "장갑", 500, 50);
+        InventoryItem rebuilt = item("GL-02", "장갑(대)", 500, 50);
+        int[] outs = {12, 0, 7, 20, 0, 0, 9};
+        for (int d = 0; d < outs.length; d++) {
+            if (outs[d] == 0) {
+                continue;
+            }
+            forecastService.recordMovement(incremental, "OUT", -outs[d], DAY.plusDays(d));
+            log(rebuilt, "OUT", -outs[d] + 3, DAY.plusDays(d));
+            log(rebuilt, "OUT", -3, DAY.plusDays(d));
+            log(rebuilt, "IN", 40, DAY.plusDays(d));
+        }
+        // 다른 지점의 품목은 재구성 대상이 아니다
+        Clinic other = new Clinic();
+        other.setClinicName("다른 지점");
+        entityManager.persist(other);
+        InventoryItem otherItem = item("GL-01", "장갑", 500, 50);
+        otherItem.setClinic(other);
+        log(otherItem, "OUT", -5, DAY);
+        entityManager.flush();
+        LocalDate asOf = DAY.plusDays(outs.length + 2);
+        // incremental 품목은 로그가 없으므로 재구성되면 상태가 비워진다. 비교값을 먼저 잡아 둔다.
+        double expectedRate = forecastService.consumptionRate(incremental, asOf);
+
+        assertEquals(1, forecastService.rebuildFromHistory(clinic.getClinic_id()));
+        entityManager.flush();
+        entityManager.clear();
+
+        InventoryItem reloaded = entityManager.find(InventoryItem.class, rebuilt.getItem_id());
+        assertEquals(expectedRate, forecastService.consumptionRate(reloaded, asOf), 1e-9);
+        assertEquals(DAY, reloaded.getConsumptionSince());
+        assertNull(entityManager.find(InventoryItem.class, otherItem.getItem_id()).getConsumptionSince());
+    }
+
+    private InventoryItem item(String code, String name, int quantity, int safeStockLevel) {
+        InventoryItem item = new InventoryItem();
+        item.setClinic(clinic);
+        item.setItemCode(code);
+        item.setItemName(name);
+        item.setQuantity(quantity);
+        item.setSafeStockLevel(safeStockLevel);
+        return entityManager.persist(item);
+    }
+
+    private void log(InventoryItem item, String changeType, int quantityChanged, LocalDate day) {
+        InventoryLog log = new InventoryLog();
+        log.setItem(item);
+        log.setChangeType(changeType);
+        log.setQuantityChanged(quantityChanged);
+        log.setLogDate(day.atTime(10, 0));
+        entityManager.persist(log);
+    }
+}
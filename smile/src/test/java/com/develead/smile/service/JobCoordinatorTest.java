@@ -0,0 +1,173 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.JobLease;
+import com.develead.smile.repository.JobLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 여러 노드(JobCoordinator 인스턴스)가 같은 DB의 임대 행을 두고 파티션을 나눠 갖는지 검증한다.
+ * 임대 획득/완료가 별도 트랜잭션으로 커밋되어야 하므로 테스트 트랜잭션을 사용하지 않는다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:job-coordinator;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobCoordinatorTest {
+    private static final int PARTITIONS = 4;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JobCoordinator nodeA;
+    private JobCoordinator nodeB;
+    private String jobName;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new JobCoordinator(jobLeaseRepository, transactionManager, 600);
+        nodeB = new JobCoordinator(jobLeaseRepository, transactionManager, 600);
+        jobName = "test-job-" + System.nanoTime();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    @DisplayName("두 노드가 동시에 실행해도 파티션마다 한 노드만 처리하고, 같은 실행은 다시 처리되지 않는다")
+    void eachPartitionIsProcessedOncePerRun() throws Exception {
+        ConcurrentMap<Integer, AtomicInteger> runs = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = List.of(nodeA, nodeB).stream()
+                .map(node -> executor.submit(() -> {
+                    start.await();
+                    return node.runPartitioned(jobName, "2024-05-03", PARTITIONS,
+                            partition -> runs.computeIfAbsent(partition, p -> new AtomicInteger()).incrementAndGet());
+                }))
+                .toList();
+        start.countDown();
+        int processed = 0;
+        for (Future<Integer> result : results) {
+            processed += result.get();
+        }
+        executor.shutdown();
+
+        assertEquals(PARTITIONS, processed);
+        assertEquals(PARTITIONS, runs.size());
+        assertTrue(runs.values().stream().allMatch(count -> count.get() == 1));
+        assertEquals(0, nodeA.runPartitioned(jobName, "2024-05-03", PARTITIONS, partition -> fail("already done")));
+
+        // 다음 실행(runKey)은 다시 처리한다
+        assertEquals(PARTITIONS, nodeB.runPartitioned(jobName, "2024-05-04", PARTITIONS, partition -> { }));
+    }
+
+    @Test
+    @DisplayName("다른 노드가 유효한 임대를 가진 파티션은 건너뛰고, 만료된 임대는 회수한다")
+    void reclaimsOnlyExpiredLeases() {
+        nodeA.runPartitioned(jobName, "2024-05-02", PARTITIONS, partition -> { });
+        LocalDateTime now = LocalDateTime.now();
+        // 살아있는 노드가 처리 중인 파티션 0, 죽은 노드가 남긴(만료된) 파티션 1
+        claim(0, "alive-node", now.plusMinutes(10));
+        claim(1, "dead-node", now.minusSeconds(1));
+
+        // 0은 다른 노드 소유이므로 건너뛰고 1은 회수한다. 2, 3은 이전 실행 상태이므로 새로 처리된다.
+        List<Integer> processed = new CopyOnWriteArrayList<>();
+        assertEquals(3, nodeB.runPartitioned(jobName, "2024-05-03", PARTITIONS, processed::add));
+        assertEquals(List.of(1, 2, 3), processed.stream().sorted().toList());
+        JobLease reclaimed = lease(1);
+        assertEquals(nodeB.getNodeId(), reclaimed.getOwnerId());
+        assertEquals("DONE", reclaimed.getStatus());
+        assertEquals("alive-node", lease(0).getOwnerId());
+    }
+
+    @Test
+    @DisplayName("처리에 실패한 파티션은 임대를 풀어 다른 노드가 바로 재시도할 수 있다")
+    void failedPartitionIsReleasedForRetry() {
+        assertEquals(PARTITIONS - 1, nodeA.runPartitioned(jobName, "2024-05-03", PARTITIONS, partition -> {
+            if (partition == 2) {
+                throw new IllegalStateException("boom");
+            }
+        }));
+        assertEquals("RUNNING", lease(2).getStatus());
+
+        List<Integer> retried = new CopyOnWriteArrayList<>();
+        assertEquals(1, nodeB.runPartitioned(jobName, "2024-05-03", PARTITIONS, retried::add));
+        assertEquals(List.of(2), retried);
+        assertEquals("DONE", lease(2).getStatus());
+    }
+
+    @Test
+    @DisplayName("처리 중에는 임대가 연장되어 임대 기간보다 오래 걸려도 다른 노드가 회수하지 못한다")
+    void renewsLeaseWhileWorking() throws Exception {
+        JobCoordinator slowNode = new JobCoordinator(jobLeaseRepository, transactionManager, 1);
+        JobCoordinator otherNode = new JobCoordinator(jobLeaseRepository, transactionManager, 1);
+        try {
+            CountDownLatch working = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            Future<Integer> slow = executor.submit(() -> slowNode.runPartitioned(jobName, "2024-05-03", 1, partition -> {
+                working.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(working.await(10, TimeUnit.SECONDS));
+
+            // 임대 기간(1초)의 세 배를 넘겨도 연장 덕분에 다른 노드는 획득하지 못한다
+            Thread.sleep(3000);
+            assertEquals(0, otherNode.runPartitioned(jobName, "2024-05-03", 1, partition -> fail("lease was taken over")));
+            assertTrue(lease(0, 1).getLeaseUntil().isAfter(LocalDateTime.now()));
+
+            finish.countDown();
+            assertEquals(1, slow.get());
+            executor.shutdown();
+            assertEquals(slowNode.getNodeId(), lease(0, 1).getOwnerId());
+            assertEquals("DONE", lease(0, 1).getStatus());
+        } finally {
+            slowNode.shutdown();
+            otherNode.shutdown();
+        }
+    }
+
+    private void claim(int partition, String ownerId, LocalDateTime leaseUntil) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jobLeaseRepository.tryClaim(leaseKey(partition, PARTITIONS), "2024-05-03", ownerId, leaseUntil, LocalDateTime.now()));
+    }
+
+    private JobLease lease(int partition) {
+        return lease(partition, PARTITIONS);
+    }
+
+    private JobLease lease(int partition, int partitionCount) {
+        return jobLeaseRepository.findById(leaseKey(partition, partitionCount)).orElseThrow();
+    }
+
+    private String leaseKey(int partition, int partitionCount) {
+        return jobName + ":" + partition + "/" + partitionCount;
+    }
+}
@@ -0,0 +1,139 @@
+package com.develead.smile.service;
+
+import com.develead.smile.config.JpaBatchingConfig;
+import com.develead.smile.domain.*;
+import com.develead.smile.dto.MedicalRecordDto;
+import com.develead.smile.dto.MedicalRecordServiceDto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 진료 기록 저장 시 DB 왕복 횟수를 검증한다.
+ * pooled 시퀀스는 첫 ID를 받은 뒤 두 번째 할당에서 블록 상한을 한 번 더 읽으므로,
+ * 두 번 저장해 블록을 확보한 뒤 세 번째 저장의 PreparedStatement 수를 센다 (이후 50건마다 시퀀스 조회 1회).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({MedicalRecordService.class, ClinicContext.class, DomainEventPublisher.class, ArAgingService.class, PhaseRecorder.class,
+        JpaBatchingConfig.class})
+class MedicalRecordServiceBatchingTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private MedicalRecordService medicalRecordService;
+
+    private Statistics statistics;
+    private MedicalRecordDto dto;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        Clinic clinic = new Clinic();
+        clinic.setClinicName("스마일 치과");
+        entityManager.persist(clinic);
+
+        Role role = entityManager.persist(new Role("ROLE_DOCTOR"));
+        UserAccount user = new UserAccount();
+        user.setLoginId("doctor@example.com");
+        user.setPasswordHash("$2a$10$hashedPassword");
+        user.setRole(role);
+        user.setClinic(clinic);
+        entityManager.persist(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user.getLoginId(), null));
+
+        Doctor doctor = new Doctor();
+        doctor.setName("김의사");
+        doctor.setClinic(clinic);
+        entityManager.persist(doctor);
+
+        Customer customer = new Customer();
+        customer.setName("홍길동");
+        customer.setPhoneNumber("010-1234-5678");
+        entityManager.persist(customer);
+
+        dto = new MedicalRecordDto();
+        dto.setCustomerId(customer.getCustomer_id());
+        dto.setDoctorId(doctor.getDoctor_id());
+        dto.setTreatmentDate(LocalDate.now());
+        dto.setSymptoms("잇몸 출혈");
+        List<MedicalRecordServiceDto> services = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            services.add(serviceLine(entityManager.persist(serviceItem("SVC-" + i, new BigDecimal("10000")))));
+        }
+        dto.setServices(services);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("신규 진료 기록 저장은 테이블별 배치 INSERT로 몇 번의 왕복만 사용")
+    void newRecordUsesBatchedInserts() {
+        for (int i = 0; i < 2; i++) {
+            medicalRecordService.save(dto);
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        statistics.clear();
+        MedicalRecord saved = medicalRecordService.save(dto);
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+        long inserts = statistics.getEntityInsertCount();
+
+        // 예약 1 + 진료 기록 1 + 진료 항목 3 + 변경 로그 5 + 청구서 1 + 아웃박스 이벤트 1 + 미수금 항목 1
+        assertEquals(13, inserts);
+        // 조회 5 (사용자+역할, 사용자 지점, 고객, 지점 소속 의사+지점, 진료 항목) + 미수금 합계 UPDATE 1 + 테이블별 INSERT 7
+        // (미수금 합계 행은 첫 번째 저장에서 이미 만들어졌고, 새 청구서는 미결 항목 잠금 조회가 없다)
+        assertEquals(13, statements);
+
+        entityManager.clear();
+        MedicalRecord reloaded = entityManager.find(MedicalRecord.class, saved.getRecord_id());
+        assertEquals(0, new BigDecimal("30000").compareTo(reloaded.getTotalCost()));
+        assertEquals(3, reloaded.getServices().size());
+    }
+
+    private static ServiceItem serviceItem(String code, BigDecimal cost) {
+        ServiceItem item = new ServiceItem();
+        item.setServiceCode(code);
+        item.setServiceName("진료 " + code);
+        item.setCategory("일반");
+        item.setDefaultCost(cost);
+        return item;
+    }
+
+    private static MedicalRecordServiceDto serviceLine(ServiceItem item) {
+        MedicalRecordServiceDto line = new MedicalRecordServiceDto();
+        line.setServiceItemId(item.getService_item_id());
+        line.setQuantity(1);
+        return line;
+    }
+}
@@ -0,0 +1,98 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.*;
+import com.develead.smile.repository.AppointmentRepository;
+import com.develead.smile.repository.NotificationLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 임대 만료 후 다른 노드가 같은 파티션을 다시 처리하는 상황을 같은 파티션을 두 번 처리하는 것으로 흉내 낸다
+@DataJpaTest(properties = "smile.jobs.reminder.partitions=1")
+@ActiveProfiles("test")
+@Import({NotificationScheduler.class, NotificationService.class, JobCoordinator.class})
+class NotificationSchedulerTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 3);
+    private static final LocalDateTime START = DAY.atStartOfDay();
+    private static final LocalDateTime END = DAY.plusDays(1).atStartOfDay().minusNanos(1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private NotificationScheduler notificationScheduler;
+    @Autowired
+    private NotificationLogRepository notificationLogRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private Appointment morning;
+
+    @BeforeEach
+    void setUp() {
+        NotificationTemplate template = new NotificationTemplate();
+        template.setTemplateKey("APPOINTMENT_REMINDER");
+        template.setChannel("SMS");
+        template.setBody("{고객명}님, 내일 {예약일시} {병원명} 예약이 있습니다.");
+        entityManager.persist(template);
+
+        Clinic clinic = new Clinic();
+        clinic.setClinicName("스마일 치과");
+        entityManager.persist(clinic);
+        Doctor doctor = new Doctor();
+        doctor.setName("김의사");
+        doctor.setClinic(clinic);
+        entityManager.persist(doctor);
+        Customer customer = new Customer();
+        customer.setName("홍길동");
+        customer.setPhoneNumber("010-1234-5678");
+        entityManager.persist(customer);
+
+        morning = appointment(customer, doctor, DAY.atTime(9, 0));
+        appointment(customer, doctor, DAY.atTime(14, 30));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("같은 파티션을 다시 처리해도 이미 보낸 예약에는 다시 보내지 않는다")
+    void reprocessedPartitionDoesNotResend() {
+        notificationScheduler.sendReminders(START, END, 0);
+        notificationScheduler.sendReminders(START, END, 0);
+
+        assertEquals(2, notificationLogRepository.count());
+        assertTrue(appointmentRepository.findReminderPartition(START, END, 1, 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("알림을 보낸 뒤 같은 날 다른 시각으로 바뀐 예약에는 다시 보낸다")
+    void rescheduledAppointmentIsRemindedAgain() {
+        notificationScheduler.sendReminders(START, END, 0);
+
+        Appointment moved = appointmentRepository.findById(morning.getAppointment_id()).orElseThrow();
+        moved.setAppointmentDatetime(DAY.atTime(11, 0));
+        entityManager.flush();
+        entityManager.clear();
+        notificationScheduler.sendReminders(START, END, 0);
+
+        assertEquals(3, notificationLogRepository.count());
+    }
+
+    private Appointment appointment(Customer customer, Doctor doctor, LocalDateTime datetime) {
+        Appointment appointment = new Appointment();
+        appointment.setCustomer(customer);
+        appointment.setDoctor(doctor);
+        appointment.setClinic(doctor.getClinic());
+        appointment.setAppointmentDatetime(datetime);
+        return entityManager.persist(appointment);
+    }
+}
@@ -0,0 +1,282 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.OutboxEvent;
+import com.develead.smile.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 아웃박스 릴레이의 점유, 재시도 백오프, 최대 시도 후 FAILED 처리를 실제 스키마(H2)로 검증한다.
+ * 점유/완료가 별도 트랜잭션으로 커밋되어야 하므로 테스트 트랜잭션을 사용하지 않는다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:outbox-relay;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RecordingHandler handler = new RecordingHandler();
+    private final List<OutboxRelay> relays = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        relays.forEach(OutboxRelay::shutdown);
+    }
+
+    @Test
+    @DisplayName("대기 중인 이벤트를 묶음 크기와 무관하게 모두 전달하고 DONE으로 표시")
+    void dispatchesPendingEventsAndMarksDone() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(save(event(OutboxEvent.PENDING, 0)).getEvent_id());
+        }
+
+        relay().dispatchPending();
+
+        assertEquals(ids, handler.handled);
+        for (Long id : ids) {
+            OutboxEvent done = reload(id);
+            assertEquals(OutboxEvent.DONE, done.getStatus());
+            assertNotNull(done.getProcessedAt());
+            assertNull(done.getClaimedUntil());
+        }
+    }
+
+    @Test
+    @DisplayName("다른 노드가 점유 중인 이벤트와 재시도 시각 전 이벤트는 건너뛰고, 점유 시간이 지난 이벤트는 회수")
+    void claimsOnlyDispatchableEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent held = event(OutboxEvent.PROCESSING, 0);
+        held.setClaimToken("other-node");
+        held.setClaimedUntil(now.plusMinutes(5));
+        held = save(held);
+        OutboxEvent stale = event(OutboxEvent.PROCESSING, 0);
+        stale.setClaimToken("dead-node");
+        stale.setClaimedUntil(now.minusSeconds(1));
+        stale = save(stale);
+        OutboxEvent notYet = event(OutboxEvent.PENDING, 1);
+        notYet.setAvailableAt(now.plusMinutes(5));
+        notYet = save(notYet);
+
+        relay().dispatchPending();
+
+        assertEquals(List.of(stale.getEvent_id()), handler.handled);
+        assertEquals(OutboxEvent.DONE, reload(stale.getEvent_id()).getStatus());
+        assertEquals(OutboxEvent.PROCESSING, reload(held.getEvent_id()).getStatus());
+        assertEquals("other-node", reload(held.getEvent_id()).getClaimToken());
+        assertEquals(OutboxEvent.PENDING, reload(notYet.getEvent_id()).getStatus());
+    }
+
+    @Test
+    @DisplayName("두 노드가 동시에 처리해도 각 이벤트는 한 번만 점유되어 전달")
+    void concurrentRelaysClaimEachEventOnce() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            save(event(OutboxEvent.PENDING, 0));
+        }
+        OutboxRelay first = relay();
+        OutboxRelay second = relay();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (OutboxRelay relay : List.of(first, second)) {
+            results.add(executor.submit(() -> {
+                start.await();
+                relay.dispatchPending();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        assertEquals(20, handler.handled.size());
+        assertEquals(20, handler.handled.stream().distinct().count());
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(e -> OutboxEvent.DONE.equals(e.getStatus())));
+    }
+
+    @Test
+    @DisplayName("실패한 이벤트는 시도 횟수에 따라 2, 4초 ... 뒤로 재시도가 예약되고 그 전에는 다시 전달되지 않는다")
+    void failedEventIsRescheduledWithBackoff() {
+        handler.failing = true;
+        Long id = save(event(OutboxEvent.PENDING, 0)).getEvent_id();
+        OutboxRelay relay = relay();
+
+        LocalDateTime before = LocalDateTime.now();
+        relay.dispatchPending();
+        OutboxEvent failed = reload(id);
+        assertEquals(OutboxEvent.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertBackoff(before, 2, failed.getAvailableAt());
+        assertNull(failed.getClaimedUntil());
+        assertTrue(failed.getLastError().contains("handler down"));
+
+        // 재시도 시각 전에는 점유되지 않는다
+        relay.dispatchPending();
+        assertEquals(1, handler.handled.size());
+
+        makeAvailable(id);
+        before = LocalDateTime.now();
+        relay.dispatchPending();
+        failed = reload(id);
+        assertEquals(2, failed.getAttempts());
+        assertBackoff(before, 4, failed.getAvailableAt());
+
+        // 다시 살아난 소비자에게 전달되면 DONE
+        handler.failing = false;
+        makeAvailable(id);
+        relay.dispatchPending();
+        OutboxEvent done = reload(id);
+        assertEquals(OutboxEvent.DONE, done.getStatus());
+        assertNull(done.getLastError());
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수에 도달하면 FAILED로 남고 더 이상 전달되지 않는다")
+    void movesToFailedAfterMaxAttempts() {
+        handler.failing = true;
+        Long id = save(event(OutboxEvent.PENDING, MAX_ATTEMPTS - 1)).getEvent_id();
+        OutboxRelay relay = relay();
+
+        relay.dispatchPending();
+
+        OutboxEvent failed = reload(id);
+        assertEquals(OutboxEvent.FAILED, failed.getStatus());
+        assertEquals(MAX_ATTEMPTS, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+
+        makeAvailable(id);
+        relay.dispatchPending();
+        assertEquals(1, handler.handled.size());
+        assertEquals(OutboxEvent.FAILED, reload(id).getStatus());
+    }
+
+    @Test
+    @DisplayName("일부 핸들러만 실패하면 재시도 때 이미 성공한 핸들러는 다시 호출하지 않는다")
+    void retrySkipsHandlersThatAlreadySucceeded() {
+        RecordingHandler notifier = new RecordingHandler("notifier");
+        RecordingHandler ledger = new RecordingHandler("ledger");
+        ledger.failing = true;
+        Long id = save(event(OutboxEvent.PENDING, 0)).getEvent_id();
+        OutboxRelay relay = relay(List.of(notifier, ledger));
+
+        relay.dispatchPending();
+        OutboxEvent failed = reload(id);
+        assertEquals(OutboxEvent.PENDING, failed.getStatus());
+        assertEquals("notifier", failed.getCompletedHandlers());
+
+        ledger.failing = false;
+        makeAvailable(id);
+        relay.dispatchPending();
+
+        assertEquals(List.of(id), notifier.handled);
+        assertEquals(List.of(id, id), ledger.handled);
+        assertEquals(OutboxEvent.DONE, reload(id).getStatus());
+    }
+
+    private OutboxRelay relay() {
+        return relay(List.of(handler));
+    }
+
+    private OutboxRelay relay(List<OutboxEventHandler> handlers) {
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, handlers, transactionManager,
+                BATCH_SIZE, MAX_ATTEMPTS, 300, 7);
+        relays.add(relay);
+        return relay;
+    }
+
+    private static void assertBackoff(LocalDateTime before, long seconds, LocalDateTime availableAt) {
+        Duration delay = Duration.between(before, availableAt);
+        assertTrue(delay.compareTo(Duration.ofSeconds(seconds)) >= 0 && delay.compareTo(Duration.ofSeconds(seconds + 5)) < 0,
+                "unexpected retry delay " + delay);
+    }
+
+    private void makeAvailable(Long id) {
+        OutboxEvent event = reload(id);
+        event.setAvailableAt(LocalDateTime.now().minusSeconds(1));
+        save(event);
+    }
+
+    private static OutboxEvent event(String status, int attempts) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(OutboxEvent.EventType.PAYMENT_RECEIVED);
+        event.setAggregateType("Billing");
+        event.setAggregateId(1);
+        event.setPayload("{\"billingId\":\"1\"}");
+        event.setStatus(status);
+        event.setAttempts(attempts);
+        event.setAvailableAt(LocalDateTime.now().minusSeconds(1));
+        return event;
+    }
+
+    private OutboxEvent save(OutboxEvent event) {
+        return outboxEventRepository.save(event);
+    }
+
+    private OutboxEvent reload(Long id) {
+        return outboxEventRepository.findById(id).orElseThrow();
+    }
+
+    private static class RecordingHandler implements OutboxEventHandler {
+        private final String name;
+        private final List<Long> handled = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        RecordingHandler() {
+            this("recording");
+        }
+
+        RecordingHandler(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean supports(OutboxEvent.EventType eventType) {
+            return eventType == OutboxEvent.EventType.PAYMENT_RECEIVED;
+        }
+
+        @Override
+        public void handle(OutboxEvent event, Map<String, String> payload) {
+            handled.add(event.getEvent_id());
+            if (failing) {
+                throw new IllegalStateException("handler down");
+            }
+        }
+    }
+}
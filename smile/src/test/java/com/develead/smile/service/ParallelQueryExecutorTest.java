@@ -0,0 +1,113 @@
+package com.develead.smile.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ParallelQueryExecutorTest {
+
+    private ParallelQueryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ParallelQueryExecutor(mock(PlatformTransactionManager.class), 8, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("독립 조회는 동시에 실행되어 가장 느린 조회 시간만큼 걸린다")
+    void runsQueriesConcurrently() {
+        long started = System.nanoTime();
+        try (ParallelQueryExecutor.Scope scope = executor.open()) {
+            Supplier<Integer> first = scope.fork(() -> slow(300, 1));
+            Supplier<Integer> second = scope.fork(() -> slow(300, 2));
+            Supplier<Integer> third = scope.fork(() -> slow(300, 3));
+            scope.join();
+
+            assertEquals(6, first.get() + second.get() + third.get());
+        }
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 800);
+    }
+
+    @Test
+    @DisplayName("호출 스레드의 SecurityContext가 조회 스레드로 전달된다")
+    void propagatesSecurityContext() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", null));
+
+        try (ParallelQueryExecutor.Scope scope = executor.open()) {
+            Supplier<String> loginId = scope.fork(() -> SecurityContextHolder.getContext().getAuthentication().getName());
+            scope.join();
+
+            assertEquals("admin", loginId.get());
+        }
+    }
+
+    @Test
+    @DisplayName("마감 시간을 넘기면 예외가 발생하고 남은 조회는 취소된다")
+    void cancelsOnDeadline() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        try (ParallelQueryExecutor.Scope scope = executor.open(Duration.ofMillis(100))) {
+            scope.fork(() -> {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+                return null;
+            });
+            assertThrows(QueryTimeoutException.class, scope::join);
+        }
+        awaitTrue(interrupted);
+    }
+
+    @Test
+    @DisplayName("한 조회가 실패하면 느린 조회를 기다리지 않고 그 예외가 그대로 전달된다")
+    void propagatesFailure() {
+        long started = System.nanoTime();
+        try (ParallelQueryExecutor.Scope scope = executor.open()) {
+            scope.fork(() -> slow(1_000, 1));
+            scope.fork(() -> {
+                throw new IllegalArgumentException("boom");
+            });
+
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, scope::join);
+            assertEquals("boom", e.getMessage());
+        }
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 800);
+    }
+
+    private static int slow(long millis, int value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    private static void awaitTrue(AtomicBoolean flag) {
+        long until = System.currentTimeMillis() + 2_000;
+        while (!flag.get() && System.currentTimeMillis() < until) {
+            Thread.onSpinWait();
+        }
+        assertTrue(flag.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.develead.smile.service;
+
+import com.develead.smile.dto.PhaseStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhaseRecorderTest {
+
+    @Test
+    @DisplayName("샘플링이 꺼져 있으면 아무것도 하지 않는 타이머를 돌려주고 기록이 없다")
+    void disabledRecorderIsNoOp() {
+        PhaseRecorder recorder = new PhaseRecorder(0);
+
+        try (PhaseRecorder.Timer timer = recorder.start("medicalRecord.save")) {
+            assertSame(PhaseRecorder.Timer.OFF, timer);
+            timer.phase("lookup");
+        }
+
+        assertTrue(recorder.snapshot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("구간마다 한 번씩 기록되고, 트랜잭션 안에서는 커밋 구간과 전체 시간이 완료 후 기록된다")
+    void recordsPhasesAndCommit() {
+        PhaseRecorder recorder = new PhaseRecorder(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (int i = 0; i < 3; i++) {
+                try (PhaseRecorder.Timer timer = recorder.start("billing.addPayment")) {
+                    timer.phase("lookup");
+                    timer.phase("applyPayment");
+                }
+            }
+            assertFalse(phases(recorder).containsKey("total"));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Map<String, PhaseStats> phases = phases(recorder);
+        assertEquals(List.of("applyPayment", "commit", "lookup", "total"), phases.keySet().stream().sorted().toList());
+        phases.values().forEach(stats -> assertEquals(3, stats.getCount()));
+        assertTrue(phases.get("total").getMaxMicros() >= phases.get("lookup").getMaxMicros());
+
+        recorder.reset();
+        assertTrue(recorder.snapshot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("백분위는 값이 든 버킷의 상한으로, 버킷 폭(25%) 이내의 오차를 갖는다")
+    void percentilesWithinBucketError() {
+        PhaseHistogram histogram = new PhaseHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1000, histogram.max());
+        assertEquals(500, histogram.percentile(0.5), 500 * 0.25);
+        assertEquals(990, histogram.percentile(0.99), 990 * 0.25);
+        assertTrue(histogram.percentile(0.5) >= 500);
+        assertEquals(1000, histogram.percentile(1.0));
+    }
+
+    @Test
+    @DisplayName("버킷 경계: 각 값은 자기 버킷의 상한 이하이고 이전 버킷의 상한보다 크다")
+    void bucketBoundaries() {
+        for (long value : new long[]{0, 1, 3, 4, 7, 8, 9, 15, 16, 1023, 1024, 1_000_000, 1L << 45}) {
+            int index = PhaseHistogram.bucketIndex(value);
+            assertTrue(index < PhaseHistogram.BUCKET_COUNT);
+            if (index < PhaseHistogram.BUCKET_COUNT - 1) {
+                assertTrue(value <= PhaseHistogram.upperBound(index), "value " + value);
+            }
+            if (index > 0) {
+                assertTrue(value > PhaseHistogram.upperBound(index - 1), "value " + value);
+            }
+        }
+    }
+
+    private static Map<String, PhaseStats> phases(PhaseRecorder recorder) {
+        return recorder.snapshot().stream().collect(Collectors.toMap(PhaseStats::getPhase, stats -> stats));
+    }
+}
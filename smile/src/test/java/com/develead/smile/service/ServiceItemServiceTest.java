@@ -0,0 +1,82 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.ServiceItem;
+import com.develead.smile.dto.ListQuery;
+import com.develead.smile.dto.ServiceItemListItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ServiceItemService.class)
+class ServiceItemServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ServiceItemService serviceItemService;
+
+    @BeforeEach
+    void setUp() {
+        // 기본 비용이 같은 항목 5개 + 삭제된 항목 1개
+        for (int i = 1; i <= 5; i++) {
+            item("SC-0" + i, "스케일링 " + i, i <= 3 ? "예방" : "보존", false);
+        }
+        item("SC-09", "삭제된 스케일링", "예방", true);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("삭제 항목은 쿼리에서 빠지고, 같은 값으로 정렬해도 페이지 사이에 겹치거나 빠지는 행이 없다")
+    void pagesWithoutDeletedItemsOrOverlap() {
+        List<String> codes = new ArrayList<>();
+        Page<ServiceItemListItem> page;
+        int number = 0;
+        do {
+            ListQuery query = new ListQuery();
+            query.setSort("defaultCost");
+            query.setSize(2);
+            query.setPage(number++);
+            page = serviceItemService.findPage(query, null);
+            page.getContent().forEach(item -> codes.add(item.getServiceCode()));
+        } while (page.hasNext());
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of("SC-01", "SC-02", "SC-03", "SC-04", "SC-05"), codes);
+    }
+
+    @Test
+    @DisplayName("검색어와 분야 필터")
+    void filtersByQueryAndCategory() {
+        ListQuery query = new ListQuery();
+        query.setQ(" 스케일링 ");
+
+        Page<ServiceItemListItem> page = serviceItemService.findPage(query, "보존");
+
+        assertEquals(List.of("SC-04", "SC-05"), page.getContent().stream().map(ServiceItemListItem::getServiceCode).toList());
+        assertEquals(List.of("보존", "예방"), serviceItemService.findCategories());
+    }
+
+    private void item(String code, String name, String category, boolean deleted) {
+        ServiceItem item = new ServiceItem();
+        item.setServiceCode(code);
+        item.setServiceName(name);
+        item.setCategory(category);
+        item.setDefaultCost(new BigDecimal("50000"));
+        item.setDeleted(deleted ? 'Y' : 'N');
+        entityManager.persist(item);
+    }
+}
@@ -0,0 +1,166 @@
+package com.develead.smile.service;
+
+import com.develead.smile.domain.*;
+import com.develead.smile.dto.AppointmentSyncItem;
+import com.develead.smile.dto.SyncChanges;
+import com.develead.smile.dto.SyncVersion;
+import com.develead.smile.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// settle 시간을 0으로 두어 방금 수정한 행도 변경분에 바로 나오게 한다
+@DataJpaTest(properties = "smile.api.sync.settle-seconds=0")
+@ActiveProfiles("test")
+@Import(SyncService.class)
+class SyncServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 3);
+    private static final LocalDateTime PAST = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private SyncService syncService;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private Clinic clinic;
+    private Customer customer;
+    private Appointment nine;
+
+    @BeforeEach
+    void setUp() {
+        clinic = clinic("스마일 치과");
+        Doctor doctor = doctor("김의사", clinic);
+        customer = new Customer();
+        customer.setName("홍길동");
+        customer.setPhoneNumber("010-1234-5678");
+        entityManager.persist(customer);
+
+        nine = appointment(doctor, clinic, DAY.atTime(9, 0));
+        appointment(doctor, clinic, DAY.atTime(10, 0));
+        appointment(doctor, clinic, DAY.plusDays(1).atTime(9, 0));
+        Clinic other = clinic("다른 지점");
+        appointment(doctor("박의사", other), other, DAY.atTime(9, 0));
+        entityManager.flush();
+
+        // 모든 행의 수정 시각을 과거의 같은 시각으로 맞춰, 이후의 수정이 항상 더 늦은 시각이 되게 한다
+        entityManager.getEntityManager().createQuery("UPDATE Appointment a SET a.lastModifiedAt = :t")
+                .setParameter("t", PAST).executeUpdate();
+        entityManager.getEntityManager().createQuery("UPDATE Customer c SET c.lastModifiedAt = :t")
+                .setParameter("t", PAST).executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("검증값이 같으면 목록을 읽지 않고, 예약/표시 중인 고객 이름이 바뀌면 다시 읽는다")
+    void skipsListWhileVersionIsUnchanged() {
+        AtomicReference<SyncVersion> seen = new AtomicReference<>();
+        Optional<List<AppointmentSyncItem>> first = syncService.getAppointments(clinic.getClinic_id(), DAY, version -> {
+            seen.set(version);
+            return false;
+        });
+        assertEquals(2, first.orElseThrow().size());
+        assertEquals(2, seen.get().getCount());
+        assertEquals(PAST, seen.get().getLastModifiedAt());
+        String etag = seen.get().etag("appointments");
+
+        assertTrue(syncService.getAppointments(clinic.getClinic_id(), DAY, unchangedSince(etag)).isEmpty());
+
+        Customer renamed = entityManager.find(Customer.class, customer.getCustomer_id());
+        renamed.setName("홍길순");
+        entityManager.flush();
+        Optional<List<AppointmentSyncItem>> afterRename = syncService.getAppointments(clinic.getClinic_id(), DAY, unchangedSince(etag));
+        assertEquals("홍길순", afterRename.orElseThrow().get(0).getCustomerName());
+    }
+
+    @Test
+    @DisplayName("행이 날짜 범위 밖으로 옮겨지면 최종 수정 시각이 그대로여도 행 수로 ETag가 바뀐다")
+    void rowLeavingRangeChangesEtag() {
+        String etag = etagOf(DAY);
+
+        appointmentRepository.rescheduleAll(List.of(nine.getAppointment_id()), 7, entityManager.find(Doctor.class,
+                nine.getDoctor().getDoctor_id()), null, PAST);
+
+        assertNotEquals(etag, etagOf(DAY));
+    }
+
+    @Test
+    @DisplayName("변경분 - 같은 수정 시각은 ID로 이어 읽고, 변경이 없으면 커서를 그대로 돌려준다")
+    void pagesChangesByCursor() {
+        SyncChanges<AppointmentSyncItem> page1 = syncService.getAppointmentChanges(clinic.getClinic_id(), null, 2);
+        assertEquals(2, page1.getItems().size());
+        assertTrue(page1.isHasMore());
+
+        SyncChanges<AppointmentSyncItem> page2 = syncService.getAppointmentChanges(clinic.getClinic_id(), page1.getNextCursor(), 2);
+        assertEquals(1, page2.getItems().size());
+        assertFalse(page2.isHasMore());
+        assertTrue(page2.getItems().get(0).getAppointmentId() > page1.getItems().get(1).getAppointmentId());
+
+        SyncChanges<AppointmentSyncItem> idle = syncService.getAppointmentChanges(clinic.getClinic_id(), page2.getNextCursor(), 2);
+        assertTrue(idle.getItems().isEmpty());
+        assertEquals(page2.getNextCursor(), idle.getNextCursor());
+
+        // 일괄 UPDATE도 수정 시각을 갱신하므로 변경분에 나온다
+        appointmentRepository.updateStatusAll(List.of(nine.getAppointment_id()), "예약취소", null, LocalDateTime.now().minusSeconds(1));
+        SyncChanges<AppointmentSyncItem> changed = syncService.getAppointmentChanges(clinic.getClinic_id(), idle.getNextCursor(), 2);
+        assertEquals(List.of(nine.getAppointment_id()), changed.getItems().stream().map(AppointmentSyncItem::getAppointmentId).toList());
+        assertEquals("예약취소", changed.getItems().get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 IllegalArgumentException")
+    void rejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> syncService.getAppointmentChanges(clinic.getClinic_id(), "not-a-cursor", 10));
+    }
+
+    private String etagOf(LocalDate day) {
+        AtomicReference<String> etag = new AtomicReference<>();
+        syncService.getAppointments(clinic.getClinic_id(), day, version -> {
+            etag.set(version.etag("appointments"));
+            return true;
+        });
+        return etag.get();
+    }
+
+    private static Predicate<SyncVersion> unchangedSince(String etag) {
+        return version -> version.etag("appointments").equals(etag);
+    }
+
+    private Clinic clinic(String name) {
+        Clinic clinic = new Clinic();
+        clinic.setClinicName(name);
+        return entityManager.persist(clinic);
+    }
+
+    private Doctor doctor(String name, Clinic clinic) {
+        Doctor doctor = new Doctor();
+        doctor.setName(name);
+        doctor.setClinic(clinic);
+        return entityManager.persist(doctor);
+    }
+
+    private Appointment appointment(Doctor doctor, Clinic clinic, LocalDateTime datetime) {
+        Appointment appointment = new Appointment();
+        appointment.setCustomer(customer);
+        appointment.setDoctor(doctor);
+        appointment.setClinic(clinic);
+        appointment.setAppointmentDatetime(datetime);
+        return entityManager.persist(appointment);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ezlevup.smilechat.broker;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 브로커 샤드: 전용 스레드 하나가 자기에게 배정된 세션들의 송신 대기열을 비운다.
+ * 보낼 것이 생긴 세션만 실행 대기열에 한 번 올라가고, 한 번에 batchSize건까지만 보낸 뒤 남은 세션은 뒤로 다시 줄을 세워
+ * 메시지가 많이 쌓인 세션이 같은 샤드의 다른 세션을 굶기지 않게 한다.
+ * 실행 대기열에는 세션당 최대 한 번만 올라가므로 길이는 샤드의 세션 수를 넘지 않는다.
+ */
+final class BrokerShard {
+
+    private static final Logger logger = Logger.getLogger(BrokerShard.class.getName());
+
+    private final LinkedBlockingQueue<SessionOutbox> ready = new LinkedBlockingQueue<>();
+    private final int batchSize;
+    private final Consumer<SessionOutbox.Batch> sender;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param sender 꺼낸 메시지들을 실제로 보내는 함수 (샤드 스레드에서 호출)
+     */
+    BrokerShard(int index, int batchSize, Consumer<SessionOutbox.Batch> sender) {
+        this.batchSize = batchSize;
+        this.sender = sender;
+        this.thread = Thread.ofPlatform().name("chat-broker-shard-" + index).daemon().unstarted(this::run);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    /**
+     * 세션에 보낼 것이 생겼음을 알린다 (이미 대기 중이면 무시)
+     */
+    void schedule(SessionOutbox outbox) {
+        if (outbox.trySchedule()) {
+            ready.add(outbox);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            SessionOutbox outbox;
+            try {
+                outbox = ready.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                sender.accept(outbox.drain(batchSize));
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to flush outbound messages for session " + outbox.sessionId(), e);
+            }
+            // 남은 메시지가 있으면 뒤로 다시 줄을 선다. 내리고 나서 다시 확인해야 그 사이에 들어온 메시지를 놓치지 않는다.
+            outbox.unschedule();
+            if (outbox.hasPending()) {
+                schedule(outbox);
+            }
+        }
+    }
+}
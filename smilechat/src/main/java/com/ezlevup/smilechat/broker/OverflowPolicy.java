@@ -0,0 +1,13 @@
+package com.ezlevup.smilechat.broker;
+
+/**
+ * 세션별 송신 큐가 가득 찼을 때의 처리 방법
+ * - DROP_OLDEST: 가장 오래된 메시지를 버리고 새 메시지를 넣음
+ * - COALESCE: 같은 목적지의 이전 메시지를 새 메시지로 대체 (없으면 가장 오래된 메시지를 버림)
+ * - DISCONNECT: 대기 중인 메시지를 모두 버리고 세션에 ERROR 프레임을 보내 연결을 끊음
+ */
+public enum OverflowPolicy {
+    DROP_OLDEST,
+    COALESCE,
+    DISCONNECT
+}
@@ -0,0 +1,129 @@
+package com.ezlevup.smilechat.broker;
+
+import org.springframework.messaging.Message;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 세션 하나의 송신 대기열 (크기 제한 있음)
+ * 발행 스레드가 offer()로 넣고, 세션이 속한 샤드 스레드 하나만 drain()으로 꺼내 보낸다.
+ * 느린 브라우저 하나가 메모리를 계속 늘리지 못하도록 capacity를 넘으면 OverflowPolicy에 따라 처리한다.
+ */
+final class SessionOutbox {
+
+    /**
+     * 구독자에게 보낼 메시지 한 건 (발행된 원본 + 받을 구독)
+     * 구독자별 헤더는 샤드 스레드에서 보낼 때 만든다.
+     */
+    record Delivery(Message<?> source, String destination, String subscriptionId) {}
+
+    /**
+     * 한 번에 꺼낸 메시지들. overflowed가 true면 넘침으로 연결을 끊어야 하는 세션이다.
+     */
+    record Batch(String sessionId, List<Delivery> deliveries, boolean overflowed) {}
+
+    enum Offer { ENQUEUED, DROPPED_OLDEST, COALESCED, OVERFLOWED, CLOSED }
+
+    private final String sessionId;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final ArrayDeque<Delivery> queue = new ArrayDeque<>();
+    // 샤드의 실행 대기열에 올라가 있는지 (한 번만 올라가도록)
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private boolean closed;
+    private boolean overflowPending;
+    private long dropped;
+
+    SessionOutbox(String sessionId, int capacity, OverflowPolicy overflowPolicy) {
+        this.sessionId = sessionId;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    String sessionId() {
+        return sessionId;
+    }
+
+    synchronized Offer offer(Delivery delivery) {
+        if (closed) {
+            return Offer.CLOSED;
+        }
+        if (queue.size() < capacity) {
+            queue.addLast(delivery);
+            return Offer.ENQUEUED;
+        }
+        dropped++;
+        switch (overflowPolicy) {
+            case COALESCE -> {
+                if (removeOldestFor(delivery.destination())) {
+                    queue.addLast(delivery);
+                    return Offer.COALESCED;
+                }
+                queue.pollFirst();
+                queue.addLast(delivery);
+                return Offer.DROPPED_OLDEST;
+            }
+            case DISCONNECT -> {
+                dropped += queue.size();
+                queue.clear();
+                closed = true;
+                overflowPending = true;
+                return Offer.OVERFLOWED;
+            }
+            default -> {
+                queue.pollFirst();
+                queue.addLast(delivery);
+                return Offer.DROPPED_OLDEST;
+            }
+        }
+    }
+
+    // 최대 max건을 꺼낸다
+    synchronized Batch drain(int max) {
+        List<Delivery> deliveries = new ArrayList<>(Math.min(max, queue.size()));
+        while (deliveries.size() < max && !queue.isEmpty()) {
+            deliveries.add(queue.pollFirst());
+        }
+        boolean overflowed = overflowPending;
+        overflowPending = false;
+        return new Batch(sessionId, deliveries, overflowed);
+    }
+
+    synchronized boolean hasPending() {
+        return !queue.isEmpty() || overflowPending;
+    }
+
+    synchronized void close() {
+        closed = true;
+        queue.clear();
+        overflowPending = false;
+    }
+
+    synchronized long dropped() {
+        return dropped;
+    }
+
+    boolean trySchedule() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void unschedule() {
+        scheduled.set(false);
+    }
+
+    private boolean removeOldestFor(String destination) {
+        Iterator<Delivery> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().destination().equals(destination)) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+}
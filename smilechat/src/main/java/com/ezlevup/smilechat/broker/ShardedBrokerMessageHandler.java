@@ -0,0 +1,202 @@
+package com.ezlevup.smilechat.broker;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 프로세스 내 STOMP 브로커 (SimpleBroker 대체)
+ *
+ * - 구독은 목적지 문자열로 바로 찾으므로 발행 비용은 그 목적지 구독자 수에 비례한다.
+ * - 세션마다 크기 제한이 있는 송신 대기열을 두고, 세션 ID 해시로 정해진 샤드 스레드가 대기열을 비운다.
+ *   같은 세션의 메시지는 항상 같은 스레드가 순서대로 보낸다.
+ * - 대기열이 가득 차면 OverflowPolicy에 따라 오래된 메시지를 버리거나, 같은 목적지 메시지를 합치거나, 연결을 끊는다.
+ *
+ * 발행 스레드(컨트롤러/인바운드 채널)는 대기열에 넣기만 하고 돌아가므로 느린 브라우저 때문에 막히지 않는다.
+ */
+public class ShardedBrokerMessageHandler extends AbstractBrokerMessageHandler {
+
+    private static final Logger logger = Logger.getLogger(ShardedBrokerMessageHandler.class.getName());
+
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+    private final SubscriptionIndex subscriptions = new SubscriptionIndex();
+    private final ConcurrentHashMap<String, SessionOutbox> outboxes = new ConcurrentHashMap<>();
+    private final BrokerShard[] shards;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    // 클라이언트에게 요청할 하트비트 간격 (0이면 사용 안 함)
+    private long clientHeartbeatInterval;
+
+    public ShardedBrokerMessageHandler(SubscribableChannel clientInboundChannel, MessageChannel clientOutboundChannel,
+                                       SubscribableChannel brokerChannel, Collection<String> destinationPrefixes,
+                                       int shardCount, int queueCapacity, int batchSize, OverflowPolicy overflowPolicy) {
+        super(clientInboundChannel, clientOutboundChannel, brokerChannel, destinationPrefixes);
+        if (shardCount < 1 || queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("shardCount, queueCapacity and batchSize must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.shards = new BrokerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new BrokerShard(i, batchSize, this::send);
+        }
+    }
+
+    /**
+     * 클라이언트가 보낼 하트비트 간격 (CONNECTED 프레임의 heart-beat 두 번째 값)
+     * 서버는 하트비트를 보내지 않는다. 끊긴 세션 판단은 하트비트로 활동 시각을 갱신하는 쪽(접속 상태 레지스트리)이 한다.
+     */
+    public void setClientHeartbeatInterval(long clientHeartbeatInterval) {
+        this.clientHeartbeatInterval = clientHeartbeatInterval;
+    }
+
+    @Override
+    protected void startInternal() {
+        for (BrokerShard shard : shards) {
+            shard.start();
+        }
+        publishBrokerAvailableEvent();
+    }
+
+    @Override
+    protected void stopInternal() {
+        publishBrokerUnavailableEvent();
+        for (BrokerShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    @Override
+    protected void handleMessageInternal(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(headers);
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+
+        if (SimpMessageType.MESSAGE.equals(messageType)) {
+            if (checkDestinationPrefix(destination)) {
+                publish(destination, message);
+            }
+        } else if (SimpMessageType.CONNECT.equals(messageType)) {
+            outboxes.computeIfAbsent(sessionId, id -> new SessionOutbox(id, queueCapacity, overflowPolicy));
+            sendAck(SimpMessageType.CONNECT_ACK, SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER,
+                    sessionId, SimpMessageHeaderAccessor.getUser(headers), message);
+        } else if (SimpMessageType.DISCONNECT.equals(messageType)) {
+            removeSession(sessionId);
+            sendAck(SimpMessageType.DISCONNECT_ACK, SimpMessageHeaderAccessor.DISCONNECT_MESSAGE_HEADER,
+                    sessionId, SimpMessageHeaderAccessor.getUser(headers), message);
+        } else if (SimpMessageType.SUBSCRIBE.equals(messageType)) {
+            String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+            if (checkDestinationPrefix(destination) && sessionId != null && subscriptionId != null) {
+                subscriptions.subscribe(sessionId, subscriptionId, destination);
+            }
+        } else if (SimpMessageType.UNSUBSCRIBE.equals(messageType)) {
+            String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+            if (sessionId != null && subscriptionId != null) {
+                subscriptions.unsubscribe(sessionId, subscriptionId);
+            }
+        }
+    }
+
+    /**
+     * 목적지 구독자마다 송신 대기열에 넣고 해당 샤드를 깨운다
+     */
+    private void publish(String destination, Message<?> message) {
+        for (SubscriptionIndex.Subscription subscription : subscriptions.find(destination)) {
+            SessionOutbox outbox = outboxes.get(subscription.sessionId());
+            if (outbox == null) {
+                continue;
+            }
+            SessionOutbox.Offer offer = outbox.offer(
+                    new SessionOutbox.Delivery(message, destination, subscription.subscriptionId()));
+            switch (offer) {
+                case CLOSED -> {
+                    continue;
+                }
+                case DROPPED_OLDEST, COALESCED -> {
+                    if (logger.isLoggable(Level.FINE)) {
+                        logger.fine("Outbound queue full for session " + outbox.sessionId() + " (" + offer
+                                + ", dropped so far: " + outbox.dropped() + ")");
+                    }
+                }
+                case OVERFLOWED -> logger.warning("Outbound queue overflow, disconnecting session " + outbox.sessionId());
+                default -> {
+                }
+            }
+            shardFor(outbox.sessionId()).schedule(outbox);
+        }
+    }
+
+    /**
+     * 샤드 스레드에서 호출: 구독자별 헤더를 붙여 클라이언트 아웃바운드 채널로 보낸다
+     */
+    private void send(SessionOutbox.Batch batch) {
+        for (SessionOutbox.Delivery delivery : batch.deliveries()) {
+            try {
+                getClientOutboundChannel().send(toSubscriberMessage(batch.sessionId(), delivery));
+            } catch (RuntimeException e) {
+                logger.log(Level.FINE, "Failed to send message to session " + batch.sessionId(), e);
+            }
+        }
+        if (batch.overflowed()) {
+            // ERROR 프레임을 받은 STOMP 핸들러가 WebSocket 세션을 닫는다
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.ERROR);
+            accessor.setSessionId(batch.sessionId());
+            accessor.setMessage("Outbound queue overflow (slow consumer)");
+            accessor.setLeaveMutable(true);
+            getClientOutboundChannel().send(MessageBuilder.createMessage(EMPTY_PAYLOAD, accessor.getMessageHeaders()));
+        }
+    }
+
+    private Message<?> toSubscriberMessage(String sessionId, SessionOutbox.Delivery delivery) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(delivery.subscriptionId());
+        accessor.copyHeadersIfAbsent(delivery.source().getHeaders());
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(delivery.source().getPayload(), accessor.getMessageHeaders());
+    }
+
+    private void sendAck(SimpMessageType type, String originalHeader, String sessionId, Principal user, Message<?> original) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        if (user != null) {
+            accessor.setUser(user);
+        }
+        accessor.setHeader(originalHeader, original);
+        if (type == SimpMessageType.CONNECT_ACK) {
+            // 서버 하트비트는 보내지 않고, 클라이언트 하트비트만 요청
+            accessor.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[]{0, clientHeartbeatInterval});
+        }
+        getClientOutboundChannel().send(MessageBuilder.createMessage(EMPTY_PAYLOAD, accessor.getMessageHeaders()));
+    }
+
+    private void removeSession(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        subscriptions.removeSession(sessionId);
+        SessionOutbox outbox = outboxes.remove(sessionId);
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
+
+    private BrokerShard shardFor(String sessionId) {
+        return shards[Math.floorMod(sessionId.hashCode(), shards.length)];
+    }
+}
@@ -0,0 +1,75 @@
+package com.ezlevup.smilechat.broker;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 목적지 → 구독 목록 색인
+ * 목적지 문자열이 정확히 같은 구독만 찾으므로 발행 시 비용은 해당 목적지 구독자 수에 비례한다.
+ * (와일드카드 패턴 구독은 지원하지 않음 - 패턴은 문자 그대로의 목적지로 취급)
+ * 구독/해지보다 발행이 훨씬 잦으므로 목적지별 목록은 변경 시 복사하는 불변 배열로 둔다.
+ */
+final class SubscriptionIndex {
+
+    private static final Subscription[] NONE = new Subscription[0];
+
+    /**
+     * 구독 한 건 (세션 ID + 세션 안의 구독 ID)
+     */
+    record Subscription(String sessionId, String subscriptionId, String destination) {}
+
+    private final ConcurrentHashMap<String, Subscription[]> byDestination = new ConcurrentHashMap<>();
+    // 세션 종료 시 정리용: 세션 ID → (구독 ID → 목적지)
+    private final ConcurrentHashMap<String, Map<String, String>> bySession = new ConcurrentHashMap<>();
+
+    void subscribe(String sessionId, String subscriptionId, String destination) {
+        Map<String, String> sessionSubscriptions = bySession.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>());
+        String previous = sessionSubscriptions.put(subscriptionId, destination);
+        if (previous != null) {
+            removeFromDestination(sessionId, subscriptionId, previous);
+        }
+        Subscription subscription = new Subscription(sessionId, subscriptionId, destination);
+        byDestination.compute(destination, (key, current) -> {
+            if (current == null) {
+                return new Subscription[]{subscription};
+            }
+            Subscription[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = subscription;
+            return next;
+        });
+    }
+
+    void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> sessionSubscriptions = bySession.get(sessionId);
+        if (sessionSubscriptions == null) {
+            return;
+        }
+        String destination = sessionSubscriptions.remove(subscriptionId);
+        if (destination != null) {
+            removeFromDestination(sessionId, subscriptionId, destination);
+        }
+    }
+
+    void removeSession(String sessionId) {
+        Map<String, String> sessionSubscriptions = bySession.remove(sessionId);
+        if (sessionSubscriptions != null) {
+            sessionSubscriptions.forEach((subscriptionId, destination) ->
+                    removeFromDestination(sessionId, subscriptionId, destination));
+        }
+    }
+
+    Subscription[] find(String destination) {
+        Subscription[] subscriptions = byDestination.get(destination);
+        return subscriptions != null ? subscriptions : NONE;
+    }
+
+    private void removeFromDestination(String sessionId, String subscriptionId, String destination) {
+        byDestination.computeIfPresent(destination, (key, current) -> {
+            Subscription[] next = Arrays.stream(current)
+                    .filter(s -> !(s.sessionId().equals(sessionId) && s.subscriptionId().equals(subscriptionId)))
+                    .toArray(Subscription[]::new);
+            return next.length == 0 ? null : next;
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.ezlevup.smilechat.config;
+
+import com.ezlevup.smilechat.broker.OverflowPolicy;
+import com.ezlevup.smilechat.broker.ShardedBrokerMessageHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.user.UserDestinationResolver;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+
+import java.util.List;
+
+/**
+ * STOMP 메시지 브로커 구성
+ * `@EnableWebSocketMessageBroker` 대신 이 설정을 상속해 SimpleBroker 자리에 샤드 브로커를 넣는다.
+ * 나머지 설정(엔드포인트, prefix 등)은 기존처럼 WebSocketConfig에서 한다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BrokerConfig extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    /**
+     * 브로커가 처리할 목적지 prefix
+     * - "/topic": 다중 사용자에게 브로드캐스트 (공개 채팅)
+     * - "/queue": 개별 사용자에게 메시지 전송 (개인 상담)
+     */
+    static final List<String> BROKER_DESTINATION_PREFIXES = List.of("/topic", "/queue");
+
+    private final int shards;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long heartbeatInterval;
+
+    @Autowired
+    public BrokerConfig(@Value("${websocket.broker.shards:0}") int shards,
+                        @Value("${websocket.broker.outbound-queue-capacity:256}") int queueCapacity,
+                        @Value("${websocket.broker.batch-size:64}") int batchSize,
+                        @Value("${websocket.broker.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                        @Value("${websocket.heartbeat-interval:25000}") long heartbeatInterval) {
+        // 0이면 CPU 코어 수만큼
+        this.shards = shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * SimpleBroker 대신 샤드 브로커 등록
+     */
+    @Override
+    @Bean
+    public AbstractBrokerMessageHandler simpleBrokerMessageHandler(
+            @Qualifier("clientInboundChannel") AbstractSubscribableChannel clientInboundChannel,
+            @Qualifier("clientOutboundChannel") AbstractSubscribableChannel clientOutboundChannel,
+            @Qualifier("brokerChannel") AbstractSubscribableChannel brokerChannel,
+            UserDestinationResolver userDestinationResolver) {
+        ShardedBrokerMessageHandler handler = new ShardedBrokerMessageHandler(clientInboundChannel,
+                clientOutboundChannel, brokerChannel, BROKER_DESTINATION_PREFIXES, shards, queueCapacity, batchSize,
+                overflowPolicy);
+        handler.setClientHeartbeatInterval(heartbeatInterval);
+        return handler;
+    }
+}
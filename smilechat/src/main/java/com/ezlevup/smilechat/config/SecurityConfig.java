@@ -10,6 +10,8 @@ import org.springframework.security.web.SecurityFilterChain;
 /**
  * 개발 환경용 보안 설정
  * 모든 요청에 대해 인증 없이 접근 허용
+ * 로그인이 없으므로 채팅 사용자는 STOMP CONNECT 헤더로 정해진다 (websocket.presence.trust-client-headers 참고).
+ * 여기에 인증을 붙이면 그 설정을 false로 바꿔 인증된 사용자만 쓰게 한다.
  */
 @Configuration
 @EnableWebSecurity
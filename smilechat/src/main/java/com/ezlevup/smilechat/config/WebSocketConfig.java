@@ -1,29 +1,35 @@
 package com.ezlevup.smilechat.config;
 
+import com.ezlevup.smilechat.presence.PresenceChannelInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 /**
  * WebSocket 설정 클래스
  * STOMP 프로토콜을 사용하여 실시간 메시징 기능을 구성
+ * 메시지 브로커 자체는 BrokerConfig의 샤드 브로커를 사용
  */
 @Configuration
-@EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final PresenceChannelInterceptor presenceChannelInterceptor;
+
+    @Autowired
+    public WebSocketConfig(PresenceChannelInterceptor presenceChannelInterceptor) {
+        this.presenceChannelInterceptor = presenceChannelInterceptor;
+    }
+
     /**
      * 메시지 브로커 설정
-     * - "/topic": 다중 사용자에게 브로드캐스트 (공개 채팅)
-     * - "/queue": 개별 사용자에게 메시지 전송 (개인 상담)
+     * 브로커 목적지("/topic", "/queue")는 BrokerConfig에서 설정
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        // 메시지 브로커가 처리할 목적지 prefix 설정
-        registry.enableSimpleBroker("/topic", "/queue");
-
         // 클라이언트에서 서버로 메시지를 보낼 때 사용할 prefix
         registry.setApplicationDestinationPrefixes("/app");
 
@@ -31,6 +37,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.setUserDestinationPrefix("/user");
     }
 
+    /**
+     * 클라이언트 인바운드 채널 설정
+     * 접속 사용자 지정과 세션 활동(하트비트 포함) 기록
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(presenceChannelInterceptor);
+    }
+
+    /**
+     * 클라이언트 아웃바운드 채널 설정
+     * 세션별 송신 순서와 대기열 크기는 샤드 브로커가 관리하므로, 스레드 풀에 다시 줄 세우지 않고 샤드 스레드에서 바로 보낸다
+     * (기본 스레드 풀은 대기열 크기 제한이 없어 느린 클라이언트가 있으면 메모리가 계속 늘어남)
+     * WebSocketMessageBrokerStats가 이 실행기를 TaskExecutor 빈으로 주입받으므로 SyncTaskExecutor를 쓴다
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.executor(new SyncTaskExecutor());
+    }
+
     /**
      * STOMP 엔드포인트 등록
      * 클라이언트가 WebSocket 연결을 수립할 때 사용할 엔드포인트
@@ -41,5 +67,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/chat-websocket")
                 .setAllowedOriginPatterns("*")  // CORS 설정 (운영 환경에서는 특정 도메인으로 제한)
                 .withSockJS();  // SockJS fallback 옵션 활성화 (WebSocket 미지원 브라우저 대응)
+
+        // 세션별로 받은 순서대로 처리 (구독을 마친 뒤 오프라인 수신함 전달 요청을 처리하도록)
+        registry.setPreserveReceiveOrder(true);
     }
 }
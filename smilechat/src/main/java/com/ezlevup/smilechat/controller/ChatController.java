@@ -1,6 +1,7 @@
 package com.ezlevup.smilechat.controller;
 
 import com.ezlevup.smilechat.model.ChatMessage;
+import com.ezlevup.smilechat.service.ChatHistoryService;
 import com.ezlevup.smilechat.service.ChatService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -20,21 +21,24 @@ import org.springframework.validation.annotation.Validated;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ChatHistoryService chatHistoryService;
     private final SimpMessagingTemplate messagingTemplate;
 
     @Autowired
-    public ChatController(ChatService chatService, SimpMessagingTemplate messagingTemplate) {
+    public ChatController(ChatService chatService, ChatHistoryService chatHistoryService,
+                          SimpMessagingTemplate messagingTemplate) {
         this.chatService = chatService;
+        this.chatHistoryService = chatHistoryService;
         this.messagingTemplate = messagingTemplate;
     }
 
     /**
      * 공개 채팅방에 메시지 전송
      * 모든 연결된 클라이언트에게 브로드캐스트
+     * 기록에 seq를 붙여 남기고 같은 순서로 발행 (재접속 시 이어받기용)
      */
     @MessageMapping("/chat.sendMessage")
-    @SendTo("/topic/public")
-    public ChatMessage sendMessage(@Payload ChatMessage chatMessage) {
+    public void sendMessage(@Payload ChatMessage chatMessage) {
         // 메시지 검증 및 처리
         ChatMessage processedMessage = chatService.processMessage(chatMessage);
 
@@ -43,7 +47,8 @@ public class ChatController {
             chatService.logMessage(processedMessage);
         });
 
-        return processedMessage.withCurrentTimestamp();
+        chatHistoryService.appendToRoom(ChatHistoryService.PUBLIC_ROOM, processedMessage.withCurrentTimestamp(),
+                message -> messagingTemplate.convertAndSend("/topic/public", message));
     }
 
     /**
@@ -79,11 +84,16 @@ public class ChatController {
         // 개인 메시지 처리
         ChatMessage processedMessage = chatService.processPrivateMessage(chatMessage);
 
-        // 수신자에게 개인 메시지 전송
-        messagingTemplate.convertAndSendToUser(
+        // 대화 기록에 남기고 수신자에게 개인 메시지 전송
+        chatHistoryService.appendPrivate(
+                chatMessage.sender(),
                 chatMessage.receiverRoom(),
-                "/queue/private",
-                processedMessage.withCurrentTimestamp()
+                processedMessage.withCurrentTimestamp(),
+                message -> messagingTemplate.convertAndSendToUser(
+                        chatMessage.receiverRoom(),
+                        "/queue/private",
+                        message
+                )
         );
     }
 }
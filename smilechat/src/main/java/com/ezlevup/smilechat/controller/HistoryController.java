@@ -0,0 +1,57 @@
+package com.ezlevup.smilechat.controller;
+
+import com.ezlevup.smilechat.model.HistoryPage;
+import com.ezlevup.smilechat.service.ChatHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.Principal;
+
+/**
+ * 채팅 기록 조회 API
+ * - after: 그 seq 다음부터 (재접속 시 놓친 메시지 이어받기)
+ * - before: 그 seq 바로 앞까지 (위로 스크롤하며 과거 기록 조회), 둘 다 없으면 최신 기록
+ */
+@RestController
+@RequestMapping("/api/history")
+public class HistoryController {
+
+    private final ChatHistoryService chatHistoryService;
+
+    @Autowired
+    public HistoryController(ChatHistoryService chatHistoryService) {
+        this.chatHistoryService = chatHistoryService;
+    }
+
+    /**
+     * 채팅방 기록 조회
+     */
+    @GetMapping("/rooms/{room}")
+    public HistoryPage roomHistory(@PathVariable String room,
+                                   @RequestParam(required = false) Long after,
+                                   @RequestParam(required = false) Long before,
+                                   @RequestParam(defaultValue = "50") int limit) {
+        return chatHistoryService.roomHistory(room, after, before, limit);
+    }
+
+    /**
+     * 로그인 사용자와 상대방의 1:1 대화 기록 조회
+     */
+    @GetMapping("/private/{peer}")
+    public HistoryPage privateHistory(@PathVariable String peer,
+                                      @RequestParam(required = false) Long after,
+                                      @RequestParam(required = false) Long before,
+                                      @RequestParam(defaultValue = "50") int limit,
+                                      Principal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        return chatHistoryService.privateHistory(principal.getName(), peer, after, before, limit);
+    }
+}
@@ -1,7 +1,10 @@
 package com.ezlevup.smilechat.controller;
 
 import com.ezlevup.smilechat.model.ChatMessage;
+import com.ezlevup.smilechat.model.PresenceSnapshot;
+import com.ezlevup.smilechat.service.ChatHistoryService;
 import com.ezlevup.smilechat.service.ChatService;
+import com.ezlevup.smilechat.service.OfflineInboxService;
 import com.ezlevup.smilechat.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -22,13 +25,18 @@ import java.util.Set;
 public class PrivateMessageController {
 
     private final ChatService chatService;
+    private final ChatHistoryService chatHistoryService;
+    private final OfflineInboxService offlineInboxService;
     private final UserService userService;
     private final SimpMessagingTemplate messagingTemplate;
 
     @Autowired
-    public PrivateMessageController(ChatService chatService, UserService userService,
+    public PrivateMessageController(ChatService chatService, ChatHistoryService chatHistoryService,
+                                    OfflineInboxService offlineInboxService, UserService userService,
                                     SimpMessagingTemplate messagingTemplate) {
         this.chatService = chatService;
+        this.chatHistoryService = chatHistoryService;
+        this.offlineInboxService = offlineInboxService;
         this.userService = userService;
         this.messagingTemplate = messagingTemplate;
     }
@@ -41,11 +49,7 @@ public class PrivateMessageController {
         String senderUsername = principal.getName();
 
         // 수신자가 온라인인지 확인
-        if (!userService.isUserOnline(privateMessage.receiverUsername())) {
-            // 오프라인 메시지 처리
-            sendOfflineNotification(senderUsername);
-            return;
-        }
+        boolean receiverOnline = userService.isUserOnline(privateMessage.receiverUsername());
 
         // 메시지 생성
         ChatMessage chatMessage = new ChatMessage(
@@ -60,25 +64,50 @@ public class PrivateMessageController {
         Thread.ofVirtual().start(() -> {
             ChatMessage processedMessage = chatService.processPrivateMessage(chatMessage);
 
-            // 수신자에게 전송
-            messagingTemplate.convertAndSendToUser(
-                    privateMessage.receiverUsername(),
-                    "/queue/private",
-                    processedMessage.withCurrentTimestamp()
-            );
-
-            // 발신자에게도 확인 메시지 전송
-            messagingTemplate.convertAndSendToUser(
-                    senderUsername,
-                    "/queue/private",
-                    processedMessage.withCurrentTimestamp()
-            );
+            if (!receiverOnline) {
+                // 오프라인 메시지 처리: 수신함에 넣어 두었다가 접속하면 전달
+                storeOfflineMessage(senderUsername, privateMessage.receiverUsername(), processedMessage);
+                chatService.logPrivateMessage(processedMessage);
+                return;
+            }
+
+            // 대화 기록에 남기고 수신자와 발신자(확인용)에게 같은 seq로 전송
+            chatHistoryService.appendPrivate(senderUsername, privateMessage.receiverUsername(),
+                    processedMessage.withCurrentTimestamp(), message -> {
+                        messagingTemplate.convertAndSendToUser(
+                                privateMessage.receiverUsername(),
+                                "/queue/private",
+                                message
+                        );
+                        messagingTemplate.convertAndSendToUser(
+                                senderUsername,
+                                "/queue/private",
+                                message
+                        );
+                    });
 
             // 로깅
             chatService.logPrivateMessage(processedMessage);
         });
     }
 
+    /**
+     * 오프라인 수신함 전달 요청
+     * 클라이언트가 /user/queue/private 구독을 마친 뒤 보낸다 (구독 전에 보내면 메시지가 유실되므로)
+     */
+    @MessageMapping("/inbox.deliver")
+    public void deliverInbox(Principal principal) {
+        offlineInboxService.deliver(principal.getName());
+    }
+
+    /**
+     * 오프라인 메시지 전달 확인 (받은 inbox-seq까지 누적)
+     */
+    @MessageMapping("/inbox.ack")
+    public void acknowledgeInbox(@Payload InboxAck ack, Principal principal) {
+        offlineInboxService.acknowledge(principal.getName(), ack.seq());
+    }
+
     /**
      * 상담 요청 (환자 → 직원)
      */
@@ -137,12 +166,41 @@ public class PrivateMessageController {
         return userService.getOnlineStaff();
     }
 
+    /**
+     * 접속 상태 전체 목록 (REST API)
+     * 클라이언트는 /topic/presence를 먼저 구독한 뒤 이 목록을 받고, version이 더 큰 변경분만 적용한다
+     */
+    @GetMapping("/api/presence")
+    @ResponseBody
+    public PresenceSnapshot getPresence() {
+        return userService.snapshot();
+    }
+
+    /**
+     * 오프라인 사용자에게 보낸 메시지 처리
+     * 대화 기록에 남기고(같은 잠금 안에서 수신함에도 넣어 seq 순서 유지) 발신자에게만 확인 메시지 전송
+     */
+    private void storeOfflineMessage(String senderUsername, String receiverUsername, ChatMessage processedMessage) {
+        chatHistoryService.appendPrivate(senderUsername, receiverUsername,
+                processedMessage.withCurrentTimestamp(), message -> {
+                    boolean stored = offlineInboxService.store(receiverUsername, message);
+                    messagingTemplate.convertAndSendToUser(
+                            senderUsername,
+                            "/queue/private",
+                            message
+                    );
+                    sendOfflineNotification(senderUsername, stored);
+                });
+    }
+
     /**
      * 오프라인 사용자에게 메시지 전송 시 알림
      */
-    private void sendOfflineNotification(String senderUsername) {
+    private void sendOfflineNotification(String senderUsername, boolean stored) {
         ChatMessage offlineMessage = ChatMessage.systemMessage(
-                "상대방이 현재 오프라인 상태입니다. 메시지가 전달되지 않았습니다.",
+                stored
+                        ? "상대방이 현재 오프라인 상태입니다. 접속하면 메시지가 전달됩니다."
+                        : "상대방이 현재 오프라인 상태입니다. 메시지가 전달되지 않았습니다.",
                 senderUsername
         );
 
@@ -157,6 +215,7 @@ public class PrivateMessageController {
      * 개인 메시지 데이터 클래스들
      */
     public record PrivateMessage(String content, String receiverUsername) {}
+    public record InboxAck(long seq) {}
     public record ConsultationRequest(String message) {}
     public record ConsultationAccept(String patientUsername) {}
     public record ConsultationNotification(String patientUsername, String message, long timestamp) {}
@@ -0,0 +1,208 @@
+package com.ezlevup.smilechat.filter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 금칙어 다중 패턴 매처 (Aho–Corasick 오토마톤)
+ *
+ * - 단어 목록으로 한 번 만들어 두고 불변이므로 여러 스레드가 함께 쓴다. 단어가 바뀌면 새로 만들어 통째로 바꾼다.
+ * - 본문을 한 번 훑으며 모든 단어를 찾으므로 비용은 본문 길이에 비례하고 단어 수와 무관하다.
+ * - 비교는 TextNormalizer로 정규화한 자모열로 하고, 매칭 구간은 원문 글자 단위로 되돌려 가린다.
+ *   음절 중간에서 시작하거나 끝나는 매칭("가"가 "각"의 앞 두 자모와 일치 등)은 버린다.
+ *
+ * 상태 전이는 상태별로 정렬된 글자 배열을 이진 탐색한다 (자모로 풀면 첫 글자 종류가 적어 탐색이 짧다).
+ */
+public final class AhoCorasickMatcher {
+
+    private static final AhoCorasickMatcher EMPTY = compile(List.of());
+
+    // 상태 s의 전이는 edgeChars/edgeTargets[edgeStart[s] .. edgeStart[s + 1])
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    // 이 상태에서 끝나는 가장 긴 단어 길이 (없으면 0)
+    private final int[] outputLength;
+    // 실패 링크를 따라가며 처음 만나는 출력 상태 (없으면 0 = 루트)
+    private final int[] outputLink;
+    private final int wordCount;
+
+    private AhoCorasickMatcher(int[] edgeStart, char[] edgeChars, int[] edgeTargets, int[] fail,
+                               int[] outputLength, int[] outputLink, int wordCount) {
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputLength = outputLength;
+        this.outputLink = outputLink;
+        this.wordCount = wordCount;
+    }
+
+    public static AhoCorasickMatcher empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 단어 목록으로 오토마톤을 만든다 (빈 단어와 중복은 무시)
+     */
+    public static AhoCorasickMatcher compile(Collection<String> words) {
+        // 1. 트라이
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        children.add(new TreeMap<>());
+        lengths.add(0);
+        int wordCount = 0;
+        for (String word : words) {
+            String normalized = TextNormalizer.normalizeWord(word);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                Integer next = children.get(state).get(normalized.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(normalized.charAt(i), next);
+                    children.add(new TreeMap<>());
+                    lengths.add(0);
+                }
+                state = next;
+            }
+            if (lengths.get(state) == 0) {
+                lengths.set(state, normalized.length());
+                wordCount++;
+            }
+        }
+
+        // 2. 배열로 펼치기
+        int stateCount = children.size();
+        int[] edgeStart = new int[stateCount + 1];
+        int edgeCount = 0;
+        for (int s = 0; s < stateCount; s++) {
+            edgeStart[s] = edgeCount;
+            edgeCount += children.get(s).size();
+        }
+        edgeStart[stateCount] = edgeCount;
+        char[] edgeChars = new char[edgeCount];
+        int[] edgeTargets = new int[edgeCount];
+        int[] outputLength = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            int e = edgeStart[s];
+            for (var edge : children.get(s).entrySet()) {
+                edgeChars[e] = edge.getKey();
+                edgeTargets[e++] = edge.getValue();
+            }
+            outputLength[s] = lengths.get(s);
+        }
+
+        // 3. 실패 링크와 출력 링크 (너비 우선)
+        int[] fail = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(edgeStart, edgeChars, edgeTargets, fail,
+                outputLength, outputLink, wordCount);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+            queue.add(edgeTargets[e]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                int child = edgeTargets[e];
+                int f = fail[state];
+                int next;
+                while ((next = matcher.next(f, edgeChars[e])) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = Math.max(next, 0);
+                outputLink[child] = outputLength[fail[child]] > 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+        return matcher;
+    }
+
+    public int wordCount() {
+        return wordCount;
+    }
+
+    /**
+     * 금칙어가 하나라도 있는지
+     */
+    public boolean containsMatch(String text) {
+        return !findSpans(text).isEmpty();
+    }
+
+    /**
+     * 금칙어 구간을 replacement로 바꾼다 (겹치는 구간은 하나로 합침)
+     * 금칙어가 없으면 원문 객체를 그대로 돌려준다.
+     */
+    public String mask(String text, String replacement) {
+        if (text == null || text.isEmpty() || wordCount == 0) {
+            return text;
+        }
+        List<int[]> spans = findSpans(text);
+        if (spans.isEmpty()) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        int position = 0;
+        for (int[] span : spans) {
+            result.append(text, position, span[0]).append(replacement);
+            position = span[1];
+        }
+        return result.append(text, position, text.length()).toString();
+    }
+
+    /**
+     * 원문 기준 [시작, 끝) 구간들 (시작 순, 겹침 없음)
+     */
+    List<int[]> findSpans(String text) {
+        List<int[]> spans = new ArrayList<>();
+        if (text == null || wordCount == 0) {
+            return spans;
+        }
+        TextNormalizer.Normalized normalized = TextNormalizer.normalize(text);
+        char[] chars = normalized.chars();
+        int[] origin = normalized.origin();
+        int state = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            int next;
+            while ((next = next(state, chars[i])) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+            // 여기서 끝나는 단어 중 글자 경계에 맞는 가장 긴 것 (짧은 것은 그 안에 포함됨)
+            if (!normalized.endsChar(i)) {
+                continue;
+            }
+            for (int out = outputLength[state] > 0 ? state : outputLink[state]; out != 0; out = outputLink[out]) {
+                int start = i - outputLength[out] + 1;
+                if (normalized.startsChar(start)) {
+                    addSpan(spans, origin[start], origin[i] + 1);
+                    break;
+                }
+            }
+        }
+        return spans;
+    }
+
+    private static void addSpan(List<int[]> spans, int start, int end) {
+        while (!spans.isEmpty() && spans.getLast()[1] > start) {
+            int[] last = spans.removeLast();
+            start = Math.min(start, last[0]);
+            end = Math.max(end, last[1]);
+        }
+        spans.add(new int[]{start, end});
+    }
+
+    // 전이 대상 상태 (없으면 -1)
+    private int next(int state, char c) {
+        int index = Arrays.binarySearch(edgeChars, edgeStart[state], edgeStart[state + 1], c);
+        return index >= 0 ? edgeTargets[index] : -1;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ezlevup.smilechat.filter;
+
+/**
+ * 필터 비교용 문자열 정규화
+ * - 대소문자: 소문자로
+ * - 한글: 완성형 음절과 조합형 자모를 모두 호환 자모(ㄱ, ㅏ ...)로 풀어 쓴다.
+ *   "욕설", "ㅇㅛㄱㅅㅓㄹ", "욕ㅅㅓㄹ"이 모두 같은 자모열이 된다.
+ *
+ * 정규화된 글자마다 원문 글자 위치를 함께 남겨 매칭 구간을 원문으로 되돌릴 수 있게 한다.
+ */
+final class TextNormalizer {
+
+    private static final int SYLLABLE_BASE = 0xAC00;
+    private static final int SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+
+    // 초성 19자
+    private static final char[] CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ".toCharArray();
+    // 중성 21자
+    private static final char[] JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ".toCharArray();
+    // 종성 27자 (받침 없음 제외)
+    private static final char[] JONGSEONG = "ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ".toCharArray();
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * 정규화 결과
+     *
+     * @param chars  정규화된 글자 (length까지만 유효)
+     * @param origin 정규화된 글자마다 원문 글자 위치
+     */
+    record Normalized(char[] chars, int[] origin, int length) {
+
+        // position이 원문 글자의 첫 자모인지
+        boolean startsChar(int position) {
+            return position == 0 || origin[position - 1] != origin[position];
+        }
+
+        // position이 원문 글자의 마지막 자모인지
+        boolean endsChar(int position) {
+            return position == length - 1 || origin[position + 1] != origin[position];
+        }
+    }
+
+    static Normalized normalize(CharSequence text) {
+        // 음절 하나가 최대 3자모
+        char[] chars = new char[text.length() * 3];
+        int[] origin = new int[chars.length];
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int index = c - SYLLABLE_BASE;
+                int jongseong = index % JONGSEONG_COUNT;
+                chars[length] = CHOSEONG[index / (JUNGSEONG_COUNT * JONGSEONG_COUNT)];
+                origin[length++] = i;
+                chars[length] = JUNGSEONG[(index / JONGSEONG_COUNT) % JUNGSEONG_COUNT];
+                origin[length++] = i;
+                if (jongseong > 0) {
+                    chars[length] = JONGSEONG[jongseong - 1];
+                    origin[length++] = i;
+                }
+            } else {
+                chars[length] = normalizeChar(c);
+                origin[length++] = i;
+            }
+        }
+        return new Normalized(chars, origin, length);
+    }
+
+    /**
+     * 필터 단어 정규화 (원문 위치 불필요)
+     */
+    static String normalizeWord(String word) {
+        Normalized normalized = normalize(word.strip());
+        return new String(normalized.chars(), 0, normalized.length());
+    }
+
+    private static char normalizeChar(char c) {
+        // 조합형 자모 (U+1100 초성, U+1161 중성, U+11A8 종성)
+        if (c >= 0x1100 && c < 0x1100 + CHOSEONG.length) {
+            return CHOSEONG[c - 0x1100];
+        }
+        if (c >= 0x1161 && c < 0x1161 + JUNGSEONG.length) {
+            return JUNGSEONG[c - 0x1161];
+        }
+        if (c >= 0x11A8 && c < 0x11A8 + JONGSEONG.length) {
+            return JONGSEONG[c - 0x11A8];
+        }
+        return Character.toLowerCase(c);
+    }
+}
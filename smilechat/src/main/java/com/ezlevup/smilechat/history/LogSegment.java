@@ -0,0 +1,153 @@
+package com.ezlevup.smilechat.history;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 로그 세그먼트: 고정 크기 파일 하나를 통째로 메모리 매핑해 레코드를 이어 붙인다.
+ * 파일 이름은 첫 레코드의 seq(20자리)이고, 세그먼트 안의 seq는 빈틈 없이 1씩 증가한다.
+ *
+ * 레코드 형식: [payload 길이 int][seq long][timestamp long][payload]
+ * 길이를 맨 마지막에 쓰므로 쓰는 도중 프로세스가 죽어도 복구 시 길이가 0인 곳에서 끝으로 본다.
+ * 동기화는 SegmentedMessageLog가 한다.
+ */
+final class LogSegment {
+
+    static final int RECORD_HEADER = 4 + 8 + 8;
+
+    private static final String SUFFIX = ".log";
+
+    private final Path path;
+    private final long baseSeq;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    // seq - baseSeq 번째 레코드의 파일 내 위치 (seq로 바로 찾기 위함)
+    private int[] offsets = new int[64];
+    private int count;
+    private int writePosition;
+    private long lastTimestamp;
+
+    private LogSegment(Path path, long baseSeq, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSeq = baseSeq;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static LogSegment create(Path directory, long baseSeq, int size) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", baseSeq, SUFFIX));
+        FileChannel channel = FileChannel.open(path, CREATE_NEW, READ, WRITE);
+        return new LogSegment(path, baseSeq, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    static LogSegment open(Path path) throws IOException {
+        String name = path.getFileName().toString();
+        long baseSeq = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        FileChannel channel = FileChannel.open(path, READ, WRITE);
+        LogSegment segment = new LogSegment(path, baseSeq, channel,
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        segment.recover();
+        return segment;
+    }
+
+    static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.length() == 20 + SUFFIX.length() && name.endsWith(SUFFIX)
+                && name.chars().limit(20).allMatch(Character::isDigit);
+    }
+
+    /**
+     * 처음부터 레코드를 읽어 위치 색인과 다음 쓰기 위치를 다시 만든다
+     */
+    private void recover() {
+        int position = 0;
+        while (position + RECORD_HEADER <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - RECORD_HEADER
+                    || buffer.getLong(position + 4) != baseSeq + count) {
+                break;
+            }
+            addOffset(position);
+            lastTimestamp = buffer.getLong(position + 12);
+            position += RECORD_HEADER + length;
+        }
+        writePosition = position;
+    }
+
+    /**
+     * 마지막 레코드 뒤를 0으로 지운다 (쓰다 만 레코드가 남아 있으면 다음 복구 때 잘못 읽지 않도록)
+     */
+    void clearTail() {
+        for (int i = writePosition; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    /**
+     * @return 공간이 부족하면 false (쓰지 않음)
+     */
+    boolean append(long seq, long timestamp, byte[] payload) {
+        if (payload.length > buffer.capacity() - writePosition - RECORD_HEADER) {
+            return false;
+        }
+        buffer.putLong(writePosition + 4, seq);
+        buffer.putLong(writePosition + 12, timestamp);
+        buffer.put(writePosition + RECORD_HEADER, payload);
+        buffer.putInt(writePosition, payload.length);
+        addOffset(writePosition);
+        lastTimestamp = timestamp;
+        writePosition += RECORD_HEADER + payload.length;
+        return true;
+    }
+
+    SegmentedMessageLog.Entry read(long seq) {
+        int position = offsets[(int) (seq - baseSeq)];
+        byte[] payload = new byte[buffer.getInt(position)];
+        buffer.get(position + RECORD_HEADER, payload);
+        return new SegmentedMessageLog.Entry(seq, buffer.getLong(position + 12), payload);
+    }
+
+    long baseSeq() {
+        return baseSeq;
+    }
+
+    // 이 세그먼트에 다음으로 쓸 seq
+    long nextSeq() {
+        return baseSeq + count;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 파일 삭제. 매핑은 GC가 버퍼를 회수할 때 풀린다.
+     */
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    private void addOffset(int position) {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+        }
+        offsets[count++] = position;
+    }
+}
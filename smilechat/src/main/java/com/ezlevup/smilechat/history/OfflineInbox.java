@@ -0,0 +1,123 @@
+package com.ezlevup.smilechat.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자 한 명의 오프라인 수신함
+ * - 메시지는 SegmentedMessageLog(매핑 파일)에 쌓아 힙에 올려 두지 않는다.
+ * - 클라이언트가 확인(ack)한 seq는 커서 파일에 남기고, 확인되지 않은 메시지는 다음 접속 때 다시 보낸다.
+ * - 확인이 끝난 세그먼트는 바로 지운다.
+ */
+public final class OfflineInbox implements Closeable {
+
+    private static final String CURSOR_FILE = "acked";
+
+    private final SegmentedMessageLog log;
+    private final Path cursorFile;
+    // 여기까지 전달 확인됨
+    private long ackedSeq;
+
+    private OfflineInbox(SegmentedMessageLog log, Path cursorFile, long ackedSeq) {
+        this.log = log;
+        this.cursorFile = cursorFile;
+        this.ackedSeq = ackedSeq;
+    }
+
+    public static OfflineInbox open(Path directory, int segmentSize) throws IOException {
+        SegmentedMessageLog log = SegmentedMessageLog.open(directory, segmentSize);
+        Path cursorFile = directory.resolve(CURSOR_FILE);
+        long ackedSeq = Files.exists(cursorFile)
+                ? Long.parseLong(Files.readString(cursorFile, StandardCharsets.UTF_8).trim())
+                : 0;
+        // 만료로 앞부분이 지워졌으면 커서도 당긴다
+        ackedSeq = Math.clamp(ackedSeq, log.firstSeq() - 1, log.lastSeq());
+        return new OfflineInbox(log, cursorFile, ackedSeq);
+    }
+
+    /**
+     * 메시지를 넣는다. 확인되지 않은 메시지가 maxPending을 넘으면 가장 오래된 것부터 버린다.
+     *
+     * @return 수신함 seq
+     */
+    public synchronized long store(long timestamp, byte[] payload, int maxPending) throws IOException {
+        long seq = log.append(timestamp, payload, null);
+        if (seq - ackedSeq > maxPending) {
+            advance(seq - maxPending);
+        }
+        return seq;
+    }
+
+    /**
+     * afterSeq(와 확인된 seq) 다음부터 아직 만료되지 않은 메시지를 최대 limit건
+     */
+    public synchronized List<SegmentedMessageLog.Entry> pendingAfter(long afterSeq, long notBeforeMillis, int limit) {
+        List<SegmentedMessageLog.Entry> pending = new ArrayList<>();
+        long from = Math.max(afterSeq, ackedSeq);
+        while (pending.size() < limit) {
+            List<SegmentedMessageLog.Entry> entries = log.readAfter(from, limit - pending.size());
+            if (entries.isEmpty()) {
+                break;
+            }
+            for (SegmentedMessageLog.Entry entry : entries) {
+                if (entry.timestamp() >= notBeforeMillis) {
+                    pending.add(entry);
+                }
+            }
+            from = entries.getLast().seq();
+        }
+        return pending;
+    }
+
+    /**
+     * seq까지 전달 확인 (누적)
+     */
+    public synchronized void acknowledge(long seq) throws IOException {
+        long target = Math.min(seq, log.lastSeq());
+        if (target > ackedSeq) {
+            advance(target);
+        }
+    }
+
+    /**
+     * 마지막 레코드가 cutoffMillis보다 오래된 세그먼트를 지운다 (확인 여부와 무관)
+     */
+    public synchronized void expire(long cutoffMillis) throws IOException {
+        log.expire(cutoffMillis, Integer.MAX_VALUE);
+        if (log.firstSeq() - 1 > ackedSeq) {
+            ackedSeq = log.firstSeq() - 1;
+            writeCursor();
+        }
+    }
+
+    public synchronized long pendingCount() {
+        return log.lastSeq() - ackedSeq;
+    }
+
+    public void flush() {
+        log.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    private void advance(long seq) throws IOException {
+        ackedSeq = seq;
+        writeCursor();
+        log.truncateBefore(seq + 1);
+    }
+
+    private void writeCursor() throws IOException {
+        Path temp = cursorFile.resolveSibling(CURSOR_FILE + ".tmp");
+        Files.writeString(temp, Long.toString(ackedSeq), StandardCharsets.UTF_8);
+        Files.move(temp, cursorFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,241 @@
+package com.ezlevup.smilechat.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * 추가 전용 메시지 로그 (대화방/1:1 대화 하나당 하나)
+ *
+ * - 디렉터리 하나에 고정 크기 세그먼트 파일들을 두고, 마지막 세그먼트에만 이어 쓴다.
+ *   가득 차면 새 세그먼트를 만든다.
+ * - seq는 1부터 1씩 증가하며 재시작해도 이어진다 (세그먼트를 다시 읽어 복구).
+ * - seq로 세그먼트를 이진 탐색하고 세그먼트 안에서는 색인으로 바로 찾으므로 페이지 조회 비용은 페이지 크기에 비례한다.
+ * - 오래된 세그먼트는 expire()로 통째로 지운다. 마지막 세그먼트는 지우지 않아 seq가 계속 이어진다.
+ *
+ * 쓰기는 매핑된 메모리에 하므로 프로세스가 죽어도 OS 페이지 캐시에 남는다.
+ * 디스크 반영은 flush()를 주기적으로 호출해 한다 (OS 장애 시 마지막 flush 이후 기록은 잃을 수 있음).
+ * 닫힌 뒤의 호출은 IllegalStateException을 던진다 (다시 쓰려면 open()으로 새로 연다).
+ */
+public final class SegmentedMessageLog implements Closeable {
+
+    /**
+     * 로그 레코드 한 건
+     */
+    public record Entry(long seq, long timestamp, byte[] payload) {}
+
+    private final Path directory;
+    private final int segmentSize;
+    // baseSeq 오름차순
+    private final List<LogSegment> segments = new ArrayList<>();
+    private boolean dirty;
+    private boolean closed;
+
+    private SegmentedMessageLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * 디렉터리의 세그먼트들을 열어 복구한다 (없으면 만든다)
+     */
+    public static SegmentedMessageLog open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize <= LogSegment.RECORD_HEADER) {
+            throw new IllegalArgumentException("segmentSize too small: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        SegmentedMessageLog log = new SegmentedMessageLog(directory, segmentSize);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            // 이름이 0으로 채운 seq라서 이름 순서가 곧 seq 순서
+            files = list.filter(LogSegment::isSegmentFile).sorted().toList();
+        }
+        try {
+            for (Path file : files) {
+                log.segments.add(LogSegment.open(file));
+            }
+            if (log.segments.isEmpty()) {
+                log.segments.add(LogSegment.create(directory, 1, segmentSize));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+        log.active().clearTail();
+        return log;
+    }
+
+    /**
+     * 레코드를 추가하고 seq를 돌려준다.
+     * onAppended는 잠금을 쥔 채로 호출되므로, 여기서 발행하면 구독자도 seq 순서대로 받는다.
+     */
+    public synchronized long append(long timestamp, byte[] payload, LongConsumer onAppended) throws IOException {
+        ensureOpen();
+        if (payload.length == 0 || payload.length > segmentSize - LogSegment.RECORD_HEADER) {
+            throw new IllegalArgumentException("Payload size out of range: " + payload.length);
+        }
+        LogSegment active = active();
+        long seq = active.nextSeq();
+        if (!active.append(seq, timestamp, payload)) {
+            active.flush();
+            active = LogSegment.create(directory, seq, segmentSize);
+            segments.add(active);
+            active.append(seq, timestamp, payload);
+        }
+        dirty = true;
+        if (onAppended != null) {
+            onAppended.accept(seq);
+        }
+        return seq;
+    }
+
+    /**
+     * afterSeq 다음부터 최대 limit건 (재접속 시 이어받기)
+     * 만료로 지워진 구간은 건너뛰고 남아 있는 가장 오래된 레코드부터 준다.
+     */
+    public synchronized List<Entry> readAfter(long afterSeq, int limit) {
+        ensureOpen();
+        return read(Math.max(afterSeq + 1, firstSeq()), limit);
+    }
+
+    /**
+     * beforeSeq 바로 앞까지 최대 limit건 (과거 기록 페이지 조회), seq 오름차순
+     */
+    public synchronized List<Entry> readBefore(long beforeSeq, int limit) {
+        ensureOpen();
+        long to = Math.min(beforeSeq, active().nextSeq());
+        long from = Math.max(firstSeq(), to - limit);
+        return from < to ? read(from, (int) (to - from)) : List.of();
+    }
+
+    /**
+     * 남아 있는 가장 오래된 seq
+     */
+    public synchronized long firstSeq() {
+        ensureOpen();
+        return segments.getFirst().baseSeq();
+    }
+
+    /**
+     * 마지막으로 쓴 seq (없으면 0)
+     */
+    public synchronized long lastSeq() {
+        ensureOpen();
+        return active().nextSeq() - 1;
+    }
+
+    /**
+     * 마지막 flush 이후 쓴 내용을 디스크에 반영 (지난 세그먼트는 넘어갈 때 이미 반영됨)
+     */
+    public synchronized void flush() {
+        ensureOpen();
+        if (dirty) {
+            active().flush();
+            dirty = false;
+        }
+    }
+
+    /**
+     * 마지막 레코드가 cutoffMillis보다 오래된 세그먼트와, maxSegments를 넘는 오래된 세그먼트를 지운다
+     *
+     * @return 지운 세그먼트 수
+     */
+    public synchronized int expire(long cutoffMillis, int maxSegments) throws IOException {
+        ensureOpen();
+        int removed = 0;
+        while (segments.size() > 1) {
+            LogSegment oldest = segments.getFirst();
+            if (oldest.lastTimestamp() >= cutoffMillis && segments.size() <= maxSegments) {
+                break;
+            }
+            segments.removeFirst();
+            oldest.delete();
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * seq 앞의 레코드만 담긴 세그먼트를 지운다 (이미 처리한 앞부분 정리)
+     *
+     * @return 지운 세그먼트 수
+     */
+    public synchronized int truncateBefore(long seq) throws IOException {
+        ensureOpen();
+        int removed = 0;
+        while (segments.size() > 1 && segments.getFirst().nextSeq() <= seq) {
+            segments.removeFirst().delete();
+            removed++;
+        }
+        return removed;
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        IOException failure = null;
+        for (LogSegment segment : segments) {
+            try {
+                segment.flush();
+                segment.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        segments.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Message log is closed: " + directory);
+        }
+    }
+
+    private List<Entry> read(long fromSeq, int limit) {
+        List<Entry> entries = new ArrayList<>(Math.min(limit, 256));
+        long seq = fromSeq;
+        for (int i = segmentIndex(fromSeq); i < segments.size() && entries.size() < limit; i++) {
+            LogSegment segment = segments.get(i);
+            // 장애 복구로 세그먼트 끝이 잘렸으면 seq에 빈틈이 있을 수 있다
+            seq = Math.max(seq, segment.baseSeq());
+            while (seq < segment.nextSeq() && entries.size() < limit) {
+                entries.add(segment.read(seq++));
+            }
+        }
+        return entries;
+    }
+
+    // seq가 들어 있는 (baseSeq <= seq인 마지막) 세그먼트
+    private int segmentIndex(long seq) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).baseSeq() <= seq) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private LogSegment active() {
+        return segments.getLast();
+    }
+}
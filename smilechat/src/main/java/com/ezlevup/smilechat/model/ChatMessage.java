@@ -20,9 +20,19 @@ public record ChatMessage(
 
         LocalDateTime timestamp,
 
-        String receiverRoom  // 수신자 방 정보 (개인 상담용)
+        String receiverRoom,  // 수신자 방 정보 (개인 상담용)
+
+        Long seq  // 대화별 기록 순번 (기록되지 않는 메시지는 null)
 ) {
 
+    /**
+     * 기록 순번 없는 메시지 생성
+     */
+    public ChatMessage(String content, String sender, MessageType type,
+                       LocalDateTime timestamp, String receiverRoom) {
+        this(content, sender, type, timestamp, receiverRoom, null);
+    }
+
     /**
      * 메시지 타입 열거형
      * - CHAT: 일반 채팅 메시지
@@ -41,7 +51,14 @@ public record ChatMessage(
      * 현재 시간이 설정된 새로운 ChatMessage 인스턴스 생성
      */
     public ChatMessage withCurrentTimestamp() {
-        return new ChatMessage(content, sender, type, LocalDateTime.now(), receiverRoom);
+        return new ChatMessage(content, sender, type, LocalDateTime.now(), receiverRoom, seq);
+    }
+
+    /**
+     * 기록 순번이 설정된 새로운 ChatMessage 인스턴스 생성
+     */
+    public ChatMessage withSeq(long seq) {
+        return new ChatMessage(content, sender, type, timestamp, receiverRoom, seq);
     }
 
     /**
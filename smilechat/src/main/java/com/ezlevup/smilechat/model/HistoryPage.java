@@ -0,0 +1,12 @@
+package com.ezlevup.smilechat.model;
+
+import java.util.List;
+
+/**
+ * 채팅 기록 페이지 (seq 오름차순)
+ * - hasMore: after 조회면 더 새로운 메시지가, before 조회면 더 오래된 메시지가 남아 있음
+ */
+public record HistoryPage(List<ChatMessage> messages, boolean hasMore) {
+
+    public static final HistoryPage EMPTY = new HistoryPage(List.of(), false);
+}
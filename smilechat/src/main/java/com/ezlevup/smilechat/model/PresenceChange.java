@@ -0,0 +1,19 @@
+package com.ezlevup.smilechat.model;
+
+/**
+ * 접속 상태 변경 알림 (/topic/presence)
+ * 전체 목록 대신 바뀐 사용자만 보낸다. version은 변경마다 1씩 증가하므로
+ * 클라이언트는 스냅샷(PresenceSnapshot)의 version 이하인 변경을 무시하면 된다.
+ */
+public record PresenceChange(long version, Type type, String username, String role) {
+
+    /**
+     * 변경 종류
+     * - ONLINE: 사용자의 첫 세션 접속
+     * - OFFLINE: 사용자의 마지막 세션 종료 (또는 하트비트 끊김으로 정리)
+     */
+    public enum Type {
+        ONLINE,
+        OFFLINE
+    }
+}
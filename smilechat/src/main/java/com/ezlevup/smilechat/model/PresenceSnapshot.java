@@ -0,0 +1,8 @@
+package com.ezlevup.smilechat.model;
+
+import java.util.Set;
+
+/**
+ * 접속자 전체 목록 (처음 한 번 받고 이후로는 PresenceChange를 적용)
+ */
+public record PresenceSnapshot(long version, Set<String> staff, Set<String> patients) {}
@@ -0,0 +1,104 @@
+package com.ezlevup.smilechat.presence;
+
+import com.ezlevup.smilechat.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * 클라이언트 인바운드 채널 인터셉터
+ * - CONNECT: 세션 사용자와 역할을 정한다. 인증된 사용자가 있으면 그 이름과 권한(ROLE_STAFF)을 쓴다.
+ *   인증된 사용자가 없고 websocket.presence.trust-client-headers가 켜져 있으면(기본 켜짐) CONNECT 헤더의 username/role을 쓴다.
+ *   지금 배포는 로그인이 없어(SecurityConfig가 모두 허용) 첫 화면에서 입력한 이름이 헤더로 오는 것이 유일한 사용자 정보다.
+ *   이 모드에서는 누구나 다른 사용자나 직원으로 접속할 수 있으므로, 핸드셰이크에 인증을 붙이면 반드시 끈다.
+ *   꺼져 있고 인증된 사용자도 없으면 세션은 익명이라 접속 상태와 오프라인 수신함에 등록되지 않는다.
+ * - 그 밖의 모든 프레임(하트비트 포함): 세션 활동 시각 갱신.
+ *   유휴로 정리된 세션이 다시 활동하면 다시 등록한다.
+ */
+@Component
+public class PresenceChannelInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = Logger.getLogger(PresenceChannelInterceptor.class.getName());
+
+    public static final String ROLE_ATTRIBUTE = "role";
+
+    private static final String STAFF_AUTHORITY = "ROLE_" + UserService.ROLE_STAFF;
+
+    private final UserService userService;
+    private final boolean trustClientHeaders;
+
+    @Autowired
+    public PresenceChannelInterceptor(UserService userService,
+                                      @Value("${websocket.presence.trust-client-headers:true}") boolean trustClientHeaders) {
+        this.userService = userService;
+        this.trustClientHeaders = trustClientHeaders;
+        if (trustClientHeaders) {
+            logger.warning("Trusting STOMP CONNECT username/role headers: chat identities are not authenticated "
+                    + "(set websocket.presence.trust-client-headers=false once the handshake is authenticated)");
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getSessionId() == null) {
+            return message;
+        }
+        StompCommand command = accessor.getCommand();
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (StompCommand.CONNECT.equals(command)) {
+            String role = null;
+            Principal user = accessor.getUser();
+            if (user != null) {
+                role = roleOf(user);
+            } else if (trustClientHeaders) {
+                String username = accessor.getFirstNativeHeader("username");
+                if (username != null && !username.isBlank()) {
+                    accessor.setUser(new StompPrincipal(username.strip()));
+                    role = UserService.normalizeRole(accessor.getFirstNativeHeader("role"));
+                }
+            }
+            if (attributes != null && role != null) {
+                attributes.put(ROLE_ATTRIBUTE, role);
+            }
+        } else if (!userService.touch(accessor.getSessionId())
+                && !StompCommand.DISCONNECT.equals(command) && accessor.getUser() != null && attributes != null) {
+            userService.addUser(accessor.getUser().getName(), (String) attributes.get(ROLE_ATTRIBUTE), accessor.getSessionId());
+        }
+        return message;
+    }
+
+    // 인증된 사용자의 역할 (ROLE_STAFF 권한이 있을 때만 직원)
+    private static String roleOf(Principal user) {
+        if (user instanceof Authentication authentication) {
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                if (STAFF_AUTHORITY.equals(authority.getAuthority())) {
+                    return UserService.ROLE_STAFF;
+                }
+            }
+        }
+        return UserService.ROLE_PATIENT;
+    }
+
+    /**
+     * CONNECT 헤더로 정한 세션 사용자
+     */
+    record StompPrincipal(String name) implements Principal {
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
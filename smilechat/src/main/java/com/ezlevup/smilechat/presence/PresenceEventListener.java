@@ -0,0 +1,53 @@
+package com.ezlevup.smilechat.presence;
+
+import com.ezlevup.smilechat.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * STOMP 세션 이벤트로 접속 상태 갱신
+ * - 접속 완료(CONNECTED 전송): 온라인 등록
+ * - 연결 종료(DISCONNECT 또는 WebSocket 종료): 세션 제거
+ */
+@Component
+public class PresenceEventListener {
+
+    private final UserService userService;
+
+    @Autowired
+    public PresenceEventListener(UserService userService) {
+        this.userService = userService;
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (user == null || sessionId == null) {
+            return;
+        }
+        // 역할은 원래 CONNECT 메시지의 세션 속성에 있다
+        String role = null;
+        Message<?> connect = (Message<?>) event.getMessage().getHeaders().get(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER);
+        if (connect != null) {
+            Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(connect.getHeaders());
+            if (attributes != null) {
+                role = (String) attributes.get(PresenceChannelInterceptor.ROLE_ATTRIBUTE);
+            }
+        }
+        userService.addUser(user.getName(), role, sessionId);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        userService.removeSession(event.getSessionId());
+    }
+}
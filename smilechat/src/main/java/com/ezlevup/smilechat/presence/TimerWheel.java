@@ -0,0 +1,79 @@
+package com.ezlevup.smilechat.presence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * 해시 타이머 휠
+ * - 칸(bucket) wheelSize개를 원형으로 두고 tick()마다 한 칸씩 돌며 만기된 항목을 꺼낸다.
+ * - 등록/만기 처리는 칸 하나만 건드리므로 세션이 많아도 O(1)이다 (정렬된 큐나 세션별 타이머가 필요 없음).
+ * - 휠 한 바퀴보다 먼 만기는 같은 칸에 두고 그 바퀴가 올 때까지 다시 넣는다.
+ *
+ * tick()은 스레드 하나에서만 호출하고, schedule()은 아무 스레드에서나 불러도 된다.
+ * 취소는 없다. 만기 처리 쪽(onExpire)에서 항목이 아직 유효한지 확인한다.
+ */
+public final class TimerWheel<T> {
+
+    private record Timeout<T>(T item, long deadlineTick) {}
+
+    private final long tickMillis;
+    private final ConcurrentLinkedQueue<Timeout<T>>[] buckets;
+    private final int mask;
+    private final Consumer<T> onExpire;
+    private volatile long currentTick;
+
+    /**
+     * @param wheelSize 2의 거듭제곱
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int wheelSize, Consumer<T> onExpire) {
+        if (tickMillis <= 0 || wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("tickMillis must be positive and wheelSize a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ConcurrentLinkedQueue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = wheelSize - 1;
+        this.onExpire = onExpire;
+    }
+
+    public long tickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * delayMillis 뒤에 onExpire(item)
+     * 틱 단위로 올리고 한 칸 여유를 더 둔다 (tick()이 막 칸을 비운 뒤 그 칸에 넣어 한 바퀴를 놓치는 일이 없도록).
+     * 그래서 만기는 요청보다 최대 두 틱 늦다.
+     */
+    public void schedule(T item, long delayMillis) {
+        long ticks = Math.max(0, (delayMillis + tickMillis - 1) / tickMillis);
+        long deadline = currentTick + ticks + 1;
+        buckets[(int) (deadline & mask)].add(new Timeout<>(item, deadline));
+    }
+
+    /**
+     * 한 칸 전진하고 만기된 항목을 처리한다
+     */
+    public void tick() {
+        long tick = ++currentTick;
+        ConcurrentLinkedQueue<Timeout<T>> bucket = buckets[(int) (tick & mask)];
+        // 처리 중 같은 칸에 다시 들어가는 항목(다음 바퀴)은 이번에 보지 않도록 먼저 꺼내 둔다
+        List<Timeout<T>> due = new ArrayList<>();
+        Timeout<T> timeout;
+        while ((timeout = bucket.poll()) != null) {
+            due.add(timeout);
+        }
+        for (Timeout<T> entry : due) {
+            if (entry.deadlineTick() <= tick) {
+                onExpire.accept(entry.item());
+            } else {
+                bucket.add(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.ezlevup.smilechat.service;
+
+import com.ezlevup.smilechat.history.SegmentedMessageLog;
+import com.ezlevup.smilechat.model.ChatMessage;
+import com.ezlevup.smilechat.model.HistoryPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 채팅 기록 서비스
+ * - 공개 채팅방과 1:1 대화마다 세그먼트 로그(메모리 매핑 파일)를 하나씩 둔다.
+ * - 메시지마다 대화별로 1씩 증가하는 seq를 붙이고, 재접속한 클라이언트는 마지막으로 받은 seq 이후만 다시 받는다.
+ * - 보관 기간이 지났거나 대화별 최대 세그먼트 수를 넘은 오래된 세그먼트는 통째로 지운다.
+ * - 1:1 대화는 사용자 수의 제곱으로 늘어나므로, 유휴 시간(idle-timeout) 동안 쓰이지 않은 로그는 닫고 다음 사용 때 다시 연다.
+ */
+@Service
+public class ChatHistoryService {
+
+    private static final Logger logger = Logger.getLogger(ChatHistoryService.class.getName());
+
+    public static final String PUBLIC_ROOM = "public";
+
+    // 한 번에 조회할 수 있는 최대 메시지 수
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration retention;
+    private final int maxSegmentsPerStream;
+    private final Duration flushInterval;
+    private final Duration idleTimeout;
+    private final ConcurrentHashMap<String, OpenLog> logs = new ConcurrentHashMap<>();
+    private ScheduledExecutorService maintenance;
+
+    @Autowired
+    public ChatHistoryService(ObjectMapper objectMapper,
+                              @Value("${chat.history.dir:./data/chat-history}") Path directory,
+                              @Value("${chat.history.segment-size:1048576}") int segmentSize,
+                              @Value("${chat.history.retention:30d}") Duration retention,
+                              @Value("${chat.history.max-segments-per-stream:64}") int maxSegmentsPerStream,
+                              @Value("${chat.history.flush-interval:1s}") Duration flushInterval,
+                              @Value("${chat.history.idle-timeout:10m}") Duration idleTimeout) {
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.retention = retention;
+        this.maxSegmentsPerStream = maxSegmentsPerStream;
+        this.flushInterval = flushInterval;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @PostConstruct
+    void startMaintenance() {
+        maintenance = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("chat-history-maintenance").daemon().factory());
+        long flushMillis = flushInterval.toMillis();
+        maintenance.scheduleWithFixedDelay(this::flushAll, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(this::expireAll, 1, 60, TimeUnit.MINUTES);
+        long idleCheckMillis = Math.max(idleTimeout.toMillis() / 2, 1000);
+        maintenance.scheduleWithFixedDelay(this::closeIdleLogs, idleCheckMillis, idleCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        maintenance.shutdownNow();
+        logs.forEach((key, open) -> close(key, open.log));
+        logs.clear();
+    }
+
+    /**
+     * 채팅방 메시지를 기록하고 seq를 붙여 발행한다
+     * publisher는 기록 잠금 안에서 호출되므로 구독자는 seq 순서대로 받는다.
+     * 기록에 실패해도 채팅은 끊기지 않도록 seq 없이 발행한다.
+     */
+    public ChatMessage appendToRoom(String room, ChatMessage message, Consumer<ChatMessage> publisher) {
+        return append(roomKey(room), message, publisher);
+    }
+
+    /**
+     * 1:1 대화 메시지 기록 (두 사람이 같은 기록을 공유)
+     */
+    public ChatMessage appendPrivate(String sender, String receiver, ChatMessage message,
+                                     Consumer<ChatMessage> publisher) {
+        return append(conversationKey(sender, receiver), message, publisher);
+    }
+
+    /**
+     * 채팅방 기록 조회
+     * - after가 있으면 그 다음부터 (재접속 이어받기), 없으면 before(없으면 최신) 바로 앞까지
+     */
+    public HistoryPage roomHistory(String room, Long after, Long before, int limit) {
+        return page(roomKey(room), after, before, limit);
+    }
+
+    /**
+     * 1:1 대화 기록 조회
+     */
+    public HistoryPage privateHistory(String username, String peer, Long after, Long before, int limit) {
+        return page(conversationKey(username, peer), after, before, limit);
+    }
+
+    private ChatMessage append(String key, ChatMessage message, Consumer<ChatMessage> publisher) {
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(message);
+            long seq = withLog(key, true, log -> log.append(System.currentTimeMillis(), payload,
+                    appended -> publisher.accept(message.withSeq(appended))));
+            return message.withSeq(seq);
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            logger.log(Level.WARNING, "Failed to record chat message for " + key, e);
+            publisher.accept(message);
+            return message;
+        }
+    }
+
+    private HistoryPage page(String key, Long after, Long before, int limit) {
+        int size = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        HistoryPage page;
+        try {
+            page = withLog(key, false, log -> {
+                List<SegmentedMessageLog.Entry> entries;
+                boolean hasMore;
+                if (after != null) {
+                    entries = log.readAfter(after, size);
+                    hasMore = !entries.isEmpty() && entries.getLast().seq() < log.lastSeq();
+                } else {
+                    entries = log.readBefore(before != null ? before : Long.MAX_VALUE, size);
+                    hasMore = !entries.isEmpty() && entries.getFirst().seq() > log.firstSeq();
+                }
+                return new HistoryPage(entries.stream().map(this::toMessage).toList(), hasMore);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return page != null ? page : HistoryPage.EMPTY;
+    }
+
+    private ChatMessage toMessage(SegmentedMessageLog.Entry entry) {
+        try {
+            return objectMapper.readValue(entry.payload(), ChatMessage.class).withSeq(entry.seq());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 로그를 열어(create가 false면 기록이 있을 때만) action을 실행한다. 기록이 없으면 null.
+     * 유휴 정리와 겹쳐 가져온 로그가 그사이 닫혔으면 다시 열어 재시도한다.
+     */
+    private <T> T withLog(String key, boolean create, LogAction<T> action) throws IOException {
+        while (true) {
+            OpenLog open = create ? open(key) : existingLog(key);
+            if (open == null) {
+                return null;
+            }
+            open.lastUsedMillis = System.currentTimeMillis();
+            try {
+                return action.apply(open.log);
+            } catch (IllegalStateException e) {
+                if (!open.log.isClosed()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private OpenLog open(String key) {
+        return logs.computeIfAbsent(key, k -> {
+            try {
+                SegmentedMessageLog log = SegmentedMessageLog.open(directory.resolve(k), segmentSize);
+                // 닫혀 있던 동안 보관 기간이 지난 세그먼트 정리
+                expire(k, log);
+                return new OpenLog(log);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // 조회만으로 빈 기록 파일이 생기지 않도록 디렉터리가 있을 때만 연다
+    private OpenLog existingLog(String key) {
+        OpenLog open = logs.get(key);
+        if (open == null && Files.isDirectory(directory.resolve(key))) {
+            open = open(key);
+        }
+        return open;
+    }
+
+    /**
+     * 유휴 시간 동안 쓰이지 않은 로그를 닫는다.
+     * 맵의 키 잠금 안에서 닫으므로 같은 로그가 닫히기 전에 다시 열리는 일은 없다.
+     *
+     * @return 닫은 로그 수
+     */
+    int closeIdleLogs() {
+        long idleBefore = System.currentTimeMillis() - idleTimeout.toMillis();
+        int closed = 0;
+        for (String key : logs.keySet()) {
+            OpenLog open = logs.computeIfPresent(key, (k, current) -> {
+                if (current.lastUsedMillis > idleBefore) {
+                    return current;
+                }
+                expire(k, current.log);
+                close(k, current.log);
+                return null;
+            });
+            if (open == null) {
+                closed++;
+            }
+        }
+        if (closed > 0 && logger.isLoggable(Level.FINE)) {
+            logger.fine("Closed " + closed + " idle chat history log(s)");
+        }
+        return closed;
+    }
+
+    int openLogCount() {
+        return logs.size();
+    }
+
+    private void flushAll() {
+        logs.values().forEach(open -> {
+            try {
+                open.log.flush();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to flush chat history", e);
+            }
+        });
+    }
+
+    private void expireAll() {
+        logs.forEach((key, open) -> expire(key, open.log));
+    }
+
+    private void expire(String key, SegmentedMessageLog log) {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        try {
+            int removed = log.expire(cutoff, maxSegmentsPerStream);
+            if (removed > 0) {
+                logger.info("Expired " + removed + " chat history segment(s) for " + key);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to expire chat history for " + key, e);
+        }
+    }
+
+    private void close(String key, SegmentedMessageLog log) {
+        try {
+            log.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close chat history log for " + key, e);
+        }
+    }
+
+    /**
+     * 기록 키 = 디렉터리 이름. 사용자 입력은 인코딩해 경로 문자('/', '..' 등)가 섞이지 않게 한다.
+     */
+    static String roomKey(String room) {
+        return "room~" + encode(room);
+    }
+
+    static String conversationKey(String user1, String user2) {
+        // 누가 보냈든 같은 대화로 묶이도록 이름 순으로
+        return user1.compareTo(user2) <= 0
+                ? "dm~" + encode(user1) + "~" + encode(user2)
+                : "dm~" + encode(user2) + "~" + encode(user1);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface LogAction<T> {
+        T apply(SegmentedMessageLog log) throws IOException;
+    }
+
+    // 열린 로그와 마지막 사용 시각
+    private static final class OpenLog {
+        final SegmentedMessageLog log;
+        volatile long lastUsedMillis = System.currentTimeMillis();
+
+        OpenLog(SegmentedMessageLog log) {
+            this.log = log;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.ezlevup.smilechat.service;
 
 import com.ezlevup.smilechat.model.ChatMessage;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.logging.Logger;
 
@@ -13,6 +14,13 @@ public class ChatService {
 
     private static final Logger logger = Logger.getLogger(ChatService.class.getName());
 
+    private final ContentFilterService contentFilterService;
+
+    @Autowired
+    public ChatService(ContentFilterService contentFilterService) {
+        this.contentFilterService = contentFilterService;
+    }
+
     /**
      * 메시지 처리 (욕설 필터링, 스팸 방지 등)
      */
@@ -41,11 +49,10 @@ public class ChatService {
 
     /**
      * 부적절한 내용 필터링
+     * 금칙어 목록으로 미리 만든 매처로 한 번 훑어 가린다 (메시지마다 정규식을 컴파일하지 않음)
      */
     private String filterContent(String content) {
-        // 간단한 욕설 필터링 예시
-        // 실제 환경에서는 더 정교한 필터링 시스템 구현 필요
-        return content.replaceAll("(?i)(욕설|스팸)", "***");
+        return contentFilterService.filter(content);
     }
 
     /**
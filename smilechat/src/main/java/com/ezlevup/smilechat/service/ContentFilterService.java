@@ -0,0 +1,125 @@
+package com.ezlevup.smilechat.service;
+
+import com.ezlevup.smilechat.filter.AhoCorasickMatcher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 금칙어 필터 서비스
+ * - 금칙어 목록 파일로 AhoCorasickMatcher를 한 번 만들어 두고 모든 메시지에 함께 쓴다.
+ * - 목록 파일이 바뀌면(주기적으로 수정 시각 확인) 새 매처를 만들어 통째로 바꾼다. 필터링 중인 메시지는 이전 매처로 끝난다.
+ * - 목록을 읽지 못하면 쓰던 매처를 그대로 둔다 (처음이면 기본 금칙어).
+ */
+@Service
+public class ContentFilterService {
+
+    private static final Logger logger = Logger.getLogger(ContentFilterService.class.getName());
+
+    private static final String MASK = "***";
+
+    // 목록 파일을 읽기 전 / 읽지 못했을 때 쓰는 기본 금칙어
+    private static final List<String> DEFAULT_WORDS = List.of("욕설", "스팸");
+
+    private final Resource wordsResource;
+    private final Duration reloadInterval;
+    private volatile AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(DEFAULT_WORDS);
+    private long loadedModified = -1;
+    private ScheduledExecutorService watcher;
+
+    @Autowired
+    public ContentFilterService(@Value("${chat.filter.words-location:classpath:filter/banned-words.txt}") Resource wordsResource,
+                                @Value("${chat.filter.reload-interval:30s}") Duration reloadInterval) {
+        this.wordsResource = wordsResource;
+        this.reloadInterval = reloadInterval;
+    }
+
+    @PostConstruct
+    void init() {
+        reload();
+        // jar 안의 classpath 리소스는 바뀌지 않으므로 파일일 때만 감시
+        if (wordsResource.isFile() && !reloadInterval.isZero()) {
+            watcher = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("chat-filter-reload").daemon().factory());
+            long millis = reloadInterval.toMillis();
+            watcher.scheduleWithFixedDelay(this::reloadIfChanged, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    /**
+     * 금칙어를 가린다 (한 번 훑기, 정규식 없음)
+     */
+    public String filter(String content) {
+        return matcher.mask(content, MASK);
+    }
+
+    public boolean containsBannedWord(String content) {
+        return content != null && matcher.containsMatch(content);
+    }
+
+    /**
+     * 목록 파일을 다시 읽어 매처를 바꾼다
+     *
+     * @return 적용된 금칙어 수 (읽지 못하면 -1)
+     */
+    public synchronized int reload() {
+        try {
+            long modified = wordsResource.isFile() ? wordsResource.lastModified() : 0;
+            List<String> words;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(wordsResource.getInputStream(), StandardCharsets.UTF_8))) {
+                words = reader.lines()
+                        .map(String::strip)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .toList();
+            }
+            replaceWords(words);
+            loadedModified = modified;
+            logger.info("Loaded " + matcher.wordCount() + " banned words from " + wordsResource.getDescription());
+            return matcher.wordCount();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to load banned words from " + wordsResource.getDescription(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * 금칙어 목록 교체 (새 매처를 다 만든 뒤 한 번에 바꿈)
+     */
+    public synchronized void replaceWords(Collection<String> words) {
+        matcher = AhoCorasickMatcher.compile(words);
+    }
+
+    private void reloadIfChanged() {
+        try {
+            if (wordsResource.lastModified() != loadedModified) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to check banned words file", e);
+        }
+    }
+}
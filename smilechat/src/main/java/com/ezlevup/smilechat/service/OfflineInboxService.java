@@ -0,0 +1,217 @@
+package com.ezlevup.smilechat.service;
+
+import com.ezlevup.smilechat.history.OfflineInbox;
+import com.ezlevup.smilechat.history.SegmentedMessageLog;
+import com.ezlevup.smilechat.model.ChatMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 오프라인 사용자 수신함 서비스
+ * - 받는 사람이 오프라인이면 메시지를 사용자별 수신함(매핑 파일)에 넣는다.
+ * - 클라이언트가 /user/queue/private 구독 후 전달을 요청하면 확인되지 않은 메시지를 모두 보낸다.
+ *   각 메시지에는 수신함 seq를 "inbox-seq" 헤더로 붙이고, 클라이언트는 그 seq로 전달 확인(ack)을 보낸다.
+ * - 사용자별 최대 보관 건수(max-pending)와 보관 기간(ttl)을 넘은 메시지는 버린다.
+ */
+@Service
+public class OfflineInboxService {
+
+    private static final Logger logger = Logger.getLogger(OfflineInboxService.class.getName());
+
+    public static final String INBOX_SEQ_HEADER = "inbox-seq";
+
+    // 한 번에 읽어 보내는 메시지 수
+    private static final int DELIVERY_BATCH = 100;
+
+    private final ObjectMapper objectMapper;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxPending;
+    private final Duration ttl;
+    private final ConcurrentHashMap<String, OfflineInbox> inboxes = new ConcurrentHashMap<>();
+    private ScheduledExecutorService maintenance;
+
+    @Autowired
+    public OfflineInboxService(ObjectMapper objectMapper, SimpMessagingTemplate messagingTemplate,
+                               SimpUserRegistry userRegistry,
+                               @Value("${chat.inbox.dir:./data/chat-inbox}") Path directory,
+                               @Value("${chat.inbox.segment-size:65536}") int segmentSize,
+                               @Value("${chat.inbox.max-pending:1000}") int maxPending,
+                               @Value("${chat.inbox.ttl:7d}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxPending = maxPending;
+        this.ttl = ttl;
+    }
+
+    @PostConstruct
+    void startMaintenance() {
+        maintenance = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("chat-inbox-maintenance").daemon().factory());
+        maintenance.scheduleWithFixedDelay(this::flushAll, 1, 1, TimeUnit.SECONDS);
+        maintenance.scheduleWithFixedDelay(this::expireAll, 1, 60, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        maintenance.shutdownNow();
+        inboxes.values().forEach(inbox -> {
+            try {
+                inbox.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to close offline inbox", e);
+            }
+        });
+        inboxes.clear();
+    }
+
+    /**
+     * 오프라인 사용자의 수신함에 메시지를 넣는다
+     *
+     * @return 저장에 실패하면 false (메시지는 대화 기록에만 남음)
+     */
+    public boolean store(String receiver, ChatMessage message) {
+        try {
+            long seq = inbox(receiver).store(System.currentTimeMillis(), objectMapper.writeValueAsBytes(message), maxPending);
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine("Stored offline message #" + seq + " for " + receiver);
+            }
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            logger.log(Level.WARNING, "Failed to store offline message for " + receiver, e);
+            return false;
+        }
+        // 온라인 확인과 저장 사이에 접속했을 수 있으므로 연결이 있으면 바로 보낸다
+        if (userRegistry.getUser(receiver) != null) {
+            deliver(receiver);
+        }
+        return true;
+    }
+
+    /**
+     * 확인되지 않은 메시지를 /user/queue/private로 보낸다 (클라이언트가 구독을 마친 뒤 요청)
+     *
+     * @return 보낸 메시지 수
+     */
+    public int deliver(String username) {
+        OfflineInbox inbox = existingInbox(username);
+        if (inbox == null) {
+            return 0;
+        }
+        long notBefore = System.currentTimeMillis() - ttl.toMillis();
+        long after = 0;
+        int delivered = 0;
+        List<SegmentedMessageLog.Entry> entries;
+        do {
+            entries = inbox.pendingAfter(after, notBefore, DELIVERY_BATCH);
+            for (SegmentedMessageLog.Entry entry : entries) {
+                messagingTemplate.convertAndSendToUser(username, "/queue/private", toMessage(entry),
+                        Map.of(INBOX_SEQ_HEADER, entry.seq()));
+                after = entry.seq();
+                delivered++;
+            }
+        } while (entries.size() == DELIVERY_BATCH);
+        return delivered;
+    }
+
+    /**
+     * seq까지 전달 확인 (누적)
+     */
+    public void acknowledge(String username, long seq) {
+        OfflineInbox inbox = existingInbox(username);
+        if (inbox == null) {
+            return;
+        }
+        try {
+            inbox.acknowledge(seq);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to acknowledge offline messages for " + username, e);
+        }
+    }
+
+    /**
+     * 확인되지 않은 메시지 수 (만료 예정 포함)
+     */
+    public long pendingCount(String username) {
+        OfflineInbox inbox = existingInbox(username);
+        return inbox == null ? 0 : inbox.pendingCount();
+    }
+
+    private ChatMessage toMessage(SegmentedMessageLog.Entry entry) {
+        try {
+            return objectMapper.readValue(entry.payload(), ChatMessage.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private OfflineInbox inbox(String username) {
+        return inboxes.computeIfAbsent(username, name -> {
+            try {
+                return OfflineInbox.open(inboxDirectory(name), segmentSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // 받은 적 없는 사용자는 빈 수신함을 만들지 않는다
+    private OfflineInbox existingInbox(String username) {
+        OfflineInbox inbox = inboxes.get(username);
+        if (inbox == null && Files.isDirectory(inboxDirectory(username))) {
+            inbox = inbox(username);
+        }
+        return inbox;
+    }
+
+    private Path inboxDirectory(String username) {
+        return directory.resolve("inbox~" + URLEncoder.encode(username, StandardCharsets.UTF_8));
+    }
+
+    private void flushAll() {
+        inboxes.values().forEach(inbox -> {
+            try {
+                inbox.flush();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to flush offline inbox", e);
+            }
+        });
+    }
+
+    private void expireAll() {
+        long cutoff = System.currentTimeMillis() - ttl.toMillis();
+        inboxes.forEach((username, inbox) -> {
+            try {
+                inbox.expire(cutoff);
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to expire offline inbox for " + username, e);
+            }
+        });
+    }
+}
@@ -1,18 +1,63 @@
 package com.ezlevup.smilechat.service;
 
+import com.ezlevup.smilechat.model.PresenceChange;
+import com.ezlevup.smilechat.model.PresenceSnapshot;
+import com.ezlevup.smilechat.presence.TimerWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
-import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * 온라인 사용자 관리 서비스
+ * 온라인 사용자 관리 서비스 (접속 상태 레지스트리)
+ * - STOMP 세션 이벤트(PresenceEventListener)로 접속/종료를, 인바운드 메시지와 하트비트(PresenceChannelInterceptor)로 활동 시각을 갱신한다.
+ * - 역할별 온라인 사용자 색인을 따로 두어 직원/환자 목록 조회가 전체를 훑거나 새 Set을 만들지 않는다.
+ * - 한 사용자가 여러 세션(탭)으로 접속할 수 있으며, 첫 세션 접속과 마지막 세션 종료 때만 /topic/presence로 변경분을 보낸다.
+ * - 하트비트가 idle-timeout 동안 없는 세션은 타이머 휠로 정리한다 (세션마다 타이머를 두지 않고, 만기 때 마지막 활동 시각을 보고 다시 걸거나 정리).
  */
 @Service
 public class UserService {
 
-    // 온라인 사용자 목록 (동시성 안전)
-    private final ConcurrentHashMap<String, UserInfo> onlineUsers = new ConcurrentHashMap<>();
+    private static final Logger logger = Logger.getLogger(UserService.class.getName());
+
+    public static final String ROLE_STAFF = "STAFF";
+    public static final String ROLE_PATIENT = "PATIENT";
+    public static final String PRESENCE_DESTINATION = "/topic/presence";
+
+    // 타이머 휠: 1초 틱, 128칸 (한 바퀴 128초)
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 128;
+
+    // 세션별 접속 정보
+    private final ConcurrentHashMap<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+    // 사용자별 세션 ID
+    private final ConcurrentHashMap<String, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+    // 역할별 온라인 사용자 색인 (동시성 안전)
+    private final Set<String> onlineStaff = ConcurrentHashMap.newKeySet();
+    private final Set<String> onlinePatients = ConcurrentHashMap.newKeySet();
+    private final Set<String> onlineStaffView = Collections.unmodifiableSet(onlineStaff);
+    private final Set<String> onlinePatientsView = Collections.unmodifiableSet(onlinePatients);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long idleTimeoutMillis;
+    private final TimerWheel<String> evictionWheel = new TimerWheel<>(TICK_MILLIS, WHEEL_SIZE, this::checkIdle);
+    private ScheduledExecutorService ticker;
+    // 접속 상태 변경 순번 (this로 보호)
+    private long version;
 
     /**
      * 사용자 정보 클래스
@@ -25,50 +70,187 @@ public class UserService {
     ) {}
 
     /**
-     * 사용자 온라인 상태로 변경
+     * 세션 하나의 접속 정보와 마지막 활동 시각
+     */
+    private static final class SessionPresence {
+        final UserInfo info;
+        volatile long lastSeen;
+
+        SessionPresence(UserInfo info) {
+            this.info = info;
+            this.lastSeen = info.connectedTime();
+        }
+    }
+
+    /**
+     * @param messagingTemplate 메시지 브로커 설정이 인바운드 채널 인터셉터를 통해 이 서비스를 참조하므로 지연 주입
+     */
+    @Autowired
+    public UserService(@Lazy SimpMessagingTemplate messagingTemplate,
+                       @Value("${websocket.presence.idle-timeout:75000}") long idleTimeoutMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    @PostConstruct
+    void startEvictionTicker() {
+        ticker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("presence-eviction").daemon().factory());
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopEvictionTicker() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * 사용자 온라인 상태로 변경 (세션 접속)
      */
     public void addUser(String username, String role, String sessionId) {
-        UserInfo userInfo = new UserInfo(username, role, sessionId, System.currentTimeMillis());
-        onlineUsers.put(username, userInfo);
+        String normalizedRole = normalizeRole(role);
+        synchronized (this) {
+            SessionPresence previous = sessions.get(sessionId);
+            if (previous != null) {
+                if (previous.info.username().equals(username)) {
+                    previous.lastSeen = System.currentTimeMillis();
+                    return;
+                }
+                removeSession(sessionId);
+            }
+            sessions.put(sessionId, new SessionPresence(
+                    new UserInfo(username, normalizedRole, sessionId, System.currentTimeMillis())));
+            Set<String> userSessions = sessionsByUser.computeIfAbsent(username, name -> ConcurrentHashMap.newKeySet());
+            userSessions.add(sessionId);
+            if (userSessions.size() == 1) {
+                roleIndex(normalizedRole).add(username);
+                publish(PresenceChange.Type.ONLINE, username, normalizedRole);
+            }
+        }
+        evictionWheel.schedule(sessionId, idleTimeoutMillis);
     }
 
     /**
-     * 사용자 오프라인 상태로 변경
+     * 사용자 오프라인 상태로 변경 (모든 세션)
      */
     public void removeUser(String username) {
-        onlineUsers.remove(username);
+        synchronized (this) {
+            Set<String> userSessions = sessionsByUser.get(username);
+            if (userSessions != null) {
+                List.copyOf(userSessions).forEach(this::removeSession);
+            }
+        }
+    }
+
+    /**
+     * 세션 종료. 사용자의 마지막 세션이면 오프라인으로 변경
+     */
+    public synchronized void removeSession(String sessionId) {
+        SessionPresence presence = sessions.remove(sessionId);
+        if (presence == null) {
+            return;
+        }
+        String username = presence.info.username();
+        Set<String> userSessions = sessionsByUser.get(username);
+        if (userSessions != null) {
+            userSessions.remove(sessionId);
+            if (!userSessions.isEmpty()) {
+                return;
+            }
+            sessionsByUser.remove(username);
+        }
+        onlineStaff.remove(username);
+        onlinePatients.remove(username);
+        publish(PresenceChange.Type.OFFLINE, username, presence.info.role());
+    }
+
+    /**
+     * 세션 활동 기록 (메시지/하트비트마다 호출되므로 잠금 없이 시각만 갱신)
+     *
+     * @return 등록되지 않은 세션이면 false
+     */
+    public boolean touch(String sessionId) {
+        SessionPresence presence = sessions.get(sessionId);
+        if (presence == null) {
+            return false;
+        }
+        presence.lastSeen = System.currentTimeMillis();
+        return true;
     }
 
     /**
      * 온라인 직원 목록 조회 (환자가 상담 요청할 수 있는 대상)
+     * 색인의 읽기 전용 뷰를 그대로 돌려준다 (복사 없음)
      */
     public Set<String> getOnlineStaff() {
-        Set<String> staff = new HashSet<>();
-        onlineUsers.values().forEach(user -> {
-            if ("STAFF".equals(user.role())) {
-                staff.add(user.username());
-            }
-        });
-        return staff;
+        return onlineStaffView;
     }
 
     /**
      * 온라인 환자 목록 조회 (직원이 확인할 수 있는 대상)
      */
     public Set<String> getOnlinePatients() {
-        Set<String> patients = new HashSet<>();
-        onlineUsers.values().forEach(user -> {
-            if ("PATIENT".equals(user.role())) {
-                patients.add(user.username());
-            }
-        });
-        return patients;
+        return onlinePatientsView;
     }
 
     /**
      * 사용자 온라인 상태 확인
      */
     public boolean isUserOnline(String username) {
-        return onlineUsers.containsKey(username);
+        return sessionsByUser.containsKey(username);
+    }
+
+    /**
+     * 전체 목록과 현재 version (이후 변경은 /topic/presence로 받음)
+     */
+    public synchronized PresenceSnapshot snapshot() {
+        return new PresenceSnapshot(version, Set.copyOf(onlineStaff), Set.copyOf(onlinePatients));
+    }
+
+    // 타이머 휠 한 칸 전진 (예외가 나도 주기 작업이 멈추지 않도록)
+    void tick() {
+        try {
+            evictionWheel.tick();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Presence eviction failed", e);
+        }
+    }
+
+    /**
+     * 타이머 만기: 그동안 활동이 있었으면 남은 시간만큼 다시 걸고, 없었으면 정리
+     */
+    private void checkIdle(String sessionId) {
+        SessionPresence presence = sessions.get(sessionId);
+        if (presence == null) {
+            return;
+        }
+        long idle = System.currentTimeMillis() - presence.lastSeen;
+        if (idle >= idleTimeoutMillis) {
+            logger.info("Evicting idle session " + sessionId + " (" + presence.info.username() + ", idle " + idle + " ms)");
+            removeSession(sessionId);
+        } else {
+            evictionWheel.schedule(sessionId, idleTimeoutMillis - idle);
+        }
+    }
+
+    // 잠금 안에서 호출: version 순서대로 브로커에 넣는다
+    private void publish(PresenceChange.Type type, String username, String role) {
+        PresenceChange change = new PresenceChange(++version, type, username, role);
+        try {
+            messagingTemplate.convertAndSend(PRESENCE_DESTINATION, change);
+        } catch (MessagingException e) {
+            logger.log(Level.WARNING, "Failed to publish presence change " + change, e);
+        }
+    }
+
+    private Set<String> roleIndex(String role) {
+        return ROLE_STAFF.equals(role) ? onlineStaff : onlinePatients;
+    }
+
+    /**
+     * 역할 값 정리 (알 수 없는 값은 환자)
+     */
+    public static String normalizeRole(String role) {
+        return ROLE_STAFF.equalsIgnoreCase(role) ? ROLE_STAFF : ROLE_PATIENT;
     }
 }
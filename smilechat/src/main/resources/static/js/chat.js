@@ -6,6 +6,21 @@
 let stompClient = null;
 let username = null;
 
+// 대화별로 마지막에 받은 메시지 seq ('public' 또는 'private:상대방')
+// 재접속하면 이 seq 이후의 기록만 다시 받는다
+const lastSeq = {};
+let replaying = false;
+let pendingMessages = [];
+
+// 오프라인 수신함에서 받은 마지막 seq (모아서 한 번에 전달 확인)
+let inboxAckSeq = 0;
+let inboxAckTimer = null;
+
+// 접속 상태: 전체 목록(/api/presence)을 받은 뒤 /topic/presence 변경분을 version 순으로 적용
+const onlineStaff = new Set();
+let presenceVersion = -1;
+let pendingPresence = null;
+
 // 페이지 로드 시 초기화
 document.addEventListener('DOMContentLoaded', function() {
     username = sessionStorage.getItem('username');
@@ -61,13 +76,17 @@ function connect() {
     const socket = new SockJS('/chat-websocket');
     stompClient = new StompJs.Client({
         webSocketFactory: () => socket,
-        connectHeaders: {},
+        // 인증 없이 쓰는 개발용 설정(websocket.presence.trust-client-headers)에서만 서버가 사용자와 역할로 쓴다
+        connectHeaders: {
+            username: username,
+            role: sessionStorage.getItem('role') || 'PATIENT'
+        },
         debug: function (str) {
             console.log('STOMP Debug: ' + str);
         },
         reconnectDelay: 5000,  // 재연결 지연시간 5초
-        heartbeatIncoming: 4000,
-        heartbeatOutgoing: 4000,
+        heartbeatIncoming: 0,      // 서버는 하트비트를 보내지 않음
+        heartbeatOutgoing: 4000,   // 실제 간격은 서버가 요청한 값(25초)과 비교해 긴 쪽
     });
 
     // 연결 성공 시
@@ -77,14 +96,22 @@ function connect() {
 
         // 공개 채팅방 구독
         stompClient.subscribe('/topic/public', function (message) {
-            showMessage(JSON.parse(message.body));
+            receiveMessage('public', JSON.parse(message.body));
         });
 
         // 개인 메시지 구독
         stompClient.subscribe('/user/queue/private', function (message) {
-            showMessage(JSON.parse(message.body));
+            const privateMessage = JSON.parse(message.body);
+            const peer = privateMessage.sender === username ? privateMessage.receiverRoom : privateMessage.sender;
+            receiveMessage('private:' + peer, privateMessage);
+            if (message.headers['inbox-seq']) {
+                acknowledgeInbox(Number(message.headers['inbox-seq']));
+            }
         });
 
+        // 오프라인 동안 받은 개인 메시지 전달 요청 (구독 후에 보내야 유실되지 않음)
+        stompClient.publish({ destination: '/app/inbox.deliver', body: '' });
+
         // 상담 요청 알림 구독 (직원용)
         stompClient.subscribe('/user/queue/consultation-request', function (message) {
             showConsultationRequest(JSON.parse(message.body));
@@ -95,6 +122,16 @@ function connect() {
             showConsultationResponse(JSON.parse(message.body));
         });
 
+        // 접속 상태 변경 구독 후 전체 목록 받기 (사이에 온 변경을 놓치지 않도록 구독이 먼저)
+        pendingPresence = [];
+        stompClient.subscribe('/topic/presence', function (message) {
+            receivePresence(JSON.parse(message.body));
+        });
+        loadPresence();
+
+        // 끊긴 동안 놓친 메시지 (처음 접속이면 최근 기록) 받기
+        replayHistory();
+
         // 입장 메시지 전송
         sendJoinMessage();
     };
@@ -122,6 +159,96 @@ function connect() {
     stompClient.activate();
 }
 
+/**
+ * 실시간 메시지 수신
+ * 기록을 다시 받는 중에는 순서가 섞이지 않도록 모아 두었다가 끝나면 표시
+ */
+function receiveMessage(stream, message) {
+    if (replaying) {
+        pendingMessages.push([stream, message]);
+        return;
+    }
+    acceptMessage(stream, message);
+}
+
+/**
+ * 이미 표시한 seq는 건너뛰고 표시 (seq 없는 입장/시스템 메시지는 그대로 표시)
+ */
+function acceptMessage(stream, message) {
+    if (message.seq != null) {
+        if (message.seq <= (lastSeq[stream] || 0)) {
+            return;
+        }
+        lastSeq[stream] = message.seq;
+    }
+    showMessage(message);
+}
+
+/**
+ * 대화별로 마지막 seq 이후 기록을 받아 표시
+ */
+async function replayHistory() {
+    replaying = true;
+    try {
+        const streams = Object.keys(lastSeq);
+        if (!streams.includes('public')) {
+            streams.push('public');
+        }
+        for (const stream of streams) {
+            await replayStream(stream);
+        }
+    } catch (error) {
+        console.error('Failed to load chat history:', error);
+    } finally {
+        replaying = false;
+        pendingMessages.splice(0).forEach(([stream, message]) => acceptMessage(stream, message));
+    }
+}
+
+async function replayStream(stream) {
+    const url = stream === 'public'
+        ? '/api/history/rooms/public'
+        : '/api/history/private/' + encodeURIComponent(stream.substring('private:'.length));
+
+    // 처음 접속이면 최근 50건만, 재접속이면 놓친 메시지 전부
+    if (!lastSeq[stream]) {
+        const response = await fetch(url + '?limit=50');
+        if (response.ok) {
+            (await response.json()).messages.forEach(message => acceptMessage(stream, message));
+        }
+        return;
+    }
+    let hasMore = true;
+    while (hasMore) {
+        const response = await fetch(url + '?limit=200&after=' + lastSeq[stream]);
+        if (!response.ok) {
+            return;
+        }
+        const page = await response.json();
+        page.messages.forEach(message => acceptMessage(stream, message));
+        hasMore = page.hasMore && page.messages.length > 0;
+    }
+}
+
+/**
+ * 오프라인 메시지 전달 확인 (200ms 동안 받은 것을 모아 마지막 seq로 한 번만 보냄)
+ */
+function acknowledgeInbox(seq) {
+    inboxAckSeq = Math.max(inboxAckSeq, seq);
+    if (inboxAckTimer) {
+        return;
+    }
+    inboxAckTimer = setTimeout(function () {
+        inboxAckTimer = null;
+        if (stompClient && stompClient.connected) {
+            stompClient.publish({
+                destination: '/app/inbox.ack',
+                body: JSON.stringify({ seq: inboxAckSeq })
+            });
+        }
+    }, 200);
+}
+
 /**
  * 이벤트 리스너 설정
  */
@@ -287,6 +414,67 @@ function showPrivateMessage(message) {
     messageArea.scrollTop = messageArea.scrollHeight;
 }
 
+/**
+ * 접속 상태 전체 목록 받기
+ * 받는 동안 도착한 변경분은 모아 두었다가 목록보다 version이 큰 것만 적용
+ */
+async function loadPresence() {
+    try {
+        const response = await fetch('/api/presence');
+        const snapshot = await response.json();
+        onlineStaff.clear();
+        snapshot.staff.forEach(name => onlineStaff.add(name));
+        presenceVersion = snapshot.version;
+    } catch (error) {
+        console.error('Failed to load presence:', error);
+    }
+    const buffered = pendingPresence || [];
+    pendingPresence = null;
+    buffered.forEach(applyPresence);
+    updateStaffList(Array.from(onlineStaff));
+}
+
+/**
+ * 접속 상태 변경 수신
+ */
+function receivePresence(change) {
+    if (pendingPresence) {
+        pendingPresence.push(change);
+        return;
+    }
+    applyPresence(change);
+    updateStaffList(Array.from(onlineStaff));
+}
+
+function applyPresence(change) {
+    if (change.version <= presenceVersion) {
+        return;
+    }
+    presenceVersion = change.version;
+    if (change.role !== 'STAFF') {
+        return;
+    }
+    if (change.type === 'ONLINE') {
+        onlineStaff.add(change.username);
+    } else {
+        onlineStaff.delete(change.username);
+    }
+}
+
+/**
+ * 온라인 직원 표시
+ */
+function updateStaffList(staffList) {
+    const staffElement = document.getElementById('onlineStaff');
+    if (!staffElement) {
+        return;
+    }
+    staffElement.textContent = staffList.length > 0
+        ? '상담 가능 직원 ' + staffList.length + '명'
+        : '상담 가능 직원 없음';
+    staffElement.title = staffList.join(', ');
+}
+
 /**
  * 온라인 직원 목록 조회
  */
@@ -0,0 +1,246 @@
+package com.ezlevup.smilechat.broker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 샤드 브로커 테스트 (스프링 컨텍스트 없이 채널만 연결)
+ */
+class ShardedBrokerMessageHandlerTest {
+
+    private final RecordingChannel outbound = new RecordingChannel();
+    private ShardedBrokerMessageHandler broker;
+
+    @AfterEach
+    void tearDown() {
+        outbound.release();
+        broker.stop();
+    }
+
+    @Test
+    void deliversOnlyToSubscribersOfDestination() throws Exception {
+        start(4, 16, 8, OverflowPolicy.DROP_OLDEST);
+        connect("s1");
+        connect("s2");
+        connect("s3");
+        subscribe("s1", "sub-1", "/topic/public");
+        subscribe("s2", "sub-2", "/topic/public");
+        subscribe("s3", "sub-3", "/topic/other");
+        outbound.expect(2);
+
+        broker.handleMessage(message("/topic/public", "hello"));
+
+        assertTrue(outbound.await());
+        List<Message<?>> delivered = outbound.messagesOfType(SimpMessageType.MESSAGE);
+        assertEquals(2, delivered.size());
+        assertEquals(List.of("s1/sub-1", "s2/sub-2"), delivered.stream()
+                .map(m -> SimpMessageHeaderAccessor.getSessionId(m.getHeaders()) + "/"
+                        + SimpMessageHeaderAccessor.getSubscriptionId(m.getHeaders()))
+                .sorted().toList());
+        assertEquals("hello", payload(delivered.get(0)));
+    }
+
+    @Test
+    void dropsOldestWhenSlowSessionQueueIsFull() throws Exception {
+        start(1, 2, 1, OverflowPolicy.DROP_OLDEST);
+        connect("slow");
+        subscribe("slow", "sub-1", "/topic/public");
+        outbound.blockNextMessage();
+
+        broker.handleMessage(message("/topic/public", "m0"));
+        assertTrue(outbound.awaitBlocked());
+        for (String content : List.of("m1", "m2", "m3")) {
+            broker.handleMessage(message("/topic/public", content));
+        }
+        outbound.expect(3);
+        outbound.release();
+
+        assertTrue(outbound.await());
+        assertEquals(List.of("m0", "m2", "m3"), outbound.messagesOfType(SimpMessageType.MESSAGE).stream()
+                .map(ShardedBrokerMessageHandlerTest::payload).toList());
+    }
+
+    @Test
+    void coalescesMessagesForSameDestination() throws Exception {
+        start(1, 2, 1, OverflowPolicy.COALESCE);
+        connect("slow");
+        subscribe("slow", "sub-1", "/topic/presence");
+        subscribe("slow", "sub-2", "/topic/public");
+        outbound.blockNextMessage();
+
+        broker.handleMessage(message("/topic/public", "chat-0"));
+        assertTrue(outbound.awaitBlocked());
+        broker.handleMessage(message("/topic/presence", "presence-1"));
+        broker.handleMessage(message("/topic/public", "chat-1"));
+        broker.handleMessage(message("/topic/presence", "presence-2"));
+        outbound.expect(3);
+        outbound.release();
+
+        assertTrue(outbound.await());
+        assertEquals(List.of("chat-0", "chat-1", "presence-2"), outbound.messagesOfType(SimpMessageType.MESSAGE).stream()
+                .map(ShardedBrokerMessageHandlerTest::payload).toList());
+    }
+
+    @Test
+    void disconnectPolicySendsErrorFrame() throws Exception {
+        start(1, 1, 1, OverflowPolicy.DISCONNECT);
+        connect("slow");
+        subscribe("slow", "sub-1", "/topic/public");
+        outbound.blockNextMessage();
+
+        broker.handleMessage(message("/topic/public", "m0"));
+        assertTrue(outbound.awaitBlocked());
+        broker.handleMessage(message("/topic/public", "m1"));
+        broker.handleMessage(message("/topic/public", "m2"));
+        broker.handleMessage(message("/topic/public", "m3"));
+        outbound.expect(2);
+        outbound.release();
+
+        assertTrue(outbound.await());
+        assertEquals(List.of("m0"), outbound.messagesOfType(SimpMessageType.MESSAGE).stream()
+                .map(ShardedBrokerMessageHandlerTest::payload).toList());
+        Message<?> last = outbound.messages.get(outbound.messages.size() - 1);
+        assertEquals(StompCommand.ERROR, StompHeaderAccessor.wrap(last).getCommand());
+    }
+
+    @Test
+    void unsubscribeAndDisconnectStopDelivery() throws Exception {
+        start(2, 16, 8, OverflowPolicy.DROP_OLDEST);
+        connect("s1");
+        connect("s2");
+        subscribe("s1", "sub-1", "/topic/public");
+        subscribe("s2", "sub-2", "/topic/public");
+
+        SimpMessageHeaderAccessor unsubscribe = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        unsubscribe.setSessionId("s1");
+        unsubscribe.setSubscriptionId("sub-1");
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], unsubscribe.getMessageHeaders()));
+        outbound.expect(1);
+        broker.handleMessage(message("/topic/public", "after-unsubscribe"));
+        assertTrue(outbound.await());
+
+        SimpMessageHeaderAccessor disconnect = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        disconnect.setSessionId("s2");
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()));
+        broker.handleMessage(message("/topic/public", "after-disconnect"));
+        Thread.sleep(100);
+
+        List<Message<?>> delivered = outbound.messagesOfType(SimpMessageType.MESSAGE);
+        assertEquals(1, delivered.size());
+        assertEquals("s2", SimpMessageHeaderAccessor.getSessionId(delivered.get(0).getHeaders()));
+        assertEquals(1, outbound.messagesOfType(SimpMessageType.DISCONNECT_ACK).size());
+    }
+
+    @Test
+    void connectAckRequestsOnlyClientHeartbeats() {
+        start(1, 16, 8, OverflowPolicy.DROP_OLDEST);
+        broker.setClientHeartbeatInterval(25_000);
+        connect("s1");
+
+        Message<?> ack = outbound.messages.get(outbound.messages.size() - 1);
+        assertArrayEquals(new long[]{0, 25_000}, SimpMessageHeaderAccessor.getHeartbeat(ack.getHeaders()));
+    }
+
+    private void start(int shards, int capacity, int batchSize, OverflowPolicy policy) {
+        broker = new ShardedBrokerMessageHandler(new ExecutorSubscribableChannel(), outbound,
+                new ExecutorSubscribableChannel(), List.of("/topic", "/queue"), shards, capacity, batchSize, policy);
+        broker.start();
+    }
+
+    private void connect(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+        accessor.setSessionId(sessionId);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        assertEquals(SimpMessageType.CONNECT_ACK,
+                SimpMessageHeaderAccessor.getMessageType(outbound.messages.get(outbound.messages.size() - 1).getHeaders()));
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    private static Message<byte[]> message(String destination, String content) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(content.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private static String payload(Message<?> message) {
+        return new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 보낸 메시지를 기록하는 아웃바운드 채널. 느린 클라이언트를 흉내 내기 위해 전송 한 건을 막아 둘 수 있다.
+     */
+    private static class RecordingChannel implements MessageChannel {
+        final List<Message<?>> messages = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch expected = new CountDownLatch(0);
+        private volatile CountDownLatch blocked;
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean blockNext;
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            if (blockNext && SimpMessageType.MESSAGE.equals(SimpMessageHeaderAccessor.getMessageType(message.getHeaders()))) {
+                blockNext = false;
+                blocked.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            messages.add(message);
+            expected.countDown();
+            return true;
+        }
+
+        void blockNextMessage() {
+            blocked = new CountDownLatch(1);
+            gate = new CountDownLatch(1);
+            blockNext = true;
+        }
+
+        boolean awaitBlocked() throws InterruptedException {
+            return blocked.await(5, TimeUnit.SECONDS);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        void expect(int count) {
+            expected = new CountDownLatch(count);
+        }
+
+        boolean await() throws InterruptedException {
+            return expected.await(5, TimeUnit.SECONDS);
+        }
+
+        List<Message<?>> messagesOfType(SimpMessageType type) {
+            return messages.stream()
+                    .filter(m -> type.equals(SimpMessageHeaderAccessor.getMessageType(m.getHeaders())))
+                    .toList();
+        }
+    }
+}
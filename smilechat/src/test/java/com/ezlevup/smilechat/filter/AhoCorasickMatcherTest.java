@@ -0,0 +1,61 @@
+package com.ezlevup.smilechat.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 금칙어 매처 테스트
+ */
+class AhoCorasickMatcherTest {
+
+    private final AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("욕설", "스팸", "Spam", "bad", "badword"));
+
+    @Test
+    void masksLikePreviousRegexFilter() {
+        assertEquals("이건 *** 입니다", matcher.mask("이건 욕설 입니다", "***"));
+        assertEquals("******", matcher.mask("욕설스팸", "***"));
+        assertEquals("*** 광고 ***", matcher.mask("SPAM 광고 spam", "***"));
+    }
+
+    @Test
+    void returnsSameInstanceWhenClean() {
+        String clean = "안녕하세요, 예약 문의드립니다.";
+        assertSame(clean, matcher.mask(clean, "***"));
+        assertFalse(matcher.containsMatch(clean));
+    }
+
+    @Test
+    void normalizesJamo() {
+        // 호환 자모로 풀어 쓰거나 섞어 써도 같은 단어
+        assertEquals("***!", matcher.mask("ㅇㅛㄱㅅㅓㄹ!", "***"));
+        assertEquals("***", matcher.mask("욕ㅅㅓㄹ", "***"));
+        // 조합형 자모 (U+1109 U+1173 U+1111 U+1162 U+11B7 = 스팸)
+        assertEquals("***", matcher.mask("\u1109\u1173\u1111\u1162\u11B7", "***"));
+    }
+
+    @Test
+    void ignoresMatchesInsideSyllable() {
+        AhoCorasickMatcher short_ = AhoCorasickMatcher.compile(List.of("가"));
+        // "각"은 ㄱㅏㄱ이라 앞 두 자모가 "가"와 같지만 음절 중간에서 끝나므로 매칭 아님
+        assertEquals("각", short_.mask("각", "*"));
+        assertEquals("*각", short_.mask("가각", "*"));
+    }
+
+    @Test
+    void mergesOverlappingMatches() {
+        // "bad"와 "badword"가 겹치면 한 구간으로
+        assertEquals("a *** b", matcher.mask("a BadWord b", "***"));
+        AhoCorasickMatcher overlapping = AhoCorasickMatcher.compile(List.of("abc", "cde"));
+        assertEquals("x#y", overlapping.mask("xabcdey", "#"));
+    }
+
+    @Test
+    void ignoresBlankAndDuplicateWords() {
+        AhoCorasickMatcher compiled = AhoCorasickMatcher.compile(List.of("스팸", " 스팸 ", "", "  "));
+        assertEquals(1, compiled.wordCount());
+        assertEquals("text", AhoCorasickMatcher.empty().mask("text", "***"));
+    }
+}
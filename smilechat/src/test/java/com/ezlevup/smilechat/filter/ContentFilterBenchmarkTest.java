@@ -0,0 +1,135 @@
+package com.ezlevup.smilechat.filter;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 금칙어 1천/1만 개에서 매처와 정규식 교대(alternation) 방식의 메시지당 필터링 시간 비교.
+ * 결과를 로그로 남기고, 매칭 결과가 정규식과 같은지와 1만 개에서 매처가 더 빠른지만 확인한다.
+ * 정규식은 미리 한 번 컴파일한 경우(기존 코드는 메시지마다 컴파일)라 기존보다 유리한 기준이다.
+ * 기본 빌드에서는 제외되며 ./mvnw -Pbenchmark test 로 실행한다.
+ */
+@Tag("benchmark")
+class ContentFilterBenchmarkTest {
+    private static final Logger logger = Logger.getLogger(ContentFilterBenchmarkTest.class.getName());
+
+    private static final int MESSAGES = 5_000;
+    // 정규식은 느려서 일부 메시지로만 잰다
+    private static final int REGEX_MESSAGES = 300;
+
+    @Test
+    void oneThousandTerms() {
+        run(1_000);
+    }
+
+    @Test
+    void tenThousandTerms() {
+        double[] nanosPerMessage = run(10_000);
+        assertTrue(nanosPerMessage[0] < nanosPerMessage[1],
+                "matcher " + nanosPerMessage[0] + " ns/msg should beat regex " + nanosPerMessage[1] + " ns/msg");
+    }
+
+    /**
+     * @return {매처 ns/메시지, 정규식 ns/메시지}
+     */
+    private double[] run(int termCount) {
+        Random random = new Random(termCount);
+        List<String> terms = terms(random, termCount);
+        List<String> messages = messages(random, terms, MESSAGES);
+
+        long buildStart = System.nanoTime();
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(terms);
+        long buildNanos = System.nanoTime() - buildStart;
+        Pattern regex = Pattern.compile(terms.stream().map(Pattern::quote).collect(Collectors.joining("|", "(?i)(", ")")));
+
+        // 결과 비교 (음절 단위 단어와 본문이면 자모 경계 규칙과 부분 문자열 매칭이 같다)
+        for (String message : messages.subList(0, REGEX_MESSAGES)) {
+            assertEquals(regex.matcher(message).find(), matcher.containsMatch(message), message);
+        }
+
+        // 워밍업 후 측정
+        for (int i = 0; i < 3; i++) {
+            filterAll(matcher, messages);
+        }
+        long start = System.nanoTime();
+        int masked = filterAll(matcher, messages);
+        double matcherNanos = (double) (System.nanoTime() - start) / messages.size();
+
+        List<String> regexMessages = messages.subList(0, REGEX_MESSAGES);
+        regexAll(regex, regexMessages);
+        start = System.nanoTime();
+        regexAll(regex, regexMessages);
+        double regexNanos = (double) (System.nanoTime() - start) / regexMessages.size();
+
+        logger.info(String.format("content filter: %d terms, build %.1f ms, matcher %.0f ns/msg, regex %.0f ns/msg (%.0fx), %d/%d messages masked",
+                termCount, buildNanos / 1e6, matcherNanos, regexNanos, regexNanos / matcherNanos, masked, messages.size()));
+        assertTrue(masked > 0);
+        return new double[]{matcherNanos, regexNanos};
+    }
+
+    private static int filterAll(AhoCorasickMatcher matcher, List<String> messages) {
+        int masked = 0;
+        for (String message : messages) {
+            if (matcher.mask(message, "***") != message) {
+                masked++;
+            }
+        }
+        return masked;
+    }
+
+    private static int regexAll(Pattern regex, List<String> messages) {
+        int masked = 0;
+        for (String message : messages) {
+            if (!regex.matcher(message).replaceAll("***").equals(message)) {
+                masked++;
+            }
+        }
+        return masked;
+    }
+
+    // 2~4음절 한글 단어 (자주 쓰는 음절 범위에서 뽑아 접두어가 겹치도록)
+    private static List<String> terms(Random random, int count) {
+        Set<String> terms = new LinkedHashSet<>();
+        while (terms.size() < count) {
+            terms.add(syllables(random, 2 + random.nextInt(3)));
+        }
+        return new ArrayList<>(terms);
+    }
+
+    // 40~120자 메시지, 10%에 금칙어 하나를 넣는다
+    private static List<String> messages(Random random, List<String> terms, int count) {
+        List<String> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder message = new StringBuilder();
+            int length = 40 + random.nextInt(80);
+            while (message.length() < length) {
+                message.append(syllables(random, 1 + random.nextInt(4))).append(' ');
+            }
+            if (random.nextInt(10) == 0) {
+                message.insert(random.nextInt(message.length()), terms.get(random.nextInt(terms.size())));
+            }
+            messages.add(message.toString());
+        }
+        return messages;
+    }
+
+    private static String syllables(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // 가~힣 중 받침 없는 음절 일부 + 받침 있는 음절 일부
+            word.append((char) (0xAC00 + random.nextInt(399) * 28 + (random.nextBoolean() ? 0 : random.nextInt(28))));
+        }
+        return word.toString();
+    }
+}
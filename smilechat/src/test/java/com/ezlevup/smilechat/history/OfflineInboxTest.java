@@ -0,0 +1,77 @@
+package com.ezlevup.smilechat.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 오프라인 수신함 테스트 (임시 디렉터리 사용)
+ */
+class OfflineInboxTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void redeliversUntilAcknowledgedAcrossRestart() throws IOException {
+        try (OfflineInbox inbox = OfflineInbox.open(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 5; i++) {
+                inbox.store(i, payload(i), 100);
+            }
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), seqs(inbox.pendingAfter(0, 0, 100)));
+
+            inbox.acknowledge(3);
+            assertEquals(2, inbox.pendingCount());
+        }
+        try (OfflineInbox inbox = OfflineInbox.open(directory, SEGMENT_SIZE)) {
+            assertEquals(List.of(4L, 5L), seqs(inbox.pendingAfter(0, 0, 100)));
+            // 뒤로 가는 확인은 무시
+            inbox.acknowledge(1);
+            assertEquals(2, inbox.pendingCount());
+            inbox.acknowledge(99);
+            assertEquals(0, inbox.pendingCount());
+            assertEquals(6, inbox.store(6, payload(6), 100));
+        }
+    }
+
+    @Test
+    void dropsOldestBeyondMaxPending() throws IOException {
+        try (OfflineInbox inbox = OfflineInbox.open(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 10; i++) {
+                inbox.store(i, payload(i), 3);
+            }
+            assertEquals(3, inbox.pendingCount());
+            assertEquals(List.of(8L, 9L, 10L), seqs(inbox.pendingAfter(0, 0, 100)));
+        }
+    }
+
+    @Test
+    void skipsExpiredAndPagesByCursor() throws IOException {
+        try (OfflineInbox inbox = OfflineInbox.open(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 6; i++) {
+                inbox.store(i * 100L, payload(i), 100);
+            }
+            // 시각 300 이전 메시지는 만료
+            assertEquals(List.of(3L, 4L), seqs(inbox.pendingAfter(0, 300, 2)));
+            assertEquals(List.of(5L, 6L), seqs(inbox.pendingAfter(4, 300, 2)));
+            assertTrue(inbox.pendingAfter(6, 300, 2).isEmpty());
+            assertEquals("message-3", new String(inbox.pendingAfter(0, 300, 1).getFirst().payload(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static byte[] payload(int i) {
+        return ("message-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<Long> seqs(List<SegmentedMessageLog.Entry> entries) {
+        return entries.stream().map(SegmentedMessageLog.Entry::seq).toList();
+    }
+}
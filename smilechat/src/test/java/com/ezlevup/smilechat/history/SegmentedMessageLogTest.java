@@ -0,0 +1,125 @@
+package com.ezlevup.smilechat.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 세그먼트 로그 테스트 (임시 디렉터리 사용)
+ */
+class SegmentedMessageLogTest {
+
+    // "message-0001" (12바이트) 레코드가 정확히 10개 들어가는 세그먼트
+    private static final int SEGMENT_SIZE = 10 * (LogSegment.RECORD_HEADER + 12);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void assignsSequencesAndRollsSegments() throws IOException {
+        List<Long> published = new ArrayList<>();
+        try (SegmentedMessageLog log = SegmentedMessageLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 35; i++) {
+                assertEquals(i, log.append(i, payload(i), published::add));
+            }
+            assertEquals(35, log.lastSeq());
+            assertEquals(1, log.firstSeq());
+        }
+        assertEquals(35, published.size());
+        assertEquals(4, segmentCount());
+    }
+
+    @Test
+    void readsPagesAcrossSegments() throws IOException {
+        try (SegmentedMessageLog log = SegmentedMessageLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 35; i++) {
+                log.append(i, payload(i), null);
+            }
+
+            List<SegmentedMessageLog.Entry> after = log.readAfter(7, 10);
+            assertEquals(List.of(8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L), seqs(after));
+            assertEquals("message-0008", text(after.getFirst()));
+            assertEquals(8, after.getFirst().timestamp());
+
+            assertEquals(List.of(31L, 32L, 33L, 34L, 35L), seqs(log.readBefore(Long.MAX_VALUE, 5)));
+            assertEquals(List.of(1L, 2L, 3L), seqs(log.readBefore(4, 5)));
+            assertTrue(log.readAfter(35, 10).isEmpty());
+        }
+    }
+
+    @Test
+    void recoversAfterReopen() throws IOException {
+        try (SegmentedMessageLog log = SegmentedMessageLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 15; i++) {
+                log.append(i, payload(i), null);
+            }
+        }
+        try (SegmentedMessageLog log = SegmentedMessageLog.open(directory, SEGMENT_SIZE)) {
+            assertEquals(15, log.lastSeq());
+            assertEquals(16, log.append(16, payload(16), null));
+            assertEquals(List.of("message-0014", "message-0015", "message-0016"),
+                    log.readAfter(13, 10).stream().map(SegmentedMessageLogTest::text).toList());
+        }
+    }
+
+    @Test
+    void expiresOldSegmentsButKeepsActiveOne() throws IOException {
+        try (SegmentedMessageLog log = SegmentedMessageLog.open(directory, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 35; i++) {
+                log.append(i, payload(i), null);
+            }
+            // 마지막 레코드 시각이 15보다 이른 세그먼트 (1~10)
+            assertEquals(1, log.expire(15, 100));
+            assertEquals(11, log.firstSeq());
+            assertEquals(List.of(11L, 12L), seqs(log.readAfter(0, 2)));
+
+            // 세그먼트 수 제한
+            assertEquals(1, log.expire(0, 2));
+            assertEquals(21, log.firstSeq());
+
+            // 모두 만료돼도 마지막 세그먼트는 남아 seq가 이어진다
+            assertEquals(1, log.expire(Long.MAX_VALUE, 100));
+            assertEquals(36, log.append(36, payload(36), null));
+        }
+        assertEquals(1, segmentCount());
+    }
+
+    @Test
+    void rejectsUseAfterClose() throws IOException {
+        SegmentedMessageLog log = SegmentedMessageLog.open(directory, SEGMENT_SIZE);
+        log.append(1, payload(1), null);
+        log.close();
+        log.close();
+
+        assertTrue(log.isClosed());
+        assertThrows(IllegalStateException.class, () -> log.append(2, payload(2), null));
+        assertThrows(IllegalStateException.class, () -> log.readAfter(0, 10));
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(LogSegment::isSegmentFile).count();
+        }
+    }
+
+    private static byte[] payload(int i) {
+        return String.format("message-%04d", i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(SegmentedMessageLog.Entry entry) {
+        return new String(entry.payload(), StandardCharsets.UTF_8);
+    }
+
+    private static List<Long> seqs(List<SegmentedMessageLog.Entry> entries) {
+        return entries.stream().map(SegmentedMessageLog.Entry::seq).toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.ezlevup.smilechat.presence;
+
+import com.ezlevup.smilechat.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 인바운드 인터셉터 테스트: CONNECT 헤더로 다른 사용자나 직원 행세를 할 수 없는지 확인
+ */
+class PresenceChannelInterceptorTest {
+
+    private final UserService userService = new UserService(new SimpMessagingTemplate((message, timeout) -> true), 60_000);
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    @Test
+    void ignoresIdentityHeadersWhenTrustIsDisabled() {
+        PresenceChannelInterceptor interceptor = new PresenceChannelInterceptor(userService, false);
+
+        StompHeaderAccessor accessor = send(interceptor, connect(null, "kim", "STAFF"));
+
+        assertNull(accessor.getUser());
+        assertNull(attributes.get(PresenceChannelInterceptor.ROLE_ATTRIBUTE));
+    }
+
+    @Test
+    void takesRoleFromAuthenticatedPrincipalOnly() {
+        PresenceChannelInterceptor interceptor = new PresenceChannelInterceptor(userService, true);
+        Principal patient = new UsernamePasswordAuthenticationToken("lee", null,
+                List.of(new SimpleGrantedAuthority("ROLE_PATIENT")));
+
+        StompHeaderAccessor accessor = send(interceptor, connect(patient, "kim", "STAFF"));
+
+        assertSame(patient, accessor.getUser());
+        assertEquals(UserService.ROLE_PATIENT, attributes.get(PresenceChannelInterceptor.ROLE_ATTRIBUTE));
+
+        Principal staff = new UsernamePasswordAuthenticationToken("park", null,
+                List.of(new SimpleGrantedAuthority("ROLE_STAFF")));
+        send(interceptor, connect(staff, null, null));
+        assertEquals(UserService.ROLE_STAFF, attributes.get(PresenceChannelInterceptor.ROLE_ATTRIBUTE));
+    }
+
+    @Test
+    void usesHeadersOnlyWhenTrustIsEnabled() {
+        PresenceChannelInterceptor interceptor = new PresenceChannelInterceptor(userService, true);
+
+        StompHeaderAccessor accessor = send(interceptor, connect(null, " kim ", "staff"));
+
+        assertEquals("kim", accessor.getUser().getName());
+        assertEquals(UserService.ROLE_STAFF, attributes.get(PresenceChannelInterceptor.ROLE_ATTRIBUTE));
+    }
+
+    @Test
+    void reregistersEvictedSessionOnActivity() {
+        PresenceChannelInterceptor interceptor = new PresenceChannelInterceptor(userService, false);
+        Principal staff = new UsernamePasswordAuthenticationToken("park", null,
+                List.of(new SimpleGrantedAuthority("ROLE_STAFF")));
+        send(interceptor, connect(staff, null, null));
+
+        StompHeaderAccessor heartbeat = StompHeaderAccessor.createForHeartbeat();
+        heartbeat.setSessionId("s1");
+        heartbeat.setUser(staff);
+        heartbeat.setSessionAttributes(attributes);
+        send(interceptor, heartbeat);
+
+        assertTrue(userService.isUserOnline("park"));
+        assertTrue(userService.getOnlineStaff().contains("park"));
+    }
+
+    private StompHeaderAccessor connect(Principal user, String username, String role) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId("s1");
+        accessor.setSessionAttributes(attributes);
+        accessor.setUser(user);
+        if (username != null) {
+            accessor.setNativeHeader("username", username);
+        }
+        if (role != null) {
+            accessor.setNativeHeader("role", role);
+        }
+        return accessor;
+    }
+
+    private static StompHeaderAccessor send(PresenceChannelInterceptor interceptor, StompHeaderAccessor accessor) {
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        Message<?> result = interceptor.preSend(message, (m, timeout) -> true);
+        return StompHeaderAccessor.getAccessor(result, StompHeaderAccessor.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ezlevup.smilechat.presence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 타이머 휠 테스트 (tick()을 직접 불러 시간 흐름을 흉내 낸다)
+ */
+class TimerWheelTest {
+
+    private final List<String> expired = new ArrayList<>();
+    private TimerWheel<String> rescheduling;
+
+    @Test
+    void expiresAfterDelayRoundedUpToTicks() {
+        TimerWheel<String> wheel = new TimerWheel<>(100, 8, expired::add);
+        wheel.schedule("a", 250);  // 3틱 + 여유 1틱
+
+        tick(wheel, 3);
+        assertEquals(List.of(), expired);
+        tick(wheel, 1);
+        assertEquals(List.of("a"), expired);
+        tick(wheel, 16);
+        assertEquals(List.of("a"), expired);
+    }
+
+    @Test
+    void keepsTimeoutsBeyondOneRotation() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 4, expired::add);
+        wheel.schedule("near", 20);  // 3틱
+        wheel.schedule("far", 100);  // 11틱, 휠(4칸)을 두 바퀴 넘게 돈다
+
+        tick(wheel, 3);
+        assertEquals(List.of("near"), expired);
+        tick(wheel, 7);
+        assertEquals(List.of("near"), expired);
+        tick(wheel, 1);
+        assertEquals(List.of("near", "far"), expired);
+    }
+
+    @Test
+    void allowsReschedulingFromExpiryCallback() {
+        rescheduling = new TimerWheel<>(10, 4, item -> {
+            expired.add(item);
+            if (expired.size() < 3) {
+                rescheduling.schedule(item, 30);  // 같은 칸으로 다시 들어가도 이번 틱에 다시 처리하지 않는다
+            }
+        });
+        rescheduling.schedule("session", 30);
+
+        tick(rescheduling, 4);
+        assertEquals(1, expired.size());
+        tick(rescheduling, 4);
+        assertEquals(2, expired.size());
+        tick(rescheduling, 20);
+        assertEquals(3, expired.size());
+    }
+
+    @Test
+    void rejectsWheelSizeThatIsNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<String>(10, 6, expired::add));
+        assertThrows(IllegalArgumentException.class, () -> new TimerWheel<String>(0, 8, expired::add));
+    }
+
+    private static void tick(TimerWheel<?> wheel, int times) {
+        for (int i = 0; i < times; i++) {
+            wheel.tick();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ezlevup.smilechat.service;
+
+import com.ezlevup.smilechat.model.ChatMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 채팅 기록 서비스 테스트 (임시 디렉터리 사용, 유휴 시간 0 = 정리할 때마다 모두 닫음)
+ */
+class ChatHistoryServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private ChatHistoryService historyService;
+
+    @AfterEach
+    void tearDown() {
+        historyService.shutdown();
+    }
+
+    @Test
+    void closesIdleLogsAndReopensOnNextUse() {
+        historyService = new ChatHistoryService(new ObjectMapper().findAndRegisterModules(), directory,
+                4096, Duration.ofDays(30), 64, Duration.ofSeconds(1), Duration.ZERO);
+        historyService.startMaintenance();
+
+        assertEquals(1L, historyService.appendPrivate("kim", "lee", message("kim", "안녕하세요"), m -> {}).seq());
+        historyService.appendPrivate("lee", "park", message("lee", "예약 확인"), m -> {});
+        assertEquals(2, historyService.openLogCount());
+
+        assertEquals(2, historyService.closeIdleLogs());
+        assertEquals(0, historyService.openLogCount());
+
+        // 닫힌 로그는 다시 열려 seq가 이어진다
+        assertEquals(2L, historyService.appendPrivate("lee", "kim", message("lee", "네"), m -> {}).seq());
+        assertEquals(List.of("안녕하세요", "네"), historyService.privateHistory("kim", "lee", 0L, null, 10)
+                .messages().stream().map(ChatMessage::content).toList());
+        assertEquals(1, historyService.openLogCount());
+    }
+
+    private static ChatMessage message(String sender, String content) {
+        return new ChatMessage(content, sender, ChatMessage.MessageType.CHAT, null, null);
+    }
+}
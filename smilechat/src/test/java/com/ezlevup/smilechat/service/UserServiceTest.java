@@ -0,0 +1,93 @@
+package com.ezlevup.smilechat.service;
+
+import com.ezlevup.smilechat.model.PresenceChange;
+import com.ezlevup.smilechat.model.PresenceSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 접속 상태 레지스트리 테스트 (브로커 대신 보낸 메시지를 기록하는 채널)
+ */
+class UserServiceTest {
+
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private final MessageChannel channel = (message, timeout) -> sent.add(message);
+
+    @Test
+    void publishesChangesOnlyForFirstAndLastSession() {
+        UserService userService = new UserService(new SimpMessagingTemplate(channel), 60_000);
+
+        userService.addUser("kim", "staff", "s1");
+        userService.addUser("kim", "STAFF", "s2");
+        userService.addUser("lee", null, "s3");
+        userService.removeSession("s1");
+        userService.removeSession("s2");
+        userService.removeSession("s2");
+
+        assertEquals(List.of(
+                new PresenceChange(1, PresenceChange.Type.ONLINE, "kim", UserService.ROLE_STAFF),
+                new PresenceChange(2, PresenceChange.Type.ONLINE, "lee", UserService.ROLE_PATIENT),
+                new PresenceChange(3, PresenceChange.Type.OFFLINE, "kim", UserService.ROLE_STAFF)), changes());
+        sent.forEach(message -> assertEquals(UserService.PRESENCE_DESTINATION,
+                SimpMessageHeaderAccessor.getDestination(message.getHeaders())));
+        assertEquals(new PresenceSnapshot(3, Set.of(), Set.of("lee")), userService.snapshot());
+    }
+
+    @Test
+    void keepsRoleIndexesAsLiveViews() {
+        UserService userService = new UserService(new SimpMessagingTemplate(channel), 60_000);
+        Set<String> staff = userService.getOnlineStaff();
+
+        userService.addUser("kim", UserService.ROLE_STAFF, "s1");
+        userService.addUser("lee", UserService.ROLE_PATIENT, "s2");
+
+        assertSame(staff, userService.getOnlineStaff());
+        assertEquals(Set.of("kim"), staff);
+        assertEquals(Set.of("lee"), userService.getOnlinePatients());
+        assertThrows(UnsupportedOperationException.class, () -> staff.add("park"));
+        assertTrue(userService.isUserOnline("kim"));
+
+        userService.removeUser("kim");
+        assertEquals(Set.of(), staff);
+        assertFalse(userService.isUserOnline("kim"));
+    }
+
+    @Test
+    void evictsIdleSessions() {
+        UserService userService = new UserService(new SimpMessagingTemplate(channel), 0);
+        userService.addUser("kim", UserService.ROLE_STAFF, "s1");
+        assertTrue(userService.touch("s1"));
+
+        userService.tick();
+
+        assertFalse(userService.isUserOnline("kim"));
+        assertFalse(userService.touch("s1"));
+        assertEquals(PresenceChange.Type.OFFLINE, changes().get(changes().size() - 1).type());
+    }
+
+    @Test
+    void keepsActiveSessions() {
+        UserService userService = new UserService(new SimpMessagingTemplate(channel), 60_000);
+        userService.addUser("kim", UserService.ROLE_STAFF, "s1");
+
+        for (int i = 0; i < 200; i++) {
+            userService.tick();
+        }
+
+        assertTrue(userService.isUserOnline("kim"));
+        assertEquals(1, changes().size());
+    }
+
+    private List<PresenceChange> changes() {
+        return sent.stream().map(message -> (PresenceChange) message.getPayload()).toList();
+    }
+}